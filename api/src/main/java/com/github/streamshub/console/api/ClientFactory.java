@@ -38,7 +38,6 @@ import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
-import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
@@ -54,14 +53,16 @@ import org.eclipse.microprofile.config.Config;
 import org.jboss.logging.Logger;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.streamshub.console.api.service.MetricsService;
+import com.github.streamshub.console.api.support.AdminPool;
+import com.github.streamshub.console.api.support.ConsumerPool;
 import com.github.streamshub.console.api.support.Holder;
 import com.github.streamshub.console.api.support.KafkaContext;
+import com.github.streamshub.console.api.support.RecordTail;
+import com.github.streamshub.console.api.support.RecordTailRegistry;
 import com.github.streamshub.console.api.support.TrustAllCertificateManager;
 import com.github.streamshub.console.api.support.serdes.RecordData;
 import com.github.streamshub.console.config.ConsoleConfig;
 import com.github.streamshub.console.config.KafkaClusterConfig;
-import com.github.streamshub.console.config.SchemaRegistryConfig;
 
 import io.apicurio.registry.serde.SerdeConfig;
 import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
@@ -83,6 +84,14 @@ import io.strimzi.api.kafka.model.kafka.listener.ListenerStatus;
  * will be usable for the duration of the request and closed by the disposer
  * methods in this class upon completion of the request.
  *
+ * <p>Consumers are the exception - they are leased from a per-cluster
+ * {@linkplain ConsumerPool} and returned to the pool by the disposer, avoiding
+ * the cost of a new connection for each request. Likewise, the consumers
+ * used by live tails of a topic are owned by a per-cluster
+ * {@linkplain RecordTailRegistry} and shared by all viewers of the topic. The
+ * pools, caches, and indexes of each cluster are created and maintained by the
+ * {@linkplain KafkaContextFactory}.
+ *
  * <p>Construction of a client is dependent on the presence of a {@code clusterId}
  * path parameter being present in the request URL as well as the existence of a
  * matching Strimzi {@linkplain Kafka} CR in the watch cache available to the
@@ -156,7 +165,7 @@ public class ClientFactory {
     UnaryOperator<Admin> kafkaAdminFilter = UnaryOperator.identity();
 
     @Inject
-    MetricsService metricsService;
+    KafkaContextFactory contextFactory;
 
     @Produces
     @ApplicationScoped
@@ -276,6 +285,24 @@ public class ClientFactory {
 
         String clusterKey = clusterConfig.clusterKey();
         String clusterId = KafkaContext.clusterId(clusterConfig, kafkaResource);
+        KafkaContext current = contexts.get(clusterId);
+
+        if (current != null
+                && current.clusterConfig().equals(clusterConfig)
+                && current.configs().equals(clientConfigs)) {
+            /*
+             * Informer resyncs and status-only updates of the Kafka resource leave
+             * the connection settings unchanged. Keep the current clients, pools,
+             * and caches rather than replacing them and failing in-flight requests.
+             * The console's configuration of the cluster is compared by value,
+             * including the schema registry and metrics settings, so an equivalent
+             * configuration also keeps the current context.
+             */
+            log.debugf("Connection settings unchanged, updating Kafka resource of KafkaContext for cluster %s, id=%s",
+                    clusterKey, clusterId);
+            current.resource(kafkaResource.orElse(null));
+            return;
+        }
 
         if (validConfigs(kafkaResource, clusterConfig, clientConfigs)) {
             Admin admin = null;
@@ -284,25 +311,7 @@ public class ClientFactory {
                 admin = adminBuilder.apply(adminConfigs);
             }
 
-            SchemaRegistryConfig registryConfig = null;
-
-            if (clusterConfig.getSchemaRegistry() != null) {
-                registryConfig = consoleConfig.getSchemaRegistries()
-                        .stream()
-                        .filter(registry -> registry.getName().equals(clusterConfig.getSchemaRegistry()))
-                        .findFirst()
-                        .orElseThrow();
-            }
-
-            KafkaContext ctx = new KafkaContext(clusterConfig, kafkaResource.orElse(null), clientConfigs, admin);
-            ctx.schemaRegistryClient(registryConfig, mapper);
-
-            if (clusterConfig.hasNamespace()) {
-                ctx.prometheus(metricsService.createClient(consoleConfig, clusterConfig));
-            } else if (clusterConfig.getMetricsSource() != null) {
-                log.infof("Skipping setup of metrics client for cluster %s. Reason: namespace is required for metrics retrieval but none was provided", clusterKey);
-            }
-
+            KafkaContext ctx = contextFactory.createContext(clusterConfig, kafkaResource, clientConfigs, admin);
             KafkaContext previous = contexts.put(clusterId, ctx);
 
             if (previous == null) {
@@ -482,8 +491,14 @@ public class ClientFactory {
                          * in the request in that case.
                          */
                         var adminConfigs = maybeAuthenticate(ctx, Admin.class);
-                        var admin = adminBuilder.apply(adminConfigs);
-                        return new KafkaContext(ctx, filter.apply(admin));
+                        var expiry = getAuthorization(BEARER)
+                                .map(token -> AdminPool.tokenExpiry(mapper, token))
+                                .orElse(null);
+                        var admin = ctx.adminPool().acquire(adminConfigs, expiry,
+                                configs -> filter.apply(adminBuilder.apply(configs)));
+                        var requestContext = new KafkaContext(ctx, admin);
+                        requestContext.principal(ConsumerPool.principalKey(adminConfigs));
+                        return requestContext;
                     }
 
                     return ctx;
@@ -503,19 +518,56 @@ public class ClientFactory {
         }
     }
 
+    /**
+     * Lease a consumer from the cluster's pool for the duration of the request.
+     * When credentials are provided by the request, the pool only gives out
+     * consumers created with the same credentials. Pooled consumers return raw
+     * keys and values, decoding is left to the caller so that only records
+     * included in a response need to be deserialized.
+     */
     @Produces
     @RequestScoped
-    public Consumer<RecordData, RecordData> consumerSupplier(KafkaContext context) {
+    public Consumer<byte[], byte[]> consumerSupplier(KafkaContext context) {
         var configs = maybeAuthenticate(context, Consumer.class);
+        return context.consumerPool().checkout(configs);
+    }
 
-        return new KafkaConsumer<>(
-                configs,
-                context.schemaRegistryContext().keyDeserializer(),
-                context.schemaRegistryContext().valueDeserializer());
+    public void disposeConsumer(@Disposes Consumer<byte[], byte[]> consumer, Map<String, KafkaContext> contexts) {
+        boolean returned = contexts.values()
+                .stream()
+                .map(KafkaContext::consumerPool)
+                .filter(Objects::nonNull)
+                .anyMatch(pool -> pool.checkin(consumer));
+
+        if (!returned) {
+            // The context (and pool) was replaced or removed while the request was in-flight
+            consumer.close();
+        }
+    }
+
+    /**
+     * Provides a key identifying the credentials used by the current request's
+     * consumer, allowing data read by the consumer to be cached without being
+     * shared with requests made by other principals.
+     */
+    @Produces
+    @RequestScoped
+    @Named("consumerPrincipal")
+    public Supplier<String> consumerPrincipalSupplier(KafkaContext context) {
+        return () -> ConsumerPool.principalKey(maybeAuthenticate(context, Consumer.class));
     }
 
-    public void disposeConsumer(@Disposes Consumer<RecordData, RecordData> consumer) {
-        consumer.close();
+    /**
+     * Provides a function to obtain the shared live tail of a topic (by name)
+     * for the cluster and credentials of the current request. Tails decode
+     * records as they are received, since every record in the window is likely
+     * to be given to at least one viewer.
+     */
+    @Produces
+    @RequestScoped
+    @Named("recordTails")
+    public Function<String, RecordTail<RecordData, RecordData>> recordTailSupplier(KafkaContext context) {
+        return topicName -> context.recordTails().acquire(topicName, maybeAuthenticate(context, Consumer.class));
     }
 
     @Produces
@@ -83,7 +83,8 @@ public class ConsumerGroupsResource {
                         ConsumerGroup.Fields.OFFSETS,
                         ConsumerGroup.Fields.AUTHORIZED_OPERATIONS,
                         ConsumerGroup.Fields.COORDINATOR,
-                        ConsumerGroup.Fields.PARTITION_ASSIGNOR
+                        ConsumerGroup.Fields.PARTITION_ASSIGNOR,
+                        ConsumerGroup.Fields.METRICS
                     },
                     payload = ErrorCategory.InvalidQueryParameter.class)
             @Parameter(
@@ -99,7 +100,8 @@ public class ConsumerGroupsResource {
                                 ConsumerGroup.Fields.OFFSETS,
                                 ConsumerGroup.Fields.AUTHORIZED_OPERATIONS,
                                 ConsumerGroup.Fields.COORDINATOR,
-                                ConsumerGroup.Fields.PARTITION_ASSIGNOR
+                                ConsumerGroup.Fields.PARTITION_ASSIGNOR,
+                                ConsumerGroup.Fields.METRICS
                             }))
             List<String> fields,
 
@@ -152,7 +154,9 @@ public class ConsumerGroupsResource {
                         ConsumerGroup.Fields.OFFSETS,
                         ConsumerGroup.Fields.AUTHORIZED_OPERATIONS,
                         ConsumerGroup.Fields.COORDINATOR,
-                        ConsumerGroup.Fields.PARTITION_ASSIGNOR
+                        ConsumerGroup.Fields.PARTITION_ASSIGNOR,
+                        ConsumerGroup.Fields.LAG_TRENDS,
+                        ConsumerGroup.Fields.METRICS
                     },
                     payload = ErrorCategory.InvalidQueryParameter.class)
             @Parameter(
@@ -168,7 +172,9 @@ public class ConsumerGroupsResource {
                                 ConsumerGroup.Fields.OFFSETS,
                                 ConsumerGroup.Fields.AUTHORIZED_OPERATIONS,
                                 ConsumerGroup.Fields.COORDINATOR,
-                                ConsumerGroup.Fields.PARTITION_ASSIGNOR
+                                ConsumerGroup.Fields.PARTITION_ASSIGNOR,
+                                ConsumerGroup.Fields.LAG_TRENDS,
+                                ConsumerGroup.Fields.METRICS
                             }))
             List<String> fields) {
 
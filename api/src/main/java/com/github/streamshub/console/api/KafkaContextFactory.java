@@ -0,0 +1,451 @@
+package com.github.streamshub.console.api;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Disposes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.streamshub.console.api.service.MetricsService;
+import com.github.streamshub.console.api.support.AdminPool;
+import com.github.streamshub.console.api.support.AdminRequestScheduler;
+import com.github.streamshub.console.api.support.ConsumerGroupCatalog;
+import com.github.streamshub.console.api.support.ConsumerGroupIndex;
+import com.github.streamshub.console.api.support.ConsumerLagMetrics;
+import com.github.streamshub.console.api.support.ConsumerPool;
+import com.github.streamshub.console.api.support.EndOffsetCache;
+import com.github.streamshub.console.api.support.KafkaContext;
+import com.github.streamshub.console.api.support.MetadataCache;
+import com.github.streamshub.console.api.support.PrometheusQueryCache;
+import com.github.streamshub.console.api.support.RangeSeriesCache;
+import com.github.streamshub.console.api.support.RecentRecordsCache;
+import com.github.streamshub.console.api.support.RecordTailRegistry;
+import com.github.streamshub.console.config.ConsoleConfig;
+import com.github.streamshub.console.config.KafkaClusterConfig;
+import com.github.streamshub.console.config.SchemaRegistryConfig;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import io.strimzi.api.kafka.model.kafka.Kafka;
+
+/**
+ * Creates the {@linkplain KafkaContext} of each configured Kafka cluster along
+ * with the cluster's pools, caches, and indexes, and runs the periodic
+ * maintenance of those (eviction of idle clients and expired entries, refresh
+ * of indexes, collection of consumer lag). The clients and connection settings
+ * of each cluster are determined by the {@linkplain ClientFactory}.
+ */
+@ApplicationScoped
+public class KafkaContextFactory {
+
+    @Inject
+    Logger log;
+
+    @Inject
+    ObjectMapper mapper;
+
+    @Inject
+    ConsoleConfig consoleConfig;
+
+    @Inject
+    MetricsService metricsService;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    /**
+     * Runs the polling task of each live tail and completes the reads of
+     * viewers waiting for new records.
+     */
+    @Inject
+    ManagedExecutor tailExecutor;
+
+    @Inject
+    Instance<Map<String, KafkaContext>> kafkaContexts;
+
+    @Inject
+    @ConfigProperty(name = "console.kafka.admin-requests.chunk-size", defaultValue = "500")
+    int adminRequestChunkSize;
+
+    @Inject
+    @ConfigProperty(name = "console.kafka.admin-requests.max-in-flight", defaultValue = "4")
+    int adminRequestMaxInFlight;
+
+    @Inject
+    @ConfigProperty(name = "console.kafka.metadata-cache.topic-descriptions.ttl", defaultValue = "PT15S")
+    Duration topicDescriptionCacheTtl;
+
+    @Inject
+    @ConfigProperty(name = "console.kafka.metadata-cache.configs.ttl", defaultValue = "PT1M")
+    Duration configCacheTtl;
+
+    @Inject
+    @ConfigProperty(name = "console.kafka.metadata-cache.max-stale", defaultValue = "PT5M")
+    Duration metadataCacheMaxStale;
+
+    @Inject
+    @ConfigProperty(name = "console.kafka.admin-pool.max-size", defaultValue = "64")
+    int adminPoolMaxSize;
+
+    @Inject
+    @ConfigProperty(name = "console.kafka.admin-pool.idle-timeout", defaultValue = "PT5M")
+    Duration adminPoolIdleTimeout;
+
+    @Inject
+    @ConfigProperty(name = "console.metrics.query-cache.ttl", defaultValue = "PT10S")
+    Duration prometheusQueryCacheTtl;
+
+    @Inject
+    @ConfigProperty(name = "console.metrics.incremental-ranges", defaultValue = "true")
+    boolean prometheusIncrementalRanges;
+
+    @Inject
+    @ConfigProperty(name = "console.kafka.consumer-pool.max-size", defaultValue = "8")
+    int consumerPoolMaxSize;
+
+    @Inject
+    @ConfigProperty(name = "console.kafka.consumer-pool.idle-timeout", defaultValue = "PT2M")
+    Duration consumerPoolIdleTimeout;
+
+    @Inject
+    @ConfigProperty(name = "console.kafka.consumer-pool.acquire-timeout", defaultValue = "PT5S")
+    Duration consumerPoolAcquireTimeout;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.tail.max-size", defaultValue = "16")
+    int recordTailMaxSize;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.tail.window-size", defaultValue = "500")
+    int recordTailWindowSize;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.tail.idle-timeout", defaultValue = "PT30S")
+    Duration recordTailIdleTimeout;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.cache.max-bytes", defaultValue = "33554432")
+    long recentRecordsMaxBytes;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.cache.slab-size", defaultValue = "65536")
+    int recentRecordsSlabSize;
+
+    /**
+     * Maximum time a group is kept in the consumer group index without being
+     * described again. Listings give only each group's state, so a group that
+     * starts using another topic without changing state (e.g. by committing
+     * offsets for it) is only seen once its entry expires. Kept well above the
+     * refresh interval, so that each refresh describes only a small share of
+     * the unchanged groups.
+     */
+    @Inject
+    @ConfigProperty(name = "console.consumer-groups.index.max-age", defaultValue = "PT5M")
+    Duration consumerGroupIndexMaxAge;
+
+    @Inject
+    @ConfigProperty(name = "console.consumer-groups.catalog.max-age", defaultValue = "PT1M")
+    Duration consumerGroupCatalogMaxAge;
+
+    @Inject
+    @ConfigProperty(name = "console.kafka.end-offsets.max-age", defaultValue = "PT5S")
+    Duration endOffsetsMaxAge;
+
+    @Inject
+    @ConfigProperty(name = "console.kafka.end-offsets.timeout-ms", defaultValue = "5000")
+    int endOffsetsTimeoutMs;
+
+    @Inject
+    @ConfigProperty(name = "console.consumer-groups.lag.groups")
+    Optional<List<String>> consumerLagGroups;
+
+    @Inject
+    @ConfigProperty(name = "console.consumer-groups.lag.max-groups", defaultValue = "500")
+    int consumerLagMaxGroups;
+
+    @Inject
+    @ConfigProperty(name = "console.consumer-groups.lag.batch-size", defaultValue = "50")
+    int consumerLagBatchSize;
+
+    @Inject
+    @ConfigProperty(name = "console.consumer-groups.lag.partitions", defaultValue = "false")
+    boolean consumerLagPartitions;
+
+    @Inject
+    @ConfigProperty(name = "console.consumer-groups.lag.history-size", defaultValue = "60")
+    int consumerLagHistorySize;
+
+    /**
+     * Create the context of a cluster.
+     *
+     * @param clusterConfig the console's configuration of the cluster
+     * @param kafkaResource the cluster's Strimzi Kafka resource, if any
+     * @param clientConfigs the configurations of each type of client
+     * @param admin         the Admin client using the console's own credentials,
+     *                      or null when credentials are given by each request
+     * @return a new context with the cluster's pools, caches, and indexes
+     */
+    KafkaContext createContext(KafkaClusterConfig clusterConfig,
+            Optional<Kafka> kafkaResource,
+            Map<Class<?>, Map<String, Object>> clientConfigs,
+            Admin admin) {
+
+        String clusterKey = clusterConfig.clusterKey();
+        String clusterId = KafkaContext.clusterId(clusterConfig, kafkaResource);
+        SchemaRegistryConfig registryConfig = null;
+
+        if (clusterConfig.getSchemaRegistry() != null) {
+            registryConfig = consoleConfig.getSchemaRegistries()
+                    .stream()
+                    .filter(registry -> registry.getName().equals(clusterConfig.getSchemaRegistry()))
+                    .findFirst()
+                    .orElseThrow();
+        }
+
+        KafkaContext ctx = new KafkaContext(clusterConfig, kafkaResource.orElse(null), clientConfigs, admin);
+        ctx.schemaRegistryClient(registryConfig, mapper);
+        ctx.adminRequests(new AdminRequestScheduler(adminRequestChunkSize, adminRequestMaxInFlight));
+
+        if (admin == null) {
+            // Credentials are given by each request
+            ctx.adminPool(new AdminPool(clusterKey, adminPoolMaxSize, adminPoolIdleTimeout));
+        }
+        ctx.consumerPool(new ConsumerPool<>(clusterKey,
+                configs -> new KafkaConsumer<>(
+                        configs,
+                        new ByteArrayDeserializer(),
+                        new ByteArrayDeserializer()),
+                consumerPoolMaxSize,
+                consumerPoolIdleTimeout,
+                consumerPoolAcquireTimeout));
+        ctx.consumerGroupIndex(new ConsumerGroupIndex(consumerGroupIndexMaxAge));
+        ctx.consumerGroupCatalog(new ConsumerGroupCatalog(consumerGroupCatalogMaxAge));
+        ctx.endOffsets(new EndOffsetCache(endOffsetsMaxAge, endOffsetsTimeoutMs));
+
+        // A zero time-to-live disables the cache
+        if (!topicDescriptionCacheTtl.isZero() && !topicDescriptionCacheTtl.isNegative()) {
+            ctx.topicDescriptionCache(new MetadataCache<>(topicDescriptionCacheTtl, metadataCacheMaxStale));
+        }
+        if (!configCacheTtl.isZero() && !configCacheTtl.isNegative()) {
+            ctx.configCache(new MetadataCache<>(configCacheTtl, metadataCacheMaxStale));
+        }
+
+        if (admin != null) {
+            ctx.consumerLag(new ConsumerLagMetrics(meterRegistry, clusterId, new ConsumerLagMetrics.Settings(
+                    consumerLagGroups.orElseGet(Collections::emptyList).stream().map(Pattern::compile).toList(),
+                    consumerLagMaxGroups,
+                    consumerLagBatchSize,
+                    consumerLagPartitions,
+                    consumerLagHistorySize)));
+        }
+
+        ctx.recordTails(new RecordTailRegistry<>(clusterKey,
+                configs -> new KafkaConsumer<>(
+                        configs,
+                        ctx.schemaRegistryContext().keyDeserializer(),
+                        ctx.schemaRegistryContext().valueDeserializer()),
+                recordTailMaxSize,
+                recordTailWindowSize,
+                recordTailIdleTimeout,
+                tailExecutor));
+
+        if (clusterConfig.hasNamespace()) {
+            ctx.prometheus(metricsService.createClient(consoleConfig, clusterConfig));
+            ctx.prometheusQueries(new PrometheusQueryCache(prometheusQueryCacheTtl));
+
+            if (prometheusIncrementalRanges) {
+                ctx.prometheusRanges(new RangeSeriesCache());
+            }
+        } else if (clusterConfig.getMetricsSource() != null) {
+            log.infof("Skipping setup of metrics client for cluster %s. Reason: namespace is required for metrics retrieval but none was provided", clusterKey);
+        }
+
+        return ctx;
+    }
+
+    /**
+     * Cache of the latest records of recently browsed partitions, shared by all
+     * clusters. Setting {@code console.topics.records.cache.max-bytes} to zero
+     * disables the cache.
+     */
+    @Produces
+    @Singleton
+    public RecentRecordsCache recentRecordsCache() {
+        return new RecentRecordsCache(recentRecordsMaxBytes, recentRecordsSlabSize);
+    }
+
+    public void disposeRecentRecordsCache(@Disposes RecentRecordsCache cache) {
+        cache.clear();
+    }
+
+    @Scheduled(
+        every = "${console.kafka.consumer-pool.eviction-interval:30s}",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void evictIdleConsumers() {
+        kafkaContexts.get()
+            .values()
+            .stream()
+            .map(KafkaContext::consumerPool)
+            .filter(Objects::nonNull)
+            .forEach(ConsumerPool::evictIdle);
+    }
+
+    @Scheduled(
+        every = "${console.kafka.admin-pool.eviction-interval:30s}",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void evictIdleAdmins() {
+        kafkaContexts.get()
+            .values()
+            .stream()
+            .map(KafkaContext::adminPool)
+            .filter(Objects::nonNull)
+            .forEach(AdminPool::evictIdle);
+    }
+
+    @Scheduled(
+        every = "${console.topics.records.tail.eviction-interval:10s}",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void evictIdleRecordTails() {
+        kafkaContexts.get()
+            .values()
+            .stream()
+            .map(KafkaContext::recordTails)
+            .filter(Objects::nonNull)
+            .forEach(RecordTailRegistry::evictIdle);
+    }
+
+    /**
+     * Periodically refresh the topic index of each cluster accessed with the
+     * console's own credentials, so that topics created or deleted other than
+     * via the console are reflected in topic lookups.
+     */
+    @Scheduled(
+        every = "${console.topics.index.refresh-interval:60s}",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void refreshTopicIndexes() {
+        kafkaContexts.get()
+            .values()
+            .stream()
+            .filter(ctx -> ctx.admin() != null)
+            .forEach(ctx -> ctx.topicIndex()
+                    .refresh(ctx.admin())
+                    .exceptionally(error -> {
+                        log.warnf("Failed to refresh topic index for cluster %s: %s",
+                                ctx.clusterId(), error.getMessage());
+                        return null;
+                    }));
+    }
+
+    /**
+     * Periodically refresh the consumer group index of each cluster accessed with
+     * the console's own credentials. Only groups that are new or have changed
+     * state since the previous refresh (or were last described before the
+     * index's maximum age) are described.
+     */
+    @Scheduled(
+        every = "${console.consumer-groups.index.refresh-interval:30s}",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    CompletionStage<Void> refreshConsumerGroupIndexes() {
+        var pending = kafkaContexts.get()
+            .values()
+            .stream()
+            .filter(ctx -> ctx.admin() != null && ctx.consumerGroupIndex() != null)
+            .map(ctx -> ctx.consumerGroupIndex()
+                    .refresh(ctx.admin(), ctx.adminRequests(), ctx.topicIndex())
+                    .exceptionally(error -> {
+                        log.warnf("Failed to refresh consumer group index for cluster %s: %s",
+                                ctx.clusterId(), error.getMessage());
+                        return null;
+                    })
+                    .toCompletableFuture())
+            .toArray(CompletableFuture[]::new);
+
+        // Completed once every cluster is refreshed, the next refresh is skipped until then
+        return CompletableFuture.allOf(pending);
+    }
+
+    /**
+     * Periodically refresh the consumer group catalog of each cluster accessed
+     * with the console's own credentials, so that requests seldom wait for the
+     * cluster's groups to be listed.
+     */
+    @Scheduled(
+        every = "${console.consumer-groups.catalog.refresh-interval:30s}",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void refreshConsumerGroupCatalogs() {
+        kafkaContexts.get()
+            .values()
+            .stream()
+            .filter(ctx -> ctx.admin() != null && ctx.consumerGroupCatalog() != null)
+            .forEach(ctx -> ctx.consumerGroupCatalog()
+                    .refresh(ctx.admin())
+                    .exceptionally(error -> {
+                        log.warnf("Failed to refresh consumer group catalog for cluster %s: %s",
+                                ctx.clusterId(), error.getMessage());
+                        return null;
+                    }));
+    }
+
+    /**
+     * Periodically remove the entries of the metadata caches that are too old
+     * to be used, e.g. those of deleted topics.
+     */
+    @Scheduled(
+        every = "${console.kafka.metadata-cache.eviction-interval:60s}",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void evictMetadataCaches() {
+        kafkaContexts.get()
+            .values()
+            .stream()
+            .flatMap(ctx -> Stream.of(ctx.topicDescriptionCache(), ctx.configCache()))
+            .filter(Objects::nonNull)
+            .forEach(MetadataCache::evictExpired);
+    }
+
+    /**
+     * Periodically collect the consumer group lag of each cluster accessed with
+     * the console's own credentials, updating the lag gauges published by the
+     * application's metrics endpoint.
+     */
+    @Scheduled(
+        every = "${console.consumer-groups.lag.collect-interval:30s}",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    CompletionStage<Void> collectConsumerLag() {
+        var pending = kafkaContexts.get()
+            .values()
+            .stream()
+            .filter(ctx -> ctx.admin() != null && ctx.consumerLag() != null)
+            .map(ctx -> ctx.consumerLag()
+                    .collect(ctx.admin(), ctx.endOffsets())
+                    .exceptionally(error -> {
+                        log.warnf("Failed to collect consumer group lag for cluster %s: %s",
+                                ctx.clusterId(), error.getMessage());
+                        return null;
+                    })
+                    .toCompletableFuture())
+            .toArray(CompletableFuture[]::new);
+
+        // Completed once every cluster is collected, the next collection is skipped until then
+        return CompletableFuture.allOf(pending);
+    }
+}
@@ -1,6 +1,9 @@
 package com.github.streamshub.console.api;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 
 import jakarta.inject.Inject;
@@ -19,6 +22,7 @@ import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriBuilder;
 import jakarta.ws.rs.core.UriInfo;
 import jakarta.ws.rs.ext.RuntimeDelegate;
@@ -26,14 +30,19 @@ import jakarta.ws.rs.ext.RuntimeDelegate;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.Explode;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponseSchema;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.streamshub.console.api.model.JsonApiMeta;
 import com.github.streamshub.console.api.model.KafkaRecord;
 import com.github.streamshub.console.api.model.RecordFilterParams;
+import com.github.streamshub.console.api.model.RecordSearchParams;
+import com.github.streamshub.console.api.model.RecordTailParams;
 import com.github.streamshub.console.api.service.RecordService;
 import com.github.streamshub.console.api.support.ErrorCategory;
 import com.github.streamshub.console.api.support.FieldFilter;
@@ -45,6 +54,7 @@ import com.github.streamshub.console.api.support.StringEnumeration;
 public class RecordsResource {
 
     static final String FIELDS_PARAM = "fields[records]";
+    static final String NDJSON = "application/x-ndjson";
 
     @Inject
     UriInfo uriInfo;
@@ -52,6 +62,9 @@ public class RecordsResource {
     @Inject
     RecordService recordService;
 
+    @Inject
+    ObjectMapper objectMapper;
+
     /**
      * Allows the value of {@link FieldFilter#requestedFields} to be set for
      * the request.
@@ -139,6 +152,333 @@ public class RecordsResource {
                 .build();
     }
 
+    @GET
+    @Path("stream")
+    @Produces(NDJSON)
+    @Operation(
+        summary = "Stream records from a topic",
+        description = """
+            Consume a limited number of records from a topic in the same manner as `consumeRecords`, writing
+            each record to the response as a separate line of JSON as soon as it has been received from the
+            Kafka cluster. When a starting offset or timestamp is given, records are written in the order
+            received (offset order within each partition) rather than sorted by timestamp.
+            """)
+    @APIResponse(
+        responseCode = "200",
+        description = "Newline-delimited stream of records matching the request query parameters.",
+        content = @Content(mediaType = NDJSON, schema = @Schema(implementation = KafkaRecord.class)))
+    @APIResponse(responseCode = "404", ref = "NotFound")
+    @APIResponse(responseCode = "500", ref = "ServerError")
+    @APIResponse(responseCode = "504", ref = "ServerTimeout")
+    public Response streamRecords(
+            @Parameter(description = "Cluster identifier")
+            @PathParam("clusterId")
+            String clusterId,
+
+            @PathParam("topicId")
+            @KafkaUuid(payload = ErrorCategory.ResourceNotFound.class, message = "No such topic")
+            @Parameter(description = "Topic identifier")
+            String topicId,
+
+            @Valid
+            @BeanParam
+            RecordFilterParams params,
+
+            @QueryParam(FIELDS_PARAM)
+            @DefaultValue(KafkaRecord.Fields.DEFAULT)
+            @StringEnumeration(
+                    source = FIELDS_PARAM,
+                    allowedValues = {
+                        KafkaRecord.Fields.PARTITION,
+                        KafkaRecord.Fields.OFFSET,
+                        KafkaRecord.Fields.TIMESTAMP,
+                        KafkaRecord.Fields.TIMESTAMP_TYPE,
+                        KafkaRecord.Fields.HEADERS,
+                        KafkaRecord.Fields.KEY,
+                        KafkaRecord.Fields.VALUE,
+                        KafkaRecord.Fields.SIZE,
+                        KafkaRecord.Fields.KEY_SCHEMA,
+                        KafkaRecord.Fields.VALUE_SCHEMA,
+                    },
+                    payload = ErrorCategory.InvalidQueryParameter.class)
+            @Parameter(
+                    description = FieldFilter.FIELDS_DESCR,
+                    explode = Explode.FALSE,
+                    allowEmptyValue = true,
+                    schema = @Schema(
+                            type = SchemaType.ARRAY,
+                            implementation = String.class,
+                            enumeration = {
+                                KafkaRecord.Fields.PARTITION,
+                                KafkaRecord.Fields.OFFSET,
+                                KafkaRecord.Fields.TIMESTAMP,
+                                KafkaRecord.Fields.TIMESTAMP_TYPE,
+                                KafkaRecord.Fields.HEADERS,
+                                KafkaRecord.Fields.KEY,
+                                KafkaRecord.Fields.VALUE,
+                                KafkaRecord.Fields.SIZE,
+                                KafkaRecord.Fields.KEY_SCHEMA,
+                                KafkaRecord.Fields.VALUE_SCHEMA,
+                            }))
+            List<String> fields) {
+
+        requestedFields.accept(fields);
+        CacheControl noStore = RuntimeDelegate.getInstance().createHeaderDelegate(CacheControl.class).fromString("no-store");
+        var batches = recordService.streamRecords(
+                topicId,
+                params.getPartition(),
+                params.getOffset(),
+                params.getTimestamp(),
+                params.getLimit(),
+                fields,
+                params.getMaxValueLength());
+
+        /*
+         * Each batch is flushed as soon as it is written. Writes block while the
+         * client is not reading, which in turn pauses polling of the consumer.
+         */
+        StreamingOutput output = out -> {
+            try (batches) {
+                for (var batch : (Iterable<List<KafkaRecord>>) batches::iterator) {
+                    for (KafkaRecord rec : batch) {
+                        out.write(objectMapper.writeValueAsBytes(rec));
+                        out.write('\n');
+                    }
+                    out.flush();
+                }
+            }
+        };
+
+        return Response.ok(output, NDJSON)
+                .cacheControl(noStore)
+                .build();
+    }
+
+    @GET
+    @Path("search")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Search records in a topic",
+        description = """
+            Scan the topic's partitions on the server for records with a key, value, and/or header matching
+            the given filters. The scan begins at the given offset or timestamp (or the beginning of each
+            partition when neither is given) and ends when `page[size]` matches have been found, every
+            partition has been read up to its end offset at the start of the search, or the server's scan
+            budget (records, bytes, or time) is exhausted. Matching records are returned in the order they
+            were scanned. The response `meta.search` object describes the amount of data scanned and,
+            when the search is incomplete, the position from which each partition may be resumed using the
+            `next` link.
+            """)
+    @APIResponseSchema(
+        value = KafkaRecord.KafkaRecordDataList.class,
+        responseDescription = "List of records matching the search parameters.")
+    @APIResponse(responseCode = "404", ref = "NotFound")
+    @APIResponse(responseCode = "500", ref = "ServerError")
+    @APIResponse(responseCode = "504", ref = "ServerTimeout")
+    public Response searchRecords(
+            @Parameter(description = "Cluster identifier")
+            @PathParam("clusterId")
+            String clusterId,
+
+            @PathParam("topicId")
+            @KafkaUuid(payload = ErrorCategory.ResourceNotFound.class, message = "No such topic")
+            @Parameter(description = "Topic identifier")
+            String topicId,
+
+            @Valid
+            @BeanParam
+            RecordFilterParams params,
+
+            @Valid
+            @BeanParam
+            RecordSearchParams search,
+
+            @QueryParam(FIELDS_PARAM)
+            @DefaultValue(KafkaRecord.Fields.DEFAULT)
+            @StringEnumeration(
+                    source = FIELDS_PARAM,
+                    allowedValues = {
+                        KafkaRecord.Fields.PARTITION,
+                        KafkaRecord.Fields.OFFSET,
+                        KafkaRecord.Fields.TIMESTAMP,
+                        KafkaRecord.Fields.TIMESTAMP_TYPE,
+                        KafkaRecord.Fields.HEADERS,
+                        KafkaRecord.Fields.KEY,
+                        KafkaRecord.Fields.VALUE,
+                        KafkaRecord.Fields.SIZE,
+                        KafkaRecord.Fields.KEY_SCHEMA,
+                        KafkaRecord.Fields.VALUE_SCHEMA,
+                    },
+                    payload = ErrorCategory.InvalidQueryParameter.class)
+            @Parameter(
+                    description = FieldFilter.FIELDS_DESCR,
+                    explode = Explode.FALSE,
+                    allowEmptyValue = true,
+                    schema = @Schema(
+                            type = SchemaType.ARRAY,
+                            implementation = String.class,
+                            enumeration = {
+                                KafkaRecord.Fields.PARTITION,
+                                KafkaRecord.Fields.OFFSET,
+                                KafkaRecord.Fields.TIMESTAMP,
+                                KafkaRecord.Fields.TIMESTAMP_TYPE,
+                                KafkaRecord.Fields.HEADERS,
+                                KafkaRecord.Fields.KEY,
+                                KafkaRecord.Fields.VALUE,
+                                KafkaRecord.Fields.SIZE,
+                                KafkaRecord.Fields.KEY_SCHEMA,
+                                KafkaRecord.Fields.VALUE_SCHEMA,
+                            }))
+            List<String> fields) {
+
+        requestedFields.accept(fields);
+        CacheControl noStore = RuntimeDelegate.getInstance().createHeaderDelegate(CacheControl.class).fromString("no-store");
+        var result = recordService.searchRecords(
+                topicId,
+                params.getPartition(),
+                params.getOffset(),
+                params.getTimestamp(),
+                search.getResumePositions(),
+                params.getLimit(),
+                search,
+                fields,
+                params.getMaxValueLength());
+
+        Map<String, Object> searchMeta = new LinkedHashMap<>();
+        searchMeta.put("recordsScanned", result.recordsScanned());
+        searchMeta.put("bytesScanned", result.bytesScanned());
+        searchMeta.put("complete", result.resume().isEmpty());
+
+        var responseEntity = new KafkaRecord.KafkaRecordDataList(result.records());
+        Map<String, String> links = new LinkedHashMap<>(1);
+
+        if (result.resume().isEmpty()) {
+            links.put("next", null);
+        } else {
+            searchMeta.put("stopReason", result.stopReason());
+            searchMeta.put("resume", result.resume());
+            links.put("next", uriInfo.getRequestUriBuilder()
+                    .replaceQueryParam("filter[offset]")
+                    .replaceQueryParam("filter[timestamp]")
+                    .replaceQueryParam(RecordSearchParams.PAGE_RESUME, RecordSearchParams.formatResumePositions(result.resume()))
+                    .build()
+                    .toString());
+        }
+
+        responseEntity.meta(JsonApiMeta.put(null, "search", searchMeta));
+        responseEntity.links(links);
+
+        return Response.ok(responseEntity)
+                .cacheControl(noStore)
+                .build();
+    }
+
+    @GET
+    @Path("tail")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Tail the records of a topic",
+        description = """
+            Read the records most recently written to a topic. Records are received by a single consumer
+            per topic that is shared by all clients tailing the topic and retained in a bounded window.
+            The first request returns the most recent records in the window. Subsequent requests made with
+            the `next` link (or with `page[after]` set to `meta.tail.cursor`) return the records received
+            since the previous response, waiting for a new record to be received when there are none. The
+            response `meta.tail.gap` is true when records were received faster than the client requested
+            them and some were dropped from the window before being returned. `filter[offset]` and
+            `filter[timestamp]` are not supported and are ignored.
+            """)
+    @APIResponseSchema(
+        value = KafkaRecord.KafkaRecordDataList.class,
+        responseDescription = "List of records received by the tail, oldest first.")
+    @APIResponse(responseCode = "404", ref = "NotFound")
+    @APIResponse(responseCode = "500", ref = "ServerError")
+    @APIResponse(responseCode = "504", ref = "ServerTimeout")
+    public CompletionStage<Response> tailRecords(
+            @Parameter(description = "Cluster identifier")
+            @PathParam("clusterId")
+            String clusterId,
+
+            @PathParam("topicId")
+            @KafkaUuid(payload = ErrorCategory.ResourceNotFound.class, message = "No such topic")
+            @Parameter(description = "Topic identifier")
+            String topicId,
+
+            @Valid
+            @BeanParam
+            RecordFilterParams params,
+
+            @Valid
+            @BeanParam
+            RecordTailParams tail,
+
+            @QueryParam(FIELDS_PARAM)
+            @DefaultValue(KafkaRecord.Fields.DEFAULT)
+            @StringEnumeration(
+                    source = FIELDS_PARAM,
+                    allowedValues = {
+                        KafkaRecord.Fields.PARTITION,
+                        KafkaRecord.Fields.OFFSET,
+                        KafkaRecord.Fields.TIMESTAMP,
+                        KafkaRecord.Fields.TIMESTAMP_TYPE,
+                        KafkaRecord.Fields.HEADERS,
+                        KafkaRecord.Fields.KEY,
+                        KafkaRecord.Fields.VALUE,
+                        KafkaRecord.Fields.SIZE,
+                        KafkaRecord.Fields.KEY_SCHEMA,
+                        KafkaRecord.Fields.VALUE_SCHEMA,
+                    },
+                    payload = ErrorCategory.InvalidQueryParameter.class)
+            @Parameter(
+                    description = FieldFilter.FIELDS_DESCR,
+                    explode = Explode.FALSE,
+                    allowEmptyValue = true,
+                    schema = @Schema(
+                            type = SchemaType.ARRAY,
+                            implementation = String.class,
+                            enumeration = {
+                                KafkaRecord.Fields.PARTITION,
+                                KafkaRecord.Fields.OFFSET,
+                                KafkaRecord.Fields.TIMESTAMP,
+                                KafkaRecord.Fields.TIMESTAMP_TYPE,
+                                KafkaRecord.Fields.HEADERS,
+                                KafkaRecord.Fields.KEY,
+                                KafkaRecord.Fields.VALUE,
+                                KafkaRecord.Fields.SIZE,
+                                KafkaRecord.Fields.KEY_SCHEMA,
+                                KafkaRecord.Fields.VALUE_SCHEMA,
+                            }))
+            List<String> fields) {
+
+        requestedFields.accept(fields);
+        CacheControl noStore = RuntimeDelegate.getInstance().createHeaderDelegate(CacheControl.class).fromString("no-store");
+        var nextLink = uriInfo.getRequestUriBuilder();
+
+        return recordService.tailRecords(
+                topicId,
+                params.getPartition(),
+                tail.getCursor(),
+                params.getLimit(),
+                fields,
+                params.getMaxValueLength())
+            .thenApply(result -> {
+                Map<String, Object> tailMeta = new LinkedHashMap<>();
+                tailMeta.put("cursor", result.cursor());
+                tailMeta.put("gap", result.gap());
+
+                var responseEntity = new KafkaRecord.KafkaRecordDataList(result.records());
+                responseEntity.meta(JsonApiMeta.put(null, "tail", tailMeta));
+                responseEntity.addLink("next", nextLink
+                        .replaceQueryParam(RecordTailParams.PAGE_AFTER, result.cursor())
+                        .build()
+                        .toString());
+
+                return Response.ok(responseEntity)
+                        .cacheControl(noStore)
+                        .build();
+            });
+    }
+
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
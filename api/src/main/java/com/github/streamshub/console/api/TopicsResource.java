@@ -157,6 +157,7 @@ public class TopicsResource {
                         Topic.Fields.TOTAL_LEADER_LOG_BYTES,
                         Topic.Fields.CONSUMER_GROUPS,
                         Topic.Fields.STATUS,
+                        Topic.Fields.METRICS
                     },
                     payload = ErrorCategory.InvalidQueryParameter.class)
             @Parameter(
@@ -175,6 +176,7 @@ public class TopicsResource {
                                 Topic.Fields.TOTAL_LEADER_LOG_BYTES,
                                 Topic.Fields.CONSUMER_GROUPS,
                                 Topic.Fields.STATUS,
+                                Topic.Fields.METRICS
                             }))
             List<String> fields,
 
@@ -245,6 +247,7 @@ public class TopicsResource {
                         Topic.Fields.TOTAL_LEADER_LOG_BYTES,
                         Topic.Fields.CONSUMER_GROUPS,
                         Topic.Fields.STATUS,
+                        Topic.Fields.METRICS
                     },
                     payload = ErrorCategory.InvalidQueryParameter.class)
             @Parameter(
@@ -263,6 +266,7 @@ public class TopicsResource {
                                 Topic.Fields.TOTAL_LEADER_LOG_BYTES,
                                 Topic.Fields.CONSUMER_GROUPS,
                                 Topic.Fields.STATUS,
+                                Topic.Fields.METRICS
                             }))
             List<String> fields,
 
@@ -314,7 +318,8 @@ public class TopicsResource {
                         ConsumerGroup.Fields.OFFSETS,
                         ConsumerGroup.Fields.AUTHORIZED_OPERATIONS,
                         ConsumerGroup.Fields.COORDINATOR,
-                        ConsumerGroup.Fields.PARTITION_ASSIGNOR
+                        ConsumerGroup.Fields.PARTITION_ASSIGNOR,
+                        ConsumerGroup.Fields.METRICS
                     },
                     payload = ErrorCategory.InvalidQueryParameter.class)
             @Parameter(
@@ -330,7 +335,8 @@ public class TopicsResource {
                                 ConsumerGroup.Fields.OFFSETS,
                                 ConsumerGroup.Fields.AUTHORIZED_OPERATIONS,
                                 ConsumerGroup.Fields.COORDINATOR,
-                                ConsumerGroup.Fields.PARTITION_ASSIGNOR
+                                ConsumerGroup.Fields.PARTITION_ASSIGNOR,
+                                ConsumerGroup.Fields.METRICS
                             }))
             List<String> fields,
 
@@ -44,6 +44,8 @@ public class ConsumerGroup {
         public static final String PARTITION_ASSIGNOR = "partitionAssignor";
         public static final String OFFSETS = "offsets";
         public static final String SIMPLE_CONSUMER_GROUP = "simpleConsumerGroup";
+        public static final String LAG_TRENDS = "lagTrends";
+        public static final String METRICS = "metrics";
 
         static final Comparator<ConsumerGroup> ID_COMPARATOR =
                 comparing(ConsumerGroup::getGroupId);
@@ -160,6 +162,19 @@ public class ConsumerGroup {
 
     private List<@Valid OffsetAndMetadata> offsets = Collections.emptyList();
 
+    // Available via describe operation, for groups with sampled lag history only
+
+    @Schema(readOnly = true)
+    private List<LagTrend> lagTrends = Collections.emptyList();
+
+    // Available from Prometheus, for clusters with a metrics source only
+
+    @Schema(readOnly = true, description = """
+            Lag metrics of the group from the Kafka Exporter, or null if
+            metrics are not available for the Kafka cluster.
+            """)
+    private Metrics metrics;
+
     // When a describe error occurs
     private List<Error> errors;
 
@@ -276,6 +291,22 @@ public class ConsumerGroup {
         this.offsets = offsets;
     }
 
+    public List<LagTrend> getLagTrends() {
+        return lagTrends;
+    }
+
+    public void setLagTrends(List<LagTrend> lagTrends) {
+        this.lagTrends = lagTrends;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
     /**
      * Constructs a "cursor" ConsumerGroup from the encoded string representation of the subset
      * of Topic fields used to compare entities for pagination/sorting.
@@ -0,0 +1,50 @@
+package com.github.streamshub.console.api.model;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.github.streamshub.console.api.support.LagHistory;
+
+@Schema(description = """
+    Trend of a consumer group's lag for a topic, estimated from the offsets
+    sampled periodically by the console over a recent window.
+    """)
+@JsonInclude(value = Include.NON_NULL)
+public record LagTrend(
+        String topicId,
+
+        String topicName,
+
+        @Schema(description = "Lag of the group for the topic, summed over the topic's partitions, at the most recent sample")
+        long lag,
+
+        @Schema(description = "Records consumed (committed) by the group per second")
+        double consumptionRate,
+
+        @Schema(description = "Records produced to the topic per second")
+        double productionRate,
+
+        @Schema(description = "Change of the lag per second, negative when the lag is decreasing")
+        double lagRate,
+
+        @Schema(description = "Duration in seconds covered by the samples")
+        double windowSeconds,
+
+        @Schema(
+            nullable = true,
+            description = "Estimated seconds until the lag reaches zero, null when the lag is not decreasing")
+        Double timeToCatchUpSeconds
+) {
+
+    public static LagTrend fromHistory(String topicId, String topicName, LagHistory.Trend trend) {
+        return new LagTrend(topicId,
+                topicName,
+                trend.lag(),
+                trend.consumptionRate(),
+                trend.productionRate(),
+                trend.lagRate(),
+                trend.windowSeconds(),
+                trend.timeToCatchUp());
+    }
+}
@@ -52,7 +52,7 @@ public class PartitionInfo {
                 thrown -> Error.forThrowable(thrown, message));
     }
 
-    public void addOffset(String key, Either<OffsetInfo, Throwable> offset) {
+    public synchronized void addOffset(String key, Either<OffsetInfo, Throwable> offset) {
         if (this.offsets == null) {
             this.offsets = new LinkedHashMap<>(4);
         }
@@ -0,0 +1,222 @@
+package com.github.streamshub.console.api.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jakarta.ws.rs.QueryParam;
+
+import org.eclipse.microprofile.openapi.annotations.enums.Explode;
+import org.eclipse.microprofile.openapi.annotations.media.ExampleObject;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.streamshub.console.api.support.ErrorCategory;
+import com.github.streamshub.console.api.support.RecordMatcher;
+
+import io.xlate.validation.constraints.Expression;
+import io.xlate.validation.constraints.Expression.ExceptionalValue;
+
+/**
+ * Query parameters for a server-side search of a topic's records. The position
+ * from which the search begins is given by the {@link RecordFilterParams}
+ * offset or timestamp filters, or by a {@code page[resume]} position returned
+ * by a previous search.
+ */
+@Expression(
+    when = "self.key == null && self.value == null",
+    value = "self.headers != null",
+    message = "at least one of `filter[key]`, `filter[value]`, or `filter[headers]` is required",
+    node = RecordSearchParams.FILTER_VALUE,
+    payload = ErrorCategory.InvalidQueryParameter.class)
+public class RecordSearchParams {
+
+    public static final String FILTER_KEY = "filter[key]";
+    public static final String FILTER_VALUE = "filter[value]";
+    public static final String FILTER_HEADERS = "filter[headers]";
+    public static final String PAGE_RESUME = "page[resume]";
+
+    static final String MATCH_DESCR = """
+            The format of this parameter's value is `[ <operator>,<operand> ]` where the
+            supported operators are:
+
+            - `eq` - text is equal to the operand
+            - `contains` - text contains the operand
+            - `regex` - text contains a match for the operand (a Java regular expression)
+            - `jsonpath` - text is JSON and the value at the path given by the first operand
+              (e.g. `$.customer.id` or `/customer/id`) is equal to the second operand
+            """;
+
+    @QueryParam(FILTER_KEY)
+    @Parameter(
+        description = "Search for records with a key matching this parameter. " + MATCH_DESCR,
+        schema = @Schema(implementation = String[].class, minItems = 2),
+        explode = Explode.FALSE,
+        examples = {
+            @ExampleObject(
+                name = "Key contains",
+                summary = "Records with a key containing `order-`",
+                value = "[ \"contains\",\"order-\" ]")
+        })
+    @Expression(
+        when = "self != null",
+        value = "self.operator == 'eq' || self.operator == 'contains' || self.operator == 'regex' || self.operator == 'jsonpath'",
+        message = "unsupported filter operator, supported values: [ 'eq', 'contains', 'regex', 'jsonpath' ]",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = FILTER_KEY)
+    @Expression(
+        when = "self != null && self.operator == 'regex'",
+        classImports = "java.util.regex.Pattern",
+        value = "Pattern.compile(String.join(',', self.operands)) != null",
+        exceptionalValue = ExceptionalValue.FALSE,
+        message = "operand must be a valid regular expression",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = FILTER_KEY)
+    @Expression(
+        when = "self != null && self.operator == 'jsonpath'",
+        value = "self.operands.size() >= 2",
+        message = "a path and a value are required",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = FILTER_KEY)
+    FetchFilter key;
+
+    @QueryParam(FILTER_VALUE)
+    @Parameter(
+        description = "Search for records with a value matching this parameter. " + MATCH_DESCR,
+        schema = @Schema(implementation = String[].class, minItems = 2),
+        explode = Explode.FALSE,
+        examples = {
+            @ExampleObject(
+                name = "JSON value",
+                summary = "Records with a JSON value having `status` equal to `FAILED`",
+                value = "[ \"jsonpath\",\"$.status\",\"FAILED\" ]")
+        })
+    @Expression(
+        when = "self != null",
+        value = "self.operator == 'eq' || self.operator == 'contains' || self.operator == 'regex' || self.operator == 'jsonpath'",
+        message = "unsupported filter operator, supported values: [ 'eq', 'contains', 'regex', 'jsonpath' ]",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = FILTER_VALUE)
+    @Expression(
+        when = "self != null && self.operator == 'regex'",
+        classImports = "java.util.regex.Pattern",
+        value = "Pattern.compile(String.join(',', self.operands)) != null",
+        exceptionalValue = ExceptionalValue.FALSE,
+        message = "operand must be a valid regular expression",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = FILTER_VALUE)
+    @Expression(
+        when = "self != null && self.operator == 'jsonpath'",
+        value = "self.operands.size() >= 2",
+        message = "a path and a value are required",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = FILTER_VALUE)
+    FetchFilter value;
+
+    @QueryParam(FILTER_HEADERS)
+    @Parameter(
+        description = "Search for records with any header value matching this parameter. " + MATCH_DESCR,
+        schema = @Schema(implementation = String[].class, minItems = 2),
+        explode = Explode.FALSE)
+    @Expression(
+        when = "self != null",
+        value = "self.operator == 'eq' || self.operator == 'contains' || self.operator == 'regex' || self.operator == 'jsonpath'",
+        message = "unsupported filter operator, supported values: [ 'eq', 'contains', 'regex', 'jsonpath' ]",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = FILTER_HEADERS)
+    @Expression(
+        when = "self != null && self.operator == 'regex'",
+        classImports = "java.util.regex.Pattern",
+        value = "Pattern.compile(String.join(',', self.operands)) != null",
+        exceptionalValue = ExceptionalValue.FALSE,
+        message = "operand must be a valid regular expression",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = FILTER_HEADERS)
+    @Expression(
+        when = "self != null && self.operator == 'jsonpath'",
+        value = "self.operands.size() >= 2",
+        message = "a path and a value are required",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = FILTER_HEADERS)
+    FetchFilter headers;
+
+    @QueryParam(PAGE_RESUME)
+    @Parameter(
+        description = """
+            Resume a previous search from the per-partition positions given in the
+            `meta.search.resume` object (or the `next` link) of its response. The format
+            of this parameter's value is a comma-separated list of `<partition>:<offset>`
+            entries. When present, `filter[offset]` and `filter[timestamp]` are ignored
+            and only the listed partitions are searched.
+            """,
+        schema = @Schema(implementation = String.class, pattern = "^\\d+:\\d+(,\\d+:\\d+)*$"),
+        examples = {
+            @ExampleObject(
+                name = "Two partitions",
+                summary = "Resume partition 0 at offset 1200 and partition 3 at offset 998",
+                value = "0:1200,3:998")
+        })
+    @Expression(
+        when = "self != null",
+        value = "self.matches('^\\\\d+:\\\\d+(,\\\\d+:\\\\d+)*$')",
+        message = "must be a comma-separated list of `<partition>:<offset>` entries",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = PAGE_RESUME)
+    String resume;
+
+    public FetchFilter getKey() {
+        return key;
+    }
+
+    public FetchFilter getValue() {
+        return value;
+    }
+
+    public FetchFilter getHeaders() {
+        return headers;
+    }
+
+    public RecordMatcher keyMatcher(ObjectMapper objectMapper) {
+        return key != null ? new RecordMatcher(key, objectMapper) : null;
+    }
+
+    public RecordMatcher valueMatcher(ObjectMapper objectMapper) {
+        return value != null ? new RecordMatcher(value, objectMapper) : null;
+    }
+
+    public RecordMatcher headersMatcher(ObjectMapper objectMapper) {
+        return headers != null ? new RecordMatcher(headers, objectMapper) : null;
+    }
+
+    /**
+     * @return the resume positions by partition, or null when the search is not
+     *         being resumed
+     */
+    public Map<Integer, Long> getResumePositions() {
+        if (resume == null) {
+            return null; // NOSONAR - null indicates absence of the parameter
+        }
+
+        Map<Integer, Long> positions = new LinkedHashMap<>();
+
+        for (String entry : resume.split(",")) {
+            int separator = entry.indexOf(':');
+            positions.put(Integer.parseInt(entry.substring(0, separator)), Long.parseLong(entry.substring(separator + 1)));
+        }
+
+        return positions;
+    }
+
+    public static String formatResumePositions(Map<Integer, Long> positions) {
+        StringBuilder result = new StringBuilder();
+
+        positions.forEach((partition, offset) -> {
+            if (!result.isEmpty()) {
+                result.append(',');
+            }
+            result.append(partition).append(':').append(offset);
+        });
+
+        return result.toString();
+    }
+}
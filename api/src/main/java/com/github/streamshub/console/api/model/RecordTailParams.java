@@ -0,0 +1,39 @@
+package com.github.streamshub.console.api.model;
+
+import jakarta.ws.rs.QueryParam;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+
+import com.github.streamshub.console.api.support.ErrorCategory;
+
+import io.xlate.validation.constraints.Expression;
+
+/**
+ * Query parameters for reading the live tail of a topic's records.
+ */
+public class RecordTailParams {
+
+    public static final String PAGE_AFTER = "page[after]";
+
+    @QueryParam(PAGE_AFTER)
+    @Parameter(
+        description = """
+            Return only records received by the tail after those of a previous response. The value is the
+            opaque cursor given in the `meta.tail.cursor` object (or the `next` link) of the previous
+            response. When absent, or when the cursor was issued by a tail that is no longer running, the
+            most recent records are returned immediately.
+            """,
+        schema = @Schema(implementation = String.class, pattern = "^[A-Za-z0-9_-]+:\\d+$"))
+    @Expression(
+        when = "self != null",
+        value = "self.matches('^[A-Za-z0-9_-]+:\\\\d{1,18}$')",
+        message = "must be a cursor returned by a previous request",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = PAGE_AFTER)
+    String cursor;
+
+    public String getCursor() {
+        return cursor;
+    }
+}
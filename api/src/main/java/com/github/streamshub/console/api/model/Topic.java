@@ -2,6 +2,8 @@ package com.github.streamshub.console.api.model;
 
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.Collection;
 import java.util.Comparator;
@@ -45,6 +47,7 @@ public class Topic extends RelatableResource<Topic.Attributes, Topic.Relationshi
         public static final String TOTAL_LEADER_LOG_BYTES = "totalLeaderLogBytes";
         public static final String CONSUMER_GROUPS = "consumerGroups";
         public static final String STATUS = "status";
+        public static final String METRICS = "metrics";
         static final Pattern CONFIG_KEY = Pattern.compile("^configs\\.\"([^\"]+)\"$");
 
         static final Comparator<Topic> ID_COMPARATOR =
@@ -146,11 +149,43 @@ public class Topic extends RelatableResource<Topic.Attributes, Topic.Relationshi
         @Schema(implementation = Object.class, oneOf = { ConfigEntry.ConfigEntryMap.class, Error.class })
         Either<Map<String, ConfigEntry>, Error> configs;
 
+        @JsonProperty
+        @Schema(description = """
+                Throughput and partition size metrics of the topic, or null if
+                metrics are not available for the Kafka cluster.
+                """)
+        Metrics metrics;
+
+        /**
+         * The partitions, indexed by partition number, when the topic has been
+         * described successfully.
+         */
+        @JsonIgnore
+        PartitionInfo[] partitionIndex;
+
         Attributes(String name, boolean internal) {
             this.name = name;
             this.internal = internal;
         }
 
+        void setPartitions(Either<List<PartitionInfo>, Error> partitions) {
+            this.partitions = partitions;
+            this.partitionIndex = partitions.getOptionalPrimary()
+                    .map(Attributes::indexPartitions)
+                    .orElse(null);
+        }
+
+        static PartitionInfo[] indexPartitions(List<PartitionInfo> partitions) {
+            int size = partitions.stream().mapToInt(PartitionInfo::getPartition).max().orElse(-1) + 1;
+            PartitionInfo[] index = new PartitionInfo[size];
+
+            for (PartitionInfo partition : partitions) {
+                index[partition.getPartition()] = partition;
+            }
+
+            return index;
+        }
+
         @JsonProperty
         public String status() {
             if (partitions == null) {
@@ -226,6 +261,9 @@ public class Topic extends RelatableResource<Topic.Attributes, Topic.Relationshi
         final DataList<Identifier> consumerGroups = new DataList<>();
     }
 
+    @JsonIgnore
+    Instant dataFetched;
+
     public Topic(String name, boolean internal, String id) {
         super(id, "topics", new Attributes(name, internal), new Relationships());
     }
@@ -237,10 +275,10 @@ public class Topic extends RelatableResource<Topic.Attributes, Topic.Relationshi
     public static Topic fromTopicDescription(org.apache.kafka.clients.admin.TopicDescription description) {
         Topic topic = new Topic(description.name(), description.isInternal(), description.topicId().toString());
 
-        topic.attributes.partitions = Either.of(description.partitions()
+        topic.attributes.setPartitions(Either.of(description.partitions()
                 .stream()
                 .map(PartitionInfo::fromKafkaModel)
-                .toList());
+                .toList()));
 
         topic.attributes.authorizedOperations = Either.of(Optional.ofNullable(description.authorizedOperations())
                 .map(Collection::stream)
@@ -313,9 +351,9 @@ public class Topic extends RelatableResource<Topic.Attributes, Topic.Relationshi
     }
 
     public void addPartitions(Either<Topic, Throwable> description) {
-        attributes.partitions = description.ifPrimaryOrElse(
+        attributes.setPartitions(description.ifPrimaryOrElse(
                 Topic::partitions,
-                thrown -> Error.forThrowable(thrown, "Unable to describe topic"));
+                thrown -> Error.forThrowable(thrown, "Unable to describe topic")));
     }
 
     public void addAuthorizedOperations(Either<Topic, Throwable> description) {
@@ -330,6 +368,28 @@ public class Topic extends RelatableResource<Topic.Attributes, Topic.Relationshi
                 thrown -> Error.forThrowable(thrown, "Unable to describe topic configs"));
     }
 
+    /**
+     * Record the time that metadata of the topic included in the response was
+     * fetched from the cluster, when it was obtained from a cache. The age of the
+     * oldest metadata is given in the topic's {@code dataAge} meta property, in
+     * seconds.
+     *
+     * @param fetched time the metadata was fetched, or null when not cached
+     * @return this topic
+     */
+    public synchronized Topic dataFetched(Instant fetched) {
+        if (fetched != null && (dataFetched == null || fetched.isBefore(dataFetched))) {
+            dataFetched = fetched;
+            addMeta("dataAge", Duration.between(fetched, Instant.now()).toSeconds());
+        }
+        return this;
+    }
+
+    @JsonIgnore
+    public Instant dataFetched() {
+        return dataFetched;
+    }
+
     public String name() {
         return attributes.name;
     }
@@ -346,6 +406,24 @@ public class Topic extends RelatableResource<Topic.Attributes, Topic.Relationshi
         return attributes.partitions;
     }
 
+    /**
+     * Find a partition of the topic by its number without searching the list
+     * of partitions.
+     *
+     * @param partitionNo the partition number
+     * @return the partition, or empty if the topic has not been described or
+     *         has no such partition
+     */
+    public Optional<PartitionInfo> partition(int partitionNo) {
+        PartitionInfo[] index = attributes.partitionIndex;
+
+        if (index == null || partitionNo < 0 || partitionNo >= index.length) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(index[partitionNo]);
+    }
+
     public Either<List<String>, Error> authorizedOperations() {
         return attributes.authorizedOperations;
     }
@@ -354,6 +432,14 @@ public class Topic extends RelatableResource<Topic.Attributes, Topic.Relationshi
         return attributes.configs;
     }
 
+    public Metrics metrics() {
+        return attributes.metrics;
+    }
+
+    public void metrics(Metrics metrics) {
+        attributes.metrics = metrics;
+    }
+
     public DataList<Identifier> consumerGroups() {
         return relationships.consumerGroups;
     }
@@ -1,6 +1,8 @@
 package com.github.streamshub.console.api.service;
 
+import java.time.Instant;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -9,6 +11,8 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import jakarta.enterprise.context.ApplicationScoped;
@@ -18,11 +22,13 @@ import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.AlterConfigOp;
 import org.apache.kafka.clients.admin.AlterConfigOp.OpType;
 import org.apache.kafka.clients.admin.AlterConfigsOptions;
+import org.apache.kafka.clients.admin.Config;
 import org.apache.kafka.common.config.ConfigResource;
 
 import com.github.streamshub.console.api.model.ConfigEntry;
 import com.github.streamshub.console.api.model.Either;
 import com.github.streamshub.console.api.support.KafkaContext;
+import com.github.streamshub.console.api.support.MetadataCache;
 
 @ApplicationScoped
 public class ConfigService {
@@ -49,7 +55,8 @@ public class ConfigService {
      * @param alteredConfigs map of altered configurations, null values allowed
      * @return CompletionStage "promise" that completes when all operations
      *         submitted to {@linkplain Admin#incrementalAlterConfigs(Map)}.
-     *         complete
+     *         complete. Cached configurations of the resource are invalidated
+     *         unless {@code validateOnly} is set.
      */
     public CompletionStage<Void> alterConfigs(ConfigResource.Type type, String name, Map<String, ConfigEntry> alteredConfigs, boolean validateOnly) {
         Admin adminClient = kafkaContext.admin();
@@ -59,19 +66,48 @@ public class ConfigService {
                 .validateOnly(validateOnly))
             .values()
             .get(resourceKey)
-            .toCompletionStage();
+            .toCompletionStage()
+            .whenComplete((nothing, error) -> {
+                var cache = kafkaContext.configCache();
+
+                if (!validateOnly && cache != null) {
+                    cache.invalidate(resourceKey);
+                }
+            });
     }
 
     CompletionStage<Map<String, Either<Map<String, ConfigEntry>, Throwable>>> describeConfigs(Admin adminClient, List<ConfigResource> keys) {
-        Map<String, Either<Map<String, ConfigEntry>, Throwable>> result = new LinkedHashMap<>(keys.size());
+        return describeConfigs(adminClient, keys, (name, fetched) -> { });
+    }
 
-        var pendingDescribes = adminClient.describeConfigs(keys)
-            .values()
-            .entrySet()
+    /**
+     * Describe the configurations of the given resources, using the cluster's
+     * configuration cache when available.
+     *
+     * @param fetched receives the name of each resource whose configurations
+     *                were obtained from the cache along with the time they were
+     *                fetched from the cluster
+     */
+    CompletionStage<Map<String, Either<Map<String, ConfigEntry>, Throwable>>> describeConfigs(Admin adminClient,
+            List<ConfigResource> keys,
+            BiConsumer<String, Instant> fetched) {
+
+        Map<String, Either<Map<String, ConfigEntry>, Throwable>> result = Collections.synchronizedMap(new LinkedHashMap<>(keys.size()));
+        Function<Collection<ConfigResource>, Map<ConfigResource, CompletableFuture<Config>>> loader = resources ->
+            kafkaContext.adminRequests().submit(resources, chunk -> adminClient.describeConfigs(chunk).values());
+        var cache = kafkaContext.configCache();
+        var pending = cache != null ? cache.get(keys, loader) : MetadataCache.uncached(loader.apply(keys));
+
+        var pendingDescribes = pending.entrySet()
             .stream()
             .map(entry ->
-                entry.getValue().toCompletionStage().<Void>handle((description, error) -> {
-                    result.put(entry.getKey().name(), Either.of(description, error, conf -> toMap(conf.entries())));
+                entry.getValue().<Void>handle((description, error) -> {
+                    String name = entry.getKey().name();
+                    result.put(name, Either.of(description, error, conf -> toMap(conf.value().entries())));
+
+                    if (description != null && description.fetched() != null) {
+                        fetched.accept(name, description.fetched());
+                    }
                     return null;
                 }))
             .map(CompletionStage::toCompletableFuture)
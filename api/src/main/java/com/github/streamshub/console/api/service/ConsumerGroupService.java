@@ -1,9 +1,11 @@
 package com.github.streamshub.console.api.service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -15,6 +17,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -26,14 +29,12 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import org.apache.kafka.clients.admin.Admin;
-import org.apache.kafka.clients.admin.ConsumerGroupListing;
 import org.apache.kafka.clients.admin.DescribeConsumerGroupsOptions;
 import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
 import org.apache.kafka.clients.admin.ListConsumerGroupsOptions;
 import org.apache.kafka.clients.admin.ListOffsetsResult;
 import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
 import org.apache.kafka.clients.admin.OffsetSpec;
-import org.apache.kafka.clients.admin.TopicListing;
 import org.apache.kafka.common.ConsumerGroupState;
 import org.apache.kafka.common.TopicCollection;
 import org.apache.kafka.common.TopicPartition;
@@ -46,12 +47,16 @@ import org.eclipse.microprofile.context.ThreadContext;
 import com.github.streamshub.console.api.model.ConsumerGroup;
 import com.github.streamshub.console.api.model.Either;
 import com.github.streamshub.console.api.model.Error;
+import com.github.streamshub.console.api.model.LagTrend;
 import com.github.streamshub.console.api.model.MemberDescription;
 import com.github.streamshub.console.api.model.OffsetAndMetadata;
 import com.github.streamshub.console.api.model.PartitionId;
 import com.github.streamshub.console.api.model.PartitionInfo;
 import com.github.streamshub.console.api.model.Topic;
+import com.github.streamshub.console.api.support.ConsumerGroupCatalog;
+import com.github.streamshub.console.api.support.ConsumerGroupIndex;
 import com.github.streamshub.console.api.support.ConsumerGroupValidation;
+import com.github.streamshub.console.api.support.EndOffsetCache;
 import com.github.streamshub.console.api.support.FetchFilterPredicate;
 import com.github.streamshub.console.api.support.KafkaContext;
 import com.github.streamshub.console.api.support.KafkaOffsetSpec;
@@ -93,6 +98,9 @@ public class ConsumerGroupService {
     @Inject
     ValidationProxy validationService;
 
+    @Inject
+    MetricsService metricsService;
+
     public CompletionStage<List<ConsumerGroup>> listConsumerGroups(List<String> includes, ListRequestContext<ConsumerGroup> listSupport) {
         return listConsumerGroups(Collections.emptyList(), includes, listSupport);
     }
@@ -138,12 +146,13 @@ public class ConsumerGroupService {
             .findFirst()
             .orElse(null);
 
-        return adminClient.listConsumerGroups(new ListConsumerGroupsOptions()
-                .inStates(states))
-            .valid()
-            .toCompletionStage()
-            .thenApply(groups -> groups.stream()
-                    .filter(group -> groupIds.isEmpty() || groupIds.contains(group.groupId()))
+        Set<String> requestedIds = Set.copyOf(groupIds);
+
+        return consumerGroupCatalog(adminClient)
+            .thenApply(catalog -> catalog.listings()
+                    .stream()
+                    .filter(group -> requestedIds.isEmpty() || requestedIds.contains(group.groupId()))
+                    .filter(group -> states == null || group.state().filter(states::contains).isPresent())
                     .map(ConsumerGroup::fromKafkaModel)
                     .toList())
             .thenApply(list -> list.stream()
@@ -164,17 +173,37 @@ public class ConsumerGroupService {
         return assertConsumerGroupExists(adminClient, groupId)
             .thenCompose(nothing -> describeConsumerGroups(adminClient, List.of(groupId), includes))
             .thenApply(groups -> groups.get(groupId))
-            .thenApply(result -> result.getOrThrow(CompletionException::new));
+            .thenApply(result -> result.getOrThrow(CompletionException::new))
+            .thenApply(group -> {
+                if (ConsumerGroupState.DEAD.name().equals(group.getState())) {
+                    // Deleted since the group catalog was last refreshed
+                    Optional.ofNullable(kafkaContext.consumerGroupCatalog())
+                        .ifPresent(catalog -> catalog.remove(groupId));
+                    throw noSuchGroup(groupId);
+                }
+                return group;
+            })
+            .thenCompose(group -> maybeFetchMetrics(Map.of(groupId, group), includes)
+                    .thenApply(nothing -> group));
     }
 
+    /**
+     * Find the active consumer groups using each of the given topics. The
+     * cluster's {@linkplain ConsumerGroupIndex consumer group index} is used
+     * once populated, otherwise (or for clusters accessed with the credentials
+     * of the requesting user) all active groups are described.
+     */
     public CompletionStage<Map<String, List<String>>> listConsumerGroupMembership(Collection<String> topicIds) {
+        ConsumerGroupIndex index = kafkaContext.consumerGroupIndex();
+
+        if (kafkaContext.applicationScoped() && index != null && index.populated()) {
+            return CompletableFuture.completedStage(index.groupsByTopic(topicIds));
+        }
+
         Admin adminClient = kafkaContext.admin();
 
         return adminClient.listConsumerGroups(new ListConsumerGroupsOptions()
-                .inStates(Set.of(
-                        ConsumerGroupState.STABLE,
-                        ConsumerGroupState.PREPARING_REBALANCE,
-                        ConsumerGroupState.COMPLETING_REBALANCE)))
+                .inStates(ConsumerGroupIndex.ACTIVE_STATES))
             .valid()
             .toCompletionStage()
             .thenApply(groups -> groups.stream().map(ConsumerGroup::fromKafkaModel).toList())
@@ -213,25 +242,79 @@ public class ConsumerGroupService {
         Admin adminClient = kafkaContext.admin();
         String groupId = preprocessGroupId(patch.getGroupId());
 
-        return assertConsumerGroupExists(adminClient, groupId)
+        return assertConsumerGroupLive(adminClient, groupId)
             .thenComposeAsync(nothing -> Optional.ofNullable(patch.getOffsets())
                     .filter(Predicate.not(Collection::isEmpty))
                     .map(patchedOffsets -> alterConsumerGroupOffsets(adminClient, groupId, patch, dryRun))
                     .orElseGet(() -> CompletableFuture.completedStage(Optional.empty())),
-                threadContext.currentContextExecutor());
+                threadContext.currentContextExecutor())
+            .whenComplete((result, error) -> {
+                if (!dryRun) {
+                    // The group's state may have changed, e.g. a group with no offsets may now be empty
+                    Optional.ofNullable(kafkaContext.consumerGroupCatalog())
+                        .ifPresent(ConsumerGroupCatalog::invalidate);
+                }
+            });
+    }
+
+    /**
+     * Obtain the catalog of the cluster's consumer groups. The cluster's shared
+     * catalog is used for clusters accessed with the console's own credentials,
+     * refreshed when not current. Otherwise, the groups visible to the requesting
+     * user are listed.
+     */
+    CompletionStage<ConsumerGroupCatalog> consumerGroupCatalog(Admin adminClient) {
+        ConsumerGroupCatalog catalog = kafkaContext.consumerGroupCatalog();
+
+        if (kafkaContext.applicationScoped() && catalog != null) {
+            return catalog.currentCatalog(adminClient);
+        }
+
+        return kafkaContext.coalesce("listConsumerGroups", List.of(),
+                () -> new ConsumerGroupCatalog(Duration.ZERO).refresh(adminClient));
     }
 
     CompletionStage<Void> assertConsumerGroupExists(Admin adminClient, String groupId) {
-        return adminClient.listConsumerGroups()
-            .all()
+        Instant requested = Instant.now();
+
+        return consumerGroupCatalog(adminClient)
+            .thenCompose(catalog -> {
+                if (catalog.contains(groupId) || !catalog.lastUpdated().isBefore(requested)) {
+                    return CompletableFuture.completedStage(catalog);
+                }
+                // The group may have been created since the catalog was last refreshed
+                return catalog.refresh(adminClient);
+            })
+            .thenAccept(catalog -> {
+                if (!catalog.contains(groupId)) {
+                    throw noSuchGroup(groupId);
+                }
+            });
+    }
+
+    /**
+     * Confirm the group exists by describing it, rather than by the catalog,
+     * which may not yet reflect a group deleted outside of the console. Altering
+     * the offsets of a deleted group would otherwise re-create it.
+     */
+    CompletionStage<Void> assertConsumerGroupLive(Admin adminClient, String groupId) {
+        return adminClient.describeConsumerGroups(List.of(groupId))
+            .describedGroups()
+            .get(groupId)
             .toCompletionStage()
-            .thenAccept(listing -> {
-                if (listing.stream().map(ConsumerGroupListing::groupId).noneMatch(groupId::equals)) {
-                    throw new GroupIdNotFoundException("No such consumer group: " + groupId);
+            .thenAccept(description -> {
+                if (description.state() == ConsumerGroupState.DEAD) {
+                    Optional.ofNullable(kafkaContext.consumerGroupCatalog())
+                        .ifPresent(catalog -> catalog.remove(groupId));
+                    throw noSuchGroup(groupId);
                 }
             });
     }
 
+    static GroupIdNotFoundException noSuchGroup(String groupId) {
+        return new GroupIdNotFoundException("No such consumer group: " + groupId);
+    }
+
     CompletionStage<Optional<ConsumerGroup>> alterConsumerGroupOffsets(Admin adminClient, String groupId, ConsumerGroup patch, boolean dryRun) {
         var topicsToDescribe = patch.getOffsets()
                 .stream()
@@ -341,7 +424,10 @@ public class ConsumerGroupService {
 
     CompletionStage<ConsumerGroup> alterConsumerGroupOffsetsDryRun(Admin adminClient, String groupId,
             Map<TopicPartition, org.apache.kafka.clients.consumer.OffsetAndMetadata> alterRequest) {
-        var pendingTopicsIds = fetchTopicIdMap(adminClient);
+        var pendingTopicsIds = topicService.topicIds(adminClient, alterRequest.keySet()
+                .stream()
+                .map(TopicPartition::topic)
+                .collect(Collectors.toSet()));
 
         return describeConsumerGroups(adminClient, List.of(groupId), Collections.emptyList())
             .thenApply(groups -> groups.get(groupId))
@@ -431,7 +517,9 @@ public class ConsumerGroupService {
         return adminClient.deleteConsumerGroups(List.of(groupId))
                 .deletedGroups()
                 .get(groupId)
-                .toCompletionStage();
+                .toCompletionStage()
+                .thenRun(() -> Optional.ofNullable(kafkaContext.consumerGroupCatalog())
+                        .ifPresent(catalog -> catalog.remove(groupId)));
     }
 
     CompletionStage<List<ConsumerGroup>> augmentList(Admin adminClient, List<ConsumerGroup> list, List<String> includes) {
@@ -447,7 +535,18 @@ public class ConsumerGroupService {
             describePromise = CompletableFuture.completedFuture(null);
         }
 
-        return describePromise.thenApply(nothing -> list);
+        return CompletableFuture.allOf(describePromise, maybeFetchMetrics(groups, includes))
+                .thenApply(nothing -> list);
+    }
+
+    CompletableFuture<Void> maybeFetchMetrics(Map<String, ConsumerGroup> groups, List<String> includes) {
+        if (includes.contains(ConsumerGroup.Fields.METRICS)) {
+            return metricsService.queryResourceMetrics("consumerGroups", "consumergroup", groups.keySet())
+                .thenAccept(metrics -> metrics.forEach((groupId, groupMetrics) -> groups.get(groupId).setMetrics(groupMetrics)))
+                .toCompletableFuture();
+        }
+
+        return CompletableFuture.completedFuture(null);
     }
 
     void mergeDescriptions(ConsumerGroup group, Either<ConsumerGroup, Throwable> description) {
@@ -469,19 +568,64 @@ public class ConsumerGroupService {
             Collection<String> groupIds,
             List<String> includes) {
 
-        Map<String, Either<ConsumerGroup, Throwable>> result = new LinkedHashMap<>(groupIds.size());
+        return describeConsumerGroups(adminClient, groupIds, includes, fetchTopicIdMap(adminClient))
+            .thenCompose(result -> {
+                Set<String> unknownTopics = unknownTopicNames(result.values());
+
+                if (unknownTopics.isEmpty() || !kafkaContext.applicationScoped()) {
+                    return CompletableFuture.completedStage(result);
+                }
+
+                // The groups may use topics created since the topic index was last refreshed
+                return topicService.topicIds(adminClient, unknownTopics)
+                    .thenCompose(topicIds -> {
+                        if (unknownTopics.stream().noneMatch(topicIds::containsKey)) {
+                            return CompletableFuture.completedStage(result);
+                        }
+                        return describeConsumerGroups(adminClient, groupIds, includes,
+                                CompletableFuture.completedFuture(topicIds));
+                    });
+            });
+    }
+
+    static Set<String> unknownTopicNames(Collection<Either<ConsumerGroup, Throwable>> groups) {
+        var groupStream = groups.stream()
+                .filter(Either::isPrimaryPresent)
+                .map(Either::getPrimary);
+
+        return groupStream.flatMap(group -> Stream.concat(
+                    Optional.ofNullable(group.getOffsets())
+                        .map(Collection::stream)
+                        .orElseGet(Stream::empty)
+                        .filter(offset -> offset.topicId() == null)
+                        .map(OffsetAndMetadata::topicName),
+                    Optional.ofNullable(group.getMembers())
+                        .map(Collection::stream)
+                        .orElseGet(Stream::empty)
+                        .map(MemberDescription::getAssignments)
+                        .filter(Objects::nonNull)
+                        .flatMap(Collection::stream)
+                        .filter(partition -> partition.topicId() == null)
+                        .map(PartitionId::topicName)))
+            .collect(Collectors.toSet());
+    }
+
+    CompletionStage<Map<String, Either<ConsumerGroup, Throwable>>> describeConsumerGroups(
+            Admin adminClient,
+            Collection<String> groupIds,
+            List<String> includes,
+            CompletableFuture<Map<String, String>> pendingTopicsIds) {
 
-        var pendingTopicsIds = fetchTopicIdMap(adminClient);
+        Map<String, Either<ConsumerGroup, Throwable>> result = Collections.synchronizedMap(new LinkedHashMap<>(groupIds.size()));
+        var options = new DescribeConsumerGroupsOptions()
+                .includeAuthorizedOperations(includes.contains(ConsumerGroup.Fields.AUTHORIZED_OPERATIONS));
 
-        var pendingDescribes = adminClient.describeConsumerGroups(groupIds,
-                new DescribeConsumerGroupsOptions()
-                    .includeAuthorizedOperations(includes.contains(ConsumerGroup.Fields.AUTHORIZED_OPERATIONS)))
-                .describedGroups()
+        var pendingDescribes = kafkaContext.adminRequests()
+                .submit(groupIds, chunk -> adminClient.describeConsumerGroups(chunk, options).describedGroups())
                 .entrySet()
                 .stream()
                 .map(entry ->
                     entry.getValue()
-                        .toCompletionStage()
                         .thenCombine(pendingTopicsIds, ConsumerGroup::fromKafkaModel)
                         .<Void>handle((consumerGroup, error) -> {
                             result.put(entry.getKey(), Either.of(
@@ -504,6 +648,10 @@ public class ConsumerGroupService {
         return CompletableFuture.allOf(pendingDescribes)
                 .thenCompose(nothing -> pendingTopicsIds)
                 .thenCompose(topicIds -> {
+                    if (includes.contains(ConsumerGroup.Fields.LAG_TRENDS)) {
+                        addLagTrends(availableGroups.get(), topicIds);
+                    }
+
                     if (includes.contains(ConsumerGroup.Fields.OFFSETS)) {
                         return fetchOffsets(adminClient, availableGroups.get(), topicIds)
                                 .thenApply(nothing -> result);
@@ -513,10 +661,29 @@ public class ConsumerGroupService {
                 });
     }
 
+    /**
+     * Set the lag trends of the groups from the lag history sampled for the
+     * cluster. Groups are only sampled for clusters accessed with the console's
+     * own credentials, otherwise no trends are available.
+     */
+    void addLagTrends(Map<String, ConsumerGroup> groups, Map<String, String> topicIds) {
+        var consumerLag = kafkaContext.consumerLag();
+
+        if (consumerLag == null) {
+            return;
+        }
+
+        groups.forEach((groupId, group) -> group.setLagTrends(consumerLag.history()
+                .trends(groupId)
+                .entrySet()
+                .stream()
+                .map(e -> LagTrend.fromHistory(topicIds.get(e.getKey()), e.getKey(), e.getValue()))
+                .sorted(Comparator.comparing(LagTrend::topicName))
+                .toList()));
+    }
+
     CompletableFuture<Map<String, String>> fetchTopicIdMap(Admin adminClient) {
-        return topicService.listTopics(adminClient, true)
-            .thenApply(topics -> topics.stream()
-                .collect(Collectors.toMap(TopicListing::name, l -> l.topicId().toString())));
+        return topicService.topicIds(adminClient).toCompletableFuture();
     }
 
     CompletableFuture<Void> fetchOffsets(Admin adminClient, Map<String, ConsumerGroup> groups, Map<String, String> topicIds) {
@@ -527,7 +694,7 @@ public class ConsumerGroupService {
         var groupOffsetsResult = adminClient.listConsumerGroupOffsets(groupOffsetsRequest);
 
         Map<String, Either<Map<TopicPartition, org.apache.kafka.clients.consumer.OffsetAndMetadata>, Throwable>> groupOffsets = new LinkedHashMap<>();
-        Map<TopicPartition, Either<ListOffsetsResultInfo, Throwable>> topicOffsets = new LinkedHashMap<>();
+        Map<TopicPartition, Either<ListOffsetsResultInfo, Throwable>> topicOffsets = new ConcurrentHashMap<>();
 
         var pendingGroupOps = groups.keySet()
             .stream()
@@ -549,14 +716,13 @@ public class ConsumerGroupService {
                         .map(Map::keySet)
                         .flatMap(Collection::stream)
                         .distinct()
-                        .collect(Collectors.toMap(Function.identity(), key -> LATEST_TOPIC_OFFSETS));
-                var topicOffsetsResult = adminClient.listOffsets(topicOffsetsRequest);
+                        .collect(Collectors.toSet());
+                var topicOffsetsResult = latestOffsets(adminClient, topicOffsetsRequest);
 
-                return topicOffsetsRequest.keySet()
+                return topicOffsetsRequest
                     .stream()
                     .map(partition -> topicOffsetsResult
-                        .partitionResult(partition)
-                        .toCompletionStage()
+                        .get(partition)
                         .toCompletableFuture()
                         .<Void>handle((offset, error) -> {
                             topicOffsets.put(partition, Either.of(Optional.ofNullable(offset), error));
@@ -571,6 +737,24 @@ public class ConsumerGroupService {
             }));
     }
 
+    /**
+     * Obtain the latest offsets of the partitions, from the cluster's end offset
+     * cache when available.
+     */
+    Map<TopicPartition, CompletionStage<ListOffsetsResultInfo>> latestOffsets(Admin adminClient, Set<TopicPartition> partitions) {
+        EndOffsetCache endOffsets = kafkaContext.endOffsets();
+
+        if (endOffsets != null) {
+            return endOffsets.latestOffsets(adminClient, partitions);
+        }
+
+        var result = adminClient.listOffsets(partitions.stream()
+                .collect(Collectors.toMap(Function.identity(), key -> LATEST_TOPIC_OFFSETS)));
+
+        return partitions.stream()
+                .collect(Collectors.toMap(Function.identity(), p -> result.partitionResult(p).toCompletionStage()));
+    }
+
     void addOffsets(ConsumerGroup group,
             Map<String, String> topicIds,
             Map<TopicPartition, Either<ListOffsetsResultInfo, Throwable>> topicOffsets,
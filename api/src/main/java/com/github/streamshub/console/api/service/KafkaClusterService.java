@@ -1,8 +1,5 @@
 package com.github.streamshub.console.api.service;
 
-import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -138,17 +135,17 @@ public class KafkaClusterService {
 
     public CompletionStage<KafkaCluster> describeCluster(List<String> fields) {
         Admin adminClient = kafkaContext.admin();
+        boolean includeAuthorizedOperations = fields.contains(KafkaCluster.Fields.AUTHORIZED_OPERATIONS);
         DescribeClusterOptions options = new DescribeClusterOptions()
-                .includeAuthorizedOperations(fields.contains(KafkaCluster.Fields.AUTHORIZED_OPERATIONS));
-        DescribeClusterResult result = adminClient.describeCluster(options);
+                .includeAuthorizedOperations(includeAuthorizedOperations);
 
-        return KafkaFuture.allOf(
-                result.authorizedOperations(),
-                result.clusterId(),
-                result.controller(),
-                result.nodes())
-            .toCompletionStage()
-            .thenApply(nothing -> new KafkaCluster(
+        CompletionStage<DescribeClusterResult> described = kafkaContext.coalesce(
+                "describeCluster",
+                List.of(includeAuthorizedOperations),
+                () -> describeCluster(adminClient, options));
+
+        return described
+            .thenApply(result -> new KafkaCluster(
                         get(result::clusterId),
                         get(result::nodes).stream().map(Node::fromKafkaModel).toList(),
                         Node.fromKafkaModel(get(result::controller)),
@@ -159,6 +156,22 @@ public class KafkaClusterService {
             .thenApply(this::setManaged);
     }
 
+    /**
+     * Describe the cluster, completing once all parts of the description are
+     * available.
+     */
+    static CompletionStage<DescribeClusterResult> describeCluster(Admin adminClient, DescribeClusterOptions options) {
+        DescribeClusterResult result = adminClient.describeCluster(options);
+
+        return KafkaFuture.allOf(
+                result.authorizedOperations(),
+                result.clusterId(),
+                result.controller(),
+                result.nodes())
+            .toCompletionStage()
+            .thenApply(nothing -> result);
+    }
+
     public KafkaCluster patchCluster(String id, KafkaCluster cluster) {
         Kafka resource = kafkaContext.resource();
 
@@ -335,18 +348,8 @@ public class KafkaClusterService {
 
         String namespace = cluster.namespace();
         String name = cluster.name();
-        String rangeQuery;
-        String valueQuery;
-
-        try (var rangesStream = getClass().getResourceAsStream("/metrics/queries/kafkaCluster_ranges.promql");
-             var valuesStream = getClass().getResourceAsStream("/metrics/queries/kafkaCluster_values.promql")) {
-            rangeQuery = new String(rangesStream.readAllBytes(), StandardCharsets.UTF_8)
-                    .formatted(namespace, name);
-            valueQuery = new String(valuesStream.readAllBytes(), StandardCharsets.UTF_8)
-                    .formatted(namespace, name);
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
+        String rangeQuery = MetricsService.queryTemplate("kafkaCluster_ranges").formatted(namespace, name);
+        String valueQuery = MetricsService.queryTemplate("kafkaCluster_values").formatted(namespace, name);
 
         var rangeResults = metricsService.queryRanges(rangeQuery).toCompletableFuture();
         var valueResults = metricsService.queryValues(valueQuery).toCompletableFuture();
@@ -1,53 +1,84 @@
 package com.github.streamshub.console.api.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
-import java.util.function.Predicate;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.json.JsonArray;
-import jakarta.json.JsonObject;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.client.ClientRequestFilter;
 import jakarta.ws.rs.core.HttpHeaders;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.rest.client.RestClientBuilder;
 import org.jboss.logging.Logger;
 
 import com.github.streamshub.console.api.model.Metrics;
-import com.github.streamshub.console.api.model.Metrics.RangeEntry;
 import com.github.streamshub.console.api.support.KafkaContext;
 import com.github.streamshub.console.api.support.PrometheusAPI;
+import com.github.streamshub.console.api.support.PrometheusQueryCache;
+import com.github.streamshub.console.api.support.PrometheusResponse;
+import com.github.streamshub.console.api.support.PrometheusResponseReader;
+import com.github.streamshub.console.api.support.QueryBulkhead;
+import com.github.streamshub.console.api.support.RangeSamples;
+import com.github.streamshub.console.api.support.RangeSeriesCache;
+import com.github.streamshub.console.api.support.RequestOperations;
 import com.github.streamshub.console.config.ConsoleConfig;
 import com.github.streamshub.console.config.KafkaClusterConfig;
 import com.github.streamshub.console.config.PrometheusConfig;
 import com.github.streamshub.console.config.PrometheusConfig.Type;
 
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.tls.TlsConfiguration;
 import io.quarkus.tls.TlsConfigurationRegistry;
+import io.smallrye.mutiny.Uni;
 
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toMap;
 
 @ApplicationScoped
 public class MetricsService {
 
     public static final String METRIC_NAME = "__console_metric_name__";
 
+    /**
+     * Duration and resolution step of range queries. The time of all queries is
+     * aligned to the step so that queries made at about the same time are
+     * identical and may share a cached response.
+     */
+    static final Duration RANGE_DURATION = Duration.ofMinutes(30);
+    static final Duration RANGE_STEP = Duration.ofSeconds(25);
+
+    private static final Pattern REGEX_SPECIAL = Pattern.compile("[\\\\.+*?()|\\[\\]{}^$]");
+    private static final Map<String, String> QUERY_TEMPLATES = new ConcurrentHashMap<>();
+
     @Inject
     Logger logger;
 
@@ -60,6 +91,41 @@ public class MetricsService {
     @Inject
     KafkaContext kafkaContext;
 
+    @Inject
+    RequestOperations requestOperations;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    /**
+     * Maximum number of queries executing concurrently against a single
+     * metrics source. Additional queries wait for a permit.
+     */
+    @Inject
+    @ConfigProperty(name = "console.metrics.max-concurrent-queries", defaultValue = "8")
+    int maxConcurrentQueries;
+
+    /**
+     * Maximum number of queries waiting for a permit for a single metrics
+     * source. Additional queries fail immediately.
+     */
+    @Inject
+    @ConfigProperty(name = "console.metrics.max-queued-queries", defaultValue = "64")
+    int maxQueuedQueries;
+
+    /**
+     * Deadline of each query, including the time spent waiting for a permit.
+     */
+    @Inject
+    @ConfigProperty(name = "console.metrics.query-timeout", defaultValue = "PT20S")
+    Duration queryTimeout;
+
+    /**
+     * Bulkheads by metrics source name, shared by the Kafka clusters using the
+     * same source.
+     */
+    final Map<String, QueryBulkhead> bulkheads = new ConcurrentHashMap<>();
+
     Optional<ClientRequestFilter> additionalFilter = Optional.empty();
 
     public /* test */ void setAdditionalFilter(Optional<ClientRequestFilter> additionalFilter) {
@@ -104,7 +170,10 @@ public class MetricsService {
             RestClientBuilder builder = RestClientBuilder.newBuilder()
                     .baseUri(URI.create(prometheusConfig.getUrl()))
                     .trustStore(trustStore)
-                    .register(createAuthenticationFilter(prometheusConfig));
+                    .connectTimeout(queryTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .readTimeout(queryTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .register(createAuthenticationFilter(prometheusConfig))
+                    .register(new PrometheusResponseReader());
 
             additionalFilter.ifPresent(builder::register);
 
@@ -116,76 +185,199 @@ public class MetricsService {
 
     CompletionStage<Map<String, List<Metrics.ValueMetric>>> queryValues(String query) {
         PrometheusAPI prometheusAPI = kafkaContext.prometheus();
-
-        return fetchMetrics(
-            () -> prometheusAPI.query(query, Instant.now()),
-            (metric, attributes) -> {
-                // ignore timestamp in first position
-                String value = metric.getJsonArray("value").getString(1);
+        Instant time = alignToStep(Instant.now());
+
+        return withFallback(fetchResponse(
+                new PrometheusQueryCache.Key(query, time, time, null),
+                () -> prometheusAPI.query(query, time))
+            .thenApply(response -> extractMetrics(response, (samples, attributes) -> {
+                // instant query result has a single sample, ignore its timestamp
+                String value = samples.get(0).value();
                 return new Metrics.ValueMetric(value, attributes);
-            });
+            })));
     }
 
+    /**
+     * Query the series of the range covering the last {@link #RANGE_DURATION}.
+     * When the cluster retains the series of previous queries, only the samples
+     * since the last retained sample are queried.
+     */
     CompletionStage<Map<String, List<Metrics.RangeMetric>>> queryRanges(String query) {
+        return queryRanges(query, true);
+    }
+
+    CompletionStage<Map<String, List<Metrics.RangeMetric>>> queryRanges(String query, boolean incremental) {
         PrometheusAPI prometheusAPI = kafkaContext.prometheus();
+        Instant end = alignToStep(Instant.now());
+        Instant start = end.minus(RANGE_DURATION);
+        String step = String.valueOf(RANGE_STEP.toSeconds());
+        RangeSeriesCache ranges = incremental ? kafkaContext.prometheusRanges() : null;
+
+        Function<Instant, CompletionStage<Map<String, List<Metrics.RangeMetric>>>> fetch = from ->
+            fetchResponse(
+                    new PrometheusQueryCache.Key(query, from, end, step),
+                    () -> prometheusAPI.queryRange(query, from, end, step))
+                .thenApply(response -> extractMetrics(response, Metrics.RangeMetric::new));
+
+        return withFallback(ranges != null ? ranges.get(query, step, start, end, fetch) : fetch.apply(start));
+    }
+
+    /**
+     * Query the metrics of a page of the cluster's resources, e.g. topics or
+     * consumer groups. The range and instant queries of the resource type are
+     * each performed once, restricted to the given resource names, and the
+     * results are split by the label identifying the resource. Series of
+     * resources not in the page are ignored.
+     *
+     * <p>Ranges are not retained for incremental refresh since the queries vary
+     * with the resources being displayed.
+     *
+     * @param queryName the name of the resource type's query templates, e.g.
+     *                  {@code topics} for {@code topics_ranges.promql} and
+     *                  {@code topics_values.promql}
+     * @param label     the label holding the name of the resource
+     * @param names     the names of the resources
+     * @return CompletionStage "promise" of the metrics of each resource by name,
+     *         or an empty map when metrics are not available for the cluster
+     */
+    public CompletionStage<Map<String, Metrics>> queryResourceMetrics(String queryName, String label, Collection<String> names) {
+        if (kafkaContext.prometheus() == null) {
+            logger.warnf("Metrics of %s were requested, but Prometheus URL is not configured", queryName);
+            return CompletableFuture.completedStage(Collections.emptyMap());
+        }
+
+        if (names.isEmpty()) {
+            return CompletableFuture.completedStage(Collections.emptyMap());
+        }
 
-        return fetchMetrics(
-            () -> {
-                Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
-                Instant start = now.minus(30, ChronoUnit.MINUTES);
-                Instant end = now;
-                return prometheusAPI.queryRange(query, start, end, "25");
-            },
-            (metric, attributes) -> {
-                List<RangeEntry> values = metric.getJsonArray("values")
-                        .stream()
-                        .map(JsonArray.class::cast)
-                        .map(e -> new Metrics.RangeEntry(
-                                Instant.ofEpochMilli((long) (e.getJsonNumber(0).doubleValue() * 1000d)),
-                                e.getString(1)
-                        ))
-                        .toList();
-
-                return new Metrics.RangeMetric(values, attributes);
+        KafkaClusterConfig clusterConfig = kafkaContext.clusterConfig();
+        String pattern = labelPattern(names);
+        String rangeQuery = queryTemplate(queryName + "_ranges")
+                .formatted(clusterConfig.getNamespace(), clusterConfig.getName(), pattern);
+        String valueQuery = queryTemplate(queryName + "_values")
+                .formatted(clusterConfig.getNamespace(), clusterConfig.getName(), pattern);
+
+        var rangeResults = queryRanges(rangeQuery, false).toCompletableFuture();
+        var valueResults = queryValues(valueQuery).toCompletableFuture();
+
+        return CompletableFuture.allOf(rangeResults, valueResults)
+            .thenApply(nothing -> {
+                Map<String, Metrics> result = new LinkedHashMap<>();
+                names.forEach(name -> result.put(name, new Metrics()));
+                addByLabel(rangeResults.join(), label, result, Metrics.RangeMetric::attributes, Metrics::ranges);
+                addByLabel(valueResults.join(), label, result, Metrics.ValueMetric::attributes, Metrics::values);
+                return result;
             });
     }
 
-    <M> CompletionStage<Map<String, List<M>>> fetchMetrics(
-            Supplier<JsonObject> operation,
-            BiFunction<JsonObject, Map<String, String>, M> builder) {
-
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                return extractMetrics(operation.get(), builder);
-            } catch (WebApplicationException wae) {
-                logger.warnf("Failed to retrieve Kafka cluster metrics, status %d: %s",
-                        wae.getResponse().getStatus(),
-                        wae.getResponse().getEntity());
-                return Collections.emptyMap();
-            } catch (Exception e) {
-                logger.warnf(e, "Failed to retrieve Kafka cluster metrics");
-                return Collections.emptyMap();
+    static <M> void addByLabel(Map<String, List<M>> metrics,
+            String label,
+            Map<String, Metrics> result,
+            Function<M, Map<String, String>> attributes,
+            Function<Metrics, Map<String, List<M>>> target) {
+
+        metrics.forEach((metricName, series) -> series.forEach(metric -> {
+            Metrics resourceMetrics = result.get(attributes.apply(metric).get(label));
+
+            if (resourceMetrics != null) {
+                target.apply(resourceMetrics).computeIfAbsent(metricName, k -> new ArrayList<>()).add(metric);
+            }
+        }));
+    }
+
+    /**
+     * Build a PromQL regular expression, quoted for use in a label matcher,
+     * matching exactly the given label values.
+     */
+    static String labelPattern(Collection<String> values) {
+        return values.stream()
+            .map(value -> REGEX_SPECIAL.matcher(value).replaceAll("\\\\$0"))
+            .map(value -> value.replace("\\", "\\\\").replace("\"", "\\\""))
+            .collect(Collectors.joining("|"));
+    }
+
+    static String queryTemplate(String name) {
+        return QUERY_TEMPLATES.computeIfAbsent(name, key -> {
+            try (var stream = MetricsService.class.getResourceAsStream("/metrics/queries/" + key + ".promql")) {
+                return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
         });
     }
 
-    <M> Map<String, List<M>> extractMetrics(JsonObject response,
-            BiFunction<JsonObject, Map<String, String>, M> builder) {
+    static Instant alignToStep(Instant time) {
+        long step = RANGE_STEP.toMillis();
+        return Instant.ofEpochMilli(time.toEpochMilli() / step * step);
+    }
+
+    QueryBulkhead bulkhead(String source) {
+        return bulkheads.computeIfAbsent(source, name -> new QueryBulkhead(
+                name,
+                maxConcurrentQueries,
+                maxQueuedQueries,
+                queryTimeout,
+                Timer.builder("console.metrics.query.queue")
+                    .description("Time Prometheus queries wait for a permit to execute")
+                    .tag("source", name)
+                    .register(meterRegistry)));
+    }
+
+    /**
+     * Perform the query via the bulkhead of the cluster's metrics source, or
+     * obtain its response from the cluster's query cache. The query is
+     * cancelled if still pending when the request ends.
+     */
+    CompletionStage<PrometheusResponse> fetchResponse(PrometheusQueryCache.Key key, Supplier<Uni<PrometheusResponse>> operation) {
+        PrometheusQueryCache cache = kafkaContext.prometheusQueries();
+        QueryBulkhead bulkhead = bulkhead(kafkaContext.clusterConfig().getMetricsSource());
+        Supplier<CompletionStage<PrometheusResponse>> query = () -> bulkhead.submit(() -> operation.get().subscribeAsCompletionStage());
+        CompletionStage<PrometheusResponse> response = cache != null ? cache.get(key, query) : query.get();
+        return requestOperations.cancelOnEnd(response.toCompletableFuture());
+    }
+
+    /**
+     * Log the failure of a metrics query, giving an empty result.
+     */
+    <M> CompletionStage<Map<String, List<M>>> withFallback(CompletionStage<Map<String, List<M>>> metrics) {
+        return metrics
+            .exceptionally(error -> {
+                if (error instanceof CompletionException ce && ce.getCause() != null) {
+                    error = ce.getCause();
+                }
+
+                if (error instanceof CancellationException) {
+                    logger.debugf("Kafka cluster metrics query cancelled");
+                } else if (error instanceof WebApplicationException wae) {
+                    logger.warnf("Failed to retrieve Kafka cluster metrics, status %d: %s",
+                            wae.getResponse().getStatus(),
+                            wae.getResponse().getEntity());
+                } else {
+                    logger.warnf(error, "Failed to retrieve Kafka cluster metrics");
+                }
+
+                return Collections.emptyMap();
+            });
+    }
+
+    /**
+     * Group the series of the response by their metric name, given by the
+     * {@link #METRIC_NAME} label. The remaining labels are the attributes of the
+     * series.
+     */
+    <M> Map<String, List<M>> extractMetrics(PrometheusResponse response,
+            BiFunction<RangeSamples, Map<String, String>, M> builder) {
+
+        if (PrometheusResponse.STATUS_ERROR.equals(response.status())) {
+            throw new IllegalStateException("Prometheus query failed: " + response.error());
+        }
 
-        return response.getJsonObject("data").getJsonArray("result")
+        return response.result()
             .stream()
-            .map(JsonObject.class::cast)
-            .map(metric -> {
-                JsonObject meta = metric.getJsonObject("metric");
-                String metricName = meta.getString(METRIC_NAME);
-
-                Map<String, String> attributes = meta.keySet()
-                        .stream()
-                        .filter(Predicate.not(METRIC_NAME::equals))
-                        .map(key -> Map.entry(key, meta.getString(key)))
-                        .collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-                return Map.entry(metricName, builder.apply(metric, attributes));
+            .map(series -> {
+                Map<String, String> attributes = new HashMap<>(series.metric());
+                String metricName = attributes.remove(METRIC_NAME);
+                return Map.entry(metricName, builder.apply(series.samples(), attributes));
             })
             .collect(groupingBy(Map.Entry::getKey, mapping(Map.Entry::getValue, toList())));
     }
@@ -4,9 +4,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -16,17 +14,22 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 
-import org.apache.kafka.clients.admin.ListTopicsOptions;
-import org.apache.kafka.clients.admin.TopicListing;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
@@ -35,20 +38,25 @@ import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
-import org.apache.kafka.common.Uuid;
 import org.apache.kafka.common.errors.InvalidPartitionsException;
-import org.apache.kafka.common.errors.UnknownTopicIdException;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.eclipse.microprofile.context.ThreadContext;
 import org.jboss.logging.Logger;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.streamshub.console.api.model.Identifier;
 import com.github.streamshub.console.api.model.JsonApiRelationship;
 import com.github.streamshub.console.api.model.KafkaRecord;
+import com.github.streamshub.console.api.model.RecordSearchParams;
 import com.github.streamshub.console.api.support.KafkaContext;
-import com.github.streamshub.console.api.support.SizeLimitedSortedSet;
+import com.github.streamshub.console.api.support.RecentRecordsCache;
+import com.github.streamshub.console.api.support.RecordMatcher;
+import com.github.streamshub.console.api.support.RecordTail;
+import com.github.streamshub.console.api.support.TopNSelector;
 import com.github.streamshub.console.api.support.serdes.RecordData;
 
 import static java.util.Objects.requireNonNullElse;
@@ -56,6 +64,8 @@ import static java.util.Objects.requireNonNullElse;
 @ApplicationScoped
 public class RecordService {
 
+    private static final Duration SEARCH_POLL_TIME = Duration.ofMillis(100);
+
     @Inject
     Logger logger;
 
@@ -63,11 +73,39 @@ public class RecordService {
     @ConfigProperty(name = "console.topics.records.poll-timeout", defaultValue = "PT5S")
     Duration pollTimeout;
 
+    /**
+     * Maximum number of concurrent tasks used to decode the records selected for
+     * a single response.
+     */
+    @Inject
+    @ConfigProperty(name = "console.topics.records.decode-parallelism", defaultValue = "4")
+    int decodeParallelism;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.search.max-records", defaultValue = "100000")
+    long searchMaxRecords;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.search.max-bytes", defaultValue = "67108864")
+    long searchMaxBytes;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.search.timeout", defaultValue = "PT10S")
+    Duration searchTimeout;
+
+    /**
+     * Maximum time a live tail request waits for a new record before responding
+     * without any.
+     */
+    @Inject
+    @ConfigProperty(name = "console.topics.records.tail.max-wait", defaultValue = "PT20S")
+    Duration tailMaxWait;
+
     @Inject
     KafkaContext kafkaContext;
 
     @Inject
-    Consumer<RecordData, RecordData> consumer;
+    Consumer<byte[], byte[]> consumer;
 
     @Inject
     Producer<RecordData, RecordData> producer;
@@ -75,6 +113,26 @@ public class RecordService {
     @Inject
     ThreadContext threadContext;
 
+    @Inject
+    ManagedExecutor decodeExecutor;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    TopicService topicService;
+
+    @Inject
+    RecentRecordsCache recentRecords;
+
+    @Inject
+    @Named("consumerPrincipal")
+    Supplier<String> consumerPrincipal;
+
+    @Inject
+    @Named("recordTails")
+    Function<String, RecordTail<RecordData, RecordData>> recordTails;
+
     public List<KafkaRecord> consumeRecords(String topicId,
             Integer partition,
             Long offset,
@@ -83,15 +141,427 @@ public class RecordService {
             List<String> include,
             Integer maxValueLength) {
 
+        var selector = buildSelector(timestamp, offset, limit);
+
+        if (timestamp == null && offset == null && recentRecords.enabled()) {
+            consumeLatest(topicId, partition, limit, selector);
+        } else {
+            pollRecords(topicId, partition, offset, timestamp, limit)
+                    .forEach(records -> records.forEach(rec ->
+                        selector.offer(rec.timestamp(), rec.partition(), rec.offset(), rec)));
+        }
+
+        // Only the records that survived the selection are deserialized
+        return decode(selector.drain())
+                .stream()
+                .map(rec -> getItems(rec, topicId, include, maxValueLength))
+                .toList();
+    }
+
+    /**
+     * Offer the latest {@code limit} records of each of the topic's partitions
+     * to the selector. Partitions that have not been written to since their
+     * latest records were cached are served from the {@link RecentRecordsCache}
+     * without a fetch, the remaining partitions are polled and the records read
+     * up to each partition's end offset are cached for the next request.
+     */
+    void consumeLatest(String topicId, Integer partition, int limit, TopNSelector<ConsumerRecord<byte[], byte[]>> selector) {
+        Map<TopicPartition, Long> endOffsets = positionConsumer(topicId, partition, null, null, limit, null);
+
+        if (endOffsets.isEmpty()) {
+            return;
+        }
+
+        String principal = consumerPrincipal.get();
+        Map<TopicPartition, Long> startOffsets = new HashMap<>();
+
+        for (TopicPartition p : consumer.assignment()) {
+            long startOffset = consumer.position(p);
+            var key = new RecentRecordsCache.Key(kafkaContext.clusterId(), principal, topicId, p.partition());
+
+            recentRecords.get(key, startOffset, endOffsets.get(p)).ifPresentOrElse(
+                    cached -> cached.forEach(rec -> selector.offer(rec.timestamp(), rec.partition(), rec.offset(), rec)),
+                    () -> startOffsets.put(p, startOffset));
+        }
+
+        if (startOffsets.isEmpty()) {
+            return;
+        }
+
+        consumer.assign(startOffsets.keySet());
+        Map<TopicPartition, List<ConsumerRecord<byte[], byte[]>>> polled = new HashMap<>();
+        var iterator = new ConsumerRecordsIterator<>(consumer, endOffsets, limit, Instant.now().plus(pollTimeout));
+
+        iterator.forEachRemaining(records -> records.forEach(rec -> {
+            selector.offer(rec.timestamp(), rec.partition(), rec.offset(), rec);
+            var p = new TopicPartition(rec.topic(), rec.partition());
+
+            // Records written after the end offsets were retrieved are not cached
+            if (rec.offset() < endOffsets.get(p)) {
+                polled.computeIfAbsent(p, k -> new ArrayList<>()).add(rec);
+            }
+        }));
+
+        polled.forEach((p, records) -> {
+            long endOffset = endOffsets.get(p);
+
+            // Only partitions read completely up to the end offset may be cached
+            if (records.get(records.size() - 1).offset() + 1 >= endOffset) {
+                var key = new RecentRecordsCache.Key(kafkaContext.clusterId(), principal, topicId, p.partition());
+                recentRecords.put(key, startOffsets.get(p), endOffset, records);
+            }
+        });
+    }
+
+    /**
+     * Consume records from a topic in the same manner as
+     * {@link #consumeRecords(String, Integer, Long, Instant, Integer, List, Integer) consumeRecords},
+     * but without buffering the full result. Each element of the returned stream
+     * holds the records retrieved by a single poll of the consumer, in the order
+     * they were received from the broker (i.e. offset order within each
+     * partition). At most {@code limit} records in total are returned.
+     *
+     * <p>When neither an offset nor a timestamp is given, the newest records
+     * across all partitions can only be known once every partition has been
+     * read, so the result is selected in full and returned as a single batch.
+     *
+     * <p>The topic is resolved and the consumer positioned before this method
+     * returns, so errors such as an unknown topic are raised immediately. Polling
+     * is performed lazily as the stream is consumed, allowing the caller to write
+     * each batch to the client as it arrives.
+     */
+    public Stream<List<KafkaRecord>> streamRecords(String topicId,
+            Integer partition,
+            Long offset,
+            Instant timestamp,
+            Integer limit,
+            List<String> include,
+            Integer maxValueLength) {
+
+        if (timestamp == null && offset == null) {
+            return Stream.of(consumeRecords(topicId, partition, null, null, limit, include, maxValueLength))
+                    .filter(Predicate.not(List::isEmpty));
+        }
+
+        var remaining = new AtomicInteger(limit);
+
+        return pollRecords(topicId, partition, offset, timestamp, limit)
+                .takeWhile(records -> remaining.get() > 0)
+                .map(records -> StreamSupport.stream(records.spliterator(), false)
+                        .limit(Math.max(0, remaining.getAndAdd(-records.count())))
+                        .toList())
+                .filter(Predicate.not(List::isEmpty))
+                .map(batch -> decode(batch)
+                        .stream()
+                        .map(rec -> getItems(rec, topicId, include, maxValueLength))
+                        .toList());
+    }
+
+    /**
+     * Search a topic's records for those with a key, value, and/or header
+     * matching the given search parameters. Partitions are scanned from the
+     * given offset or timestamp (from the beginning when neither is given), or
+     * from the positions returned by a previous search, up to the end offsets
+     * found when the search begins.
+     *
+     * <p>The consumer fetches from all assigned partitions concurrently and each
+     * polled batch is decoded and matched in parallel. The scan stops when
+     * {@code limit} matches have been found, all partitions have been read, or
+     * the record, byte, or time budget has been exhausted. The result includes
+     * the position at which each incomplete partition may be resumed.
+     */
+    public SearchResult searchRecords(String topicId,
+            Integer partition,
+            Long offset,
+            Instant timestamp,
+            Map<Integer, Long> resume,
+            Integer limit,
+            RecordSearchParams search,
+            List<String> include,
+            Integer maxValueLength) {
+
+        var matcher = searchMatcher(search);
+        final Instant deadline = Instant.now().plus(searchTimeout);
+        Map<TopicPartition, Long> endOffsets = positionConsumer(topicId, partition, offset != null ? offset : 0L, timestamp, limit, resume);
+
+        if (endOffsets.isEmpty()) {
+            // Every partition is empty or the search begins at its end
+            return new SearchResult(Collections.emptyList(), 0, 0, Collections.emptyMap(), null);
+        }
+
+        var scan = new SearchScan(consumer, endOffsets, limit, searchMaxRecords, searchMaxBytes);
+
+        while (scan.active()) {
+            var timeRemaining = Duration.between(Instant.now(), deadline);
+
+            if (timeRemaining.isNegative() || timeRemaining.isZero()) {
+                scan.stop("timeout");
+            } else {
+                var batch = scan.poll(timeRemaining.compareTo(SEARCH_POLL_TIME) < 0 ? timeRemaining : SEARCH_POLL_TIME);
+                scan.accept(batch, parallelMap(batch, matcher));
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debugf("Searched %d records (%d bytes) in topic %s; matches: %d, stop reason: %s",
+                    scan.recordsScanned, scan.bytesScanned, topicId, scan.matches.size(), scan.stopReason);
+        }
+
+        var records = scan.matches.stream()
+                .map(rec -> getItems(rec, topicId, include, maxValueLength))
+                .toList();
+
+        return new SearchResult(records, scan.recordsScanned, scan.bytesScanned, scan.resumePositions(), scan.stopReason);
+    }
+
+    /**
+     * Read the records received by the live tail of a topic following the given
+     * cursor, waiting for new records when the viewer has already seen all
+     * records in the tail's window. The tail is shared with all other viewers
+     * of the topic using the same credentials, and is started when not already
+     * running. Without a cursor, the most recent records in the window are
+     * returned immediately. No thread waits for new records, the result
+     * completes once a record is received or the maximum wait has passed.
+     */
+    public CompletionStage<TailResult> tailRecords(String topicId,
+            Integer partition,
+            String cursor,
+            Integer limit,
+            List<String> include,
+            Integer maxValueLength) {
+
+        String topicName = topicNameForId(topicId);
+
+        return recordTails.apply(topicName)
+            .read(cursor, partition, limit, tailMaxWait)
+            .thenApplyAsync(batch -> {
+                var records = batch.records()
+                        .stream()
+                        .map(rec -> getItems(rec, topicId, include, maxValueLength))
+                        .toList();
+
+                return new TailResult(records, batch.cursor(), batch.gap());
+            }, threadContext.currentContextExecutor());
+    }
+
+    /**
+     * Result of {@link RecordService#tailRecords tailRecords}.
+     *
+     * @param records records received following the cursor, in the order received
+     * @param cursor  cursor to be given to the next request
+     * @param gap     true when records following the given cursor are no longer
+     *                available and were skipped
+     */
+    public record TailResult(List<KafkaRecord> records, String cursor, boolean gap) {
+    }
+
+    /**
+     * Build a function that decodes a raw record and returns it when it matches
+     * the search parameters. Cheaper checks are made first: header values are
+     * tested without decoding the key or value, and the value is not decoded
+     * when the key does not match.
+     */
+    Function<ConsumerRecord<byte[], byte[]>, Optional<ConsumerRecord<RecordData, RecordData>>> searchMatcher(RecordSearchParams search) {
+        RecordMatcher keyMatcher = search.keyMatcher(objectMapper);
+        RecordMatcher valueMatcher = search.valueMatcher(objectMapper);
+        RecordMatcher headersMatcher = search.headersMatcher(objectMapper);
+
+        var registryContext = kafkaContext.schemaRegistryContext();
+        Deserializer<RecordData> keyDeserializer = registryContext.keyDeserializer();
+        Deserializer<RecordData> valueDeserializer = registryContext.valueDeserializer();
+
+        return rec -> {
+            if (headersMatcher != null && Arrays.stream(rec.headers().toArray())
+                    .noneMatch(h -> headersMatcher.test(RecordData.bytesToString(h.value(), null)))) {
+                return Optional.empty();
+            }
+
+            RecordData key = keyDeserializer.deserialize(rec.topic(), rec.headers(), rec.key());
+
+            if (keyMatcher != null && (key == null || !keyMatcher.test(key.dataString(null)))) {
+                return Optional.empty();
+            }
+
+            RecordData value = valueDeserializer.deserialize(rec.topic(), rec.headers(), rec.value());
+
+            if (valueMatcher != null && (value == null || !valueMatcher.test(value.dataString(null)))) {
+                return Optional.empty();
+            }
+
+            return Optional.of(decoded(rec, key, value));
+        };
+    }
+
+    /**
+     * State of a single search: the next position to be examined in each
+     * partition, the partitions not yet fully searched, and the budget consumed.
+     */
+    static class SearchScan {
+        final Consumer<byte[], byte[]> consumer;
+        final Map<TopicPartition, Long> endOffsets;
+        final int limit;
+        final long maxRecords;
+        final long maxBytes;
+        final Map<TopicPartition, Long> positions = new HashMap<>();
+        final Set<TopicPartition> remaining;
+        final List<ConsumerRecord<RecordData, RecordData>> matches = new ArrayList<>();
+        long recordsScanned = 0;
+        long bytesScanned = 0;
+        String stopReason = null;
+
+        SearchScan(Consumer<byte[], byte[]> consumer, Map<TopicPartition, Long> endOffsets, int limit, long maxRecords, long maxBytes) {
+            this.consumer = consumer;
+            this.endOffsets = endOffsets;
+            this.limit = limit;
+            this.maxRecords = maxRecords;
+            this.maxBytes = maxBytes;
+            this.remaining = new HashSet<>(endOffsets.keySet());
+            remaining.forEach(p -> positions.put(p, consumer.position(p)));
+            removeCompleted();
+        }
+
+        boolean active() {
+            return stopReason == null && !remaining.isEmpty();
+        }
+
+        void stop(String reason) {
+            stopReason = reason;
+        }
+
+        List<ConsumerRecord<byte[], byte[]>> poll(Duration timeout) {
+            consumer.assign(remaining);
+            var polled = consumer.poll(timeout);
+            List<ConsumerRecord<byte[], byte[]>> batch = new ArrayList<>(polled.count());
+
+            for (var rec : polled) {
+                var p = new TopicPartition(rec.topic(), rec.partition());
+
+                // Ignore records written after the search began
+                if (remaining.contains(p) && rec.offset() < endOffsets.get(p)) {
+                    batch.add(rec);
+                }
+            }
+
+            return batch;
+        }
+
+        /**
+         * Account for the records of a polled batch in order, collecting the
+         * matches, until the batch is exhausted or a limit is reached.
+         */
+        void accept(List<ConsumerRecord<byte[], byte[]>> batch, List<Optional<ConsumerRecord<RecordData, RecordData>>> results) {
+            for (int i = 0; i < batch.size() && checkLimits(); i++) {
+                var rec = batch.get(i);
+                recordsScanned++;
+                bytesScanned += sizeOf(rec);
+                positions.put(new TopicPartition(rec.topic(), rec.partition()), rec.offset() + 1);
+                results.get(i).ifPresent(matches::add);
+            }
+
+            if (stopReason == null) {
+                /*
+                 * Advance to the consumer's position, which may be beyond the last
+                 * record (e.g. for transaction markers or compacted records).
+                 */
+                remaining.forEach(p -> positions.merge(p, consumer.position(p), Math::max));
+            }
+
+            removeCompleted();
+
+            if (!remaining.isEmpty()) {
+                checkLimits();
+            }
+        }
+
+        boolean checkLimits() {
+            if (matches.size() >= limit) {
+                stop("limit");
+            } else if (recordsScanned >= maxRecords) {
+                stop("recordBudget");
+            } else if (bytesScanned >= maxBytes) {
+                stop("byteBudget");
+            }
+
+            return stopReason == null;
+        }
+
+        void removeCompleted() {
+            remaining.removeIf(p -> positions.get(p) >= endOffsets.get(p));
+        }
+
+        Map<Integer, Long> resumePositions() {
+            Map<Integer, Long> resume = new TreeMap<>();
+            remaining.forEach(p -> resume.put(p.partition(), positions.get(p)));
+            return resume;
+        }
+    }
+
+    /**
+     * Result of {@link RecordService#searchRecords searchRecords}.
+     *
+     * @param records        matching records, in the order they were scanned
+     * @param recordsScanned number of records examined
+     * @param bytesScanned   total size of the records examined
+     * @param resume         position of the next record to examine, by partition,
+     *                       for each partition not fully searched
+     * @param stopReason     reason the search ended before all partitions were
+     *                       fully searched, or null
+     */
+    public record SearchResult(
+            List<KafkaRecord> records,
+            long recordsScanned,
+            long bytesScanned,
+            Map<Integer, Long> resume,
+            String stopReason) {
+    }
+
+    /**
+     * Assign and position the request's consumer for the given topic and
+     * filters, returning a lazy stream of the batches retrieved by each poll.
+     */
+    Stream<ConsumerRecords<byte[], byte[]>> pollRecords(String topicId,
+            Integer partition,
+            Long offset,
+            Instant timestamp,
+            Integer limit) {
+
+        Map<TopicPartition, Long> endOffsets = positionConsumer(topicId, partition, offset, timestamp, limit, null);
+
+        if (endOffsets.isEmpty()) {
+            return Stream.empty();
+        }
+
+        Iterable<ConsumerRecords<byte[], byte[]>> poll =
+                () -> new ConsumerRecordsIterator<>(consumer, endOffsets, limit, Instant.now().plus(pollTimeout));
+
+        return StreamSupport.stream(poll.spliterator(), false);
+    }
+
+    /**
+     * Assign the request's consumer to the topic's partitions (optionally limited
+     * to a single partition, or to the partitions being resumed) and seek each
+     * to the requested starting position.
+     *
+     * @return the end offsets of the assigned partitions, or an empty map when
+     *         there is nothing to be read
+     */
+    Map<TopicPartition, Long> positionConsumer(String topicId,
+            Integer partition,
+            Long offset,
+            Instant timestamp,
+            Integer limit,
+            Map<Integer, Long> resume) {
+
         String topicName = topicNameForId(topicId);
         List<PartitionInfo> partitions = consumer.partitionsFor(topicName);
         List<TopicPartition> assignments = partitions.stream()
                 .filter(p -> partition == null || partition.equals(p.partition()))
+                .filter(p -> resume == null || resume.containsKey(p.partition()))
                 .map(p -> new TopicPartition(p.topic(), p.partition()))
                 .collect(Collectors.toCollection(ArrayList::new));
 
         if (assignments.isEmpty()) {
-            return Collections.emptyList();
+            return Collections.emptyMap();
         }
 
         var endOffsets = consumer.endOffsets(assignments);
@@ -99,19 +569,21 @@ public class RecordService {
         assignments.removeIf(assignment -> endOffsets.get(assignment) == 0);
 
         if (assignments.isEmpty()) {
-            return Collections.emptyList();
+            return Collections.emptyMap();
         }
 
         consumer.assign(assignments);
 
-        if (timestamp != null) {
+        if (resume != null) {
+            seekToPositions(consumer, assignments, endOffsets, resume);
+        } else if (timestamp != null) {
             seekToTimestamp(consumer, assignments, timestamp);
         } else {
             seekToOffset(consumer, assignments, endOffsets, offset, limit);
         }
 
         if (assignments.isEmpty()) {
-            return Collections.emptyList();
+            return Collections.emptyMap();
         }
 
         /*
@@ -120,16 +592,75 @@ public class RecordService {
          */
         consumer.assign(assignments);
 
-        Iterable<ConsumerRecords<RecordData, RecordData>> poll =
-                () -> new ConsumerRecordsIterator<>(consumer, endOffsets, limit, Instant.now().plus(pollTimeout));
-        var limitSet = new SizeLimitedSortedSet<ConsumerRecord<RecordData, RecordData>>(buildComparator(timestamp, offset), limit);
+        Map<TopicPartition, Long> assignedEndOffsets = new HashMap<>(assignments.size());
+        assignments.forEach(p -> assignedEndOffsets.put(p, endOffsets.get(p)));
+        return assignedEndOffsets;
+    }
 
-        return StreamSupport.stream(poll.spliterator(), false)
-                .flatMap(records -> StreamSupport.stream(records.spliterator(), false))
-                .collect(Collectors.toCollection(() -> limitSet))
-                .stream()
-                .map(rec -> getItems(rec, topicId, include, maxValueLength))
-                .toList();    }
+    /**
+     * Deserialize the keys and values of the given raw records using the
+     * cluster's (schema registry aware) deserializers. Decoding may require a
+     * schema lookup and conversion of Avro/Protobuf data to JSON, so the list is
+     * split into at most {@code decodeParallelism} chunks that are decoded
+     * concurrently. The order of the given records is preserved.
+     */
+    List<ConsumerRecord<RecordData, RecordData>> decode(List<ConsumerRecord<byte[], byte[]>> records) {
+        var registryContext = kafkaContext.schemaRegistryContext();
+        Deserializer<RecordData> keyDeserializer = registryContext.keyDeserializer();
+        Deserializer<RecordData> valueDeserializer = registryContext.valueDeserializer();
+
+        return parallelMap(records, rec -> decode(rec, keyDeserializer, valueDeserializer));
+    }
+
+    /**
+     * Apply the mapper to each of the given items, splitting the list into at
+     * most {@code decodeParallelism} chunks that are processed concurrently. The
+     * order of the results matches the order of the items.
+     */
+    <T, R> List<R> parallelMap(List<T> items, Function<T, R> mapper) {
+        int chunkCount = Math.min(decodeParallelism, items.size());
+
+        if (chunkCount <= 1) {
+            return items.stream().map(mapper).toList();
+        }
+
+        int chunkSize = (items.size() + chunkCount - 1) / chunkCount;
+        List<CompletableFuture<List<R>>> pending = new ArrayList<>(chunkCount);
+
+        for (int begin = 0; begin < items.size(); begin += chunkSize) {
+            var chunk = items.subList(begin, Math.min(begin + chunkSize, items.size()));
+            pending.add(CompletableFuture.supplyAsync(() -> chunk.stream().map(mapper).toList(), decodeExecutor));
+        }
+
+        return pending.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    static ConsumerRecord<RecordData, RecordData> decode(ConsumerRecord<byte[], byte[]> rec,
+            Deserializer<RecordData> keyDeserializer,
+            Deserializer<RecordData> valueDeserializer) {
+
+        return decoded(rec,
+                keyDeserializer.deserialize(rec.topic(), rec.headers(), rec.key()),
+                valueDeserializer.deserialize(rec.topic(), rec.headers(), rec.value()));
+    }
+
+    static ConsumerRecord<RecordData, RecordData> decoded(ConsumerRecord<byte[], byte[]> rec, RecordData key, RecordData value) {
+        return new ConsumerRecord<>(
+                rec.topic(),
+                rec.partition(),
+                rec.offset(),
+                rec.timestamp(),
+                rec.timestampType(),
+                rec.serializedKeySize(),
+                rec.serializedValueSize(),
+                key,
+                value,
+                rec.headers(),
+                rec.leaderEpoch());
+    }
 
     public KafkaRecord produceRecord(String topicId, KafkaRecord input) {
         String topicName = topicNameForId(topicId);
@@ -230,23 +761,12 @@ public class RecordService {
     }
 
     String topicNameForId(String topicId) {
-        Uuid kafkaTopicId = Uuid.fromString(topicId);
-
-        return kafkaContext.admin()
-            .listTopics(new ListTopicsOptions().listInternal(true))
-            .listings()
-            .toCompletionStage()
-            .thenApply(Collection::stream)
-            .thenApply(listings -> listings
-                    .filter(topic -> kafkaTopicId.equals(topic.topicId()))
-                    .findFirst()
-                    .map(TopicListing::name)
-                    .orElseThrow(() -> noSuchTopic(topicId)))
+        return topicService.topicNameForId(topicId)
             .toCompletableFuture()
             .join();
     }
 
-    void seekToTimestamp(Consumer<RecordData, RecordData> consumer, List<TopicPartition> assignments, Instant timestamp) {
+    void seekToTimestamp(Consumer<byte[], byte[]> consumer, List<TopicPartition> assignments, Instant timestamp) {
         Long tsMillis = timestamp.toEpochMilli();
         Map<TopicPartition, Long> timestampsToSearch = assignments.stream()
                 .collect(Collectors.toMap(Function.identity(), p -> tsMillis));
@@ -274,7 +794,7 @@ public class RecordService {
             });
     }
 
-    void seekToOffset(Consumer<RecordData, RecordData> consumer, List<TopicPartition> assignments, Map<TopicPartition, Long> endOffsets, Long offset, int limit) {
+    void seekToOffset(Consumer<byte[], byte[]> consumer, List<TopicPartition> assignments, Map<TopicPartition, Long> endOffsets, Long offset, int limit) {
         var beginningOffsets = consumer.beginningOffsets(assignments);
         Iterator<TopicPartition> cursor = assignments.iterator();
 
@@ -302,18 +822,30 @@ public class RecordService {
         }
     }
 
-    Comparator<ConsumerRecord<RecordData, RecordData>> buildComparator(Instant timestamp, Long offset) {
-        Comparator<ConsumerRecord<RecordData, RecordData>> comparator = Comparator
-                .<ConsumerRecord<RecordData, RecordData>>comparingLong(ConsumerRecord::timestamp)
-                .thenComparingInt(ConsumerRecord::partition)
-                .thenComparingLong(ConsumerRecord::offset);
+    void seekToPositions(Consumer<byte[], byte[]> consumer, List<TopicPartition> assignments, Map<TopicPartition, Long> endOffsets, Map<Integer, Long> positions) {
+        var beginningOffsets = consumer.beginningOffsets(assignments);
+        Iterator<TopicPartition> cursor = assignments.iterator();
 
-        if (timestamp == null && offset == null) {
-            // Returning "latest" records, newest to oldest within the result set size limit
-            comparator = comparator.reversed();
+        while (cursor.hasNext()) {
+            TopicPartition p = cursor.next();
+            long position = positions.get(p.partition());
+
+            if (position < endOffsets.get(p)) {
+                // Records before the resume position may have been deleted in the meantime
+                consumer.seek(p, Math.max(beginningOffsets.get(p), position));
+            } else {
+                cursor.remove();
+            }
         }
+    }
 
-        return comparator;
+    /**
+     * Records are selected in order of timestamp, partition, and offset.
+     */
+    TopNSelector<ConsumerRecord<byte[], byte[]>> buildSelector(Instant timestamp, Long offset, int limit) {
+        // Returning "latest" records, newest to oldest within the result set size limit
+        boolean latest = timestamp == null && offset == null;
+        return new TopNSelector<>(limit, latest);
     }
 
     KafkaRecord getItems(ConsumerRecord<RecordData, RecordData> rec, String topicId, List<String> include, Integer maxValueLength) {
@@ -413,10 +945,6 @@ public class RecordService {
                 .sum();
     }
 
-    static UnknownTopicIdException noSuchTopic(String topicId) {
-        return new UnknownTopicIdException("No such topic: " + topicId);
-    }
-
     static InvalidPartitionsException invalidPartition(String topicId, int partition) {
         return new InvalidPartitionsException("Partition " + partition + " is not valid for topic " + topicId);
     }
@@ -37,11 +37,13 @@ import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
 import org.apache.kafka.clients.admin.ListTopicsOptions;
 import org.apache.kafka.clients.admin.NewPartitionReassignment;
 import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
 import org.apache.kafka.clients.admin.TopicListing;
 import org.apache.kafka.common.TopicCollection;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.Uuid;
 import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.errors.UnknownTopicIdException;
 import org.eclipse.microprofile.context.ThreadContext;
 import org.jboss.logging.Logger;
 
@@ -55,8 +57,10 @@ import com.github.streamshub.console.api.model.ReplicaLocalStorage;
 import com.github.streamshub.console.api.model.Topic;
 import com.github.streamshub.console.api.model.TopicPatch;
 import com.github.streamshub.console.api.support.KafkaContext;
+import com.github.streamshub.console.api.support.MetadataCache;
 import com.github.streamshub.console.api.support.KafkaOffsetSpec;
 import com.github.streamshub.console.api.support.ListRequestContext;
+import com.github.streamshub.console.api.support.TopicIndex;
 import com.github.streamshub.console.api.support.TopicValidation;
 import com.github.streamshub.console.api.support.UnknownTopicIdPatch;
 import com.github.streamshub.console.api.support.ValidationProxy;
@@ -81,6 +85,11 @@ public class TopicService {
             Topic.Fields.AUTHORIZED_OPERATIONS,
             Topic.Fields.TOTAL_LEADER_LOG_BYTES,
             Topic.Fields.STATUS);
+    /**
+     * Sort keys and filters available from a topic listing, without describing the topic.
+     */
+    private static final Set<String> LISTING_SORT_KEYS = Set.of("id", Topic.Fields.NAME);
+    private static final Set<String> LISTING_FILTERS = Set.of("filter[id]", "filter[name]", "filter[visibility]");
     private static final Set<String> REQUIRE_PARTITIONS = Set.of(
             Topic.Fields.PARTITIONS,
             Topic.Fields.NUM_PARTITIONS,
@@ -117,6 +126,9 @@ public class TopicService {
     @Inject
     ConsumerGroupService consumerGroupService;
 
+    @Inject
+    MetricsService metricsService;
+
     public CompletionStage<NewTopic> createTopic(NewTopic topic, boolean validateOnly) {
         Kafka kafka = kafkaContext.resource();
         Admin adminClient = kafkaContext.admin();
@@ -152,6 +164,14 @@ public class TopicService {
 
         return result.all()
                 .thenApply(nothing -> NewTopic.fromKafkaModel(topicName, result))
+                .thenApply(created -> {
+                    if (!validateOnly) {
+                        kafkaContext.topicIndex().put(topicName, created.topicId());
+                        // Configurations of a previous topic with the same name may be cached
+                        invalidateCachedMetadata(null, topicName);
+                    }
+                    return created;
+                })
                 .toCompletionStage();
     }
 
@@ -170,10 +190,19 @@ public class TopicService {
                 "statuses", statuses,
                 "totalPartitions", partitionCount));
 
+        if (pageFromListing(listSupport)) {
+            return listTopicPage(adminClient, fetchList, offsetSpec, listSupport, statuses, partitionCount);
+        }
+
+        // Metrics are fetched for the topics of the selected page only
+        List<String> listFields = fetchList.stream()
+                .filter(Predicate.not(Topic.Fields.METRICS::equals))
+                .toList();
+
         return listTopics(adminClient, true)
             .thenApply(list -> list.stream().map(Topic::fromTopicListing).toList())
             .thenComposeAsync(
-                    list -> augmentList(adminClient, list, fetchList, offsetSpec),
+                    list -> augmentList(adminClient, list, listFields, offsetSpec),
                     threadContext.currentContextExecutor())
             .thenApply(list -> list.stream()
                     .filter(listSupport)
@@ -185,6 +214,52 @@ public class TopicService {
                     .takeWhile(listSupport::pageCapacityAvailable))
             .thenApplyAsync(
                     topics -> topics.map(this::setManaged).toList(),
+                    threadContext.currentContextExecutor())
+            .thenCompose(page -> maybeFetchMetrics(page, fetchList).thenApply(nothing -> page));
+    }
+
+    /**
+     * Determine whether the topics of the requested page can be selected using
+     * only the information given by a topic listing. This is the case when the
+     * request filters and sorts only by a topic's ID, name, and visibility.
+     */
+    boolean pageFromListing(ListRequestContext<Topic> listSupport) {
+        return LISTING_SORT_KEYS.containsAll(listSupport.getSortNames())
+                && LISTING_FILTERS.containsAll(listSupport.filterNames());
+    }
+
+    /**
+     * List the topics, selecting the requested page from the topic listing
+     * before fetching any further information. Offsets, log directories,
+     * configurations, and consumer groups are retrieved only for the topics on
+     * the page. When the summary requires them, the partitions of all topics
+     * matching the filters are described in a single request.
+     */
+    CompletionStage<List<Topic>> listTopicPage(Admin adminClient, List<String> fields, String offsetSpec,
+            ListRequestContext<Topic> listSupport, Map<String, Integer> statuses, AtomicInteger partitionCount) {
+
+        return listTopics(adminClient, true)
+            .thenApply(list -> list.stream()
+                    .map(Topic::fromTopicListing)
+                    .filter(listSupport)
+                    .map(listSupport::tally)
+                    .toList())
+            .thenComposeAsync(matched -> {
+                List<Topic> page = matched.stream()
+                        .filter(listSupport::betweenCursors)
+                        .sorted(listSupport.getSortComparator())
+                        .dropWhile(listSupport::beforePageBegin)
+                        .takeWhile(listSupport::pageCapacityAvailable)
+                        .toList();
+
+                return augmentPage(adminClient, matched, page, fields, offsetSpec)
+                    .thenApply(nothing -> {
+                        matched.forEach(topic -> tallySummary(statuses, partitionCount, topic));
+                        return page;
+                    });
+            }, threadContext.currentContextExecutor())
+            .thenApplyAsync(
+                    topics -> topics.stream().map(this::setManaged).toList(),
                     threadContext.currentContextExecutor());
     }
 
@@ -201,11 +276,11 @@ public class TopicService {
     }
 
     CompletableFuture<List<TopicListing>> listTopics(Admin adminClient, boolean listInternal) {
-        return adminClient
-            .listTopics(new ListTopicsOptions().listInternal(listInternal))
-            .listings()
-            .thenApply(topics -> topics.stream().toList())
-            .toCompletionStage()
+        return kafkaContext.coalesce("listTopics", List.of(listInternal), () -> adminClient
+                .listTopics(new ListTopicsOptions().listInternal(listInternal))
+                .listings()
+                .thenApply(topics -> topics.stream().toList())
+                .toCompletionStage())
             .toCompletableFuture();
     }
 
@@ -224,7 +299,8 @@ public class TopicService {
 
             return CompletableFuture.allOf(
                     maybeDescribeConfigs(adminClient, topics, fields),
-                    maybeFetchConsumerGroups(topics, fields))
+                    maybeFetchConsumerGroups(topics, fields),
+                    maybeFetchMetrics(topics.values(), fields))
                 .thenApply(nothing -> topic);
         }, threadContext.currentContextExecutor());
     }
@@ -243,6 +319,9 @@ public class TopicService {
     public CompletionStage<Void> patchTopic(String topicId, TopicPatch patch, boolean validateOnly) {
         Kafka kafka = kafkaContext.resource();
 
+        // Validate the patch against the current partitions of the topic
+        invalidateCachedMetadata(Uuid.fromString(topicId), null);
+
         return describeTopic(topicId, List.of(Topic.Fields.CONFIGS), KafkaOffsetSpec.LATEST)
             .thenApply(topic -> validationService.validate(new TopicValidation.TopicPatchInputs(kafka, topic, patch)))
             .thenApply(TopicValidation.TopicPatchInputs::topic)
@@ -295,6 +374,9 @@ public class TopicService {
 
         return CompletableFuture.allOf(pending.stream().toArray(CompletableFuture[]::new))
             .whenComplete((nothing, error) -> {
+                if (!validateOnly) {
+                    invalidateCachedMetadata(Uuid.fromString(topic.getId()), null);
+                }
                 if (error != null) {
                     pending.stream()
                         .filter(CompletableFuture::isCompletedExceptionally)
@@ -432,7 +514,75 @@ public class TopicService {
         return adminClient.deleteTopics(TopicCollection.ofTopicIds(List.of(id)))
                 .topicIdValues()
                 .get(id)
-                .toCompletionStage();
+                .toCompletionStage()
+                .thenRun(() -> {
+                    invalidateCachedMetadata(id, kafkaContext.topicIndex().name(topicId).orElse(null));
+                    kafkaContext.topicIndex().remove(topicId);
+                });
+    }
+
+    /**
+     * Remove the cached description and/or configurations of a topic modified
+     * by the console, so that subsequent requests observe the modification.
+     */
+    void invalidateCachedMetadata(Uuid id, String topicName) {
+        var descriptions = kafkaContext.topicDescriptionCache();
+        var configs = kafkaContext.configCache();
+
+        if (descriptions != null && id != null) {
+            descriptions.invalidate(id);
+        }
+        if (configs != null && topicName != null) {
+            configs.invalidate(new ConfigResource(ConfigResource.Type.TOPIC, topicName));
+        }
+    }
+
+    /**
+     * Find the name of the topic with the given ID. The cluster's
+     * {@linkplain TopicIndex topic index} is used when it has been populated,
+     * listing the cluster's topics only when the topic is not (yet) indexed.
+     * The index is not used for clusters accessed with the credentials of the
+     * requesting user, since the topics visible to each user may differ.
+     *
+     * @throws UnknownTopicIdException (via the returned stage) when no topic
+     *         with the ID exists
+     */
+    public CompletionStage<String> topicNameForId(String topicId) {
+        return topicIdIndex(kafkaContext.admin(), index -> index.name(topicId).isPresent())
+                .thenApply(index -> index.name(topicId)
+                        .orElseThrow(() -> noSuchTopic(topicId)));
+    }
+
+    /**
+     * @return the IDs of the cluster's topics, keyed by topic name
+     */
+    public CompletionStage<Map<String, String>> topicIds(Admin adminClient) {
+        return topicIdIndex(adminClient, index -> true).thenApply(TopicIndex::idsByName);
+    }
+
+    /**
+     * @return the IDs of the cluster's topics, keyed by topic name, listing the
+     *         topics when any of the given topics is not (yet) indexed
+     */
+    public CompletionStage<Map<String, String>> topicIds(Admin adminClient, Collection<String> topicNames) {
+        return topicIdIndex(adminClient, index -> topicNames.stream().allMatch(index.idsByName()::containsKey))
+                .thenApply(TopicIndex::idsByName);
+    }
+
+    /**
+     * Obtain an index of the cluster's topics satisfying the given condition,
+     * either the cluster's shared index or one built from a new listing of the
+     * topics.
+     */
+    CompletionStage<TopicIndex> topicIdIndex(Admin adminClient, Predicate<TopicIndex> sufficient) {
+        TopicIndex index = kafkaContext.topicIndex();
+        boolean shared = kafkaContext.applicationScoped();
+
+        if (shared && index.populated() && sufficient.test(index)) {
+            return CompletableFuture.completedStage(index);
+        }
+
+        return (shared ? index : new TopicIndex()).refresh(adminClient);
     }
 
     Topic setManaged(Topic topic) {
@@ -465,11 +615,29 @@ public class TopicService {
         CompletableFuture<Void> configPromise = maybeDescribeConfigs(adminClient, topics, fields);
         CompletableFuture<Void> describePromise = maybeDescribeTopics(adminClient, topics, fields, offsetSpec);
         CompletableFuture<Void> consumerGroupPromise = maybeFetchConsumerGroups(topics, fields);
+        CompletableFuture<Void> metricsPromise = maybeFetchMetrics(topics.values(), fields);
 
-        return CompletableFuture.allOf(configPromise, describePromise, consumerGroupPromise)
+        return CompletableFuture.allOf(configPromise, describePromise, consumerGroupPromise, metricsPromise)
                 .thenApply(nothing -> list);
     }
 
+    CompletionStage<Void> augmentPage(Admin adminClient, List<Topic> matched, List<Topic> page, List<String> fields, String offsetSpec) {
+        Map<Uuid, Topic> pageTopics = page.stream().collect(Collectors.toMap(t -> Uuid.fromString(t.getId()), Function.identity()));
+        Map<Uuid, Topic> describedTopics = pageTopics;
+
+        if (REQUIRE_PARTITIONS.stream().anyMatch(fields::contains)) {
+            // Partitions of every matched topic are needed for the status and partition count summary
+            describedTopics = matched.stream().collect(Collectors.toMap(t -> Uuid.fromString(t.getId()), Function.identity()));
+        }
+
+        CompletableFuture<Void> configPromise = maybeDescribeConfigs(adminClient, pageTopics, fields);
+        CompletableFuture<Void> describePromise = maybeDescribeTopics(adminClient, describedTopics, fields, offsetSpec, pageTopics::containsKey);
+        CompletableFuture<Void> consumerGroupPromise = maybeFetchConsumerGroups(pageTopics, fields);
+        CompletableFuture<Void> metricsPromise = maybeFetchMetrics(pageTopics.values(), fields);
+
+        return CompletableFuture.allOf(configPromise, describePromise, consumerGroupPromise, metricsPromise);
+    }
+
     CompletableFuture<Void> maybeDescribeConfigs(Admin adminClient, Map<Uuid, Topic> topics, List<String> fields) {
         if (fields.contains(Topic.Fields.CONFIGS)) {
             Map<String, Uuid> topicIds = new HashMap<>();
@@ -481,7 +649,8 @@ public class TopicService {
                     .map(name -> new ConfigResource(ConfigResource.Type.TOPIC, name))
                     .toList();
 
-            return configService.describeConfigs(adminClient, keys)
+            return configService.describeConfigs(adminClient, keys,
+                    (name, fetched) -> topics.get(topicIds.get(name)).dataFetched(fetched))
                 .thenAccept(configs ->
                     configs.forEach((name, either) -> topics.get(topicIds.get(name)).addConfigs(either)))
                 .toCompletableFuture();
@@ -491,10 +660,20 @@ public class TopicService {
     }
 
     CompletableFuture<Void> maybeDescribeTopics(Admin adminClient, Map<Uuid, Topic> topics, List<String> fields, String offsetSpec) {
+        return maybeDescribeTopics(adminClient, topics, fields, offsetSpec, id -> true);
+    }
+
+    CompletableFuture<Void> maybeDescribeTopics(Admin adminClient, Map<Uuid, Topic> topics, List<String> fields,
+            String offsetSpec, Predicate<Uuid> includeOffsets) {
+
         if (REQUIRE_DESCRIBE.stream().anyMatch(fields::contains)) {
-            return describeTopics(adminClient, topics.keySet(), fields, offsetSpec)
+            return describeTopics(adminClient, topics.keySet(), fields, offsetSpec, includeOffsets)
                 .<Void>thenApply(descriptions -> {
                     descriptions.forEach((id, either) -> {
+                        either.getOptionalPrimary()
+                            .map(Topic::dataFetched)
+                            .ifPresent(topics.get(id)::dataFetched);
+
                         if (REQUIRE_PARTITIONS.stream().anyMatch(fields::contains)) {
                             topics.get(id).addPartitions(either);
                         }
@@ -533,38 +712,83 @@ public class TopicService {
                 .toCompletableFuture();
     }
 
+    /**
+     * Fetch the metrics of the topics from Prometheus, using a single range and
+     * a single instant query for all of the topics. The metrics remain null
+     * when metrics are not available for the cluster.
+     */
+    CompletableFuture<Void> maybeFetchMetrics(Collection<Topic> topics, List<String> fields) {
+        if (fields.contains(Topic.Fields.METRICS)) {
+            Map<String, Topic> topicsByName = topics.stream()
+                    .collect(Collectors.toMap(Topic::name, Function.identity()));
+
+            return metricsService.queryResourceMetrics("topics", "topic", topicsByName.keySet())
+                .thenAccept(metrics -> metrics.forEach((name, topicMetrics) -> topicsByName.get(name).metrics(topicMetrics)))
+                .toCompletableFuture();
+        }
+
+        return CompletableFuture.completedFuture(null);
+    }
+
     CompletionStage<Map<Uuid, Either<Topic, Throwable>>> describeTopics(
             Admin adminClient,
             Collection<Uuid> topicIds,
             List<String> fields,
             String offsetSpec) {
+        return describeTopics(adminClient, topicIds, fields, offsetSpec, id -> true);
+    }
+
+    /**
+     * Describe the given topics, retrieving the offsets and log directory
+     * information of the partitions of only those topics accepted by
+     * {@code includeOffsets}. The cluster's topic description cache is used when
+     * available, in which case the authorized operations are always requested so
+     * that cached descriptions serve any request.
+     */
+    CompletionStage<Map<Uuid, Either<Topic, Throwable>>> describeTopics(
+            Admin adminClient,
+            Collection<Uuid> topicIds,
+            List<String> fields,
+            String offsetSpec,
+            Predicate<Uuid> includeOffsets) {
 
-        Map<Uuid, Either<Topic, Throwable>> result = new LinkedHashMap<>(topicIds.size());
-        TopicCollection request = TopicCollection.ofTopicIds(topicIds);
+        Map<Uuid, Either<Topic, Throwable>> result = Collections.synchronizedMap(new LinkedHashMap<>(topicIds.size()));
+        var cache = kafkaContext.topicDescriptionCache();
         DescribeTopicsOptions options = new DescribeTopicsOptions()
-                .includeAuthorizedOperations(fields.contains(Topic.Fields.AUTHORIZED_OPERATIONS));
+                .includeAuthorizedOperations(cache != null || fields.contains(Topic.Fields.AUTHORIZED_OPERATIONS));
 
-        var pendingDescribes = adminClient.describeTopics(request, options)
-                .topicIdValues()
-                .entrySet()
+        Function<Collection<Uuid>, Map<Uuid, CompletableFuture<TopicDescription>>> loader = ids ->
+            kafkaContext.adminRequests()
+                .submit(ids, chunk -> adminClient.describeTopics(TopicCollection.ofTopicIds(chunk), options)
+                        .topicIdValues());
+
+        var pending = cache != null ? cache.get(topicIds, loader) : MetadataCache.uncached(loader.apply(topicIds));
+
+        var pendingDescribes = pending.entrySet()
                 .stream()
                 .map(entry ->
-                    entry.getValue().toCompletionStage().<Void>handle((description, error) -> {
+                    entry.getValue().<Void>handle((description, error) -> {
                         error = UnknownTopicIdPatch.apply(error, Function.identity());
 
                         result.put(
                                 entry.getKey(),
-                                Either.of(description, error, Topic::fromTopicDescription));
+                                Either.of(description, error, cached -> Topic.fromTopicDescription(cached.value())
+                                        .dataFetched(cached.fetched())));
                         return null;
                     }))
                 .map(CompletionStage::toCompletableFuture)
                 .toArray(CompletableFuture[]::new);
 
         return CompletableFuture.allOf(pendingDescribes)
-                .thenCompose(nothing -> CompletableFuture.allOf(
-                        listOffsets(adminClient, result, offsetSpec).toCompletableFuture(),
-                        describeLogDirs(adminClient, result).toCompletableFuture()
-                ))
+                .thenCompose(nothing -> {
+                    Map<Uuid, Either<Topic, Throwable>> detailed = new LinkedHashMap<>(result);
+                    detailed.keySet().removeIf(Predicate.not(includeOffsets));
+
+                    return CompletableFuture.allOf(
+                        listOffsets(adminClient, detailed, offsetSpec).toCompletableFuture(),
+                        describeLogDirs(adminClient, detailed).toCompletableFuture()
+                    );
+                })
                 .thenApply(nothing -> result);
     }
 
@@ -662,13 +886,23 @@ public class TopicService {
                 .stream()
                 .map(e -> Map.entry(e.getKey().toKafkaModel(), e.getValue()))
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-        var result = adminClient.listOffsets(kafkaRequest, new ListOffsetsOptions()
-                .timeoutMs(5000));
+        var endOffsets = kafkaContext.endOffsets();
+        Map<TopicPartition, CompletionStage<ListOffsetsResultInfo>> results;
+
+        if (endOffsets != null && request.values().stream().allMatch(OffsetSpec.LatestSpec.class::isInstance)) {
+            // Latest offsets are shared with other requests (e.g. consumer group lag)
+            results = endOffsets.latestOffsets(adminClient, kafkaRequest.keySet());
+        } else {
+            var result = adminClient.listOffsets(kafkaRequest, new ListOffsetsOptions()
+                    .timeoutMs(5000));
+            results = kafkaRequest.keySet()
+                    .stream()
+                    .collect(Collectors.toMap(Function.identity(), p -> result.partitionResult(p).toCompletionStage()));
+        }
 
         return kafkaRequest.entrySet()
                 .stream()
-                .map(entry -> result.partitionResult(entry.getKey())
-                        .toCompletionStage()
+                .map(entry -> results.get(entry.getKey())
                         .<Void>handle((offsetResult, error) -> {
                             addOffset(topics.get(topicIds.get(entry.getKey().topic())).getPrimary(),
                                         entry.getKey().partition(),
@@ -681,11 +915,7 @@ public class TopicService {
     }
 
     void addOffset(Topic topic, int partitionNo, String key, ListOffsetsResultInfo result, Throwable error) {
-        topic.partitions()
-            .getPrimary()
-            .stream()
-            .filter(partition -> partition.getPartition() == partitionNo)
-            .findFirst()
+        topic.partition(partitionNo)
             .ifPresent(partition -> partition.addOffset(key, either(result, error)));
     }
 
@@ -714,11 +944,7 @@ public class TopicService {
                 int nodeId = e.getValue();
                 var partitionInfo = topics.get(topicIds.get(topicPartition.topic()))
                         .getPrimary()
-                        .partitions()
-                        .getPrimary()
-                        .stream()
-                        .filter(p -> p.getPartition() == topicPartition.partition())
-                        .findFirst();
+                        .partition(topicPartition.partition());
 
                 return logDirs.get(nodeId).toCompletionStage().<Void>handle((nodeLogDirs, error) -> {
                     if (error != null) {
@@ -742,4 +968,8 @@ public class TopicService {
 
         return CompletableFuture.allOf(pendingInfo);
     }
+
+    static UnknownTopicIdException noSuchTopic(String topicId) {
+        return new UnknownTopicIdException("No such topic: " + topicId);
+    }
 }
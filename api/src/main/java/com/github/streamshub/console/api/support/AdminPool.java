@@ -0,0 +1,297 @@
+package com.github.streamshub.console.api.support;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A bounded pool of Kafka {@linkplain Admin} clients for a single Kafka cluster
+ * accessed with the credentials given by each request (e.g. in the request's
+ * {@code Authorization} header). Clients are keyed by the credentials present
+ * in their configuration, see {@link ConsumerPool#principalKey(Map)}, so that a
+ * client created with one principal's credentials is never used for a request
+ * made by a different principal.
+ *
+ * <p>Admin clients are thread-safe, so a single client is shared by all
+ * concurrent requests of a principal. Each {@linkplain #acquire acquired}
+ * client must be {@linkplain #release(Admin) released} when the request
+ * completes. Clients are closed by {@linkplain #evictIdle()} once unused for
+ * longer than the configured idle timeout or once the credentials they were
+ * created with expire (e.g. an OAuth access token). When the pool is at
+ * capacity and no client can be evicted, a client is created that is not
+ * pooled and is closed when released.
+ */
+public class AdminPool implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(AdminPool.class);
+
+    private final String name;
+    private final int maxSize;
+    private final Duration idleTimeout;
+
+    /**
+     * Pooled clients by principal key. Guarded by {@code this}.
+     */
+    private final Map<String, PooledAdmin> pooled = new HashMap<>();
+
+    /**
+     * Clients acquired and not yet released, including those no longer
+     * pooled. Guarded by {@code this}.
+     */
+    private final Map<Admin, PooledAdmin> acquired = new IdentityHashMap<>();
+    private boolean closed = false;
+
+    private static class PooledAdmin {
+        final String key;
+        final Admin admin;
+        final Instant expiry;
+        int leases;
+        Instant lastUsed;
+        boolean retired;
+
+        PooledAdmin(String key, Admin admin, Instant expiry) {
+            this.key = key;
+            this.admin = admin;
+            this.expiry = expiry;
+        }
+
+        boolean expired(Instant now) {
+            return expiry != null && !expiry.isAfter(now);
+        }
+    }
+
+    public AdminPool(String name, int maxSize, Duration idleTimeout) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Obtain a client for the given configuration. A client created with the
+     * same credentials is re-used when available, otherwise a new client is
+     * created. When the pool is at capacity, the least recently used client not
+     * in use (for any credentials) is closed to make room.
+     *
+     * @param configs the configuration used to create a new client, if necessary
+     * @param expiry  time the credentials in the configuration expire, or null
+     *                if unknown
+     * @param factory function to create a new client
+     * @return a client, which must be returned via {@link #release(Admin)}
+     */
+    public Admin acquire(Map<String, Object> configs, Instant expiry, Function<Map<String, Object>, Admin> factory) {
+        final String key = ConsumerPool.principalKey(configs);
+        final Instant now = Instant.now();
+        List<PooledAdmin> evicted = new ArrayList<>(1);
+
+        synchronized (this) {
+            assertOpen();
+            PooledAdmin entry = pooled.get(key);
+
+            if (entry != null && !entry.expired(now)) {
+                return lease(entry);
+            }
+
+            if (entry != null) {
+                retire(entry, evicted);
+            }
+
+            if (pooled.size() >= maxSize) {
+                // At capacity, replace the least recently used client not in use (if any)
+                pooled.values()
+                    .stream()
+                    .filter(candidate -> candidate.leases == 0)
+                    .min((c1, c2) -> c1.lastUsed.compareTo(c2.lastUsed))
+                    .ifPresent(candidate -> retire(candidate, evicted));
+            }
+        }
+
+        evicted.forEach(this::closeQuietly);
+
+        PooledAdmin entry = new PooledAdmin(key, factory.apply(configs), expiry);
+
+        synchronized (this) {
+            /*
+             * Pool the new client unless at capacity or another request created a
+             * client for the principal concurrently. Otherwise the client is used
+             * only by this request.
+             */
+            if (!closed && pooled.size() < maxSize && !pooled.containsKey(key)) {
+                pooled.put(key, entry);
+            } else {
+                entry.retired = true;
+            }
+
+            lease(entry);
+        }
+
+        return entry.admin;
+    }
+
+    /**
+     * Return a client previously obtained from {@link #acquire}. Clients no
+     * longer pooled are closed once released by all requests using them.
+     * Clients not obtained from this pool are closed.
+     *
+     * @param admin the client to release
+     */
+    public void release(Admin admin) {
+        boolean close;
+
+        synchronized (this) {
+            PooledAdmin entry = acquired.get(admin);
+
+            if (entry == null) {
+                close = true;
+            } else {
+                entry.leases--;
+                entry.lastUsed = Instant.now();
+
+                if (entry.leases == 0) {
+                    acquired.remove(admin);
+                }
+
+                close = entry.leases == 0 && entry.retired;
+            }
+        }
+
+        if (close) {
+            closeQuietly(admin);
+        }
+    }
+
+    /**
+     * Close any clients that have not been used for longer than the idle
+     * timeout or whose credentials have expired.
+     *
+     * @return the number of clients closed or retired
+     */
+    public int evictIdle() {
+        Instant now = Instant.now();
+        Instant idleSince = now.minus(idleTimeout);
+        List<PooledAdmin> evicted = new ArrayList<>();
+        int count = 0;
+
+        synchronized (this) {
+            for (Iterator<PooledAdmin> cursor = pooled.values().iterator(); cursor.hasNext();) {
+                PooledAdmin entry = cursor.next();
+                boolean idle = entry.leases == 0 && entry.lastUsed.isBefore(idleSince);
+
+                if (idle || entry.expired(now)) {
+                    cursor.remove();
+                    entry.retired = true;
+                    count++;
+
+                    if (entry.leases == 0) {
+                        evicted.add(entry);
+                    }
+                }
+            }
+        }
+
+        if (count > 0) {
+            LOGGER.debugf("Evicting %d idle or expired admin client(s) for cluster %s", count, name);
+            evicted.forEach(this::closeQuietly);
+        }
+
+        return count;
+    }
+
+    /**
+     * Determine when a bearer token expires using its {@code exp} claim, when
+     * the token is in JWT format.
+     *
+     * @return the expiry time, or null for opaque or malformed tokens
+     */
+    public static Instant tokenExpiry(ObjectMapper mapper, String token) {
+        String[] parts = token.trim().split("\\.");
+
+        if (parts.length != 3) {
+            return null;
+        }
+
+        try {
+            JsonNode exp = mapper.readTree(Base64.getUrlDecoder().decode(parts[1])).path("exp");
+            return exp.isNumber() ? Instant.ofEpochSecond(exp.asLong()) : null;
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.debugf("Unable to parse bearer token claims: %s", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return the number of clients currently pooled
+     */
+    public synchronized int size() {
+        return pooled.size();
+    }
+
+    /**
+     * Close all pooled clients not in use. Clients in use will be closed when
+     * they are released.
+     */
+    @Override
+    public void close() {
+        List<PooledAdmin> evicted = new ArrayList<>();
+
+        synchronized (this) {
+            closed = true;
+            pooled.values().forEach(entry -> retire(entry, evicted));
+            pooled.clear();
+        }
+
+        evicted.forEach(this::closeQuietly);
+    }
+
+    private void assertOpen() {
+        if (closed) {
+            throw new IllegalStateException("Admin client pool for cluster " + name + " is closed");
+        }
+    }
+
+    private Admin lease(PooledAdmin entry) {
+        entry.leases++;
+        entry.lastUsed = Instant.now();
+        acquired.put(entry.admin, entry);
+        return entry.admin;
+    }
+
+    /**
+     * Remove the entry from the pool, adding it to the list of clients to close
+     * when not in use. Must be called while holding the lock.
+     */
+    private void retire(PooledAdmin entry, List<PooledAdmin> evicted) {
+        pooled.remove(entry.key, entry);
+        entry.retired = true;
+
+        if (entry.leases == 0) {
+            evicted.add(entry);
+        }
+    }
+
+    private void closeQuietly(PooledAdmin entry) {
+        closeQuietly(entry.admin);
+    }
+
+    private void closeQuietly(Admin admin) {
+        try {
+            admin.close();
+        } catch (Exception e) {
+            LOGGER.infof("Exception closing pooled admin client for cluster %s: %s", name, e.getMessage());
+        }
+    }
+}
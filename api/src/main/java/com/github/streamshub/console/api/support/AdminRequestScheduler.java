@@ -0,0 +1,151 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.kafka.common.KafkaFuture;
+
+/**
+ * Splits Admin client requests for a large number of resources (e.g. the
+ * configurations or descriptions of thousands of topics) into requests for
+ * chunks of a bounded number of resources, avoiding request and response
+ * messages large enough for the request to time out.
+ *
+ * <p>Requests for a single chunk are sent immediately. The chunks of larger
+ * requests are queued and the number of chunks pending at any time is limited
+ * for the cluster, across all requests. The result of each resource completes
+ * as soon as the chunk containing it completes, and a chunk failing only fails
+ * the results of its own resources.
+ */
+public class AdminRequestScheduler {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private final int chunkSize;
+    private final int maxInFlight;
+
+    /**
+     * Queued chunks and the number in flight. Guarded by {@code this}.
+     */
+    private final Queue<Runnable> queue = new ArrayDeque<>();
+    private int inFlight = 0;
+
+    public AdminRequestScheduler(int chunkSize, int maxInFlight) {
+        this.chunkSize = chunkSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Send a request for the given keys, split into chunks.
+     *
+     * @param <K>  type of the request keys, e.g. topic ID
+     * @param <V>  type of the result of each key
+     * @param keys keys of the resources requested
+     * @param call function sending the request for a chunk of keys and providing
+     *             the pending result of each key, e.g.
+     *             {@code chunk -> adminClient.describeConfigs(chunk).values()}
+     * @return map of each key to its pending result, in the order of the keys given
+     */
+    public <K, V> Map<K, CompletableFuture<V>> submit(Collection<K> keys, Function<Collection<K>, Map<K, KafkaFuture<V>>> call) {
+        List<K> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+        Map<K, CompletableFuture<V>> results = new LinkedHashMap<>(distinctKeys.size());
+        distinctKeys.forEach(key -> results.put(key, new CompletableFuture<>()));
+
+        if (distinctKeys.size() <= chunkSize) {
+            send(distinctKeys, call, results, () -> { });
+            return results;
+        }
+
+        synchronized (this) {
+            for (int start = 0; start < distinctKeys.size(); start += chunkSize) {
+                List<K> chunk = distinctKeys.subList(start, Math.min(start + chunkSize, distinctKeys.size()));
+                queue.add(() -> send(chunk, call, results, this::release));
+            }
+        }
+
+        dispatch();
+        return results;
+    }
+
+    /**
+     * @return the number of chunks queued and not yet sent
+     */
+    public synchronized int queued() {
+        return queue.size();
+    }
+
+    private void dispatch() {
+        while (true) {
+            Runnable next;
+
+            synchronized (this) {
+                if (inFlight >= maxInFlight || queue.isEmpty()) {
+                    return;
+                }
+                inFlight++;
+                next = queue.poll();
+            }
+
+            next.run();
+        }
+    }
+
+    private void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        dispatch();
+    }
+
+    private static <K, V> void send(List<K> chunk,
+            Function<Collection<K>, Map<K, KafkaFuture<V>>> call,
+            Map<K, CompletableFuture<V>> results,
+            Runnable completion) {
+
+        Map<K, KafkaFuture<V>> pending;
+
+        try {
+            pending = call.apply(chunk);
+        } catch (RuntimeException e) {
+            chunk.forEach(key -> results.get(key).completeExceptionally(e));
+            completion.run();
+            return;
+        }
+
+        AtomicInteger remaining = new AtomicInteger(chunk.size());
+
+        for (K key : chunk) {
+            CompletableFuture<V> result = results.get(key);
+            KafkaFuture<V> keyPending = pending.get(key);
+
+            if (keyPending == null) {
+                result.completeExceptionally(new IllegalStateException("No result for " + key));
+                if (remaining.decrementAndGet() == 0) {
+                    completion.run();
+                }
+                continue;
+            }
+
+            keyPending.whenComplete((value, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    completion.run();
+                }
+            });
+        }
+    }
+}
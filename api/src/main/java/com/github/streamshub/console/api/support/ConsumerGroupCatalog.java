@@ -0,0 +1,185 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.ListConsumerGroupsResult;
+import org.jboss.logging.Logger;
+
+/**
+ * Catalog of the consumer groups of a Kafka cluster, i.e. the result of listing
+ * the cluster's groups, allowing the existence of a group to be checked and the
+ * groups to be paged through without listing every group for each request.
+ *
+ * <p>The catalog is refreshed in the background and on demand once older than
+ * its maximum age, or when {@linkplain #invalidate() invalidated} following a
+ * change made to a group by the console. Concurrent refreshes share a single
+ * listing of the cluster's groups.
+ *
+ * <p>Groups that could not be listed because of an error from some of the
+ * cluster's brokers are kept from the previous refresh. A listing requested
+ * before a group was {@linkplain #remove(String) removed} is discarded and the
+ * groups are listed again, since it may still include the removed group.
+ */
+public class ConsumerGroupCatalog {
+
+    private static final Logger LOGGER = Logger.getLogger(ConsumerGroupCatalog.class);
+    private static final String REFRESH = "refresh";
+
+    private final Duration maxAge;
+    private final Map<String, ConsumerGroupListing> groups = new ConcurrentHashMap<>();
+    private volatile Instant lastUpdated = null;
+    private volatile boolean invalidated = false;
+
+    private final SingleFlight<String, ConsumerGroupCatalog> refreshes = new SingleFlight<>(false);
+
+    /**
+     * Number of groups removed from the catalog. Guarded by {@code this}.
+     */
+    private long removals = 0;
+
+    public ConsumerGroupCatalog(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * @return true when the catalog has been populated, has not been invalidated,
+     *         and is no older than its maximum age
+     */
+    public boolean current() {
+        Instant updated = lastUpdated;
+        return updated != null && !invalidated && Instant.now().isBefore(updated.plus(maxAge));
+    }
+
+    /**
+     * @return the time the listing of the catalog's last refresh was requested,
+     *         or null when not yet populated
+     */
+    public Instant lastUpdated() {
+        return lastUpdated;
+    }
+
+    public boolean contains(String groupId) {
+        return groups.containsKey(groupId);
+    }
+
+    public Optional<ConsumerGroupListing> get(String groupId) {
+        return Optional.ofNullable(groups.get(groupId));
+    }
+
+    /**
+     * @return unmodifiable view of the listings of all groups in the catalog
+     */
+    public Collection<ConsumerGroupListing> listings() {
+        return Collections.unmodifiableCollection(groups.values());
+    }
+
+    public int size() {
+        return groups.size();
+    }
+
+    /**
+     * Obtain the catalog, refreshing it first when it is not {@linkplain #current() current}.
+     *
+     * @param adminClient client used to list the cluster's groups
+     * @return stage completed with this catalog once current
+     */
+    public CompletionStage<ConsumerGroupCatalog> currentCatalog(Admin adminClient) {
+        if (current()) {
+            return CompletableFuture.completedStage(this);
+        }
+        return refresh(adminClient);
+    }
+
+    /**
+     * List the cluster's groups and replace the contents of the catalog. When a
+     * refresh is already in progress, its result is shared.
+     *
+     * @param adminClient client used to list the cluster's groups
+     * @return stage completed with this catalog once refreshed
+     */
+    public CompletionStage<ConsumerGroupCatalog> refresh(Admin adminClient) {
+        return refreshes.execute(REFRESH, () -> {
+            invalidated = false;
+            return list(adminClient);
+        });
+    }
+
+    private CompletionStage<ConsumerGroupCatalog> list(Admin adminClient) {
+        Instant started = Instant.now();
+        long removalsBefore;
+
+        synchronized (this) {
+            removalsBefore = removals;
+        }
+
+        ListConsumerGroupsResult result = adminClient.listConsumerGroups();
+
+        return result.valid()
+            .toCompletionStage()
+            .thenCombine(result.errors().toCompletionStage(), (listings, errors) -> {
+                errors.forEach(error -> LOGGER.warnf("Error listing consumer groups for catalog: %s", error.getMessage()));
+                return update(listings, errors.isEmpty(), started, removalsBefore);
+            })
+            .thenCompose(updated -> updated
+                    ? CompletableFuture.completedStage(this)
+                    : list(adminClient));
+    }
+
+    /**
+     * Mark the catalog to be refreshed before its next use, e.g. after the
+     * offsets of a group have been changed, possibly creating the group.
+     */
+    public void invalidate() {
+        invalidated = true;
+    }
+
+    /**
+     * Remove a deleted group from the catalog.
+     */
+    public synchronized void remove(String groupId) {
+        groups.remove(groupId);
+        removals++;
+    }
+
+    /**
+     * Replace the contents of the catalog with the groups listed, unless a group
+     * has been removed since the listing was requested.
+     *
+     * @param listings       the groups listed
+     * @param complete       false when some brokers' groups could not be listed,
+     *                       in which case no groups are dropped from the catalog
+     * @param listed         time the listing was requested
+     * @param removalsBefore number of removals before the listing was requested
+     * @return true when the catalog was updated, false when the listing was
+     *         discarded
+     */
+    synchronized boolean update(Collection<ConsumerGroupListing> listings, boolean complete, Instant listed, long removalsBefore) {
+        if (removals != removalsBefore) {
+            return false;
+        }
+
+        if (complete) {
+            Set<String> groupIds = listings.stream()
+                    .map(ConsumerGroupListing::groupId)
+                    .collect(Collectors.toSet());
+
+            groups.keySet().retainAll(groupIds);
+        }
+
+        listings.forEach(listing -> groups.put(listing.groupId(), listing));
+        lastUpdated = listed;
+        return true;
+    }
+}
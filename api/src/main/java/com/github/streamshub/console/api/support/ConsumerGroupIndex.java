@@ -0,0 +1,265 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
+import org.apache.kafka.clients.admin.ListConsumerGroupsOptions;
+import org.apache.kafka.clients.admin.MemberDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.ConsumerGroupState;
+import org.apache.kafka.common.TopicPartition;
+import org.jboss.logging.Logger;
+
+/**
+ * Index of the topics used by each active consumer group of a Kafka cluster,
+ * allowing the groups using a topic to be found without describing every group
+ * and fetching its offsets.
+ *
+ * <p>The index is maintained by periodic {@linkplain #refresh(Admin, AdminRequestScheduler, TopicIndex) refreshes}.
+ * Each refresh lists the cluster's active groups and describes only those that
+ * are new, have changed state since they were last described, or were last
+ * described longer ago than the index's maximum age. Groups that are no longer
+ * active are removed.
+ *
+ * <p>A listing does not include a group's members or offsets, so a group that
+ * uses a new topic without changing state is only updated once its entry
+ * reaches the maximum age. The maximum age therefore bounds how long the topics
+ * of a group may be out of date.
+ */
+public class ConsumerGroupIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(ConsumerGroupIndex.class);
+    private static final ListConsumerGroupOffsetsSpec ALL_GROUP_PARTITIONS = new ListConsumerGroupOffsetsSpec();
+
+    /**
+     * States of the groups included in the index.
+     */
+    public static final Set<ConsumerGroupState> ACTIVE_STATES = Set.of(
+            ConsumerGroupState.STABLE,
+            ConsumerGroupState.PREPARING_REBALANCE,
+            ConsumerGroupState.COMPLETING_REBALANCE);
+
+    record Entry(ConsumerGroupState state, Set<String> topicIds, Instant described) {
+    }
+
+    private final Duration maxAge;
+    private final Map<String, Entry> groups = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> groupsByTopic = new ConcurrentHashMap<>();
+    private volatile Instant lastUpdated = null;
+
+    public ConsumerGroupIndex(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * @return true once the index has been populated by a refresh
+     */
+    public boolean populated() {
+        return lastUpdated != null;
+    }
+
+    public int size() {
+        return groups.size();
+    }
+
+    /**
+     * Find the active groups using each of the given topics, i.e. with members
+     * assigned to the topic's partitions or with offsets committed for them.
+     *
+     * @param topicIds IDs of the topics
+     * @return map of topic ID to the IDs of the groups using the topic. Topics
+     *         not used by any group are not present.
+     */
+    public Map<String, List<String>> groupsByTopic(Collection<String> topicIds) {
+        Map<String, List<String>> result = new HashMap<>();
+
+        for (String topicId : topicIds) {
+            Set<String> groupIds = groupsByTopic.get(topicId);
+
+            if (groupIds != null && !groupIds.isEmpty()) {
+                result.put(topicId, new ArrayList<>(groupIds));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * List the cluster's active groups and update the index with the topics of
+     * any group that has changed since it was last described.
+     *
+     * @param adminClient   client used to list and describe the groups
+     * @param adminRequests scheduler splitting the descriptions of many groups into chunks
+     * @param topicIndex    index used to find the IDs of the topics used by the groups
+     * @return stage completed once the index has been updated
+     */
+    public CompletionStage<Void> refresh(Admin adminClient, AdminRequestScheduler adminRequests, TopicIndex topicIndex) {
+        return adminClient.listConsumerGroups(new ListConsumerGroupsOptions().inStates(ACTIVE_STATES))
+            .valid()
+            .toCompletionStage()
+            .thenCompose(listings -> {
+                Map<String, ConsumerGroupState> changed = retain(listings, Instant.now());
+
+                if (changed.isEmpty()) {
+                    return CompletableFuture.completedStage(null);
+                }
+
+                return describe(adminClient, adminRequests, topicIndex, changed);
+            })
+            .thenRun(() -> lastUpdated = Instant.now());
+    }
+
+    /**
+     * Remove the groups no longer listed and determine which of the listed
+     * groups must be described.
+     *
+     * @return map of the IDs of groups to be described and their listed state
+     */
+    synchronized Map<String, ConsumerGroupState> retain(Collection<ConsumerGroupListing> listings, Instant now) {
+        Map<String, ConsumerGroupState> listed = listings.stream()
+                .filter(listing -> listing.state().filter(ACTIVE_STATES::contains).isPresent())
+                .collect(Collectors.toMap(ConsumerGroupListing::groupId, listing -> listing.state().get(), (s1, s2) -> s1));
+
+        groups.keySet()
+            .stream()
+            .filter(groupId -> !listed.containsKey(groupId))
+            .toList()
+            .forEach(this::remove);
+
+        Instant expiration = now.minus(maxAge);
+
+        return listed.entrySet()
+            .stream()
+            .filter(group -> Optional.ofNullable(groups.get(group.getKey()))
+                    .map(entry -> entry.state() != group.getValue() || entry.described().isBefore(expiration))
+                    .orElse(true))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    CompletionStage<Void> describe(Admin adminClient,
+            AdminRequestScheduler adminRequests,
+            TopicIndex topicIndex,
+            Map<String, ConsumerGroupState> changed) {
+
+        var pendingDescriptions = adminRequests.submit(changed.keySet(),
+                chunk -> adminClient.describeConsumerGroups(chunk).describedGroups());
+        var pendingOffsets = adminRequests.submit(changed.keySet(), chunk -> {
+            var result = adminClient.listConsumerGroupOffsets(chunk.stream()
+                    .collect(Collectors.toMap(Function.identity(), groupId -> ALL_GROUP_PARTITIONS)));
+            return chunk.stream()
+                    .collect(Collectors.toMap(Function.identity(), result::partitionsToOffsetAndMetadata));
+        });
+
+        Map<String, Set<String>> topicNames = new ConcurrentHashMap<>();
+
+        var pending = changed.keySet()
+            .stream()
+            .map(groupId -> pendingDescriptions.get(groupId)
+                    .thenCombine(pendingOffsets.get(groupId),
+                            (description, offsets) -> topicNames(description, offsets))
+                    .<Void>handle((names, error) -> {
+                        if (error != null) {
+                            // Keep any previous entry, the group will be described again by the next refresh
+                            LOGGER.debugf("Unable to describe consumer group %s: %s", groupId, error.getMessage());
+                        } else {
+                            topicNames.put(groupId, names);
+                        }
+                        return null;
+                    })
+                    .toCompletableFuture())
+            .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(pending)
+            .thenCompose(nothing -> {
+                boolean unknownTopics = topicNames.values()
+                        .stream()
+                        .flatMap(Collection::stream)
+                        .anyMatch(name -> topicIndex.id(name).isEmpty());
+
+                if (unknownTopics) {
+                    // Groups may be using topics created since the topic index was last refreshed
+                    return topicIndex.refresh(adminClient);
+                }
+
+                return CompletableFuture.completedStage(topicIndex);
+            })
+            .thenAccept(topics -> {
+                Instant now = Instant.now();
+
+                topicNames.forEach((groupId, names) -> put(groupId, changed.get(groupId), names.stream()
+                        .map(topics::id)
+                        .flatMap(Optional::stream)
+                        .collect(Collectors.toSet()), now));
+            });
+    }
+
+    static Set<String> topicNames(ConsumerGroupDescription description, Map<TopicPartition, OffsetAndMetadata> offsets) {
+        Set<String> names = new HashSet<>();
+
+        description.members()
+            .stream()
+            .map(MemberDescription::assignment)
+            .flatMap(assignment -> assignment.topicPartitions().stream())
+            .map(TopicPartition::topic)
+            .forEach(names::add);
+
+        if (offsets != null) {
+            offsets.keySet()
+                .stream()
+                .map(TopicPartition::topic)
+                .forEach(names::add);
+        }
+
+        return names;
+    }
+
+    /**
+     * Set the topics used by a group, replacing any previously indexed.
+     */
+    synchronized void put(String groupId, ConsumerGroupState state, Set<String> topicIds, Instant described) {
+        Entry previous = groups.put(groupId, new Entry(state, Set.copyOf(topicIds), described));
+
+        if (previous != null) {
+            previous.topicIds()
+                .stream()
+                .filter(topicId -> !topicIds.contains(topicId))
+                .forEach(topicId -> removeGroup(topicId, groupId));
+        }
+
+        topicIds.forEach(topicId -> groupsByTopic
+                .computeIfAbsent(topicId, k -> ConcurrentHashMap.newKeySet())
+                .add(groupId));
+    }
+
+    synchronized void remove(String groupId) {
+        Entry previous = groups.remove(groupId);
+
+        if (previous != null) {
+            previous.topicIds().forEach(topicId -> removeGroup(topicId, groupId));
+        }
+    }
+
+    private void removeGroup(String topicId, String groupId) {
+        groupsByTopic.computeIfPresent(topicId, (k, groupIds) -> {
+            groupIds.remove(groupId);
+            return groupIds.isEmpty() ? null : groupIds;
+        });
+    }
+}
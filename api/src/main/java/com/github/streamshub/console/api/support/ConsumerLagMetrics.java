@@ -0,0 +1,338 @@
+package com.github.streamshub.console.api.support;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.jboss.logging.Logger;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Publishes the lag of a Kafka cluster's consumer groups as gauges, using the
+ * same metric names as the commonly deployed Kafka lag exporter:
+ *
+ * <ul>
+ * <li>{@code kafka_consumergroup_lag_sum} - lag of a group summed over the
+ * partitions of each topic it has committed offsets for
+ * <li>{@code kafka_consumergroup_lag} - lag of a group for each partition, only
+ * when {@linkplain Settings#partitions() partition gauges} are enabled
+ * </ul>
+ *
+ * <p>Lag is {@linkplain #collect(Admin, EndOffsetCache) collected} periodically
+ * in the background, fetching the committed offsets of a bounded number of
+ * groups at a time. Gauges only read the latest collected values, held in a
+ * single array indexed by each gauge's slot, so scraping the metrics never
+ * makes requests to the cluster. The number of gauges is bounded by limiting
+ * the groups to those matching an allow-list, and to a maximum number of groups.
+ *
+ * <p>Each collection is also recorded in the cluster's {@linkplain #history() lag
+ * history}, used to estimate the lag trend of each group's topics.
+ */
+public class ConsumerLagMetrics implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(ConsumerLagMetrics.class);
+    private static final ListConsumerGroupOffsetsSpec ALL_GROUP_PARTITIONS = new ListConsumerGroupOffsetsSpec();
+
+    static final String LAG = "kafka.consumergroup.lag";
+    static final String LAG_SUM = "kafka.consumergroup.lag.sum";
+    static final int ALL_PARTITIONS = -1;
+
+    /**
+     * Settings of the collected metrics.
+     *
+     * @param groups     patterns of the IDs of groups to collect, all groups when empty
+     * @param maxGroups  maximum number of groups to collect, in order of group ID
+     * @param batchSize  maximum number of groups to fetch committed offsets for in a single request
+     * @param partitions whether to publish the lag of each partition in addition to each topic
+     * @param historySize number of collections retained in the lag history of each group's topics
+     */
+    public record Settings(List<Pattern> groups, int maxGroups, int batchSize, boolean partitions, int historySize) {
+        boolean allowed(String groupId) {
+            return groups.isEmpty() || groups.stream().anyMatch(p -> p.matcher(groupId).matches());
+        }
+    }
+
+    /**
+     * A published lag value; the partition is {@link #ALL_PARTITIONS} for the
+     * sum of a topic's partitions.
+     */
+    record Series(String groupId, String topic, int partition) {
+    }
+
+    record Slot(int index, Gauge gauge) {
+    }
+
+    /**
+     * Committed offsets of the groups fetched, and the IDs of the groups whose
+     * offsets could not be fetched.
+     */
+    record Committed(Map<String, Map<TopicPartition, OffsetAndMetadata>> offsets, Set<String> failed) {
+    }
+
+    private final MeterRegistry registry;
+    private final String clusterId;
+    private final Settings settings;
+    private final LagHistory history;
+
+    /**
+     * Registered gauges and their slots. Guarded by {@code this}.
+     */
+    private final Map<Series, Slot> slots = new HashMap<>();
+    private final BitSet usedSlots = new BitSet();
+    private volatile long[] values = new long[0];
+
+    public ConsumerLagMetrics(MeterRegistry registry, String clusterId, Settings settings) {
+        this.registry = registry;
+        this.clusterId = clusterId;
+        this.settings = settings;
+        this.history = new LagHistory(settings.historySize());
+    }
+
+    public LagHistory history() {
+        return history;
+    }
+
+    /**
+     * @return the number of gauges currently published
+     */
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    /**
+     * Collect the lag of the cluster's allowed groups and update the published
+     * gauges. Gauges of groups, topics, or partitions no longer having lag are
+     * removed, as are the gauges of groups whose offsets could not be fetched.
+     * When the collection fails entirely, all gauges are removed rather than
+     * continuing to publish the previous values.
+     *
+     * @param adminClient client used to list the groups and their offsets
+     * @param endOffsets  cache of the latest offsets of the cluster's partitions
+     * @return stage completed once the gauges have been updated
+     */
+    public CompletionStage<Void> collect(Admin adminClient, EndOffsetCache endOffsets) {
+        return adminClient.listConsumerGroups()
+            .valid()
+            .toCompletionStage()
+            .thenCompose(listings -> committedOffsets(adminClient, groupIds(listings)))
+            .thenCompose(committed -> {
+                Set<TopicPartition> partitions = committed.offsets()
+                        .values()
+                        .stream()
+                        .flatMap(offsets -> offsets.keySet().stream())
+                        .collect(Collectors.toSet());
+
+                Map<TopicPartition, Long> latest = new ConcurrentHashMap<>(partitions.size());
+
+                var pending = endOffsets.latestOffsets(adminClient, partitions)
+                    .entrySet()
+                    .stream()
+                    .map(e -> e.getValue()
+                            .thenAccept(offset -> latest.put(e.getKey(), offset.offset()))
+                            // Partitions without a latest offset have no lag published
+                            .exceptionally(error -> null)
+                            .toCompletableFuture())
+                    .toArray(CompletableFuture[]::new);
+
+                return CompletableFuture.allOf(pending)
+                        .thenRun(() -> update(committed.offsets(), committed.failed(), latest));
+            })
+            .whenComplete((nothing, error) -> {
+                if (error != null) {
+                    clear();
+                }
+            });
+    }
+
+    List<String> groupIds(Collection<ConsumerGroupListing> listings) {
+        List<String> groupIds = listings.stream()
+                .map(ConsumerGroupListing::groupId)
+                .filter(settings::allowed)
+                .sorted()
+                .toList();
+
+        if (groupIds.size() > settings.maxGroups()) {
+            LOGGER.debugf("Collecting lag of the first %d of %d consumer groups in cluster %s",
+                    settings.maxGroups(), groupIds.size(), clusterId);
+            return groupIds.subList(0, settings.maxGroups());
+        }
+
+        return groupIds;
+    }
+
+    /**
+     * Fetch the committed offsets of the groups, one batch of groups at a time
+     * to bound the size of each request. A group whose offsets can not be
+     * fetched is reported as failed without failing the other groups.
+     */
+    CompletionStage<Committed> committedOffsets(Admin adminClient, List<String> groupIds) {
+        Map<String, Map<TopicPartition, OffsetAndMetadata>> offsets = new ConcurrentHashMap<>(groupIds.size());
+        Set<String> failed = ConcurrentHashMap.newKeySet();
+        CompletionStage<Void> pending = CompletableFuture.completedStage(null);
+
+        for (int start = 0; start < groupIds.size(); start += settings.batchSize()) {
+            List<String> batch = groupIds.subList(start, Math.min(start + settings.batchSize(), groupIds.size()));
+            pending = pending.thenCompose(nothing -> committedOffsets(adminClient, batch, offsets, failed));
+        }
+
+        return pending.thenApply(nothing -> new Committed(offsets, failed));
+    }
+
+    private CompletionStage<Void> committedOffsets(Admin adminClient,
+            List<String> batch,
+            Map<String, Map<TopicPartition, OffsetAndMetadata>> offsets,
+            Set<String> failed) {
+
+        ListConsumerGroupOffsetsResult result;
+
+        try {
+            result = adminClient.listConsumerGroupOffsets(batch.stream()
+                    .collect(Collectors.toMap(Function.identity(), groupId -> ALL_GROUP_PARTITIONS)));
+        } catch (RuntimeException e) {
+            LOGGER.debugf("Unable to list offsets of %d consumer groups in cluster %s: %s",
+                    batch.size(), clusterId, e.getMessage());
+            failed.addAll(batch);
+            return CompletableFuture.completedStage(null);
+        }
+
+        var pending = batch.stream()
+            .map(groupId -> result.partitionsToOffsetAndMetadata(groupId)
+                    .toCompletionStage()
+                    .<Void>handle((groupOffsets, error) -> {
+                        if (error != null) {
+                            LOGGER.debugf("Unable to list offsets of consumer group %s in cluster %s: %s",
+                                    groupId, clusterId, error.getMessage());
+                            failed.add(groupId);
+                        } else {
+                            offsets.put(groupId, groupOffsets);
+                        }
+                        return null;
+                    })
+                    .toCompletableFuture())
+            .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(pending);
+    }
+
+    /**
+     * Compute the lag of each series from the committed and latest offsets and
+     * publish the values, registering gauges for new series and removing those
+     * of series no longer present. The series of failed groups are removed, but
+     * their lag history is retained for the next collection.
+     */
+    synchronized void update(Map<String, Map<TopicPartition, OffsetAndMetadata>> committed,
+            Set<String> failed,
+            Map<TopicPartition, Long> latest) {
+        Map<Series, Long> lags = new LinkedHashMap<>();
+        Map<String, Map<String, LagHistory.Sample>> samples = new HashMap<>(committed.size());
+
+        committed.forEach((groupId, offsets) -> offsets.forEach((partition, offset) -> {
+            if (offset == null) {
+                return;
+            }
+
+            Long end = latest.get(partition);
+            LagHistory.Sample sample = samples.computeIfAbsent(groupId, k -> new HashMap<>())
+                    .computeIfAbsent(partition.topic(), k -> new LagHistory.Sample());
+
+            sample.partitions.add(partition.partition());
+
+            if (end == null) {
+                sample.complete = false;
+                return;
+            }
+
+            sample.committed += offset.offset();
+            sample.latest += end;
+
+            // Latest offsets may be cached for longer than the committed offset, never report negative lag
+            long lag = Math.max(0, end - offset.offset());
+
+            lags.merge(new Series(groupId, partition.topic(), ALL_PARTITIONS), lag, Long::sum);
+
+            if (settings.partitions()) {
+                lags.put(new Series(groupId, partition.topic(), partition.partition()), lag);
+            }
+        }));
+
+        new ArrayList<>(slots.keySet())
+            .stream()
+            .filter(series -> !lags.containsKey(series))
+            .forEach(this::unregister);
+
+        lags.keySet()
+            .stream()
+            .filter(series -> !slots.containsKey(series))
+            .forEach(this::register);
+
+        long[] next = new long[usedSlots.length()];
+        lags.forEach((series, lag) -> next[slots.get(series).index()] = lag);
+        values = next;
+
+        history.record(samples, failed, System.currentTimeMillis());
+    }
+
+    double value(int slot) {
+        long[] current = values;
+        return slot < current.length ? current[slot] : Double.NaN;
+    }
+
+    private void register(Series series) {
+        int index = usedSlots.nextClearBit(0);
+        usedSlots.set(index);
+
+        Tags tags = Tags.of("cluster", clusterId, "consumergroup", series.groupId(), "topic", series.topic());
+        String name = LAG_SUM;
+
+        if (series.partition() != ALL_PARTITIONS) {
+            tags = tags.and("partition", Integer.toString(series.partition()));
+            name = LAG;
+        }
+
+        Gauge gauge = Gauge.builder(name, this, metrics -> metrics.value(index))
+                .tags(tags)
+                .register(registry);
+
+        slots.put(series, new Slot(index, gauge));
+    }
+
+    private void unregister(Series series) {
+        Slot slot = slots.remove(series);
+        registry.remove(slot.gauge());
+        usedSlots.clear(slot.index());
+    }
+
+    /**
+     * Remove all of the published gauges.
+     */
+    synchronized void clear() {
+        new ArrayList<>(slots.keySet()).forEach(this::unregister);
+        values = new long[0];
+    }
+
+    @Override
+    public void close() {
+        clear();
+    }
+}
@@ -0,0 +1,369 @@
+package com.github.streamshub.console.api.support;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.config.SaslConfigs;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.jboss.logging.Logger;
+
+/**
+ * A bounded pool of Kafka {@linkplain Consumer}s for a single Kafka cluster.
+ * Consumers are keyed by the credentials present in their configuration so that
+ * a consumer created with one principal's credentials (e.g. given in the
+ * request's {@code Authorization} header) will never be leased to a request
+ * made by a different principal.
+ *
+ * <p>A consumer is exclusively {@linkplain #checkout(Map) checked out} by a
+ * single request and must be {@linkplain #checkin(Consumer) checked in} when
+ * the request completes, at which time its assignments are cleared. Consumers
+ * that remain idle longer than the configured idle timeout are closed by
+ * {@linkplain #evictIdle()}. The total number of consumers (idle and leased)
+ * never exceeds the configured maximum size.
+ *
+ * @param <K> consumer key type
+ * @param <V> consumer value type
+ */
+public class ConsumerPool<K, V> implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(ConsumerPool.class);
+    private static final String NO_CREDENTIALS = "";
+
+    private final String name;
+    private final Function<Map<String, Object>, Consumer<K, V>> factory;
+    private final int maxSize;
+    private final Duration idleTimeout;
+    private final Duration acquireTimeout;
+
+    /**
+     * Idle consumers by principal key. The most recently used consumer is at the
+     * head of each deque. Guarded by {@code this}.
+     */
+    private final Map<String, Deque<PooledConsumer<K, V>>> idle = new HashMap<>();
+
+    /**
+     * Consumers currently checked out. Guarded by {@code this}.
+     */
+    private final Map<Consumer<K, V>, PooledConsumer<K, V>> leased = new IdentityHashMap<>();
+
+    /**
+     * Total number of consumers owned by the pool, including those being created.
+     * Guarded by {@code this}.
+     */
+    private int size = 0;
+    private boolean closed = false;
+
+    private static class PooledConsumer<K, V> {
+        final String key;
+        final Consumer<K, V> consumer;
+        Instant lastUsed;
+
+        PooledConsumer(String key, Consumer<K, V> consumer) {
+            this.key = key;
+            this.consumer = consumer;
+        }
+    }
+
+    public ConsumerPool(String name,
+            Function<Map<String, Object>, Consumer<K, V>> factory,
+            int maxSize,
+            Duration idleTimeout,
+            Duration acquireTimeout) {
+        this.name = name;
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.idleTimeout = idleTimeout;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    /**
+     * Obtain a consumer for exclusive use by the caller. An idle consumer created
+     * with the same credentials will be re-used if available, otherwise a new
+     * consumer is created when the pool has capacity. When the pool is at
+     * capacity, the least recently used idle consumer (for any credentials) is
+     * closed to make room. If no consumers are idle, the caller waits up to the
+     * configured acquire timeout for a consumer to be checked in.
+     *
+     * @param configs the configuration used to create a new consumer, if necessary
+     * @return a consumer, which must be returned via {@link #checkin(Consumer)}
+     * @throws TimeoutException when no consumer becomes available before the
+     *                          acquire timeout expires
+     */
+    public Consumer<K, V> checkout(Map<String, Object> configs) {
+        final String key = principalKey(configs);
+        final long deadline = System.nanoTime() + acquireTimeout.toNanos();
+        PooledConsumer<K, V> evicted = null;
+
+        synchronized (this) {
+            while (true) {
+                assertOpen();
+                PooledConsumer<K, V> entry = pollIdle(key);
+
+                if (entry != null) {
+                    leased.put(entry.consumer, entry);
+                    return entry.consumer;
+                }
+
+                if (size < maxSize) {
+                    size++;
+                    break;
+                }
+
+                // At capacity, replace the least recently used idle consumer (if any)
+                evicted = pollLeastRecentlyUsed();
+
+                if (evicted != null) {
+                    break;
+                }
+
+                awaitCheckin(deadline);
+            }
+        }
+
+        if (evicted != null) {
+            closeQuietly(evicted.consumer);
+        }
+
+        return create(key, configs);
+    }
+
+    /**
+     * Return a consumer previously obtained from {@link #checkout(Map)}. The
+     * consumer's assignments are removed before it is made available to other
+     * requests. Consumers not owned by this pool are ignored.
+     *
+     * @param consumer the consumer to return to the pool
+     * @return true if the consumer was owned by this pool, otherwise false
+     */
+    public boolean checkin(Consumer<K, V> consumer) {
+        PooledConsumer<K, V> entry;
+
+        synchronized (this) {
+            entry = leased.remove(consumer);
+        }
+
+        if (entry == null) {
+            return false;
+        }
+
+        boolean reusable;
+
+        try {
+            consumer.unsubscribe();
+            reusable = true;
+        } catch (Exception e) {
+            LOGGER.debugf("Discarding consumer for cluster %s after failed reset: %s", name, e.getMessage());
+            reusable = false;
+        }
+
+        synchronized (this) {
+            if (reusable && !closed) {
+                entry.lastUsed = Instant.now();
+                idle.computeIfAbsent(entry.key, k -> new ArrayDeque<>()).addFirst(entry);
+                notifyAll();
+                return true;
+            }
+        }
+
+        discard(List.of(entry));
+        return true;
+    }
+
+    /**
+     * Close any consumers that have been idle longer than the idle timeout.
+     *
+     * @return the number of consumers closed
+     */
+    public int evictIdle() {
+        Instant expiration = Instant.now().minus(idleTimeout);
+        List<PooledConsumer<K, V>> expired = new ArrayList<>();
+
+        synchronized (this) {
+            for (Iterator<Deque<PooledConsumer<K, V>>> cursor = idle.values().iterator(); cursor.hasNext();) {
+                Deque<PooledConsumer<K, V>> consumers = cursor.next();
+
+                // Oldest entries are at the tail of the deque
+                while (!consumers.isEmpty() && consumers.peekLast().lastUsed.isBefore(expiration)) {
+                    expired.add(consumers.pollLast());
+                }
+
+                if (consumers.isEmpty()) {
+                    cursor.remove();
+                }
+            }
+        }
+
+        if (!expired.isEmpty()) {
+            LOGGER.debugf("Evicting %d idle consumer(s) for cluster %s", expired.size(), name);
+            discard(expired);
+        }
+
+        return expired.size();
+    }
+
+    /**
+     * @return the number of consumers currently checked out
+     */
+    public synchronized int leasedCount() {
+        return leased.size();
+    }
+
+    /**
+     * @return the number of consumers currently idle in the pool
+     */
+    public synchronized int idleCount() {
+        return idle.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    /**
+     * Close all idle consumers. Consumers that are currently checked out will be
+     * closed when they are checked in.
+     */
+    @Override
+    public void close() {
+        List<PooledConsumer<K, V>> consumers = new ArrayList<>();
+
+        synchronized (this) {
+            closed = true;
+            idle.values().forEach(consumers::addAll);
+            idle.clear();
+            // Wake any waiting callers so that they fail fast
+            notifyAll();
+        }
+
+        discard(consumers);
+    }
+
+    private void assertOpen() {
+        if (closed) {
+            throw new IllegalStateException("Consumer pool for cluster " + name + " is closed");
+        }
+    }
+
+    private PooledConsumer<K, V> pollIdle(String key) {
+        Deque<PooledConsumer<K, V>> consumers = idle.get(key);
+
+        if (consumers == null) {
+            return null;
+        }
+
+        PooledConsumer<K, V> entry = consumers.pollFirst();
+
+        if (consumers.isEmpty()) {
+            idle.remove(key);
+        }
+
+        return entry;
+    }
+
+    private PooledConsumer<K, V> pollLeastRecentlyUsed() {
+        PooledConsumer<K, V> oldest = null;
+
+        for (Deque<PooledConsumer<K, V>> consumers : idle.values()) {
+            PooledConsumer<K, V> candidate = consumers.peekLast();
+
+            if (oldest == null || candidate.lastUsed.isBefore(oldest.lastUsed)) {
+                oldest = candidate;
+            }
+        }
+
+        if (oldest != null) {
+            Deque<PooledConsumer<K, V>> consumers = idle.get(oldest.key);
+            consumers.pollLast();
+
+            if (consumers.isEmpty()) {
+                idle.remove(oldest.key);
+            }
+        }
+
+        return oldest;
+    }
+
+    private void awaitCheckin(long deadline) {
+        long remaining = deadline - System.nanoTime();
+
+        if (remaining <= 0) {
+            throw new TimeoutException("Timed out waiting for an available consumer for cluster " + name);
+        }
+
+        try {
+            wait(Math.max(1, Duration.ofNanos(remaining).toMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted waiting for an available consumer for cluster " + name);
+        }
+    }
+
+    private Consumer<K, V> create(String key, Map<String, Object> configs) {
+        PooledConsumer<K, V> entry;
+
+        try {
+            entry = new PooledConsumer<>(key, factory.apply(configs));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                size--;
+                notifyAll();
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            leased.put(entry.consumer, entry);
+        }
+
+        return entry.consumer;
+    }
+
+    private void discard(List<PooledConsumer<K, V>> entries) {
+        entries.forEach(entry -> closeQuietly(entry.consumer));
+
+        synchronized (this) {
+            size -= entries.size();
+            notifyAll();
+        }
+    }
+
+    private void closeQuietly(Consumer<K, V> consumer) {
+        try {
+            consumer.close();
+        } catch (Exception e) {
+            LOGGER.infof("Exception closing pooled consumer for cluster %s: %s", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Derive the pool key for a consumer configuration. The SASL JAAS
+     * configuration (if any) holds the principal's credentials, so a digest of
+     * it is used to avoid retaining the plain-text secret as a map key.
+     */
+    public static String principalKey(Map<String, Object> configs) {
+        Object jaasConfig = configs.get(SaslConfigs.SASL_JAAS_CONFIG);
+
+        if (jaasConfig == null) {
+            return NO_CREDENTIALS;
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(jaasConfig.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
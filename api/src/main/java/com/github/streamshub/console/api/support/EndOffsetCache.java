@@ -0,0 +1,163 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListOffsetsOptions;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Cache of the latest (log end) offsets of a Kafka cluster's partitions,
+ * shared by all requests made with the console's own credentials for the
+ * cluster. Offsets are re-used until they are older than the cache's maximum
+ * age, bounding how stale a given offset (and the consumer lag computed from
+ * it) may be.
+ *
+ * <p>Fetches are single-flight: partitions not cached (or expired) are fetched
+ * together in a single {@code listOffsets} request - which the Admin client
+ * sends to each partition's leader broker - and concurrent requests for the
+ * same partitions wait for that fetch rather than sending their own. Failures
+ * are not cached.
+ */
+public class EndOffsetCache {
+
+    private static final OffsetSpec LATEST = OffsetSpec.latest();
+
+    record Entry(ListOffsetsResultInfo offset, long fetched) {
+        boolean usable(long now, long maxAgeNanos) {
+            return now - fetched < maxAgeNanos;
+        }
+    }
+
+    private final long maxAgeNanos;
+    private final int timeoutMs;
+
+    /**
+     * Fetched entries for each partition, in the order fetched. Guarded by
+     * {@code this}.
+     */
+    private final Map<TopicPartition, Entry> entries = new LinkedHashMap<>();
+    private final SingleFlight<TopicPartition, ListOffsetsResultInfo> fetching = new SingleFlight<>(false);
+    private long lastEviction = System.nanoTime();
+
+    public EndOffsetCache(Duration maxAge, int timeoutMs) {
+        this.maxAgeNanos = maxAge.toNanos();
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Obtain the latest offsets of the given partitions, fetching those not
+     * already cached or being fetched.
+     *
+     * @param adminClient client used to fetch offsets not cached
+     * @param partitions  the partitions
+     * @return map of each partition to its pending or completed latest offset
+     */
+    public Map<TopicPartition, CompletionStage<ListOffsetsResultInfo>> latestOffsets(Admin adminClient, Collection<TopicPartition> partitions) {
+        Map<TopicPartition, CompletionStage<ListOffsetsResultInfo>> result = new HashMap<>(partitions.size());
+        Map<TopicPartition, CompletableFuture<ListOffsetsResultInfo>> fetches = new HashMap<>();
+        long now = System.nanoTime();
+
+        synchronized (this) {
+            evictExpired(now);
+
+            for (TopicPartition partition : partitions) {
+                Entry entry = entries.get(partition);
+
+                if (entry != null && entry.usable(now, maxAgeNanos)) {
+                    result.put(partition, CompletableFuture.completedFuture(entry.offset()));
+                } else {
+                    var flight = fetching.join(partition);
+
+                    if (flight.leader()) {
+                        fetches.put(partition, flight.result());
+                        result.put(partition, flight.result().copy());
+                    } else {
+                        result.put(partition, flight.result());
+                    }
+                }
+            }
+        }
+
+        if (!fetches.isEmpty()) {
+            fetch(adminClient, fetches, now);
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the number of partitions with cached or pending offsets
+     */
+    public synchronized int size() {
+        return entries.size() + fetching.size();
+    }
+
+    private void fetch(Admin adminClient, Map<TopicPartition, CompletableFuture<ListOffsetsResultInfo>> fetches, long fetched) {
+        ListOffsetsResult result;
+
+        try {
+            result = adminClient.listOffsets(
+                    fetches.keySet().stream().collect(Collectors.toMap(Function.identity(), p -> LATEST)),
+                    new ListOffsetsOptions().timeoutMs(timeoutMs));
+        } catch (RuntimeException e) {
+            fetches.forEach((partition, pending) -> complete(partition, pending, null, e, fetched));
+            return;
+        }
+
+        fetches.forEach((partition, pending) -> result.partitionResult(partition)
+                .whenComplete((offset, error) -> complete(partition, pending, offset, error, fetched)));
+    }
+
+    private void complete(TopicPartition partition,
+            CompletableFuture<ListOffsetsResultInfo> pending,
+            ListOffsetsResultInfo offset,
+            Throwable error,
+            long fetched) {
+
+        synchronized (this) {
+            if (fetching.release(partition, pending) && error == null) {
+                // Re-insert to keep entries in the order fetched
+                entries.remove(partition);
+                entries.put(partition, new Entry(offset, fetched));
+            }
+        }
+
+        if (error != null) {
+            pending.completeExceptionally(error);
+        } else {
+            pending.complete(offset);
+        }
+    }
+
+    /**
+     * Remove entries that have expired, at most once per maximum age. Entries
+     * are held in the order fetched, so the scan ends at the first usable entry.
+     */
+    private void evictExpired(long now) {
+        if (now - lastEviction < maxAgeNanos) {
+            return;
+        }
+
+        lastEviction = now;
+        var iterator = entries.values().iterator();
+
+        while (iterator.hasNext()) {
+            if (iterator.next().usable(now, maxAgeNanos)) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+}
@@ -4,14 +4,21 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.TopicDescription;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.Uuid;
+import org.apache.kafka.common.config.ConfigResource;
 import org.apache.kafka.common.config.SaslConfigs;
 import org.jboss.logging.Logger;
 
@@ -19,6 +26,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.streamshub.console.api.support.serdes.ForceCloseable;
 import com.github.streamshub.console.api.support.serdes.MultiformatDeserializer;
 import com.github.streamshub.console.api.support.serdes.MultiformatSerializer;
+import com.github.streamshub.console.api.support.serdes.RecordData;
 import com.github.streamshub.console.config.KafkaClusterConfig;
 import com.github.streamshub.console.config.SchemaRegistryConfig;
 
@@ -38,26 +46,71 @@ public class KafkaContext implements Closeable {
     private static final Logger LOGGER = Logger.getLogger(KafkaContext.class);
 
     final KafkaClusterConfig clusterConfig;
-    final Kafka resource;
+    volatile Kafka resource;
     final Map<Class<?>, Map<String, Object>> configs;
     final Admin admin;
-    boolean applicationScoped;
+    final boolean applicationScoped;
+    String principal;
     SchemaRegistryContext schemaRegistryContext;
     PrometheusAPI prometheus;
+    PrometheusQueryCache prometheusQueries;
+    RangeSeriesCache prometheusRanges;
+    ConsumerPool<byte[], byte[]> consumerPool;
+    RecordTailRegistry<RecordData, RecordData> recordTails;
+    final TopicIndex topicIndex;
+    ConsumerGroupIndex consumerGroupIndex;
+    EndOffsetCache endOffsets;
+    ConsumerGroupCatalog consumerGroupCatalog;
+    AdminRequestScheduler adminRequests;
+    AdminPool adminPool;
+    final RequestCoalescer requestCoalescer;
+    MetadataCache<Uuid, TopicDescription> topicDescriptionCache;
+    MetadataCache<ConfigResource, Config> configCache;
+    ConsumerLagMetrics consumerLag;
 
     public KafkaContext(KafkaClusterConfig clusterConfig, Kafka resource, Map<Class<?>, Map<String, Object>> configs, Admin admin) {
-        this.clusterConfig = clusterConfig;
-        this.resource = resource;
-        this.configs = Map.copyOf(configs);
-        this.admin = admin;
-        this.applicationScoped = true;
+        this(clusterConfig, resource, configs, admin, true,
+                new TopicIndex(),
+                new AdminRequestScheduler(AdminRequestScheduler.DEFAULT_CHUNK_SIZE, AdminRequestScheduler.DEFAULT_MAX_IN_FLIGHT),
+                new RequestCoalescer());
     }
 
     public KafkaContext(KafkaContext other, Admin admin) {
-        this(other.clusterConfig, other.resource, other.configs, admin);
-        this.applicationScoped = false;
+        this(other.clusterConfig, other.resource, other.configs, admin, false,
+                other.topicIndex,
+                other.adminRequests,
+                other.requestCoalescer);
         this.schemaRegistryContext = other.schemaRegistryContext;
         this.prometheus = other.prometheus;
+        this.prometheusQueries = other.prometheusQueries;
+        this.prometheusRanges = other.prometheusRanges;
+        this.consumerPool = other.consumerPool;
+        this.recordTails = other.recordTails;
+        this.consumerGroupIndex = other.consumerGroupIndex;
+        this.adminPool = other.adminPool;
+        /*
+         * The end offset cache, consumer group catalog, and metadata caches are
+         * not shared with contexts using the credentials of a request, since the
+         * partitions, groups, and operations visible to each user may differ.
+         */
+    }
+
+    private KafkaContext(KafkaClusterConfig clusterConfig,
+            Kafka resource,
+            Map<Class<?>, Map<String, Object>> configs,
+            Admin admin,
+            boolean applicationScoped,
+            TopicIndex topicIndex,
+            AdminRequestScheduler adminRequests,
+            RequestCoalescer requestCoalescer) {
+        this.clusterConfig = clusterConfig;
+        this.resource = resource;
+        this.configs = Map.copyOf(configs);
+        this.admin = admin;
+        this.applicationScoped = applicationScoped;
+        this.topicIndex = topicIndex;
+        this.adminRequests = adminRequests;
+        this.requestCoalescer = requestCoalescer;
     }
 
     public static String clusterId(KafkaClusterConfig clusterConfig, Optional<Kafka> kafkaResource) {
@@ -87,7 +140,15 @@ public class KafkaContext implements Closeable {
     @Override
     public void close() {
         if (admin != null) {
-            admin.close();
+            if (!applicationScoped && adminPool != null) {
+                // Admin leased from the cluster's pool for the request
+                adminPool.release(admin);
+            } else {
+                admin.close();
+            }
+        }
+        if (applicationScoped && adminPool != null) {
+            adminPool.close();
         }
         /*
          * Do not close the registry context when the KafkaContext has client-provided
@@ -101,6 +162,20 @@ public class KafkaContext implements Closeable {
                 LOGGER.warnf("Exception closing schema registry context: %s", e.getMessage());
             }
         }
+        /*
+         * Likewise, the consumer pool and live tails are shared by all
+         * request-scoped contexts for the cluster and are only closed with the
+         * global context.
+         */
+        if (applicationScoped && consumerPool != null) {
+            consumerPool.close();
+        }
+        if (applicationScoped && recordTails != null) {
+            recordTails.close();
+        }
+        if (consumerLag != null) {
+            consumerLag.close();
+        }
     }
 
     public String clusterId() {
@@ -115,6 +190,14 @@ public class KafkaContext implements Closeable {
         return resource;
     }
 
+    /**
+     * Replace the Kafka resource of the context, e.g. following a change to its
+     * status that does not affect the configuration of the clients.
+     */
+    public void resource(Kafka resource) {
+        this.resource = resource;
+    }
+
     public Map<Class<?>, Map<String, Object>> configs() {
         return configs;
     }
@@ -131,6 +214,24 @@ public class KafkaContext implements Closeable {
         return applicationScoped;
     }
 
+    /**
+     * Set the key of the credentials given by the request, used to keep the
+     * operations of different users apart.
+     *
+     * @see ConsumerPool#principalKey(Map)
+     */
+    public void principal(String principal) {
+        this.principal = principal;
+    }
+
+    /**
+     * @return key of the credentials given by the request, or null when the
+     *         context uses the console's own credentials
+     */
+    public String principal() {
+        return principal;
+    }
+
     public void schemaRegistryClient(SchemaRegistryConfig config, ObjectMapper objectMapper) {
         schemaRegistryContext = new SchemaRegistryContext(config, objectMapper);
     }
@@ -147,6 +248,154 @@ public class KafkaContext implements Closeable {
         return prometheus;
     }
 
+    public void prometheusQueries(PrometheusQueryCache prometheusQueries) {
+        this.prometheusQueries = prometheusQueries;
+    }
+
+    /**
+     * @return the cluster's cache of Prometheus query responses, or null when
+     *         metrics are not available for the cluster
+     */
+    public PrometheusQueryCache prometheusQueries() {
+        return prometheusQueries;
+    }
+
+    public void prometheusRanges(RangeSeriesCache prometheusRanges) {
+        this.prometheusRanges = prometheusRanges;
+    }
+
+    /**
+     * @return the series retained from the cluster's Prometheus range queries,
+     *         or null when metrics are not available for the cluster or range
+     *         queries are not incremental
+     */
+    public RangeSeriesCache prometheusRanges() {
+        return prometheusRanges;
+    }
+
+    public void consumerPool(ConsumerPool<byte[], byte[]> consumerPool) {
+        this.consumerPool = consumerPool;
+    }
+
+    public ConsumerPool<byte[], byte[]> consumerPool() {
+        return consumerPool;
+    }
+
+    public void recordTails(RecordTailRegistry<RecordData, RecordData> recordTails) {
+        this.recordTails = recordTails;
+    }
+
+    public RecordTailRegistry<RecordData, RecordData> recordTails() {
+        return recordTails;
+    }
+
+    public TopicIndex topicIndex() {
+        return topicIndex;
+    }
+
+    public void consumerGroupIndex(ConsumerGroupIndex consumerGroupIndex) {
+        this.consumerGroupIndex = consumerGroupIndex;
+    }
+
+    public ConsumerGroupIndex consumerGroupIndex() {
+        return consumerGroupIndex;
+    }
+
+    public void endOffsets(EndOffsetCache endOffsets) {
+        this.endOffsets = endOffsets;
+    }
+
+    /**
+     * @return the cluster's end offset cache, or null when the context uses the
+     *         credentials of the request
+     */
+    public EndOffsetCache endOffsets() {
+        return endOffsets;
+    }
+
+    public void consumerGroupCatalog(ConsumerGroupCatalog consumerGroupCatalog) {
+        this.consumerGroupCatalog = consumerGroupCatalog;
+    }
+
+    /**
+     * @return the cluster's consumer group catalog, or null when the context uses
+     *         the credentials of the request
+     */
+    public ConsumerGroupCatalog consumerGroupCatalog() {
+        return consumerGroupCatalog;
+    }
+
+    public void adminRequests(AdminRequestScheduler adminRequests) {
+        this.adminRequests = adminRequests;
+    }
+
+    public AdminRequestScheduler adminRequests() {
+        return adminRequests;
+    }
+
+    public void topicDescriptionCache(MetadataCache<Uuid, TopicDescription> topicDescriptionCache) {
+        this.topicDescriptionCache = topicDescriptionCache;
+    }
+
+    /**
+     * @return the cluster's topic description cache, or null when the context
+     *         uses the credentials of the request or caching is disabled
+     */
+    public MetadataCache<Uuid, TopicDescription> topicDescriptionCache() {
+        return topicDescriptionCache;
+    }
+
+    public void configCache(MetadataCache<ConfigResource, Config> configCache) {
+        this.configCache = configCache;
+    }
+
+    /**
+     * @return the cluster's configuration cache, or null when the context uses
+     *         the credentials of the request or caching is disabled
+     */
+    public MetadataCache<ConfigResource, Config> configCache() {
+        return configCache;
+    }
+
+    public void adminPool(AdminPool adminPool) {
+        this.adminPool = adminPool;
+    }
+
+    /**
+     * @return the pool of Admin clients created with the credentials given by
+     *         requests, or null when the cluster's credentials are configured
+     */
+    public AdminPool adminPool() {
+        return adminPool;
+    }
+
+    public RequestCoalescer requestCoalescer() {
+        return requestCoalescer;
+    }
+
+    /**
+     * Execute a read operation using the context's Admin client, sharing the
+     * result of an identical operation already pending for the same
+     * credentials.
+     *
+     * @see RequestCoalescer
+     */
+    public <V> CompletionStage<V> coalesce(String operation, List<?> arguments, Supplier<CompletionStage<V>> request) {
+        return requestCoalescer.execute(new RequestCoalescer.Key(principal, operation, arguments), request);
+    }
+
+    public void consumerLag(ConsumerLagMetrics consumerLag) {
+        this.consumerLag = consumerLag;
+    }
+
+    /**
+     * @return the cluster's consumer lag metrics, or null when lag is not
+     *         collected for the cluster
+     */
+    public ConsumerLagMetrics consumerLag() {
+        return consumerLag;
+    }
+
     public String saslMechanism(Class<?> clientType) {
         return configs(clientType).get(SaslConfigs.SASL_MECHANISM) instanceof String auth ? auth : "";
     }
@@ -0,0 +1,176 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recent samples of the committed and latest offsets of each topic consumed by
+ * a consumer group, summed over the topic's partitions. Each group/topic series
+ * is held in fixed-size ring buffers, replacing the oldest sample once full, and
+ * is used to estimate the rate at which the group is consuming the topic
+ * relative to the rate records are produced.
+ *
+ * <p>Sums over different sets of partitions cannot be compared, so a series is
+ * restarted when the partitions for which the group has committed offsets
+ * change, e.g. on the group's first commit to a new partition.
+ */
+public class LagHistory {
+
+    /**
+     * Trend of a group's lag for a topic over the sampled window.
+     *
+     * @param lag             lag at the most recent sample
+     * @param consumptionRate records consumed (committed) per second
+     * @param productionRate  records produced per second
+     * @param windowSeconds   duration covered by the samples
+     * @param timeToCatchUp   estimated seconds until the lag reaches zero, null
+     *                        when the lag is not decreasing
+     */
+    public record Trend(long lag, double consumptionRate, double productionRate, double windowSeconds, Double timeToCatchUp) {
+        /**
+         * @return change of the lag per second, negative when decreasing
+         */
+        public double lagRate() {
+            return productionRate - consumptionRate;
+        }
+    }
+
+    static final class Series {
+        final Set<Integer> partitions;
+        final long[] timestamps;
+        final long[] committed;
+        final long[] latest;
+        int next = 0;
+        int count = 0;
+
+        Series(int capacity, Set<Integer> partitions) {
+            this.partitions = partitions;
+            timestamps = new long[capacity];
+            committed = new long[capacity];
+            latest = new long[capacity];
+        }
+
+        synchronized void add(long timestamp, long committedOffset, long latestOffset) {
+            timestamps[next] = timestamp;
+            committed[next] = committedOffset;
+            latest[next] = latestOffset;
+            next = (next + 1) % timestamps.length;
+            count = Math.min(count + 1, timestamps.length);
+        }
+
+        synchronized Trend trend() {
+            int newest = (next + timestamps.length - 1) % timestamps.length;
+            long lag = Math.max(0, latest[newest] - committed[newest]);
+
+            if (count < 2) {
+                return new Trend(lag, 0, 0, 0, lag == 0 ? 0d : null);
+            }
+
+            int oldest = (next + timestamps.length - count) % timestamps.length;
+            double seconds = (timestamps[newest] - timestamps[oldest]) / 1000d;
+
+            if (seconds <= 0) {
+                return new Trend(lag, 0, 0, 0, lag == 0 ? 0d : null);
+            }
+
+            double consumptionRate = (committed[newest] - committed[oldest]) / seconds;
+            double productionRate = (latest[newest] - latest[oldest]) / seconds;
+            Double timeToCatchUp;
+
+            if (lag == 0) {
+                timeToCatchUp = 0d;
+            } else if (consumptionRate > productionRate) {
+                timeToCatchUp = lag / (consumptionRate - productionRate);
+            } else {
+                timeToCatchUp = null;
+            }
+
+            return new Trend(lag, consumptionRate, productionRate, seconds, timeToCatchUp);
+        }
+    }
+
+    /**
+     * A group's committed and latest offsets of a topic, summed over the
+     * partitions of the topic with committed offsets. An incomplete sample
+     * (e.g. missing the latest offset of some partition) is not recorded, but
+     * retains the series.
+     */
+    static final class Sample {
+        final Set<Integer> partitions = new HashSet<>();
+        long committed;
+        long latest;
+        boolean complete = true;
+    }
+
+    private final int capacity;
+    private final Map<String, Map<String, Series>> groups = new ConcurrentHashMap<>();
+
+    public LagHistory(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Obtain the lag trend of each topic consumed by the group.
+     *
+     * @param groupId ID of the group
+     * @return map of topic names to trends, empty when the group has not been
+     *         sampled
+     */
+    public Map<String, Trend> trends(String groupId) {
+        Map<String, Series> topics = groups.get(groupId);
+
+        if (topics == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Trend> result = new HashMap<>(topics.size());
+        topics.forEach((topic, series) -> result.put(topic, series.trend()));
+        return result;
+    }
+
+    /**
+     * Record the samples taken at the given time. Series of groups and topics
+     * not sampled are removed, and series sampled over a different set of
+     * partitions than before are restarted.
+     *
+     * @param samples   map of group IDs to each of the group's sampled topics
+     * @param timestamp time of the samples, in milliseconds
+     */
+    void record(Map<String, Map<String, Sample>> samples, long timestamp) {
+        record(samples, Collections.emptySet(), timestamp);
+    }
+
+    /**
+     * Record the samples taken at the given time, retaining the series of the
+     * skipped groups unchanged, e.g. groups whose offsets could not be fetched.
+     *
+     * @param samples   map of group IDs to each of the group's sampled topics
+     * @param skipped   IDs of the groups not sampled whose series are retained
+     * @param timestamp time of the samples, in milliseconds
+     */
+    synchronized void record(Map<String, Map<String, Sample>> samples, Set<String> skipped, long timestamp) {
+        groups.keySet().removeIf(groupId -> !samples.containsKey(groupId) && !skipped.contains(groupId));
+
+        samples.forEach((groupId, topicSamples) -> {
+            Map<String, Series> topics = groups.computeIfAbsent(groupId, k -> new ConcurrentHashMap<>());
+            topics.keySet().retainAll(topicSamples.keySet());
+
+            topicSamples.forEach((topic, sample) -> {
+                if (sample.complete) {
+                    Series series = topics.get(topic);
+
+                    if (series == null || !series.partitions.equals(sample.partitions)) {
+                        series = new Series(capacity, Set.copyOf(sample.partitions));
+                        topics.put(topic, series);
+                    }
+
+                    series.add(timestamp, sample.committed, sample.latest);
+                }
+            });
+        });
+    }
+}
@@ -100,6 +100,18 @@ public class ListRequestContext<T> implements Predicate<T> {
         return Collections.unmodifiableList(filters);
     }
 
+    /**
+     * @return the names of the request's filters, with an empty name for any
+     *         filter that is not a named {@linkplain FetchFilterPredicate}
+     */
+    public List<String> filterNames() {
+        return filters.stream()
+                .map(filter -> filter instanceof FetchFilterPredicate<?, ?> fetchFilter && fetchFilter.name() != null
+                        ? fetchFilter.name()
+                        : "")
+                .toList();
+    }
+
     @Override
     public boolean test(T t) {
         return filters.isEmpty() || filters.stream().allMatch(filter -> filter.test(t));
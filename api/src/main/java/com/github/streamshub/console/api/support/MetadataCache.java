@@ -0,0 +1,191 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.common.errors.UnknownTopicIdException;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.jboss.logging.Logger;
+
+/**
+ * Cache of metadata fetched from a Kafka cluster, such as topic descriptions or
+ * configurations, with stale-while-revalidate semantics:
+ *
+ * <ul>
+ * <li>entries younger than the time-to-live are used as-is
+ * <li>entries older than the time-to-live, but within the additional maximum
+ * staleness, are used as-is while being re-fetched in the background
+ * <li>entries older than both, or not present, are fetched before use
+ * </ul>
+ *
+ * <p>Concurrent fetches of the same key share a single request. Failures are
+ * not cached, and a fetch failing because the resource no longer exists (e.g. a
+ * topic deleted outside of the console) removes the key's entry. An entry
+ * {@linkplain #invalidate(Object) invalidated} while being fetched is not
+ * stored when the fetch completes.
+ *
+ * @param <K> type of the cache keys, e.g. topic ID
+ * @param <V> type of the cached metadata
+ */
+public class MetadataCache<K, V> {
+
+    private static final Logger LOGGER = Logger.getLogger(MetadataCache.class);
+
+    /**
+     * Metadata and the time it was requested from the cluster. The time is null
+     * for metadata that was not cached.
+     */
+    public record Cached<V>(V value, Instant fetched) {
+    }
+
+    private final Duration ttl;
+    private final Duration maxStale;
+    private final Map<K, Cached<V>> entries = new ConcurrentHashMap<>();
+    private final SingleFlight<K, Cached<V>> pending = new SingleFlight<>(false);
+
+    public MetadataCache(Duration ttl, Duration maxStale) {
+        this.ttl = ttl;
+        this.maxStale = maxStale;
+    }
+
+    /**
+     * Wrap the pending results of metadata fetched without using a cache.
+     */
+    public static <K, V> Map<K, CompletableFuture<Cached<V>>> uncached(Map<K, CompletableFuture<V>> results) {
+        return results.entrySet()
+                .stream()
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        e -> e.getValue().thenApply(value -> new Cached<>(value, null)),
+                        (v1, v2) -> v1,
+                        LinkedHashMap::new));
+    }
+
+    /**
+     * Obtain the metadata for the given keys, using cached entries when usable
+     * and fetching the others.
+     *
+     * @param keys   the keys
+     * @param loader function to fetch the metadata for a collection of keys,
+     *               providing the pending result of each key
+     * @return map of each key to its pending or completed metadata, in the
+     *         order of the keys given
+     */
+    public Map<K, CompletableFuture<Cached<V>>> get(Collection<K> keys, Function<Collection<K>, Map<K, CompletableFuture<V>>> loader) {
+        Map<K, CompletableFuture<Cached<V>>> result = new LinkedHashMap<>(keys.size());
+        Map<K, CompletableFuture<Cached<V>>> fetches = new LinkedHashMap<>();
+        Instant now = Instant.now();
+        Instant freshAfter = now.minus(ttl);
+        Instant staleAfter = freshAfter.minus(maxStale);
+
+        for (K key : keys) {
+            Cached<V> entry = entries.get(key);
+
+            if (entry != null && entry.fetched().isAfter(staleAfter)) {
+                result.put(key, CompletableFuture.completedFuture(entry));
+
+                if (!entry.fetched().isAfter(freshAfter)) {
+                    // Stale, re-fetch in the background unless already being fetched
+                    var revalidation = pending.join(key);
+
+                    if (revalidation.leader()) {
+                        fetches.put(key, revalidation.result());
+                    }
+                }
+            } else {
+                var fetch = pending.join(key);
+
+                if (fetch.leader()) {
+                    fetches.put(key, fetch.result());
+                    result.put(key, fetch.result().copy());
+                } else {
+                    result.put(key, fetch.result());
+                }
+            }
+        }
+
+        if (!fetches.isEmpty()) {
+            fetch(fetches, loader, now);
+        }
+
+        return result;
+    }
+
+    /**
+     * Remove the entry for the key, e.g. after the metadata has been changed by
+     * the console. A fetch of the key in progress will not be cached.
+     */
+    public void invalidate(K key) {
+        pending.forget(key);
+        entries.remove(key);
+    }
+
+    /**
+     * Remove entries that are too old to be used.
+     */
+    public void evictExpired() {
+        Instant staleAfter = Instant.now().minus(ttl).minus(maxStale);
+        entries.values().removeIf(entry -> !entry.fetched().isAfter(staleAfter));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void fetch(Map<K, CompletableFuture<Cached<V>>> fetches,
+            Function<Collection<K>, Map<K, CompletableFuture<V>>> loader,
+            Instant requested) {
+
+        Map<K, CompletableFuture<V>> loaded;
+
+        try {
+            loaded = loader.apply(fetches.keySet());
+        } catch (RuntimeException e) {
+            fetches.forEach((key, fetch) -> {
+                pending.release(key, fetch);
+                fetch.completeExceptionally(e);
+            });
+            return;
+        }
+
+        fetches.forEach((key, fetch) -> loaded.get(key).whenComplete((value, error) -> {
+            if (error != null) {
+                LOGGER.debugf("Failed to fetch metadata for %s: %s", key, error.getMessage());
+
+                if (notFound(error)) {
+                    // Do not continue to serve the metadata of a deleted resource
+                    entries.remove(key);
+                }
+
+                pending.release(key, fetch);
+                fetch.completeExceptionally(error);
+            } else {
+                Cached<V> entry = new Cached<>(value, requested);
+
+                // Only store when not invalidated while pending
+                if (pending.release(key, fetch)) {
+                    entries.put(key, entry);
+                }
+
+                fetch.complete(entry);
+            }
+        }));
+    }
+
+    static boolean notFound(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+
+        return cause instanceof UnknownTopicIdException
+                || cause instanceof UnknownTopicOrPartitionException;
+    }
+}
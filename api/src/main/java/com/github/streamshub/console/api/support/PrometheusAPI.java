@@ -3,7 +3,6 @@ package com.github.streamshub.console.api.support;
 import java.time.Instant;
 
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.json.JsonObject;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
@@ -13,6 +12,8 @@ import jakarta.ws.rs.core.MediaType;
 
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 
+import io.smallrye.mutiny.Uni;
+
 @ApplicationScoped
 @RegisterRestClient(configKey = "prometheus")
 @Path("/api/v1")
@@ -27,7 +28,7 @@ public interface PrometheusAPI {
     @POST
     @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
     @Produces(MediaType.APPLICATION_JSON)
-    JsonObject query(
+    Uni<PrometheusResponse> query(
             @QueryParam("query") String query,
             @QueryParam("time") Instant time);
 
@@ -40,7 +41,7 @@ public interface PrometheusAPI {
     @POST
     @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
     @Produces(MediaType.APPLICATION_JSON)
-    JsonObject queryRange(
+    Uni<PrometheusResponse> queryRange(
             @QueryParam("query") String query,
             @QueryParam("start") Instant start,
             @QueryParam("end") Instant end,
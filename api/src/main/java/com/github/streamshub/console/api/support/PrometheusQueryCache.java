@@ -0,0 +1,81 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the responses to Prometheus queries for a single Kafka cluster.
+ * Responses are retained for a short time-to-live after they are received and
+ * concurrent identical queries share a single request to Prometheus. For the
+ * cache to be effective, the time (or time range) of queries must be aligned,
+ * e.g. to the step of range queries, such that queries made at about the same
+ * time are identical.
+ *
+ * <p>Failed queries are not cached. A pending query is cancelled once all of
+ * the callers waiting for its response have cancelled their result.
+ */
+public class PrometheusQueryCache {
+
+    /**
+     * Identifies a query.
+     *
+     * @param query the PromQL expression
+     * @param start start of the range of a range query, or the evaluation time of
+     *              an instant query
+     * @param end   end of the range of a range query, or the evaluation time of
+     *              an instant query
+     * @param step  resolution step of a range query, null for instant queries
+     */
+    public record Key(String query, Instant start, Instant end, String step) {
+    }
+
+    private record Entry(PrometheusResponse response, Instant expires) {
+        boolean expired(Instant now) {
+            return !expires.isAfter(now);
+        }
+    }
+
+    private final Duration ttl;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final SingleFlight<Key, PrometheusResponse> pending = new SingleFlight<>(true);
+
+    public PrometheusQueryCache(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * Obtain the response to the query, from the cache when available and
+     * otherwise by performing it.
+     *
+     * @param key   key of the query
+     * @param query function performing the query, invoked only when no usable
+     *              response is cached or pending
+     * @return CompletionStage "promise" of the query response. Cancelling the
+     *         result cancels the query when no other caller is waiting for it.
+     */
+    public CompletionStage<PrometheusResponse> get(Key key, Supplier<CompletionStage<PrometheusResponse>> query) {
+        Instant now = Instant.now();
+        entries.values().removeIf(entry -> entry.expired(now));
+
+        Entry cached = entries.get(key);
+
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.response());
+        }
+
+        return pending.execute(key, query,
+                response -> entries.put(key, new Entry(response, Instant.now().plus(ttl))));
+    }
+
+    /**
+     * @return the number of cached or pending responses
+     */
+    public int size() {
+        return entries.size() + pending.size();
+    }
+}
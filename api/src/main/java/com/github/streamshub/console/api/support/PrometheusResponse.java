@@ -0,0 +1,184 @@
+package com.github.streamshub.console.api.support;
+
+import java.io.InputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.json.Json;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import jakarta.json.stream.JsonParsingException;
+
+/**
+ * The result of a Prometheus instant or range query, read with a streaming
+ * parser directly into the series' labels and {@linkplain RangeSamples columnar
+ * samples} without materializing the response as a JSON tree. The single sample
+ * of each series of an instant query is held the same way as the samples of a
+ * range query.
+ *
+ * @see <a href="https://prometheus.io/docs/prometheus/latest/querying/api/#format-overview">Format overview</a>
+ */
+public record PrometheusResponse(String status, String error, List<Series> result) {
+
+    public static final String STATUS_ERROR = "error";
+
+    /**
+     * A single time series of the result.
+     *
+     * @param metric  the labels of the series
+     * @param samples the samples of the series
+     */
+    public record Series(Map<String, String> metric, RangeSamples samples) {
+    }
+
+    public static PrometheusResponse parse(InputStream stream) {
+        try (JsonParser parser = Json.createParser(stream)) {
+            return parse(parser);
+        }
+    }
+
+    public static PrometheusResponse parse(String json) {
+        try (JsonParser parser = Json.createParser(new StringReader(json))) {
+            return parse(parser);
+        }
+    }
+
+    static PrometheusResponse parse(JsonParser parser) {
+        expect(parser, Event.START_OBJECT);
+        String status = null;
+        String error = null;
+        List<Series> result = List.of();
+
+        while (parser.next() == Event.KEY_NAME) {
+            switch (parser.getString()) {
+                case "status":
+                    status = readString(parser);
+                    break;
+                case "error":
+                    error = readString(parser);
+                    break;
+                case "data":
+                    result = parseData(parser);
+                    break;
+                default:
+                    skipValue(parser);
+                    break;
+            }
+        }
+
+        return new PrometheusResponse(status, error, result);
+    }
+
+    private static List<Series> parseData(JsonParser parser) {
+        expect(parser, Event.START_OBJECT);
+        List<Series> result = List.of();
+
+        while (parser.next() == Event.KEY_NAME) {
+            if ("result".equals(parser.getString())) {
+                expect(parser, Event.START_ARRAY);
+                result = new ArrayList<>();
+
+                while (parser.next() == Event.START_OBJECT) {
+                    result.add(parseSeries(parser));
+                }
+            } else {
+                skipValue(parser);
+            }
+        }
+
+        return result;
+    }
+
+    private static Series parseSeries(JsonParser parser) {
+        Map<String, String> metric = Map.of();
+        RangeSamples.Builder samples = RangeSamples.builder();
+
+        while (parser.next() == Event.KEY_NAME) {
+            switch (parser.getString()) {
+                case "metric":
+                    metric = parseLabels(parser);
+                    break;
+                case "value":
+                    // Instant query: a single [time, value] sample
+                    expect(parser, Event.START_ARRAY);
+                    parseSample(parser, samples);
+                    break;
+                case "values":
+                    // Range query: array of [time, value] samples
+                    expect(parser, Event.START_ARRAY);
+                    while (parser.next() == Event.START_ARRAY) {
+                        parseSample(parser, samples);
+                    }
+                    break;
+                default:
+                    skipValue(parser);
+                    break;
+            }
+        }
+
+        return new Series(metric, samples.build());
+    }
+
+    private static Map<String, String> parseLabels(JsonParser parser) {
+        expect(parser, Event.START_OBJECT);
+        Map<String, String> labels = new HashMap<>();
+
+        while (parser.next() == Event.KEY_NAME) {
+            String name = parser.getString();
+            labels.put(name, readString(parser));
+        }
+
+        return labels;
+    }
+
+    /**
+     * Read the remainder of a sample array, following its START_ARRAY event.
+     * The time is given in (fractional) seconds and the value as a string.
+     */
+    private static void parseSample(JsonParser parser, RangeSamples.Builder samples) {
+        expect(parser, Event.VALUE_NUMBER);
+        BigDecimal seconds = parser.getBigDecimal();
+        double value = RangeSamples.parse(readString(parser));
+        expect(parser, Event.END_ARRAY);
+        samples.add(seconds.movePointRight(3).longValue(), value);
+    }
+
+    private static String readString(JsonParser parser) {
+        Event event = parser.next();
+
+        switch (event) {
+            case VALUE_STRING, VALUE_NUMBER:
+                return parser.getString();
+            case VALUE_NULL:
+                return null;
+            default:
+                throw unexpected(parser, event);
+        }
+    }
+
+    private static void skipValue(JsonParser parser) {
+        Event event = parser.next();
+
+        if (event == Event.START_OBJECT) {
+            parser.skipObject();
+        } else if (event == Event.START_ARRAY) {
+            parser.skipArray();
+        }
+    }
+
+    private static void expect(JsonParser parser, Event expected) {
+        Event event = parser.next();
+
+        if (event != expected) {
+            throw unexpected(parser, event);
+        }
+    }
+
+    private static JsonParsingException unexpected(JsonParser parser, Event event) {
+        return new JsonParsingException("Unexpected " + event + " in Prometheus response", parser.getLocation());
+    }
+}
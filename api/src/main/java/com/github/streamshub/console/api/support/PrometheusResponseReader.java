@@ -0,0 +1,33 @@
+package com.github.streamshub.console.api.support;
+
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+
+/**
+ * Reads the entity of responses from the {@linkplain PrometheusAPI Prometheus
+ * API} with a streaming parser. Registered with each Prometheus client rather
+ * than as a global provider.
+ */
+public class PrometheusResponseReader implements MessageBodyReader<PrometheusResponse> {
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == PrometheusResponse.class;
+    }
+
+    @Override
+    public PrometheusResponse readFrom(Class<PrometheusResponse> type,
+            Type genericType,
+            Annotation[] annotations,
+            MediaType mediaType,
+            MultivaluedMap<String, String> httpHeaders,
+            InputStream entityStream) {
+
+        return PrometheusResponse.parse(entityStream);
+    }
+}
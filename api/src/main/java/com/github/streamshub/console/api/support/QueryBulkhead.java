@@ -0,0 +1,170 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Limits the number of concurrent queries made to a single metrics source
+ * (e.g. a Prometheus server shared by several Kafka clusters) so that a slow
+ * source can not consume an unbounded number of connections or threads.
+ * Queries in excess of the limit wait in a bounded queue and are rejected when
+ * the queue is full.
+ *
+ * <p>Each query has a deadline covering both the time spent waiting in the
+ * queue and the time spent executing. When the deadline passes or the result
+ * is cancelled by the caller, a waiting query is removed from the queue and a
+ * running query is cancelled.
+ */
+public class QueryBulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration timeout;
+    private final Timer queueTime;
+
+    /**
+     * Queries waiting for a permit. Guarded by {@code this}.
+     */
+    private final Deque<Query<?>> queue = new ArrayDeque<>();
+    private int running = 0;
+
+    private final class Query<T> {
+        final Supplier<CompletionStage<T>> operation;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final long enqueued = System.nanoTime();
+        volatile CompletableFuture<T> execution;
+
+        Query(Supplier<CompletionStage<T>> operation) {
+            this.operation = operation;
+        }
+
+        void start() {
+            queueTime.record(System.nanoTime() - enqueued, TimeUnit.NANOSECONDS);
+
+            try {
+                execution = operation.get().toCompletableFuture();
+            } catch (RuntimeException e) {
+                execution = CompletableFuture.failedFuture(e);
+            }
+
+            execution.whenComplete((value, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+                release();
+            });
+
+            if (result.isDone()) {
+                // Cancelled or timed out while starting
+                execution.cancel(true);
+            }
+        }
+
+        void abandon() {
+            boolean waiting;
+
+            synchronized (QueryBulkhead.this) {
+                waiting = queue.remove(this);
+            }
+
+            if (!waiting && execution != null) {
+                execution.cancel(true);
+            }
+        }
+    }
+
+    public QueryBulkhead(String name, int maxConcurrent, int maxQueued, Duration timeout, Timer queueTime) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.timeout = timeout;
+        this.queueTime = queueTime;
+    }
+
+    /**
+     * Execute the operation once a permit is available.
+     *
+     * @param operation function starting the query, invoked at most once
+     * @return future result of the query. The result completes exceptionally
+     *         with a {@link RejectedExecutionException} when the queue is full
+     *         or with a {@link java.util.concurrent.TimeoutException} when the
+     *         deadline passes. Cancelling the result cancels the query.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletionStage<T>> operation) {
+        Query<T> query = new Query<>(operation);
+        boolean start = false;
+
+        synchronized (this) {
+            if (running < maxConcurrent) {
+                running++;
+                start = true;
+            } else if (queue.size() < maxQueued) {
+                queue.add(query);
+            } else {
+                query.result.completeExceptionally(new RejectedExecutionException(
+                        "Too many pending queries for metrics source " + name));
+                return query.result;
+            }
+        }
+
+        if (!timeout.isZero() && !timeout.isNegative()) {
+            query.result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        query.result.whenComplete((value, error) -> {
+            if (error != null) {
+                query.abandon();
+            }
+        });
+
+        if (start) {
+            query.start();
+        }
+
+        return query.result;
+    }
+
+    /**
+     * @return the number of queries currently executing
+     */
+    public synchronized int running() {
+        return running;
+    }
+
+    /**
+     * @return the number of queries waiting for a permit
+     */
+    public synchronized int queued() {
+        return queue.size();
+    }
+
+    private void release() {
+        Query<?> next;
+
+        synchronized (this) {
+            do {
+                next = queue.poll();
+            } while (next != null && next.result.isDone());
+
+            if (next == null) {
+                running--;
+            }
+        }
+
+        if (next != null) {
+            // Permit is handed over to the next query
+            next.start();
+        }
+    }
+}
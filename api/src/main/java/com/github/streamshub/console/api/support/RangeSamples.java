@@ -0,0 +1,145 @@
+package com.github.streamshub.console.api.support;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import com.github.streamshub.console.api.model.Metrics;
+
+/**
+ * The samples of a single Prometheus time series, stored in columns of
+ * primitive timestamps (epoch milliseconds) and values rather than as a list
+ * of entry objects with boxed strings. Entries are created on demand when the
+ * list is read, e.g. when serialized in a response.
+ *
+ * <p>Instances are immutable once built.
+ */
+public final class RangeSamples extends AbstractList<Metrics.RangeEntry> implements RandomAccess {
+
+    private static final long[] NO_TIMES = new long[0];
+    private static final double[] NO_VALUES = new double[0];
+
+    private final long[] times;
+    private final double[] values;
+    private final int size;
+
+    private RangeSamples(long[] times, double[] values, int size) {
+        this.times = times;
+        this.values = values;
+        this.size = size;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder appending samples in timestamp order.
+     */
+    public static final class Builder {
+        private long[] times = NO_TIMES;
+        private double[] values = NO_VALUES;
+        private int size = 0;
+
+        private Builder() {
+        }
+
+        public Builder add(long time, double value) {
+            if (size == times.length) {
+                int capacity = Math.max(16, size * 2);
+                times = Arrays.copyOf(times, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+
+            times[size] = time;
+            values[size] = value;
+            size++;
+            return this;
+        }
+
+        /**
+         * Append the samples of the series with timestamps in the range
+         * [from, to).
+         */
+        public Builder addAll(RangeSamples samples, long from, long to) {
+            for (int i = samples.indexOf(from), n = samples.size; i < n && samples.times[i] < to; i++) {
+                add(samples.times[i], samples.values[i]);
+            }
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public RangeSamples build() {
+            return new RangeSamples(times, values, size);
+        }
+    }
+
+    @Override
+    public Metrics.RangeEntry get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return new Metrics.RangeEntry(Instant.ofEpochMilli(times[index]), format(values[index]));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public long time(int index) {
+        return times[index];
+    }
+
+    public double value(int index) {
+        return values[index];
+    }
+
+    /**
+     * @return the index of the first sample with a timestamp at or after the
+     *         given time
+     */
+    int indexOf(long time) {
+        int index = Arrays.binarySearch(times, 0, size, time);
+        return index < 0 ? -(index + 1) : index;
+    }
+
+    /**
+     * Parse a sample value in the format used by Prometheus, including the
+     * special values {@code NaN}, {@code +Inf}, and {@code -Inf}.
+     */
+    public static double parse(String value) {
+        switch (value) {
+            case "NaN":
+                return Double.NaN;
+            case "+Inf", "Inf":
+                return Double.POSITIVE_INFINITY;
+            case "-Inf":
+                return Double.NEGATIVE_INFINITY;
+            default:
+                return Double.parseDouble(value);
+        }
+    }
+
+    /**
+     * Format a sample value as given by Prometheus, i.e. the shortest decimal
+     * representation without an exponent.
+     */
+    public static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return new BigDecimal(Double.toString(value)).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.github.streamshub.console.api.model.Metrics;
+
+/**
+ * Retains the time series last obtained by each Prometheus range query of a
+ * single Kafka cluster, so that refreshing a chart covering a sliding window
+ * (e.g. the last 30 minutes) only queries the samples added since the previous
+ * refresh. The new samples are appended to the retained series and samples
+ * that have left the window are removed.
+ *
+ * <p>The start and end of windows must be aligned to the query step, such
+ * that the samples of successive windows have the same timestamps. The last
+ * sample of the retained window is fetched again since it may have been
+ * evaluated before all of its data was available.
+ */
+public class RangeSeriesCache {
+
+    private record Window(Instant start, Instant end, Map<String, List<Metrics.RangeMetric>> series) {
+    }
+
+    private record Identity(String name, Map<String, String> attributes) {
+    }
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Obtain the series of the query for the window.
+     *
+     * @param query the PromQL expression
+     * @param step  resolution step of the query
+     * @param start start of the window
+     * @param end   end of the window
+     * @param fetch function to query the series for the range from the given
+     *              time to the end of the window
+     * @return CompletionStage "promise" of the series of the window, by metric
+     *         name
+     */
+    public CompletionStage<Map<String, List<Metrics.RangeMetric>>> get(String query, String step,
+            Instant start, Instant end,
+            Function<Instant, CompletionStage<Map<String, List<Metrics.RangeMetric>>>> fetch) {
+
+        String key = step + ':' + query;
+        Window retained = windows.get(key);
+
+        if (retained != null && retained.end().equals(end) && retained.start().equals(start)) {
+            return CompletableFuture.completedStage(retained.series());
+        }
+
+        boolean incremental = retained != null
+                && retained.end().isAfter(start)
+                && !retained.end().isAfter(end);
+        Instant from = incremental ? retained.end() : start;
+
+        return fetch.apply(from).thenApply(fetched -> {
+            Window updated = new Window(start, end, incremental ? merge(retained, fetched, start, from) : fetched);
+            // Keep the latest window when refreshed concurrently
+            windows.merge(key, updated, (w1, w2) -> w2.end().isAfter(w1.end()) ? w2 : w1);
+            return updated.series();
+        });
+    }
+
+    /**
+     * @return the number of queries with retained series
+     */
+    public int size() {
+        return windows.size();
+    }
+
+    private static Map<String, List<Metrics.RangeMetric>> merge(Window retained,
+            Map<String, List<Metrics.RangeMetric>> fetched,
+            Instant start,
+            Instant from) {
+
+        long startTime = start.toEpochMilli();
+        long fromTime = from.toEpochMilli();
+        Map<Identity, RangeSamples.Builder> entries = new LinkedHashMap<>();
+
+        retained.series().forEach((name, metrics) -> metrics.forEach(metric ->
+            entries.computeIfAbsent(new Identity(name, metric.attributes()), k -> RangeSamples.builder())
+                .addAll(samples(metric), startTime, fromTime)));
+
+        fetched.forEach((name, metrics) -> metrics.forEach(metric ->
+            entries.computeIfAbsent(new Identity(name, metric.attributes()), k -> RangeSamples.builder())
+                .addAll(samples(metric), fromTime, Long.MAX_VALUE)));
+
+        Map<String, List<Metrics.RangeMetric>> result = new LinkedHashMap<>();
+
+        entries.forEach((identity, range) -> {
+            if (!range.isEmpty()) {
+                result.computeIfAbsent(identity.name(), k -> new ArrayList<>())
+                    .add(new Metrics.RangeMetric(range.build(), identity.attributes()));
+            }
+        });
+
+        result.replaceAll((name, metrics) -> List.copyOf(metrics));
+        return result;
+    }
+
+    private static RangeSamples samples(Metrics.RangeMetric metric) {
+        if (metric.range() instanceof RangeSamples samples) {
+            return samples;
+        }
+
+        RangeSamples.Builder builder = RangeSamples.builder();
+        metric.range().forEach(e -> builder.add(e.when().toEpochMilli(), RangeSamples.parse(e.value())));
+        return builder.build();
+    }
+}
@@ -0,0 +1,310 @@
+package com.github.streamshub.console.api.support;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+
+/**
+ * Cache of the raw (undecoded) records most recently read from the end of
+ * topic partitions, used to serve repeated requests for a topic's latest
+ * records without fetching them from the Kafka cluster again.
+ *
+ * <p>Each entry holds the records of a single partition from a start offset up
+ * to the partition's end offset at the time they were read. An entry is only
+ * used while the partition's current end offset is unchanged, i.e. while no
+ * records have been written to the partition since the entry was stored.
+ *
+ * <p>Record data is held outside the Java heap in fixed-size slabs of direct
+ * memory, allocated on demand up to the configured byte budget and re-used
+ * after an entry is removed. When the budget is exhausted the least recently
+ * used entries, for any topic, are evicted.
+ */
+public class RecentRecordsCache {
+
+    private static final int NULL_LENGTH = -1;
+
+    /**
+     * Identifies the records of a partition read with a set of credentials (see
+     * {@link ConsumerPool}). A topic's ID is used rather than its name so that
+     * records of a deleted topic are never given for a new topic with the same
+     * name.
+     */
+    public record Key(String clusterId, String principal, String topicId, int partition) {
+    }
+
+    private static class Entry {
+        final long startOffset;
+        final long endOffset;
+        final int length;
+        final List<ByteBuffer> slabs;
+
+        Entry(long startOffset, long endOffset, int length, List<ByteBuffer> slabs) {
+            this.startOffset = startOffset;
+            this.endOffset = endOffset;
+            this.length = length;
+            this.slabs = slabs;
+        }
+    }
+
+    private final int slabSize;
+    private final int maxSlabs;
+
+    /**
+     * Entries in access order, least recently used first. Guarded by {@code this}.
+     */
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Deque<ByteBuffer> freeSlabs = new ArrayDeque<>();
+    private int allocatedSlabs = 0;
+
+    public RecentRecordsCache(long maxBytes, int slabSize) {
+        this.slabSize = slabSize;
+        this.maxSlabs = (int) Math.min(Integer.MAX_VALUE, maxBytes / slabSize);
+    }
+
+    public boolean enabled() {
+        return maxSlabs > 0;
+    }
+
+    /**
+     * Retrieve the cached records of a partition beginning at the given offset,
+     * provided the partition has not been written to since they were cached.
+     *
+     * @param key         the partition
+     * @param startOffset offset of the first record required
+     * @param endOffset   the current end offset of the partition
+     * @return the records from {@code startOffset} to the end of the partition,
+     *         or empty when the cache does not hold all of them
+     */
+    public Optional<List<ConsumerRecord<byte[], byte[]>>> get(Key key, long startOffset, long endOffset) {
+        byte[] data;
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+
+            if (entry == null) {
+                return Optional.empty();
+            }
+
+            if (entry.endOffset != endOffset) {
+                // Records were written (or the partition was truncated) since the entry was stored
+                release(entries.remove(key));
+                return Optional.empty();
+            }
+
+            if (entry.startOffset > startOffset) {
+                return Optional.empty();
+            }
+
+            data = read(entry);
+        }
+
+        return Optional.of(deserialize(key, ByteBuffer.wrap(data), startOffset));
+    }
+
+    /**
+     * Store the records of a partition, replacing any records previously cached
+     * for the partition. The records must include every record of the partition
+     * from {@code startOffset} up to (but excluding) {@code endOffset}. Records
+     * are not stored if their size exceeds the cache's byte budget.
+     */
+    public void put(Key key, long startOffset, long endOffset, List<ConsumerRecord<byte[], byte[]>> records) {
+        if (!enabled()) {
+            return;
+        }
+
+        byte[] data = serialize(records);
+        int slabCount = Math.max(1, (data.length + slabSize - 1) / slabSize);
+
+        if (slabCount > maxSlabs) {
+            return;
+        }
+
+        synchronized (this) {
+            release(entries.remove(key));
+
+            Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+
+            while (freeSlabs.size() + (maxSlabs - allocatedSlabs) < slabCount) {
+                release(leastRecentlyUsed.next());
+                leastRecentlyUsed.remove();
+            }
+
+            List<ByteBuffer> slabs = new ArrayList<>(slabCount);
+
+            for (int i = 0; i < slabCount; i++) {
+                slabs.add(allocate());
+            }
+
+            write(data, slabs);
+            entries.put(key, new Entry(startOffset, endOffset, data.length, slabs));
+        }
+    }
+
+    /**
+     * @return the number of partitions with cached records
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of bytes of direct memory allocated by the cache
+     */
+    public synchronized long allocatedBytes() {
+        return (long) allocatedSlabs * slabSize;
+    }
+
+    /**
+     * Remove all entries and release the cache's direct memory.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        freeSlabs.clear();
+        allocatedSlabs = 0;
+    }
+
+    private ByteBuffer allocate() {
+        ByteBuffer slab = freeSlabs.pollFirst();
+
+        if (slab == null) {
+            slab = ByteBuffer.allocateDirect(slabSize);
+            allocatedSlabs++;
+        }
+
+        return slab.clear();
+    }
+
+    private void release(Entry entry) {
+        if (entry != null) {
+            freeSlabs.addAll(entry.slabs);
+        }
+    }
+
+    private void write(byte[] data, List<ByteBuffer> slabs) {
+        int position = 0;
+
+        for (ByteBuffer slab : slabs) {
+            int length = Math.min(slabSize, data.length - position);
+            slab.put(0, data, position, length);
+            position += length;
+        }
+    }
+
+    private byte[] read(Entry entry) {
+        byte[] data = new byte[entry.length];
+        int position = 0;
+
+        for (ByteBuffer slab : entry.slabs) {
+            int length = Math.min(slabSize, data.length - position);
+            slab.get(0, data, position, length);
+            position += length;
+        }
+
+        return data;
+    }
+
+    static byte[] serialize(List<ConsumerRecord<byte[], byte[]>> records) {
+        byte[] topic = records.isEmpty() ? new byte[0] : records.get(0).topic().getBytes(StandardCharsets.UTF_8);
+        int size = 2 * Integer.BYTES + topic.length;
+
+        for (var rec : records) {
+            size += 2 * Long.BYTES + 1 + 6 * Integer.BYTES + length(rec.key()) + length(rec.value());
+
+            for (Header header : rec.headers()) {
+                size += 2 * Integer.BYTES + header.key().getBytes(StandardCharsets.UTF_8).length + length(header.value());
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        putBytes(buffer, topic);
+        buffer.putInt(records.size());
+
+        for (var rec : records) {
+            buffer.putLong(rec.offset());
+            buffer.putLong(rec.timestamp());
+            buffer.put((byte) rec.timestampType().ordinal());
+            buffer.putInt(rec.leaderEpoch().orElse(NULL_LENGTH));
+            buffer.putInt(rec.serializedKeySize());
+            buffer.putInt(rec.serializedValueSize());
+            putBytes(buffer, rec.key());
+            putBytes(buffer, rec.value());
+
+            Header[] headers = rec.headers().toArray();
+            buffer.putInt(headers.length);
+
+            for (Header header : headers) {
+                putBytes(buffer, header.key().getBytes(StandardCharsets.UTF_8));
+                putBytes(buffer, header.value());
+            }
+        }
+
+        return buffer.array();
+    }
+
+    static List<ConsumerRecord<byte[], byte[]>> deserialize(Key key, ByteBuffer buffer, long startOffset) {
+        String topic = new String(getBytes(buffer), StandardCharsets.UTF_8);
+        int count = buffer.getInt();
+        List<ConsumerRecord<byte[], byte[]>> records = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            long offset = buffer.getLong();
+            long timestamp = buffer.getLong();
+            TimestampType timestampType = TimestampType.values()[buffer.get()];
+            int leaderEpoch = buffer.getInt();
+            int serializedKeySize = buffer.getInt();
+            int serializedValueSize = buffer.getInt();
+            byte[] recordKey = getBytes(buffer);
+            byte[] recordValue = getBytes(buffer);
+            RecordHeaders headers = new RecordHeaders();
+
+            for (int h = buffer.getInt(); h > 0; h--) {
+                headers.add(new String(getBytes(buffer), StandardCharsets.UTF_8), getBytes(buffer));
+            }
+
+            if (offset >= startOffset) {
+                records.add(new ConsumerRecord<>(topic, key.partition(), offset, timestamp, timestampType,
+                        serializedKeySize, serializedValueSize, recordKey, recordValue, headers,
+                        leaderEpoch == NULL_LENGTH ? Optional.empty() : Optional.of(leaderEpoch)));
+            }
+        }
+
+        return records;
+    }
+
+    private static int length(byte[] data) {
+        return data != null ? data.length : 0;
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] data) {
+        if (data == null) {
+            buffer.putInt(NULL_LENGTH);
+        } else {
+            buffer.putInt(data.length);
+            buffer.put(data);
+        }
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+
+        if (length == NULL_LENGTH) {
+            return null; // NOSONAR - null key, value, or header value
+        }
+
+        byte[] data = new byte[length];
+        buffer.get(data);
+        return data;
+    }
+}
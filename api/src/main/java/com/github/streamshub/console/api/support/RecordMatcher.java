@@ -0,0 +1,135 @@
+package com.github.streamshub.console.api.support;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.streamshub.console.api.model.FetchFilter;
+
+/**
+ * Predicate used to search the text of a record's key, value, or header
+ * values. The operator of the {@link FetchFilter} selects the type of match:
+ *
+ * <ul>
+ * <li>{@code eq} - the text is equal to the operand
+ * <li>{@code contains} - the text contains the operand
+ * <li>{@code regex} - the text contains a match for the operand regular expression
+ * <li>{@code jsonpath} - the text is a JSON document and the value at the path
+ *     given by the first operand is equal to the second operand. The path may be
+ *     given as a JSON Pointer (e.g. {@code /customer/id}) or a simple dot/bracket
+ *     path (e.g. {@code $.customer.id} or {@code $.items[0].sku}).
+ * </ul>
+ *
+ * Because operands are comma-separated, everything following the operator
+ * (and, for {@code jsonpath}, the path) is used as the operand, including any
+ * commas.
+ */
+public class RecordMatcher implements Predicate<String> {
+
+    public static final String EQ = "eq";
+    public static final String CONTAINS = "contains";
+    public static final String REGEX = "regex";
+    public static final String JSONPATH = "jsonpath";
+
+    public static final List<String> OPERATORS = List.of(EQ, CONTAINS, REGEX, JSONPATH);
+
+    private final String operator;
+    private final String operand;
+    private final Pattern pattern;
+    private final JsonPointer pointer;
+    private final ObjectMapper objectMapper;
+
+    public RecordMatcher(FetchFilter filter, ObjectMapper objectMapper) {
+        this.operator = filter.getOperator();
+        this.objectMapper = objectMapper;
+        String operands = String.join(",", filter.getOperands());
+
+        if (JSONPATH.equals(operator)) {
+            int separator = operands.indexOf(',');
+            String path = separator > -1 ? operands.substring(0, separator) : operands;
+            this.pointer = toPointer(path);
+            this.operand = separator > -1 ? operands.substring(separator + 1) : "";
+        } else {
+            this.pointer = null;
+            this.operand = operands;
+        }
+
+        this.pattern = REGEX.equals(operator) ? Pattern.compile(operand) : null;
+    }
+
+    /**
+     * Convert a JSON Pointer or simple JSON path expression (dot-separated
+     * properties with optional numeric array indexes) to a {@link JsonPointer}.
+     */
+    static JsonPointer toPointer(String path) {
+        if (path.startsWith("/")) {
+            return JsonPointer.compile(path);
+        }
+
+        String expression = path.startsWith("$") ? path.substring(1) : path;
+        StringBuilder pointer = new StringBuilder();
+
+        for (String segment : expression.replaceAll("\\[(\\d+)]", ".$1").split("\\.")) {
+            if (!segment.isEmpty()) {
+                pointer.append('/').append(segment.replace("~", "~0").replace("/", "~1"));
+            }
+        }
+
+        return JsonPointer.compile(pointer.toString());
+    }
+
+    public String operator() {
+        return operator;
+    }
+
+    @Override
+    public boolean test(String text) {
+        if (text == null) {
+            return false;
+        }
+
+        switch (operator) {
+            case EQ:
+                return operand.equals(text);
+            case CONTAINS:
+                return text.contains(operand);
+            case REGEX:
+                return pattern.matcher(text).find();
+            case JSONPATH:
+                return jsonValueEquals(text);
+            default:
+                /*
+                 * Exclude the record. This case should never be executed if proper input
+                 * validation is present for each search parameter.
+                 */
+                return false;
+        }
+    }
+
+    private boolean jsonValueEquals(String text) {
+        JsonNode node;
+
+        try {
+            node = objectMapper.readTree(text);
+        } catch (IOException e) {
+            // Not JSON, cannot match
+            return false;
+        }
+
+        if (node == null) {
+            return false;
+        }
+
+        JsonNode value = node.at(pointer);
+
+        if (value.isMissingNode() || value.isContainerNode()) {
+            return false;
+        }
+
+        return operand.equals(value.asText());
+    }
+}
@@ -0,0 +1,419 @@
+package com.github.streamshub.console.api.support;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.Uuid;
+import org.apache.kafka.common.errors.WakeupException;
+import org.jboss.logging.Logger;
+
+/**
+ * A live tail of a single topic, shared by every viewer of the topic with the
+ * same credentials. A single consumer, owned by the tail's polling task, reads
+ * new records from all of the topic's partitions and appends them to a bounded
+ * window held in memory. Viewers {@linkplain #read(String, Integer, int, Duration) read}
+ * from the window using a cursor, waiting for new records to arrive when they
+ * have already seen everything in the window (long-polling). The number of
+ * fetch requests sent to the brokers is therefore independent of the number of
+ * viewers.
+ *
+ * <p>No thread is blocked by a waiting viewer. The read gives a pending result
+ * that is completed, using the tail's executor, once a record is received or
+ * the viewer's maximum wait has passed.
+ *
+ * <p>Each record in the window is assigned a sequence number in the order
+ * received. A cursor identifies both the tail instance (its generation) and the
+ * sequence number of the last record seen by the viewer, so a cursor given to
+ * a tail that has since been replaced is recognized as such and the viewer
+ * restarts from the current window.
+ *
+ * @param <K> consumer key type
+ * @param <V> consumer value type
+ */
+public class RecordTail<K, V> implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(RecordTail.class);
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final char CURSOR_SEPARATOR = ':';
+
+    private final String name;
+    private final String generation = Uuid.randomUuid().toString();
+    private final Consumer<K, V> consumer;
+    private final int windowSize;
+    private final Executor executor;
+
+    /**
+     * Records received, oldest first, no more than {@code windowSize}. Guarded
+     * by {@code this}.
+     */
+    private final Deque<Entry<K, V>> window = new ArrayDeque<>();
+
+    /**
+     * Sequence number of the most recently received record. Guarded by
+     * {@code this}.
+     */
+    private long sequence = 0;
+
+    /**
+     * Reads waiting for a record to be received. Guarded by {@code this}.
+     */
+    private final Set<Waiter> waiters = new LinkedHashSet<>();
+    private Instant lastRead = Instant.now();
+    private boolean closed = false;
+    private boolean started = false;
+    private KafkaException failure;
+
+    private volatile boolean running = true;
+
+    record Entry<K, V>(long sequence, ConsumerRecord<K, V> rec) {
+    }
+
+    /**
+     * A read of the tail, waiting for a record following {@code after} to be
+     * received when there is none.
+     */
+    private final class Waiter {
+        final long after;
+        final long cursorPosition;
+        final boolean cursorGiven;
+        final Integer partition;
+        final int limit;
+        final CompletableFuture<Batch<K, V>> result = new CompletableFuture<>();
+
+        Waiter(long cursorPosition, boolean cursorGiven, Integer partition, int limit) {
+            this.after = Math.max(cursorPosition, 0);
+            this.cursorPosition = cursorPosition;
+            this.cursorGiven = cursorGiven;
+            this.partition = partition;
+            this.limit = limit;
+        }
+    }
+
+    /**
+     * Records returned by a single {@linkplain RecordTail#read read} of the tail.
+     *
+     * @param records records after the given cursor, in the order received
+     * @param cursor  the cursor to be given to the next read
+     * @param gap     true when records following the given cursor have already
+     *                left the window and were not returned to the viewer
+     */
+    public record Batch<K, V>(List<ConsumerRecord<K, V>> records, String cursor, boolean gap) {
+    }
+
+    RecordTail(String name, Consumer<K, V> consumer, int windowSize, Executor executor) {
+        this.name = name;
+        this.consumer = consumer;
+        this.windowSize = windowSize;
+        this.executor = executor;
+    }
+
+    /**
+     * Assign the consumer to all partitions of the topic, positioned such that
+     * the most recent records (up to the window size) of each partition are
+     * available to the first viewers, and start the polling task. This is
+     * performed by the caller so that errors such as missing authorization are
+     * raised to the viewer requesting the tail.
+     */
+    void start(String topicName) {
+        List<TopicPartition> partitions = consumer.partitionsFor(topicName)
+                .stream()
+                .map(p -> new TopicPartition(p.topic(), p.partition()))
+                .toList();
+
+        consumer.assign(partitions);
+
+        Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(partitions);
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+        for (TopicPartition p : partitions) {
+            consumer.seek(p, Math.max(beginningOffsets.get(p), endOffsets.get(p) - windowSize));
+        }
+
+        synchronized (this) {
+            if (closed) {
+                // Closed while starting, the consumer has already been closed
+                return;
+            }
+            started = true;
+        }
+
+        try {
+            executor.execute(this::run);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                // The consumer is closed by close() rather than the polling task
+                started = false;
+            }
+            throw e;
+        }
+    }
+
+    void run() {
+        try {
+            while (running) {
+                ConsumerRecords<K, V> records = consumer.poll(POLL_TIMEOUT);
+
+                if (!records.isEmpty()) {
+                    append(records);
+                }
+            }
+        } catch (WakeupException e) {
+            // Tail was closed
+        } catch (KafkaException e) {
+            LOGGER.warnf("Live tail %s failed: %s", name, e.getMessage());
+            fail(e);
+        } finally {
+            closeConsumer();
+        }
+    }
+
+    private void closeConsumer() {
+        try {
+            consumer.close();
+        } catch (Exception e) {
+            LOGGER.infof("Exception closing live tail consumer %s: %s", name, e.getMessage());
+        }
+    }
+
+    synchronized void append(ConsumerRecords<K, V> records) {
+        for (ConsumerRecord<K, V> rec : records) {
+            window.addLast(new Entry<>(++sequence, rec));
+
+            if (window.size() > windowSize) {
+                window.removeFirst();
+            }
+        }
+
+        releaseWaiters(waiter -> sequence > waiter.after);
+    }
+
+    synchronized void fail(KafkaException e) {
+        failure = e;
+        releaseWaiters(waiter -> true);
+    }
+
+    /**
+     * Read the records following the given cursor, waiting up to
+     * {@code maxWait} for a record to be received when there are none. Without
+     * a cursor (or with a cursor for a different tail), the most recent records
+     * in the window are returned, waiting only when the window is empty.
+     *
+     * @param cursor    cursor returned by a previous read, or null
+     * @param partition partition from which records are to be returned, or null
+     *                  for all partitions
+     * @param limit     maximum number of records to return
+     * @param maxWait   maximum time to wait for a new record
+     * @return the pending records read and the cursor for the next read,
+     *         completed exceptionally with a {@link KafkaException} when the
+     *         tail's consumer has failed
+     */
+    public synchronized CompletionStage<Batch<K, V>> read(String cursor, Integer partition, int limit, Duration maxWait) {
+        lastRead = Instant.now();
+
+        if (failure != null) {
+            return CompletableFuture.failedStage(failure);
+        }
+
+        Waiter waiter = new Waiter(parseCursor(cursor), cursor != null, partition, limit);
+
+        if (sequence > waiter.after || closed || maxWait.isZero() || maxWait.isNegative()) {
+            return CompletableFuture.completedStage(batch(waiter));
+        }
+
+        waiters.add(waiter);
+
+        CompletableFuture.delayedExecutor(maxWait.toMillis(), TimeUnit.MILLISECONDS, executor)
+            .execute(() -> release(waiter));
+
+        return waiter.result;
+    }
+
+    /**
+     * Complete the waiting reads matching the condition, using the executor so
+     * that the polling task is not delayed by the viewers.
+     */
+    private void releaseWaiters(Predicate<Waiter> condition) {
+        for (Iterator<Waiter> cursor = waiters.iterator(); cursor.hasNext();) {
+            Waiter waiter = cursor.next();
+
+            if (condition.test(waiter)) {
+                cursor.remove();
+
+                try {
+                    executor.execute(() -> complete(waiter));
+                } catch (RejectedExecutionException e) {
+                    // Executor shutting down, do not leave the viewer waiting
+                    complete(waiter);
+                }
+            }
+        }
+    }
+
+    /**
+     * Complete the read unless already completed, e.g. when its maximum wait
+     * has passed.
+     */
+    private void release(Waiter waiter) {
+        synchronized (this) {
+            if (!waiters.remove(waiter)) {
+                return;
+            }
+        }
+
+        complete(waiter);
+    }
+
+    private void complete(Waiter waiter) {
+        Batch<K, V> batch;
+
+        synchronized (this) {
+            lastRead = Instant.now();
+
+            if (failure != null) {
+                waiter.result.completeExceptionally(failure);
+                return;
+            }
+
+            batch = batch(waiter);
+        }
+
+        waiter.result.complete(batch);
+    }
+
+    private Batch<K, V> batch(Waiter waiter) {
+        if (waiter.cursorPosition < 0) {
+            return new Batch<>(latest(waiter.partition, waiter.limit), cursor(sequence), waiter.cursorGiven);
+        }
+
+        return after(waiter.cursorPosition, waiter.partition, waiter.limit);
+    }
+
+    private List<ConsumerRecord<K, V>> latest(Integer partition, int limit) {
+        List<ConsumerRecord<K, V>> records = new ArrayList<>(Math.min(limit, window.size()));
+        Iterator<Entry<K, V>> cursor = window.descendingIterator();
+
+        while (cursor.hasNext() && records.size() < limit) {
+            var rec = cursor.next().rec();
+
+            if (partition == null || partition == rec.partition()) {
+                records.add(rec);
+            }
+        }
+
+        Collections.reverse(records);
+        return records;
+    }
+
+    private Batch<K, V> after(long after, Integer partition, int limit) {
+        List<ConsumerRecord<K, V>> records = new ArrayList<>();
+        boolean gap = !window.isEmpty() && window.peekFirst().sequence() > after + 1;
+        long last = Math.max(after, sequence);
+
+        for (Entry<K, V> entry : window) {
+            if (entry.sequence() <= after) {
+                continue;
+            }
+
+            if (records.size() >= limit) {
+                // Remaining records will be given to the next read
+                last = entry.sequence() - 1;
+                break;
+            }
+
+            if (partition == null || partition == entry.rec().partition()) {
+                records.add(entry.rec());
+            }
+        }
+
+        return new Batch<>(records, cursor(last), gap);
+    }
+
+    String cursor(long position) {
+        return generation + CURSOR_SEPARATOR + position;
+    }
+
+    /**
+     * @return the sequence number given by the cursor, or -1 when no cursor is
+     *         given or the cursor belongs to a different tail
+     */
+    long parseCursor(String cursor) {
+        if (cursor == null) {
+            return -1;
+        }
+
+        int separator = cursor.lastIndexOf(CURSOR_SEPARATOR);
+
+        if (separator < 0 || !generation.equals(cursor.substring(0, separator))) {
+            return -1;
+        }
+
+        return Long.parseLong(cursor.substring(separator + 1));
+    }
+
+    /**
+     * @return true when the tail is polling for new records and may be read
+     */
+    public synchronized boolean active() {
+        return !closed && failure == null;
+    }
+
+    /**
+     * @return true when no viewer is currently reading and the last read
+     *         occurred before the given time
+     */
+    synchronized boolean idleSince(Instant expiration) {
+        return waiters.isEmpty() && lastRead.isBefore(expiration);
+    }
+
+    /**
+     * @return the number of reads waiting for a record to be received
+     */
+    synchronized int readers() {
+        return waiters.size();
+    }
+
+    /**
+     * Stop polling and release any waiting viewers. The consumer is closed by
+     * the polling task, or here when the polling task was never started
+     * (e.g. {@linkplain #start(String) start} failed).
+     */
+    @Override
+    public void close() {
+        boolean polling;
+
+        synchronized (this) {
+            closed = true;
+            polling = started;
+            releaseWaiters(waiter -> true);
+        }
+
+        running = false;
+
+        if (polling) {
+            consumer.wakeup();
+        } else {
+            closeConsumer();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.github.streamshub.console.api.support;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.jboss.logging.Logger;
+
+/**
+ * The {@linkplain RecordTail live tails} for a single Kafka cluster. At most one
+ * tail exists for each topic and set of credentials (see
+ * {@link ConsumerPool}), regardless of the number of viewers. A tail is closed
+ * by {@linkplain #evictIdle()} once it has not been read for the configured
+ * idle timeout, i.e. when its last viewer has left. The polling task of each
+ * tail and the completion of its waiting reads run on the registry's executor.
+ *
+ * @param <K> consumer key type
+ * @param <V> consumer value type
+ */
+public class RecordTailRegistry<K, V> implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(RecordTailRegistry.class);
+
+    private final String name;
+    private final Function<Map<String, Object>, Consumer<K, V>> factory;
+    private final int maxSize;
+    private final int windowSize;
+    private final Duration idleTimeout;
+    private final Executor executor;
+
+    /**
+     * Tails by topic name and principal key. Guarded by {@code this}.
+     */
+    private final Map<String, RecordTail<K, V>> tails = new HashMap<>();
+    private boolean closed = false;
+
+    public RecordTailRegistry(String name,
+            Function<Map<String, Object>, Consumer<K, V>> factory,
+            int maxSize,
+            int windowSize,
+            Duration idleTimeout,
+            Executor executor) {
+        this.name = name;
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.windowSize = windowSize;
+        this.idleTimeout = idleTimeout;
+        this.executor = executor;
+    }
+
+    /**
+     * Obtain the tail of a topic for the credentials present in the given
+     * configuration, starting a new tail when none is active.
+     *
+     * @param topicName name of the topic to tail
+     * @param configs   the configuration used to create a new consumer, if necessary
+     * @return the active tail of the topic
+     * @throws TimeoutException when the maximum number of tails are active for
+     *                          the cluster
+     */
+    public RecordTail<K, V> acquire(String topicName, Map<String, Object> configs) {
+        final String key = topicName + '/' + ConsumerPool.principalKey(configs);
+        RecordTail<K, V> tail = lookup(key);
+
+        if (tail != null) {
+            return tail;
+        }
+
+        tail = new RecordTail<>(name + '-' + topicName, factory.apply(configs), windowSize, executor);
+
+        try {
+            tail.start(topicName);
+        } catch (RuntimeException e) {
+            tail.close();
+            throw e;
+        }
+
+        RecordTail<K, V> existing;
+        boolean full;
+
+        synchronized (this) {
+            // Other topics' tails may have been registered since the lookup
+            full = !closed && !tails.containsKey(key) && tails.size() >= maxSize;
+            existing = closed || full ? tail : tails.putIfAbsent(key, tail);
+        }
+
+        if (full) {
+            tail.close();
+            throw maxSizeReached();
+        }
+
+        if (existing != null) {
+            /*
+             * Started by another viewer in the meantime, or the registry was
+             * closed. In the latter case the viewer receives the closed tail,
+             * which returns no records.
+             */
+            tail.close();
+            return existing;
+        }
+
+        LOGGER.debugf("Started live tail of topic %s for cluster %s", topicName, name);
+        return tail;
+    }
+
+    private synchronized RecordTail<K, V> lookup(String key) {
+        if (closed) {
+            throw new IllegalStateException("Live tails for cluster " + name + " are closed");
+        }
+
+        RecordTail<K, V> tail = tails.get(key);
+
+        if (tail != null && tail.active()) {
+            return tail;
+        }
+
+        if (tail != null) {
+            // Failed, replace with a new tail
+            tails.remove(key);
+        }
+
+        if (tails.size() >= maxSize) {
+            throw maxSizeReached();
+        }
+
+        return null;
+    }
+
+    private TimeoutException maxSizeReached() {
+        return new TimeoutException("Maximum number of live tails (" + maxSize + ") reached for cluster " + name);
+    }
+
+    /**
+     * Close any tails that have not been read within the idle timeout or that
+     * have failed.
+     *
+     * @return the number of tails closed
+     */
+    public int evictIdle() {
+        Instant expiration = Instant.now().minus(idleTimeout);
+        List<RecordTail<K, V>> expired = new ArrayList<>();
+
+        synchronized (this) {
+            for (Iterator<RecordTail<K, V>> cursor = tails.values().iterator(); cursor.hasNext();) {
+                RecordTail<K, V> tail = cursor.next();
+
+                if (!tail.active() || tail.idleSince(expiration)) {
+                    expired.add(tail);
+                    cursor.remove();
+                }
+            }
+        }
+
+        if (!expired.isEmpty()) {
+            LOGGER.debugf("Closing %d idle live tail(s) for cluster %s", expired.size(), name);
+            expired.forEach(RecordTail::close);
+        }
+
+        return expired.size();
+    }
+
+    /**
+     * @return the number of tails currently open
+     */
+    public synchronized int size() {
+        return tails.size();
+    }
+
+    @Override
+    public void close() {
+        List<RecordTail<K, V>> open;
+
+        synchronized (this) {
+            closed = true;
+            open = new ArrayList<>(tails.values());
+            tails.clear();
+        }
+
+        open.forEach(RecordTail::close);
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical read operations sent to a cluster concurrently, e.g. by
+ * many users opening the console's overview of the cluster at once. While an
+ * operation is pending, callers requesting the same operation with the same
+ * arguments and credentials receive the result of the pending operation rather
+ * than sending a request of their own. Results are not retained once the
+ * operation completes.
+ *
+ * <p>Results are shared by the callers and must not be modified.
+ */
+public class RequestCoalescer {
+
+    /**
+     * Identifies an operation.
+     *
+     * @param principal key of the credentials used for the operation, see
+     *                  {@link ConsumerPool#principalKey(Map)}, or null when
+     *                  using the console's own credentials
+     * @param operation name of the operation, e.g. {@code listTopics}
+     * @param arguments arguments of the operation affecting its result
+     */
+    public record Key(String principal, String operation, List<?> arguments) {
+    }
+
+    private final SingleFlight<Key, Object> pending = new SingleFlight<>(false);
+
+    /**
+     * Execute the operation unless an identical operation is pending, in which
+     * case the result of the pending operation is given.
+     *
+     * @param <V>       type of the operation's result
+     * @param key       key of the operation
+     * @param operation the operation, invoked only when no identical operation
+     *                  is pending
+     * @return CompletionStage "promise" of the operation's result
+     */
+    @SuppressWarnings("unchecked")
+    public <V> CompletionStage<V> execute(Key key, Supplier<CompletionStage<V>> operation) {
+        return (CompletionStage<V>) pending.execute(key, () -> (CompletionStage<Object>) operation.get());
+    }
+
+    /**
+     * @return the number of operations pending
+     */
+    public int pending() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.RequestScoped;
+
+/**
+ * Operations started on behalf of the current request, e.g. Prometheus
+ * queries, that are no longer needed once the request has ended. Operations
+ * still pending when the request context is destroyed are cancelled,
+ * regardless of whether the request uses an application-scoped or a
+ * request-scoped {@linkplain KafkaContext}.
+ */
+@RequestScoped
+public class RequestOperations {
+
+    final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Cancel the operation if it is still pending when the request ends.
+     *
+     * @param operation the pending operation
+     * @return the operation
+     */
+    public <T> CompletableFuture<T> cancelOnEnd(CompletableFuture<T> operation) {
+        if (!operation.isDone()) {
+            pending.add(operation);
+            operation.whenComplete((result, error) -> pending.remove(operation));
+        }
+        return operation;
+    }
+
+    /**
+     * @return the number of operations pending
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Cancel the operations still pending, invoked when the request context is
+     * destroyed.
+     */
+    @PreDestroy
+    public void cancel() {
+        pending.forEach(operation -> operation.cancel(true));
+    }
+}
@@ -0,0 +1,196 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Tracks the operations in flight for each key, such that concurrent callers
+ * needing the result for the same key share a single operation rather than
+ * each starting their own. A key's flight ends when its operation completes,
+ * results are not retained - caches using a single flight retain the results
+ * themselves.
+ *
+ * <p>Operations are either {@linkplain #execute(Object, Supplier) executed} by
+ * the single flight, or started by the caller that {@linkplain #join(Object) joins}
+ * a key as its leader, e.g. when the operations of several keys are sent to
+ * the cluster in a single request. In the latter case, the leader must
+ * {@linkplain #release(Object, CompletableFuture) release} the flight before
+ * completing its result.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the results
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * A flight joined by a caller.
+     *
+     * @param result the flight's shared result
+     * @param leader true when the caller started the flight and must perform its
+     *               operation
+     */
+    public record Flight<V>(CompletableFuture<V> result, boolean leader) {
+    }
+
+    /**
+     * A flight's shared result, with the callers waiting for an executed
+     * operation and the operation to cancel when none remain.
+     */
+    private static final class Pending<V> {
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        final AtomicInteger waiters = new AtomicInteger();
+        volatile CompletableFuture<V> operation;
+
+        CompletableFuture<V> waiter(boolean cancelAbandoned) {
+            // Callers may not complete the shared result
+            CompletableFuture<V> copy = result.copy();
+
+            if (cancelAbandoned) {
+                waiters.incrementAndGet();
+                copy.whenComplete((value, error) -> {
+                    var pendingOperation = operation;
+
+                    if (copy.isCancelled() && waiters.decrementAndGet() == 0 && pendingOperation != null) {
+                        pendingOperation.cancel(true);
+                    }
+                });
+            }
+
+            return copy;
+        }
+    }
+
+    private final boolean cancelAbandoned;
+    private final Map<K, Pending<V>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * @param cancelAbandoned when true, an executed operation is cancelled once
+     *                        all of the callers waiting for its result have
+     *                        cancelled the result they were given
+     */
+    public SingleFlight(boolean cancelAbandoned) {
+        this.cancelAbandoned = cancelAbandoned;
+    }
+
+    /**
+     * Execute the operation unless an operation for the key is in flight, in
+     * which case the result of that operation is given.
+     *
+     * @param key       the key
+     * @param operation the operation, invoked only when none is in flight
+     * @return a copy of the shared result, which the caller may complete or
+     *         cancel without affecting the other callers
+     */
+    public CompletableFuture<V> execute(K key, Supplier<? extends CompletionStage<V>> operation) {
+        return execute(key, operation, value -> { });
+    }
+
+    /**
+     * Execute the operation unless an operation for the key is in flight, in
+     * which case the result of that operation is given.
+     *
+     * @param key       the key
+     * @param operation the operation, invoked only when none is in flight
+     * @param completed invoked with a successful result of the operation before
+     *                  the flight ends, e.g. to cache the result
+     * @return a copy of the shared result, which the caller may complete or
+     *         cancel without affecting the other callers
+     */
+    public CompletableFuture<V> execute(K key, Supplier<? extends CompletionStage<V>> operation, Consumer<V> completed) {
+        Pending<V> created = new Pending<>();
+        Pending<V> existing = pending.putIfAbsent(key, created);
+
+        if (existing != null) {
+            return existing.waiter(cancelAbandoned);
+        }
+
+        CompletableFuture<V> result = created.waiter(cancelAbandoned);
+
+        try {
+            CompletionStage<V> stage = operation.get();
+
+            if (cancelAbandoned) {
+                created.operation = stage.toCompletableFuture();
+
+                if (created.waiters.get() == 0) {
+                    // All callers cancelled while the operation was starting
+                    created.operation.cancel(true);
+                }
+            }
+
+            stage.whenComplete((value, error) -> {
+                if (error == null) {
+                    completed.accept(value);
+                }
+
+                pending.remove(key, created);
+
+                if (error != null) {
+                    created.result.completeExceptionally(error);
+                } else {
+                    created.result.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            pending.remove(key, created);
+            created.result.completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+    /**
+     * Join the flight of the key, starting a new flight when none is in
+     * progress. The leader of a new flight must perform the operation,
+     * {@linkplain #release(Object, CompletableFuture) release} the flight, and
+     * complete its result.
+     *
+     * @param key the key
+     * @return the key's flight
+     */
+    public Flight<V> join(K key) {
+        Pending<V> created = new Pending<>();
+        Pending<V> existing = pending.putIfAbsent(key, created);
+
+        return existing != null
+                ? new Flight<>(existing.result.copy(), false)
+                : new Flight<>(created.result, true);
+    }
+
+    /**
+     * End the flight of the key with the given result, unless already ended
+     * (e.g. {@linkplain #forget(Object) forgotten}).
+     *
+     * @param key    the key
+     * @param result the result of the flight to end
+     * @return true when the flight was ended, false when it was no longer in
+     *         progress
+     */
+    public boolean release(K key, CompletableFuture<V> result) {
+        Pending<V> current = pending.get(key);
+        return current != null && current.result == result && pending.remove(key, current);
+    }
+
+    /**
+     * End any flight of the key without completing it. Callers waiting for its
+     * result still receive it, but {@linkplain #release(Object, CompletableFuture) releasing}
+     * the flight will return false, and the next caller starts a new flight.
+     *
+     * @param key the key
+     */
+    public void forget(K key) {
+        pending.remove(key);
+    }
+
+    /**
+     * @return the number of flights in progress
+     */
+    public int size() {
+        return pending.size();
+    }
+}
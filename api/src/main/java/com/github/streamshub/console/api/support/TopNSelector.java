@@ -0,0 +1,211 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Selects the first {@code limit} elements offered to it in order of the
+ * primitive key (timestamp, partition, offset), ascending or descending. This
+ * is the record-browsing counterpart of {@link SizeLimitedSortedSet}, without
+ * boxing the key fields or allocating a tree node for every offered element.
+ *
+ * <p>The retained elements are held in a bounded binary heap whose root is the
+ * "worst" element currently selected. Once the selector is full, an offered
+ * element that does not sort before the root is rejected with a single
+ * comparison. Records fetched from a partition arrive in offset order, so for
+ * the common case of timestamps that increase with offsets, the records
+ * polled after a partition has passed the selection boundary are all rejected
+ * this way. Timestamps are not required to be monotonic within a partition,
+ * however, so every element is still compared rather than abandoning the
+ * remainder of a partition.
+ *
+ * <p>Instances are not thread safe.
+ *
+ * @param <E> the type of elements selected
+ */
+public class TopNSelector<E> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int limit;
+    private final int direction;
+
+    private long[] timestamps;
+    private int[] partitions;
+    private long[] offsets;
+    private Object[] elements;
+    private int size = 0;
+
+    /**
+     * @param limit      maximum number of elements to select
+     * @param descending when true, the elements with the greatest keys are
+     *                   selected (e.g. the latest records), otherwise the
+     *                   elements with the least keys are selected
+     */
+    public TopNSelector(int limit, boolean descending) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+
+        this.limit = limit;
+        this.direction = descending ? -1 : 1;
+
+        int capacity = Math.min(limit, INITIAL_CAPACITY);
+        timestamps = new long[capacity];
+        partitions = new int[capacity];
+        offsets = new long[capacity];
+        elements = new Object[capacity];
+    }
+
+    /**
+     * Offer an element for selection.
+     *
+     * @return true if the element is (for now) part of the selection, false if
+     *         it was rejected
+     */
+    public boolean offer(long timestamp, int partition, long offset, E element) {
+        if (size < limit) {
+            ensureCapacity(size + 1);
+            set(size, timestamp, partition, offset, element);
+            siftUp(size++);
+            return true;
+        }
+
+        if (size == 0 || compare(timestamp, partition, offset, 0) >= 0) {
+            // Not better than the worst element currently selected
+            return false;
+        }
+
+        // Replace the root (worst selected element)
+        set(0, timestamp, partition, offset, element);
+        siftDown(0);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Produce the selected elements, sorted best-first (i.e. ascending key order,
+     * or descending when this selector was created with {@code descending=true}).
+     * The selector is left empty.
+     */
+    @SuppressWarnings("unchecked")
+    public List<E> drain() {
+        Object[] sorted = new Object[size];
+
+        // Removing the root repeatedly yields the elements worst-first
+        for (int i = size - 1; i >= 0; i--) {
+            sorted[i] = elements[0];
+            size--;
+            move(size, 0);
+            elements[size] = null;
+            siftDown(0);
+        }
+
+        List<E> result = new ArrayList<>(sorted.length);
+
+        for (Object element : sorted) {
+            result.add((E) element);
+        }
+
+        return result;
+    }
+
+    /**
+     * Compare the given key with the key at heap index {@code i}, taking the
+     * selection direction into account. A negative result indicates that the
+     * given key is "better" than the key at index {@code i}.
+     */
+    private int compare(long timestamp, int partition, long offset, int i) {
+        int result = Long.compare(timestamp, timestamps[i]);
+
+        if (result == 0) {
+            result = Integer.compare(partition, partitions[i]);
+
+            if (result == 0) {
+                result = Long.compare(offset, offsets[i]);
+            }
+        }
+
+        return result * direction;
+    }
+
+    private int compare(int i, int j) {
+        return compare(timestamps[i], partitions[i], offsets[i], j);
+    }
+
+    /*
+     * Heap ordering: the parent is never better than its children, so the
+     * worst selected element is at the root.
+     */
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+
+            if (compare(i, parent) <= 0) {
+                break;
+            }
+
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        int half = size >>> 1;
+
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+
+            if (right < size && compare(right, child) > 0) {
+                child = right;
+            }
+
+            if (compare(child, i) <= 0) {
+                break;
+            }
+
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private void set(int i, long timestamp, int partition, long offset, Object element) {
+        timestamps[i] = timestamp;
+        partitions[i] = partition;
+        offsets[i] = offset;
+        elements[i] = element;
+    }
+
+    private void move(int from, int to) {
+        set(to, timestamps[from], partitions[from], offsets[from], elements[from]);
+    }
+
+    private void swap(int i, int j) {
+        long timestamp = timestamps[i];
+        int partition = partitions[i];
+        long offset = offsets[i];
+        Object element = elements[i];
+        move(j, i);
+        set(j, timestamp, partition, offset, element);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > elements.length) {
+            int capacity = Math.min(limit, Math.max(required, elements.length * 2));
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            partitions = Arrays.copyOf(partitions, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+            elements = Arrays.copyOf(elements, capacity);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListTopicsOptions;
+import org.apache.kafka.clients.admin.TopicListing;
+
+/**
+ * Index of a Kafka cluster's topic names and identifiers, allowing either to
+ * be found from the other without listing the cluster's topics. The index is
+ * populated from a complete topic listing, kept up to date by periodic
+ * listings, and modified directly when topics are created or deleted by the
+ * console.
+ *
+ * <p>Lookups do not block and may be performed concurrently with updates.
+ */
+public class TopicIndex {
+
+    private final Map<String, String> idsByName = new ConcurrentHashMap<>();
+    private final Map<String, String> namesById = new ConcurrentHashMap<>();
+    private volatile Instant lastUpdated = null;
+
+    /**
+     * @return true once the index has been populated from a topic listing
+     */
+    public boolean populated() {
+        return lastUpdated != null;
+    }
+
+    /**
+     * @return the time of the last update from a complete topic listing, or
+     *         null if the index has not been populated
+     */
+    public Instant lastUpdated() {
+        return lastUpdated;
+    }
+
+    public Optional<String> name(String topicId) {
+        return Optional.ofNullable(namesById.get(topicId));
+    }
+
+    public Optional<String> id(String topicName) {
+        return Optional.ofNullable(idsByName.get(topicName));
+    }
+
+    /**
+     * @return read-only view of the topic identifiers, keyed by topic name
+     */
+    public Map<String, String> idsByName() {
+        return Collections.unmodifiableMap(idsByName);
+    }
+
+    public int size() {
+        return namesById.size();
+    }
+
+    /**
+     * List the cluster's topics (including internal topics) using the given
+     * client and {@linkplain #update(Collection) update} the index with the
+     * result.
+     *
+     * @return stage completed with this index once updated
+     */
+    public CompletionStage<TopicIndex> refresh(Admin adminClient) {
+        return adminClient.listTopics(new ListTopicsOptions().listInternal(true))
+            .listings()
+            .toCompletionStage()
+            .thenApply(listings -> {
+                update(listings);
+                return this;
+            });
+    }
+
+    /**
+     * Bring the index up to date with a complete listing of the cluster's
+     * topics. Only the differences are applied: new topics are added, topics no
+     * longer present are removed, and topics re-created with a new identifier
+     * are replaced.
+     */
+    public synchronized void update(Collection<TopicListing> listings) {
+        Set<String> current = new HashSet<>(listings.size());
+
+        for (TopicListing listing : listings) {
+            current.add(listing.topicId().toString());
+        }
+
+        merge(listings);
+
+        namesById.keySet()
+            .stream()
+            .filter(topicId -> !current.contains(topicId))
+            .toList()
+            .forEach(this::remove);
+
+        lastUpdated = Instant.now();
+    }
+
+    private void merge(Collection<TopicListing> listings) {
+        for (TopicListing listing : listings) {
+            String topicId = listing.topicId().toString();
+
+            if (!listing.name().equals(namesById.get(topicId))) {
+                put(listing.name(), topicId);
+            }
+        }
+    }
+
+    /**
+     * Add a topic, e.g. following its creation. Any topic previously indexed
+     * with the same name is replaced.
+     */
+    public synchronized void put(String topicName, String topicId) {
+        String previousId = idsByName.put(topicName, topicId);
+
+        if (previousId != null && !previousId.equals(topicId)) {
+            namesById.remove(previousId);
+        }
+
+        namesById.put(topicId, topicName);
+    }
+
+    /**
+     * Remove a topic, e.g. following its deletion.
+     */
+    public synchronized void remove(String topicId) {
+        String topicName = namesById.remove(topicId);
+
+        if (topicName != null) {
+            idsByName.remove(topicName, topicId);
+        }
+    }
+}
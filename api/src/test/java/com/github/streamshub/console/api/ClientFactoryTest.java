@@ -0,0 +1,114 @@
+package com.github.streamshub.console.api;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import jakarta.enterprise.inject.Instance;
+
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.admin.Admin;
+import org.eclipse.microprofile.config.Config;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.streamshub.console.api.support.KafkaContext;
+import com.github.streamshub.console.config.KafkaClusterConfig;
+
+import io.strimzi.api.kafka.model.kafka.Kafka;
+import io.strimzi.api.kafka.model.kafka.KafkaBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClientFactoryTest {
+
+    ClientFactory factory;
+    Map<String, KafkaContext> contexts;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        factory = new ClientFactory();
+        factory.log = Logger.getLogger(ClientFactory.class);
+        factory.config = mock(Config.class);
+        factory.trustManager = mock(Instance.class);
+        factory.contextFactory = mock(KafkaContextFactory.class);
+
+        when(factory.config.getOptionalValue(anyString(), eq(String.class))).thenReturn(Optional.empty());
+        when(factory.contextFactory.createContext(any(), any(), any(), any())).thenAnswer(invocation -> {
+            Optional<Kafka> resource = invocation.getArgument(1);
+            return spy(new KafkaContext(invocation.getArgument(0),
+                    resource.orElse(null),
+                    invocation.getArgument(2),
+                    invocation.getArgument(3)));
+        });
+
+        contexts = new HashMap<>();
+    }
+
+    static KafkaClusterConfig clusterConfig(String bootstrapServers) {
+        var clusterConfig = new KafkaClusterConfig();
+        clusterConfig.setId("id1");
+        clusterConfig.setName("kafka1");
+        clusterConfig.setNamespace("ns1");
+        clusterConfig.getProperties().put(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        return clusterConfig;
+    }
+
+    static Kafka kafka(String resourceVersion) {
+        return new KafkaBuilder()
+                .withNewMetadata()
+                    .withName("kafka1")
+                    .withNamespace("ns1")
+                    .withResourceVersion(resourceVersion)
+                .endMetadata()
+                .withNewStatus()
+                    .withClusterId("id1")
+                .endStatus()
+                .build();
+    }
+
+    void put(KafkaClusterConfig clusterConfig, Kafka kafka) {
+        factory.putKafkaContext(contexts, clusterConfig, Optional.of(kafka), configs -> mock(Admin.class));
+    }
+
+    @Test
+    void testUpdateWithUnchangedSettingsKeepsContext() {
+        put(clusterConfig("localhost:9092"), kafka("1"));
+        KafkaContext original = contexts.get("id1");
+
+        // An equivalent configuration and a resync/status update of the resource
+        Kafka updated = kafka("2");
+        put(clusterConfig("localhost:9092"), updated);
+
+        assertSame(original, contexts.get("id1"));
+        assertSame(updated, original.resource());
+        verify(factory.contextFactory, times(1)).createContext(any(), any(), any(), any());
+        verify(original, never()).close();
+    }
+
+    @Test
+    void testUpdateWithChangedSettingsReplacesContext() {
+        put(clusterConfig("localhost:9092"), kafka("1"));
+        KafkaContext original = contexts.get("id1");
+
+        put(clusterConfig("localhost:9093"), kafka("2"));
+
+        KafkaContext replacement = contexts.get("id1");
+        assertNotSame(original, replacement);
+        verify(factory.contextFactory, times(2)).createContext(any(), any(), any(), any());
+        verify(original).close();
+        verify(replacement, never()).close();
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.streamshub.console.api;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+import jakarta.json.Json;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response.Status;
+
+import org.apache.kafka.common.ConsumerGroupState;
+import org.eclipse.microprofile.config.Config;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.streamshub.console.api.support.Holder;
+import com.github.streamshub.console.config.ConsoleConfig;
+import com.github.streamshub.console.kafka.systemtest.TestPlainCachedProfile;
+import com.github.streamshub.console.kafka.systemtest.deployment.DeploymentManager;
+import com.github.streamshub.console.kafka.systemtest.utils.ConsumerUtils;
+import com.github.streamshub.console.test.TestHelper;
+import com.github.streamshub.console.test.TopicHelper;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.strimzi.api.kafka.model.kafka.Kafka;
+
+import static com.github.streamshub.console.test.TestHelper.whenRequesting;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Consumer group requests with the group catalog, group index, and the other
+ * caches enabled, verifying that changes are visible to the requests that
+ * follow them.
+ */
+@QuarkusTest
+@TestHTTPEndpoint(ConsumerGroupsResource.class)
+@TestProfile(TestPlainCachedProfile.class)
+class ConsumerGroupsResourceCachedIT {
+
+    @Inject
+    Config config;
+
+    @Inject
+    KubernetesClient client;
+
+    @Inject
+    ConsoleConfig consoleConfig;
+
+    @Inject
+    Holder<SharedIndexInformer<Kafka>> kafkaInformer;
+
+    @DeploymentManager.InjectDeploymentManager
+    DeploymentManager deployments;
+
+    TestHelper utils;
+    TopicHelper topicUtils;
+    ConsumerUtils groupUtils;
+    String clusterId1;
+
+    @BeforeEach
+    void setup() throws IOException {
+        URI bootstrapServers = URI.create(deployments.getExternalBootstrapServers());
+
+        topicUtils = new TopicHelper(bootstrapServers, config, null);
+        topicUtils.deleteAllTopics();
+
+        groupUtils = new ConsumerUtils(config, null);
+        groupUtils.deleteConsumerGroups();
+
+        utils = new TestHelper(bootstrapServers, config, null);
+
+        client.resources(Kafka.class).inAnyNamespace().delete();
+        utils.apply(client, utils.buildKafkaResource("test-kafka1", utils.getClusterId(), bootstrapServers));
+
+        // Wait for the informer cache to be populated with all Kafka CRs
+        await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> Objects.equals(kafkaInformer.get().getStore().list().size(), 1));
+
+        clusterId1 = consoleConfig.getKafka().getCluster("default/test-kafka1").get().getId();
+    }
+
+    @Test
+    void testDeletedConsumerGroupNotListed() {
+        String topic1 = "t1-" + UUID.randomUUID().toString();
+        String group1 = "g1-" + UUID.randomUUID().toString();
+        String client1 = "c1-" + UUID.randomUUID().toString();
+
+        try (var consumer = groupUtils.consume(group1, topic1, client1, 2, false)) {
+            await().atMost(10, TimeUnit.SECONDS)
+                .until(() -> ConsumerGroupState.STABLE == groupUtils.consumerGroupState(group1));
+        }
+
+        // Populates the catalog with the group
+        whenRequesting(req -> req.get("", clusterId1))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.id", hasItem(group1));
+
+        whenRequesting(req -> req.delete("{groupId}", clusterId1, group1))
+            .assertThat()
+            .statusCode(is(Status.NO_CONTENT.getStatusCode()));
+
+        whenRequesting(req -> req.get("", clusterId1))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.id", not(hasItem(group1)));
+
+        whenRequesting(req -> req.get("{groupId}", clusterId1, group1))
+            .assertThat()
+            .statusCode(is(Status.NOT_FOUND.getStatusCode()));
+    }
+
+    @Test
+    void testPatchConsumerGroupDeletedExternally() {
+        String topic1 = "t1-" + UUID.randomUUID().toString();
+        String group1 = "g1-" + UUID.randomUUID().toString();
+        String client1 = "c1-" + UUID.randomUUID().toString();
+
+        try (var consumer = groupUtils.consume(group1, topic1, client1, 2, false)) {
+            await().atMost(10, TimeUnit.SECONDS)
+                .until(() -> ConsumerGroupState.STABLE == groupUtils.consumerGroupState(group1));
+        }
+
+        // Populates the catalog with the group
+        whenRequesting(req -> req.get("", clusterId1))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.id", hasItem(group1));
+
+        // Deleted without the console's knowledge, the catalog entry is now stale
+        groupUtils.deleteConsumerGroup(group1);
+
+        whenRequesting(req -> req
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .body(Json.createObjectBuilder()
+                        .add("data", Json.createObjectBuilder()
+                                .add("id", group1)
+                                .add("type", "consumerGroups")
+                                .add("attributes", Json.createObjectBuilder()))
+                        .build()
+                        .toString())
+                .patch("{groupId}", clusterId1, group1))
+            .assertThat()
+            .statusCode(is(Status.NOT_FOUND.getStatusCode()))
+            .body("errors.size()", is(1))
+            .body("errors.status", contains("404"))
+            .body("errors.code", contains("4041"));
+    }
+}
@@ -2,18 +2,26 @@ package com.github.streamshub.console.api;
 
 import java.io.IOException;
 import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 import jakarta.inject.Inject;
 import jakarta.json.Json;
+import jakarta.json.JsonArrayBuilder;
 import jakarta.json.JsonObject;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.client.ClientRequestContext;
@@ -29,7 +37,9 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.github.streamshub.console.api.model.ConsumerGroup;
 import com.github.streamshub.console.api.model.KafkaCluster;
+import com.github.streamshub.console.api.model.Topic;
 import com.github.streamshub.console.api.service.MetricsService;
 import com.github.streamshub.console.api.support.KafkaContext;
 import com.github.streamshub.console.config.ConsoleConfig;
@@ -38,8 +48,10 @@ import com.github.streamshub.console.config.PrometheusConfig;
 import com.github.streamshub.console.config.PrometheusConfig.Type;
 import com.github.streamshub.console.kafka.systemtest.TestPlainProfile;
 import com.github.streamshub.console.kafka.systemtest.deployment.DeploymentManager;
+import com.github.streamshub.console.kafka.systemtest.utils.ConsumerUtils;
 import com.github.streamshub.console.test.AdminClientSpy;
 import com.github.streamshub.console.test.TestHelper;
+import com.github.streamshub.console.test.TopicHelper;
 
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.informers.cache.Cache;
@@ -52,13 +64,16 @@ import io.strimzi.test.container.StrimziKafkaContainer;
 
 import static com.github.streamshub.console.test.TestHelper.whenRequesting;
 import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.aMapWithSize;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.anEmptyMap;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @QuarkusTest
@@ -298,8 +313,140 @@ class KafkaClustersResourceMetricsIT implements ClientRequestFilter {
             )));
     }
 
+    @Test
+    void testListTopicsWithMetricsQueriesPageOnce() {
+        var topicUtils = new TopicHelper(bootstrapServers, config, null);
+        topicUtils.deleteAllTopics();
+
+        List<String> topicNames = IntStream.range(0, 3)
+                .mapToObj(i -> "t-%d-%s".formatted(i, UUID.randomUUID()))
+                .toList();
+        topicUtils.createTopics(clusterId1, topicNames, 1);
+
+        List<String> valueQueries = Collections.synchronizedList(new ArrayList<>());
+        List<String> rangeQueries = Collections.synchronizedList(new ArrayList<>());
+
+        // Respond with series of every topic, including the topic not in the page
+        filterQuery = ctx -> {
+            valueQueries.add(queryParam(ctx, "query"));
+            ctx.abortWith(Response.ok(valueSeries("partition_size_bytes", "topic", topicNames)).build());
+        };
+
+        filterQueryRange = ctx -> {
+            rangeQueries.add(queryParam(ctx, "query"));
+            ctx.abortWith(Response.ok(EMPTY_METRICS).build());
+        };
+
+        whenRequesting(req -> req
+                .param("sort", "name")
+                .param("page[size]", 2)
+                .param(Topic.FIELDS_PARAM, "name,metrics")
+                .get("{clusterId}/topics", clusterId1))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.size()", is(2))
+            .body("data[0].attributes.name", is(topicNames.get(0)))
+            .body("data[0].attributes.metrics.values.partition_size_bytes", contains(hasEntry("value", "0")))
+            .body("data[1].attributes.name", is(topicNames.get(1)))
+            .body("data[1].attributes.metrics.values.partition_size_bytes", contains(hasEntry("value", "1")));
+
+        assertPageQueried(valueQueries, topicNames);
+        assertPageQueried(rangeQueries, topicNames);
+    }
+
+    @Test
+    void testListConsumerGroupsWithMetricsQueriesPageOnce() {
+        var groupUtils = new ConsumerUtils(bootstrapServers, config, null);
+        groupUtils.deleteConsumerGroups();
+
+        List<String> groupIds = IntStream.range(0, 3)
+                .mapToObj(i -> "g-%d-%s".formatted(i, UUID.randomUUID()))
+                .toList();
+
+        groupIds.forEach(groupId -> {
+            String topic = "t-" + UUID.randomUUID().toString();
+            String client = "c-" + UUID.randomUUID().toString();
+            groupUtils.consume(groupId, topic, client, 1, true);
+        });
+
+        List<String> valueQueries = Collections.synchronizedList(new ArrayList<>());
+        List<String> rangeQueries = Collections.synchronizedList(new ArrayList<>());
+
+        // Respond with series of every group, including the group not in the page
+        filterQuery = ctx -> {
+            valueQueries.add(queryParam(ctx, "query"));
+            ctx.abortWith(Response.ok(valueSeries("lag", "consumergroup", groupIds)).build());
+        };
+
+        filterQueryRange = ctx -> {
+            rangeQueries.add(queryParam(ctx, "query"));
+            ctx.abortWith(Response.ok(EMPTY_METRICS).build());
+        };
+
+        whenRequesting(req -> req
+                .param("sort", "id")
+                .param("page[size]", 2)
+                .param(ConsumerGroup.FIELDS_PARAM, "state,metrics")
+                .get("{clusterId}/consumerGroups", clusterId1))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.size()", is(2))
+            .body("data[0].id", is(groupIds.get(0)))
+            .body("data[0].attributes.metrics.values.lag", contains(hasEntry("value", "0")))
+            .body("data[1].id", is(groupIds.get(1)))
+            .body("data[1].attributes.metrics.values.lag", contains(hasEntry("value", "1")));
+
+        assertPageQueried(valueQueries, groupIds);
+        assertPageQueried(rangeQueries, groupIds);
+    }
+
     // Helper methods
 
+    /**
+     * Assert that a single query was made, restricted to the names of the
+     * first page of two resources.
+     */
+    static void assertPageQueried(List<String> queries, List<String> names) {
+        assertEquals(1, queries.size(), () -> "Expected a single query, but found: " + queries);
+        assertThat(queries.get(0), allOf(
+                containsString(names.get(0)),
+                containsString(names.get(1)),
+                not(containsString(names.get(2)))));
+    }
+
+    static String queryParam(ClientRequestContext ctx, String name) {
+        return Arrays.stream(ctx.getUri().getRawQuery().split("&"))
+                .map(param -> param.split("=", 2))
+                .filter(param -> name.equals(param[0]))
+                .map(param -> URLDecoder.decode(param[1], StandardCharsets.UTF_8))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Build an instant query response with one series per resource, the value
+     * of each being the resource's index.
+     */
+    static JsonObject valueSeries(String metricName, String label, List<String> names) {
+        JsonArrayBuilder result = Json.createArrayBuilder();
+        double time = Instant.now().toEpochMilli() / 1000d;
+
+        for (int i = 0; i < names.size(); i++) {
+            result.add(Json.createObjectBuilder()
+                    .add("metric", Json.createObjectBuilder()
+                        .add(MetricsService.METRIC_NAME, metricName)
+                        .add(label, names.get(i)))
+                    .add("value", Json.createArrayBuilder()
+                        .add(time)
+                        .add(String.valueOf(i))));
+        }
+
+        return Json.createObjectBuilder()
+                .add("data", Json.createObjectBuilder()
+                    .add("result", result))
+                .build();
+    }
+
     static Map<String, Object> mockAdminClient() {
         return mockAdminClient(Map.of(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, SecurityProtocol.PLAINTEXT.name));
     }
@@ -2,6 +2,7 @@ package com.github.streamshub.console.api;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.StringReader;
 import java.net.URI;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
@@ -61,12 +62,14 @@ import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.aMapWithSize;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @QuarkusTest
@@ -271,6 +274,123 @@ class RecordsResourceIT {
             .body("data", hasSize(expectedResults));
     }
 
+    @ParameterizedTest
+    @CsvSource({
+        "0, 3",
+        "1, 2",
+        "3, 0"
+    })
+    void testStreamRecordsByStartingOffset(int startingOffset, int expectedResults) {
+        final String topicName = UUID.randomUUID().toString();
+        var topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 1); // single partition
+        for (int i = 0; i < 3; i++) {
+            recordUtils.produceRecord(topicName, null, null, "the-key-" + i, "the-value-" + i);
+        }
+
+        await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> topicUtils.getTopicSize(topicName) >= 3);
+
+        String body = whenRequesting(req -> req
+                .queryParam("filter[partition]", 0)
+                .queryParam("filter[offset]", "gte," + startingOffset)
+                .get("stream", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .contentType(is(RecordsResource.NDJSON))
+            .extract()
+            .asString();
+
+        List<JsonObject> records = body.lines()
+                .map(line -> Json.createReader(new StringReader(line)).readObject())
+                .toList();
+
+        assertEquals(expectedResults, records.size());
+
+        for (int i = 0; i < expectedResults; i++) {
+            var attributes = records.get(i).getJsonObject("attributes");
+            assertEquals(startingOffset + i, attributes.getInt("offset"));
+            assertEquals("the-value-" + (startingOffset + i), attributes.getString("value"));
+        }
+    }
+
+    @Test
+    void testSearchRecordsWithResume() {
+        final String topicName = UUID.randomUUID().toString();
+        var topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 1); // single partition
+        for (int i = 0; i < 10; i++) {
+            recordUtils.produceRecord(topicName, null, null, "the-key-" + i, "{\"n\":" + (i % 2) + "}");
+        }
+
+        await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> topicUtils.getTopicSize(topicName) >= 10);
+
+        whenRequesting(req -> req
+                .queryParam("filter[value]", "jsonpath,$.n,1")
+                .queryParam("page[size]", 2)
+                .get("search", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data", hasSize(2))
+            .body("data.attributes.key", contains("the-key-1", "the-key-3"))
+            .body("meta.search.complete", is(false))
+            .body("meta.search.stopReason", is("limit"))
+            .body("meta.search.resume.0", is(4));
+
+        whenRequesting(req -> req
+                .queryParam("filter[value]", "jsonpath,$.n,1")
+                .queryParam("page[resume]", "0:4")
+                .get("search", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.attributes.key", contains("the-key-5", "the-key-7", "the-key-9"))
+            .body("meta.search.recordsScanned", is(6))
+            .body("meta.search.complete", is(true));
+    }
+
+    @Test
+    void testTailRecordsReturnsNewRecords() {
+        final String topicName = UUID.randomUUID().toString();
+        var topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 1); // single partition
+        for (int i = 0; i < 3; i++) {
+            recordUtils.produceRecord(topicName, null, null, "the-key-" + i, "the-value-" + i);
+        }
+
+        await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> topicUtils.getTopicSize(topicName) >= 3);
+
+        String cursor = whenRequesting(req -> req.get("tail", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.attributes.value", contains("the-value-0", "the-value-1", "the-value-2"))
+            .body("meta.tail.gap", is(false))
+            .body("links.next", containsString("page%5Bafter%5D="))
+            .extract()
+            .path("meta.tail.cursor");
+
+        recordUtils.produceRecord(topicName, null, null, "the-key-3", "the-value-3");
+
+        whenRequesting(req -> req
+                .queryParam("page[after]", cursor)
+                .get("tail", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.attributes.value", contains("the-value-3"))
+            .body("meta.tail.cursor", is(not(cursor)));
+    }
+
+    @Test
+    void testSearchRecordsWithInvalidRegex() {
+        final String topicName = UUID.randomUUID().toString();
+        var topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 1);
+
+        whenRequesting(req -> req
+                .queryParam("filter[key]", "regex,[unclosed")
+                .get("search", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.BAD_REQUEST.getStatusCode()))
+            .body("errors.source.parameter", contains("filter[key]"));
+    }
+
     @ParameterizedTest
     @CsvSource({
         "-1",
@@ -335,6 +455,40 @@ class RecordsResourceIT {
             .body("data.findAll { it }.attributes.value", contains(messageValues.subList(0, resultCount).toArray(String[]::new)));
     }
 
+    @Test
+    void testConsumeLatestRecordsAfterNewRecordWritten() {
+        final String topicName = UUID.randomUUID().toString();
+        var topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 1); // single partition
+        for (int i = 0; i < 3; i++) {
+            recordUtils.produceRecord(topicName, null, null, "the-key-" + i, "the-value-" + i);
+        }
+
+        await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> topicUtils.getTopicSize(topicName) >= 3);
+
+        // Second request is served from the recent records cache
+        for (int i = 0; i < 2; i++) {
+            whenRequesting(req -> req
+                    .queryParam("page[size]", 2)
+                    .get("", clusterId1, topicIds.get(topicName)))
+                .assertThat()
+                .statusCode(is(Status.OK.getStatusCode()))
+                .body("data.attributes.value", contains("the-value-2", "the-value-1"));
+        }
+
+        recordUtils.produceRecord(topicName, null, null, "the-key-3", "the-value-3");
+
+        await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> topicUtils.getTopicSize(topicName) >= 4);
+
+        whenRequesting(req -> req
+                .queryParam("page[size]", 2)
+                .get("", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.attributes.value", contains("the-value-3", "the-value-2"));
+    }
+
     @Test
     void testConsumeRecordsIncludeOnlyHeaders() {
         final String topicName = UUID.randomUUID().toString();
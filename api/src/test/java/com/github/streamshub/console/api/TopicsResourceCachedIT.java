@@ -0,0 +1,157 @@
+package com.github.streamshub.console.api;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+import jakarta.json.Json;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response.Status;
+
+import org.eclipse.microprofile.config.Config;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.streamshub.console.api.support.Holder;
+import com.github.streamshub.console.config.ConsoleConfig;
+import com.github.streamshub.console.kafka.systemtest.TestPlainCachedProfile;
+import com.github.streamshub.console.kafka.systemtest.deployment.DeploymentManager;
+import com.github.streamshub.console.test.TestHelper;
+import com.github.streamshub.console.test.TopicHelper;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.strimzi.api.kafka.model.kafka.Kafka;
+
+import static com.github.streamshub.console.test.TestHelper.whenRequesting;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Topic requests with the topic description and configuration caches enabled,
+ * verifying that changes are visible to the requests that follow them.
+ */
+@QuarkusTest
+@TestHTTPEndpoint(TopicsResource.class)
+@TestProfile(TestPlainCachedProfile.class)
+class TopicsResourceCachedIT {
+
+    @Inject
+    Config config;
+
+    @Inject
+    ConsoleConfig consoleConfig;
+
+    @Inject
+    KubernetesClient client;
+
+    @Inject
+    Holder<SharedIndexInformer<Kafka>> kafkaInformer;
+
+    @DeploymentManager.InjectDeploymentManager
+    DeploymentManager deployments;
+
+    TestHelper utils;
+    TopicHelper topicUtils;
+    String clusterId1;
+
+    @BeforeEach
+    void setup() throws IOException {
+        URI bootstrapServers = URI.create(deployments.getExternalBootstrapServers());
+
+        topicUtils = new TopicHelper(bootstrapServers, config, null);
+        topicUtils.deleteAllTopics();
+
+        utils = new TestHelper(bootstrapServers, config, null);
+
+        client.resources(Kafka.class).inAnyNamespace().delete();
+        utils.apply(client, utils.buildKafkaResource("test-kafka1", utils.getClusterId(), bootstrapServers));
+
+        // Wait for the informer cache to be populated with all Kafka CRs
+        await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> Objects.equals(kafkaInformer.get().getStore().list().size(), 1));
+
+        clusterId1 = consoleConfig.getKafka().getCluster("default/test-kafka1").get().getId();
+    }
+
+    @Test
+    void testPatchedTopicConfigsDescribed() {
+        String topicName = UUID.randomUUID().toString();
+        Map<String, String> topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 1, Map.of("retention.ms", "300000"));
+        String topicId = topicIds.get(topicName);
+
+        // Populates the cached description and configs of the topic
+        whenRequesting(req -> req
+                .queryParam("fields[topics]", "name,partitions,configs")
+                .get("{topicId}", clusterId1, topicId))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.attributes.partitions.size()", is(1))
+            .body("data.attributes.configs.'retention.ms'.value", is("300000"));
+
+        whenRequesting(req -> req
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .body(Json.createObjectBuilder()
+                        .add("data", Json.createObjectBuilder()
+                                .add("id", topicId)
+                                .add("type", "topics")
+                                .add("attributes", Json.createObjectBuilder()
+                                        .add("numPartitions", 2)
+                                        .add("configs", Json.createObjectBuilder()
+                                                .add("retention.ms", Json.createObjectBuilder()
+                                                        .add("value", "600000")))))
+                        .build()
+                        .toString())
+                .patch("{topicId}", clusterId1, topicId))
+            .assertThat()
+            .statusCode(is(Status.NO_CONTENT.getStatusCode()));
+
+        whenRequesting(req -> req
+                .queryParam("fields[topics]", "name,partitions,configs")
+                .get("{topicId}", clusterId1, topicId))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.attributes.partitions.size()", is(2))
+            .body("data.attributes.configs.'retention.ms'.value", is("600000"));
+    }
+
+    @Test
+    void testDeletedTopicNotDescribed() {
+        String topicName = UUID.randomUUID().toString();
+        Map<String, String> topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 2);
+        String topicId = topicIds.get(topicName);
+
+        // Populates the cached description and configs of the topic
+        whenRequesting(req -> req
+                .queryParam("fields[topics]", "name,partitions,configs")
+                .get("{topicId}", clusterId1, topicId))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()));
+
+        whenRequesting(req -> req.delete("{topicId}", clusterId1, topicId))
+            .assertThat()
+            .statusCode(is(Status.NO_CONTENT.getStatusCode()));
+
+        whenRequesting(req -> req
+                .queryParam("fields[topics]", "name,partitions,configs")
+                .get("{topicId}", clusterId1, topicId))
+            .assertThat()
+            .statusCode(is(Status.NOT_FOUND.getStatusCode()));
+
+        whenRequesting(req -> req.get("", clusterId1))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.id", not(hasItem(topicId)));
+    }
+}
@@ -703,6 +703,28 @@ class TopicsResourceIT {
             .body("data.attributes.numPartitions", containsInAnyOrder(1, 2, 3, 4, 5, 6, 7, 8, 9));
     }
 
+    @Test
+    void testListTopicsPageSortedByNameSummarizesAllTopics() {
+        String prefix = UUID.randomUUID().toString();
+        IntStream.rangeClosed(1, 4)
+                .forEach(i -> topicUtils.createTopics(clusterId1, List.of(prefix + "-" + i), i));
+
+        whenRequesting(req -> req
+                .queryParam("filter[name]", "like," + prefix + "*")
+                .queryParam("fields[topics]", "name,numPartitions,partitions,status")
+                .queryParam("sort", "-name")
+                .queryParam("page[size]", 2)
+                .get("", clusterId1))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("meta.page.total", is(4))
+            .body("meta.summary.totalPartitions", is(10))
+            .body("meta.summary.statuses.FullyReplicated", is(4))
+            .body("data.attributes.name", contains(prefix + "-4", prefix + "-3"))
+            .body("data.attributes.numPartitions", contains(4, 3))
+            .body("data.attributes.partitions.flatten().offsets.latest.offset", everyItem(is(0)));
+    }
+
     @Test
     void testListTopicsWithManagedTopic() {
         String topic1 = "t1-" + UUID.randomUUID().toString();
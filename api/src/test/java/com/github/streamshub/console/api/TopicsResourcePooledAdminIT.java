@@ -0,0 +1,163 @@
+package com.github.streamshub.console.api;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.inject.Inject;
+import jakarta.json.Json;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response.Status;
+
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.common.config.SaslConfigs;
+import org.apache.kafka.common.security.auth.SecurityProtocol;
+import org.apache.kafka.common.security.scram.ScramLoginModule;
+import org.eclipse.microprofile.config.Config;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.streamshub.console.api.support.KafkaContext;
+import com.github.streamshub.console.config.KafkaClusterConfig;
+import com.github.streamshub.console.kafka.systemtest.TestPlainCachedProfile;
+import com.github.streamshub.console.kafka.systemtest.deployment.DeploymentManager;
+import com.github.streamshub.console.test.AdminClientSpy;
+import com.github.streamshub.console.test.TestHelper;
+import com.github.streamshub.console.test.TopicHelper;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.strimzi.api.kafka.model.kafka.Kafka;
+import io.strimzi.api.kafka.model.kafka.listener.KafkaListenerAuthenticationScramSha512Builder;
+
+import static com.github.streamshub.console.test.TestHelper.whenRequesting;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Topic requests made with request credentials, using the pool of Admin
+ * clients at its default settings.
+ */
+@QuarkusTest
+@TestHTTPEndpoint(TopicsResource.class)
+@TestProfile(TestPlainCachedProfile.class)
+class TopicsResourcePooledAdminIT {
+
+    @Inject
+    Config config;
+
+    @Inject
+    KubernetesClient client;
+
+    @Inject
+    Map<String, KafkaContext> configuredContexts;
+
+    @DeploymentManager.InjectDeploymentManager
+    DeploymentManager deployments;
+
+    TestHelper utils;
+    TopicHelper topicUtils;
+    String clusterId;
+    AtomicInteger credentialedClients;
+
+    @BeforeEach
+    void setup() throws IOException {
+        URI bootstrapServers = URI.create(deployments.getExternalBootstrapServers());
+
+        topicUtils = new TopicHelper(bootstrapServers, config, null);
+        topicUtils.deleteAllTopics();
+
+        utils = new TestHelper(bootstrapServers, config, null);
+        clusterId = UUID.randomUUID().toString();
+
+        /*
+         * Create a Kafka CR with SCRAM-SHA that proxies to kafka1
+         * test-kafka3 is predefined in KafkaUnsecuredResourceManager
+         */
+        Kafka kafka = utils.buildKafkaResource("test-kafka3", clusterId, bootstrapServers,
+                new KafkaListenerAuthenticationScramSha512Builder().build());
+
+        credentialedClients = new AtomicInteger();
+
+        AdminClientSpy.install(clientConfig -> {
+            if (String.valueOf(clientConfig.get(SaslConfigs.SASL_JAAS_CONFIG)).contains(ScramLoginModule.class.getName())) {
+                credentialedClients.incrementAndGet();
+            }
+
+            // The broker does not authenticate, connect without SASL
+            Map<String, Object> newConfig = new HashMap<>(clientConfig);
+            newConfig.put(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, SecurityProtocol.PLAINTEXT.name);
+            return newConfig;
+        }, admin -> { /* No-op */ });
+
+        utils.apply(client, kafka);
+
+        // Wait for the added cluster to be configured in the context map
+        await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> configuredContexts.values()
+                    .stream()
+                    .map(KafkaContext::clusterConfig)
+                    .map(KafkaClusterConfig::clusterKey)
+                    .anyMatch(Cache.metaNamespaceKeyFunc(kafka)::equals));
+    }
+
+    @AfterEach
+    void teardown() {
+        client.resources(Kafka.class)
+            .inNamespace("default")
+            .withName("test-kafka3")
+            .delete();
+    }
+
+    @Test
+    void testCreatedTopicListedUsingPooledClient() {
+        String topicName = UUID.randomUUID().toString();
+
+        whenRequesting(req -> req
+                .auth().basic("u", "p")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .body(Json.createObjectBuilder()
+                        .add("data", Json.createObjectBuilder()
+                                .add("type", "topics")
+                                .add("attributes", Json.createObjectBuilder()
+                                        .add("name", topicName)
+                                        .add("numPartitions", 1)
+                                        .add("replicationFactor", 1)))
+                        .build()
+                        .toString())
+                .post("", clusterId))
+            .assertThat()
+            .statusCode(is(Status.CREATED.getStatusCode()));
+
+        whenRequesting(req -> req
+                .auth().basic("u", "p")
+                .get("", clusterId))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.attributes.name", hasItem(topicName));
+
+        // Both requests of the principal used the same client
+        assertEquals(1, credentialedClients.get());
+
+        whenRequesting(req -> req
+                .auth().basic("u2", "p2")
+                .get("", clusterId))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.attributes.name", hasItem(topicName));
+
+        // A different principal is never given the first principal's client
+        assertEquals(2, credentialedClients.get());
+    }
+}
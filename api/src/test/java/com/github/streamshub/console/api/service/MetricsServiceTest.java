@@ -0,0 +1,92 @@
+package com.github.streamshub.console.api.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.streamshub.console.api.model.Metrics;
+import com.github.streamshub.console.api.support.KafkaContext;
+import com.github.streamshub.console.api.support.PrometheusQueryCache;
+import com.github.streamshub.console.api.support.PrometheusResponse;
+import com.github.streamshub.console.api.support.RequestOperations;
+import com.github.streamshub.console.config.KafkaClusterConfig;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsServiceTest {
+
+    @Test
+    void testLabelPatternEscapesNames() {
+        String pattern = MetricsService.labelPattern(List.of("orders", "app.events", "a+b\"c"));
+        assertEquals("orders|app\\\\.events|a\\\\+b\\\"c", pattern);
+    }
+
+    @Test
+    void testQueryTemplatesFormatted() {
+        for (String name : List.of("topics_ranges", "topics_values", "consumerGroups_ranges", "consumerGroups_values")) {
+            String query = MetricsService.queryTemplate(name).formatted("ns1", "my-cluster", "t1|t2");
+
+            assertTrue(query.contains("namespace=\"ns1\""), query);
+            assertTrue(query.contains("=~\"t1|t2\""), query);
+            assertTrue(query.contains("my-cluster-"), query);
+        }
+    }
+
+    @Test
+    void testAddByLabelSkipsUnrequestedNames() {
+        Map<String, Metrics> result = Map.of("t1", new Metrics());
+        var values = Map.of("partition_size_bytes", List.of(
+                new Metrics.ValueMetric("10", Map.of("topic", "t1", "partition", "0")),
+                new Metrics.ValueMetric("20", Map.of("topic", "t2", "partition", "0"))));
+
+        MetricsService.addByLabel(values, "topic", result, Metrics.ValueMetric::attributes, Metrics::values);
+
+        assertEquals(Set.of("partition_size_bytes"), result.get("t1").values().keySet());
+        assertEquals("10", result.get("t1").values().get("partition_size_bytes").get(0).value());
+    }
+
+    @Test
+    void testQueryCancelledWhenRequestEnds() {
+        var clusterConfig = new KafkaClusterConfig();
+        clusterConfig.setName("kafka1");
+        clusterConfig.setMetricsSource("prometheus1");
+
+        var service = new MetricsService();
+        // Default context of a cluster accessed with the console's own credentials
+        service.kafkaContext = new KafkaContext(clusterConfig, null, Map.of(), null);
+        service.requestOperations = new RequestOperations();
+        service.meterRegistry = new SimpleMeterRegistry();
+        service.maxConcurrentQueries = 1;
+        service.maxQueuedQueries = 1;
+        service.queryTimeout = Duration.ofSeconds(20);
+
+        assertTrue(service.kafkaContext.applicationScoped());
+
+        AtomicBoolean queryCancelled = new AtomicBoolean();
+        var key = new PrometheusQueryCache.Key("up", Instant.EPOCH, Instant.EPOCH, null);
+        var response = service.fetchResponse(key, () -> Uni.createFrom()
+                .<PrometheusResponse>nothing()
+                .onCancellation().invoke(() -> queryCancelled.set(true)))
+            .toCompletableFuture();
+
+        assertFalse(queryCancelled.get());
+        assertEquals(1, service.requestOperations.size());
+
+        // Request context destroyed
+        service.requestOperations.cancel();
+
+        assertTrue(response.isCancelled());
+        assertTrue(queryCancelled.get());
+        assertEquals(0, service.requestOperations.size());
+    }
+}
@@ -0,0 +1,220 @@
+package com.github.streamshub.console.api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.streamshub.console.api.model.RecordSearchParams;
+import com.github.streamshub.console.api.support.KafkaContext;
+import com.github.streamshub.console.api.support.serdes.RecordData;
+import com.github.streamshub.console.config.KafkaClusterConfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecordServiceTest {
+
+    KafkaContext kafkaContext;
+    RecordService service;
+    ManagedExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        kafkaContext = new KafkaContext(new KafkaClusterConfig(), null, Map.of(
+                Consumer.class, Map.of(),
+                Producer.class, Map.of()), null);
+        kafkaContext.schemaRegistryClient(null, new ObjectMapper());
+
+        executor = ManagedExecutor.builder().build();
+        service = new RecordService();
+        service.kafkaContext = kafkaContext;
+        service.decodeExecutor = executor;
+    }
+
+    @AfterEach
+    void teardown() {
+        executor.shutdownNow();
+    }
+
+    static ConsumerRecord<byte[], byte[]> rawRecord(int offset) {
+        byte[] key = ("key-" + offset).getBytes(StandardCharsets.UTF_8);
+        byte[] value = offset % 2 == 0 ? ("value-" + offset).getBytes(StandardCharsets.UTF_8) : null;
+
+        return new ConsumerRecord<>("t1", offset % 3, offset, 1000L + offset, TimestampType.CREATE_TIME,
+                key.length, value != null ? value.length : -1, key, value, new RecordHeaders(), Optional.empty());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 0",
+        "1, 10",
+        "4, 1",
+        "4, 3",
+        "4, 10",
+        "16, 10",
+    })
+    void testDecodePreservesOrder(int parallelism, int count) {
+        service.decodeParallelism = parallelism;
+        var raw = IntStream.range(0, count).mapToObj(RecordServiceTest::rawRecord).toList();
+
+        List<ConsumerRecord<RecordData, RecordData>> result = service.decode(raw);
+
+        assertEquals(count, result.size());
+
+        for (int i = 0; i < count; i++) {
+            var rec = result.get(i);
+            assertEquals(i, rec.offset());
+            assertEquals(i % 3, rec.partition());
+            assertEquals(1000L + i, rec.timestamp());
+            assertEquals("key-" + i, rec.key().dataString(null));
+
+            if (i % 2 == 0) {
+                assertEquals("value-" + i, rec.value().dataString(null));
+            } else {
+                assertNull(rec.value());
+            }
+        }
+    }
+
+    @Test
+    void testSearchScanStopsAtLimitWithResumePositions() {
+        var tp0 = new TopicPartition("t1", 0);
+        var tp1 = new TopicPartition("t1", 1);
+        var consumer = new MockConsumer<byte[], byte[]>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(tp0, tp1));
+        consumer.updateBeginningOffsets(Map.of(tp0, 0L, tp1, 0L));
+        consumer.seek(tp0, 0);
+        consumer.seek(tp1, 0);
+
+        for (int i = 0; i < 10; i++) {
+            consumer.addRecord(rawRecord(tp0, i));
+            consumer.addRecord(rawRecord(tp1, i));
+        }
+
+        var scan = new RecordService.SearchScan(consumer, Map.of(tp0, 10L, tp1, 10L), 3, 1000, Long.MAX_VALUE);
+        assertTrue(scan.active());
+
+        var batch = scan.poll(Duration.ZERO);
+        // Every record with an even offset is a "match"
+        scan.accept(batch, batch.stream()
+                .map(rec -> rec.offset() % 2 == 0
+                        ? Optional.of(RecordService.decoded(rec, null, null))
+                        : Optional.<ConsumerRecord<RecordData, RecordData>>empty())
+                .toList());
+
+        assertFalse(scan.active());
+        assertEquals("limit", scan.stopReason);
+        assertEquals(3, scan.matches.size());
+        // Offsets 0, 2, 4 of the first partition polled match, the other partition is not reached
+        assertEquals(5, scan.recordsScanned);
+        assertEquals(Set.of(0, 1), scan.resumePositions().keySet());
+        assertEquals(Set.of(0L, 5L), Set.copyOf(scan.resumePositions().values()));
+    }
+
+    @Test
+    void testSearchScanCompletesAtEndOffsets() {
+        var tp0 = new TopicPartition("t1", 0);
+        var consumer = new MockConsumer<byte[], byte[]>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(tp0));
+        consumer.updateBeginningOffsets(Map.of(tp0, 0L));
+        consumer.seek(tp0, 2);
+
+        for (int i = 2; i < 6; i++) {
+            consumer.addRecord(rawRecord(tp0, i));
+        }
+
+        // Record 5 was written after the search started
+        var scan = new RecordService.SearchScan(consumer, Map.of(tp0, 5L), 10, 1000, Long.MAX_VALUE);
+        var batch = scan.poll(Duration.ZERO);
+        assertEquals(3, batch.size());
+
+        scan.accept(batch, batch.stream().map(rec -> Optional.<ConsumerRecord<RecordData, RecordData>>empty()).toList());
+
+        assertFalse(scan.active());
+        assertNull(scan.stopReason);
+        assertEquals(3, scan.recordsScanned);
+        assertTrue(scan.resumePositions().isEmpty());
+    }
+
+    @Test
+    void testSearchScanStopsAtRecordBudget() {
+        var tp0 = new TopicPartition("t1", 0);
+        var consumer = new MockConsumer<byte[], byte[]>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(tp0));
+        consumer.updateBeginningOffsets(Map.of(tp0, 0L));
+        consumer.seek(tp0, 0);
+
+        for (int i = 0; i < 10; i++) {
+            consumer.addRecord(rawRecord(tp0, i));
+        }
+
+        var scan = new RecordService.SearchScan(consumer, Map.of(tp0, 10L), 10, 4, Long.MAX_VALUE);
+        var batch = scan.poll(Duration.ZERO);
+        scan.accept(batch, batch.stream().map(rec -> Optional.<ConsumerRecord<RecordData, RecordData>>empty()).toList());
+
+        assertEquals("recordBudget", scan.stopReason);
+        assertEquals(4, scan.recordsScanned);
+        assertEquals(Map.of(0, 4L), scan.resumePositions());
+    }
+
+    @Test
+    void testSearchStartingAtEndOfLog() {
+        var tp0 = new TopicPartition("t1", 0);
+        var consumer = new MockConsumer<byte[], byte[]>(OffsetResetStrategy.EARLIEST);
+        consumer.updatePartitions("t1", List.of(new PartitionInfo("t1", 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(tp0, 0L));
+        consumer.updateEndOffsets(Map.of(tp0, 5L));
+
+        service = new RecordService() {
+            @Override
+            String topicNameForId(String topicId) {
+                return "t1";
+            }
+        };
+        service.logger = Logger.getLogger(RecordService.class);
+        service.kafkaContext = kafkaContext;
+        service.decodeExecutor = executor;
+        service.objectMapper = new ObjectMapper();
+        service.consumer = consumer;
+        service.searchTimeout = Duration.ofSeconds(1);
+        service.searchMaxRecords = 1000;
+        service.searchMaxBytes = Long.MAX_VALUE;
+
+        var result = service.searchRecords("t1-id", null, 5L, null, null, 10, new RecordSearchParams(), List.of(), null);
+
+        assertTrue(result.records().isEmpty());
+        assertEquals(0, result.recordsScanned());
+        assertTrue(result.resume().isEmpty());
+        assertNull(result.stopReason());
+    }
+
+    static ConsumerRecord<byte[], byte[]> rawRecord(TopicPartition partition, int offset) {
+        byte[] value = ("value-" + offset).getBytes(StandardCharsets.UTF_8);
+        return new ConsumerRecord<>(partition.topic(), partition.partition(), offset, 1000L + offset, TimestampType.CREATE_TIME,
+                -1, value.length, null, value, new RecordHeaders(), Optional.empty());
+    }
+}
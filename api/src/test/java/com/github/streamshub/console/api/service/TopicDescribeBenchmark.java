@@ -0,0 +1,100 @@
+package com.github.streamshub.console.api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.Uuid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.streamshub.console.api.model.Topic;
+
+/**
+ * Measures building a described {@link Topic} and merging the results of
+ * listing offsets for each of its partitions, as performed by
+ * {@link TopicService} when describing a topic. The partition index of the
+ * topic model is compared with the linear search of the partition list
+ * previously used to merge each result.
+ *
+ * <p>Run with:
+ *
+ * <pre>
+ * mvn -pl api test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp api/target/test-classes:api/target/classes:$(cat api/target/cp.txt) \
+ *     org.openjdk.jmh.Main TopicDescribeBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TopicDescribeBenchmark {
+
+    static final List<String> OFFSET_KEYS = List.of("earliest", "latest", "maxTimestamp");
+
+    @Param({ "10", "300", "3000" })
+    int partitions;
+
+    @Param({ "true", "false" })
+    boolean indexed;
+
+    TopicService service = new TopicService();
+    TopicDescription description;
+    ListOffsetsResultInfo offset = new ListOffsetsResultInfo(100, -1, Optional.of(1));
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Node> nodes = List.of(new Node(0, "n0", 9092), new Node(1, "n1", 9092), new Node(2, "n2", 9092));
+        List<TopicPartitionInfo> partitionInfos = new ArrayList<>(partitions);
+
+        for (int p = 0; p < partitions; p++) {
+            partitionInfos.add(new TopicPartitionInfo(p, nodes.get(p % nodes.size()), nodes, nodes));
+        }
+
+        description = new TopicDescription("t", false, partitionInfos, null, Uuid.randomUuid());
+    }
+
+    @Benchmark
+    public Topic describeAndMergeOffsets() {
+        Topic topic = Topic.fromTopicDescription(description);
+
+        for (String key : OFFSET_KEYS) {
+            for (int p = 0; p < partitions; p++) {
+                if (indexed) {
+                    service.addOffset(topic, p, key, offset, null);
+                } else {
+                    addOffsetLinear(topic, p, key);
+                }
+            }
+        }
+
+        return topic;
+    }
+
+    void addOffsetLinear(Topic topic, int partitionNo, String key) {
+        topic.partitions()
+            .getPrimary()
+            .stream()
+            .filter(partition -> partition.getPartition() == partitionNo)
+            .findFirst()
+            .ifPresent(partition -> partition.addOffset(key, service.either(offset, null)));
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.streamshub.console.api.support;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.common.config.SaslConfigs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class AdminPoolTest {
+
+    static final Map<String, Object> USER1 = Map.of(SaslConfigs.SASL_JAAS_CONFIG, "user1");
+    static final Map<String, Object> USER2 = Map.of(SaslConfigs.SASL_JAAS_CONFIG, "user2");
+
+    List<Admin> created;
+    Function<Map<String, Object>, Admin> factory;
+
+    @BeforeEach
+    void setup() {
+        created = new ArrayList<>();
+        factory = configs -> {
+            Admin admin = mock(Admin.class);
+            created.add(admin);
+            return admin;
+        };
+    }
+
+    @Test
+    void testAdminSharedByPrincipal() {
+        var pool = new AdminPool("test", 4, Duration.ofMinutes(1));
+
+        var first = pool.acquire(USER1, null, factory);
+        var second = pool.acquire(USER1, null, factory);
+        var other = pool.acquire(USER2, null, factory);
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(2, created.size());
+
+        pool.release(first);
+        pool.release(second);
+        pool.release(other);
+
+        assertEquals(2, pool.size());
+        assertSame(first, pool.acquire(USER1, null, factory));
+        verify(first, never()).close();
+    }
+
+    @Test
+    void testIdleAndExpiredAdminsEvicted() {
+        var pool = new AdminPool("test", 4, Duration.ZERO);
+
+        var idle = pool.acquire(USER1, null, factory);
+        pool.release(idle);
+        var expired = pool.acquire(USER2, Instant.now().minusSeconds(1), factory);
+
+        assertEquals(2, pool.evictIdle());
+        assertEquals(0, pool.size());
+        verify(idle).close();
+
+        // Expired admin still in use is closed once released
+        verify(expired, never()).close();
+        pool.release(expired);
+        verify(expired).close();
+    }
+
+    @Test
+    void testExpiredAdminReplacedOnAcquire() {
+        var pool = new AdminPool("test", 4, Duration.ofMinutes(1));
+
+        var expired = pool.acquire(USER1, Instant.now().minusSeconds(1), factory);
+        pool.release(expired);
+
+        var replacement = pool.acquire(USER1, null, factory);
+        assertNotSame(expired, replacement);
+        verify(expired).close();
+    }
+
+    @Test
+    void testAdminNotPooledAtCapacity() {
+        var pool = new AdminPool("test", 1, Duration.ofMinutes(1));
+
+        var pooled = pool.acquire(USER1, null, factory);
+        var unpooled = pool.acquire(USER2, null, factory);
+
+        assertEquals(1, pool.size());
+        pool.release(unpooled);
+        verify(unpooled).close();
+
+        // Least recently used admin not in use is replaced
+        pool.release(pooled);
+        var replacement = pool.acquire(USER2, null, factory);
+        verify(pooled).close();
+        assertSame(replacement, pool.acquire(USER2, null, factory));
+    }
+
+    @Test
+    void testTokenExpiry() {
+        var mapper = new ObjectMapper();
+        var claims = Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString("{\"sub\":\"user1\",\"exp\":1700000000}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(Instant.ofEpochSecond(1700000000), AdminPool.tokenExpiry(mapper, "header." + claims + ".signature"));
+        assertNull(AdminPool.tokenExpiry(mapper, "opaque-token"));
+        assertNull(AdminPool.tokenExpiry(mapper, "header.not-json.signature"));
+    }
+}
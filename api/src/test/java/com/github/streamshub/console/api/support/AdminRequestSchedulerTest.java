@@ -0,0 +1,105 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdminRequestSchedulerTest {
+
+    /**
+     * Chunks requested and the pending results of each, completed by the tests.
+     */
+    final List<Map<Integer, KafkaFutureImpl<String>>> requests = new ArrayList<>();
+
+    Map<Integer, KafkaFuture<String>> request(Collection<Integer> chunk) {
+        Map<Integer, KafkaFutureImpl<String>> pending = chunk.stream()
+                .collect(Collectors.toMap(Function.identity(), key -> new KafkaFutureImpl<>()));
+        requests.add(pending);
+        return Map.copyOf(pending);
+    }
+
+    void complete(int request) {
+        requests.get(request).forEach((key, pending) -> pending.complete("v" + key));
+    }
+
+    static List<Integer> keys(int count) {
+        return IntStream.range(0, count).boxed().toList();
+    }
+
+    @Test
+    void testSingleChunkSentImmediately() throws Exception {
+        var scheduler = new AdminRequestScheduler(10, 1);
+
+        var first = scheduler.submit(keys(10), this::request);
+        var second = scheduler.submit(keys(5), this::request);
+
+        assertEquals(2, requests.size());
+        complete(1);
+        assertEquals("v4", second.get(4).get(5, TimeUnit.SECONDS));
+        assertFalse(first.get(0).isDone());
+    }
+
+    @Test
+    void testChunksLimitedInFlight() throws Exception {
+        var scheduler = new AdminRequestScheduler(10, 2);
+
+        var results = scheduler.submit(keys(45), this::request);
+
+        assertEquals(keys(45), List.copyOf(results.keySet()));
+        assertEquals(2, requests.size());
+        assertEquals(3, scheduler.queued());
+
+        complete(0);
+        // Results of a chunk complete without waiting for the others
+        assertEquals("v9", results.get(9).get(5, TimeUnit.SECONDS));
+        assertFalse(results.get(10).isDone());
+        assertEquals(3, requests.size());
+
+        complete(1);
+        complete(2);
+        complete(3);
+        complete(4);
+
+        assertEquals(5, requests.size());
+        assertEquals(5, requests.get(4).size());
+        assertEquals(0, scheduler.queued());
+        assertTrue(results.values().stream().allMatch(r -> r.isDone() && !r.isCompletedExceptionally()));
+    }
+
+    @Test
+    void testFailedChunkFailsOnlyItsKeys() throws Exception {
+        var scheduler = new AdminRequestScheduler(10, 1);
+
+        var results = scheduler.submit(keys(20), chunk -> {
+            if (chunk.contains(0)) {
+                throw new TimeoutException("timed out");
+            }
+            return request(chunk);
+        });
+
+        // The failed chunk released its slot, the second chunk was sent
+        assertEquals(1, requests.size());
+        complete(0);
+
+        var error = assertThrows(ExecutionException.class, () -> results.get(0).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertEquals("v10", results.get(10).get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,176 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.ListConsumerGroupsResult;
+import org.apache.kafka.common.ConsumerGroupState;
+import org.apache.kafka.common.errors.CoordinatorNotAvailableException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConsumerGroupCatalogTest {
+
+    Admin admin;
+    KafkaFutureImpl<Collection<ConsumerGroupListing>> pending;
+    KafkaFutureImpl<Collection<Throwable>> pendingErrors;
+
+    @BeforeEach
+    void setup() {
+        admin = mock(Admin.class);
+        when(admin.listConsumerGroups()).thenAnswer(invocation -> {
+            pending = new KafkaFutureImpl<>();
+            pendingErrors = new KafkaFutureImpl<>();
+            ListConsumerGroupsResult result = mock(ListConsumerGroupsResult.class);
+            when(result.valid()).thenReturn(pending);
+            when(result.errors()).thenReturn(pendingErrors);
+            return result;
+        });
+    }
+
+    static ConsumerGroupListing listing(String groupId) {
+        return new ConsumerGroupListing(groupId, false, Optional.of(ConsumerGroupState.STABLE));
+    }
+
+    void completeListing(ConsumerGroupListing... listings) {
+        pending.complete(List.of(listings));
+        pendingErrors.complete(List.of());
+    }
+
+    @Test
+    void testConcurrentRefreshesShareListing() throws Exception {
+        var catalog = new ConsumerGroupCatalog(Duration.ofMinutes(1));
+
+        var first = catalog.currentCatalog(admin);
+        var second = catalog.currentCatalog(admin);
+        verify(admin, times(1)).listConsumerGroups();
+
+        completeListing(listing("g1"), listing("g2"));
+
+        assertSame(catalog, first.toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertSame(catalog, second.toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertEquals(2, catalog.size());
+    }
+
+    @Test
+    void testCurrentCatalogNotListedAgain() throws Exception {
+        var catalog = new ConsumerGroupCatalog(Duration.ofMinutes(1));
+
+        var first = catalog.currentCatalog(admin);
+        assertFalse(catalog.current());
+
+        completeListing(listing("g1"), listing("g2"));
+
+        assertSame(catalog, first.toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertTrue(catalog.current());
+        assertTrue(catalog.contains("g1"));
+        assertEquals(2, catalog.size());
+
+        // Current, no further listing
+        catalog.currentCatalog(admin);
+        verify(admin, times(1)).listConsumerGroups();
+    }
+
+    @Test
+    void testRefreshReplacesGroups() throws Exception {
+        var catalog = new ConsumerGroupCatalog(Duration.ofMinutes(1));
+
+        var refresh = catalog.refresh(admin);
+        completeListing(listing("g1"), listing("g2"));
+        refresh.toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        refresh = catalog.refresh(admin);
+        completeListing(listing("g2"), listing("g3"));
+        refresh.toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertFalse(catalog.contains("g1"));
+        assertTrue(catalog.get("g3").isPresent());
+        assertEquals(2, catalog.listings().size());
+    }
+
+    @Test
+    void testPartialListingKeepsUnlistedGroups() throws Exception {
+        var catalog = new ConsumerGroupCatalog(Duration.ofMinutes(1));
+
+        var refresh = catalog.refresh(admin);
+        completeListing(listing("g1"), listing("g2"));
+        refresh.toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        refresh = catalog.refresh(admin);
+        pending.complete(List.of(listing("g3")));
+        pendingErrors.complete(List.of(new CoordinatorNotAvailableException("EXPECTED TEST EXCEPTION")));
+
+        // Groups of the brokers that did respond are still returned
+        assertSame(catalog, refresh.toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertTrue(catalog.contains("g1"));
+        assertTrue(catalog.contains("g3"));
+        assertEquals(3, catalog.size());
+    }
+
+    @Test
+    void testListingRequestedBeforeRemovalDiscarded() throws Exception {
+        var catalog = new ConsumerGroupCatalog(Duration.ofMinutes(1));
+
+        var refresh = catalog.refresh(admin);
+        completeListing(listing("g1"), listing("g2"));
+        refresh.toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        refresh = catalog.refresh(admin);
+        var stale = pending;
+        var staleErrors = pendingErrors;
+        catalog.remove("g1");
+
+        stale.complete(List.of(listing("g1"), listing("g2")));
+        staleErrors.complete(List.of());
+
+        // Listed again, the first listing may still include the deleted group
+        assertFalse(refresh.toCompletableFuture().isDone());
+        assertFalse(catalog.contains("g1"));
+        verify(admin, times(3)).listConsumerGroups();
+
+        completeListing(listing("g2"));
+
+        assertSame(catalog, refresh.toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertFalse(catalog.contains("g1"));
+        assertEquals(1, catalog.size());
+    }
+
+    @Test
+    void testInvalidatedCatalogRefreshed() throws Exception {
+        var catalog = new ConsumerGroupCatalog(Duration.ofMinutes(1));
+
+        var refresh = catalog.refresh(admin);
+        completeListing(listing("g1"));
+        refresh.toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        catalog.remove("g1");
+        assertFalse(catalog.contains("g1"));
+        assertTrue(catalog.current());
+
+        catalog.invalidate();
+        assertFalse(catalog.current());
+
+        refresh = catalog.currentCatalog(admin);
+        completeListing(listing("g1"), listing("g2"));
+        refresh.toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertTrue(catalog.current());
+        assertEquals(2, catalog.size());
+        verify(admin, times(2)).listConsumerGroups();
+    }
+}
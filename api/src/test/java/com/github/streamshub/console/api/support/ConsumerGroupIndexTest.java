@@ -0,0 +1,152 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.DescribeConsumerGroupsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.MemberAssignment;
+import org.apache.kafka.clients.admin.MemberDescription;
+import org.apache.kafka.clients.admin.TopicListing;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.ConsumerGroupState;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.Uuid;
+import org.apache.kafka.common.errors.GroupAuthorizationException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConsumerGroupIndexTest {
+
+    static ConsumerGroupListing listing(String groupId, ConsumerGroupState state) {
+        return new ConsumerGroupListing(groupId, false, Optional.of(state));
+    }
+
+    @Test
+    void testGroupsByTopic() {
+        var index = new ConsumerGroupIndex(Duration.ofMinutes(5));
+        Instant now = Instant.now();
+
+        index.put("g1", ConsumerGroupState.STABLE, Set.of("t1", "t2"), now);
+        index.put("g2", ConsumerGroupState.STABLE, Set.of("t2"), now);
+
+        var result = index.groupsByTopic(List.of("t1", "t2", "t3"));
+
+        assertEquals(List.of("g1"), result.get("t1"));
+        assertEquals(Set.of("g1", "g2"), Set.copyOf(result.get("t2")));
+        assertFalse(result.containsKey("t3"));
+        assertFalse(index.populated());
+    }
+
+    @Test
+    void testPutReplacesTopics() {
+        var index = new ConsumerGroupIndex(Duration.ofMinutes(5));
+        Instant now = Instant.now();
+
+        index.put("g1", ConsumerGroupState.STABLE, Set.of("t1", "t2"), now);
+        index.put("g1", ConsumerGroupState.STABLE, Set.of("t2", "t3"), now);
+
+        assertEquals(Map.of("t2", List.of("g1"), "t3", List.of("g1")), index.groupsByTopic(List.of("t1", "t2", "t3")));
+    }
+
+    @Test
+    void testRetainSelectsChangedGroups() {
+        var index = new ConsumerGroupIndex(Duration.ofMinutes(5));
+        Instant now = Instant.now();
+
+        index.put("unchanged", ConsumerGroupState.STABLE, Set.of("t1"), now);
+        index.put("rebalancing", ConsumerGroupState.STABLE, Set.of("t1"), now);
+        index.put("expired", ConsumerGroupState.STABLE, Set.of("t1"), now.minus(Duration.ofMinutes(10)));
+        index.put("removed", ConsumerGroupState.STABLE, Set.of("t1"), now);
+
+        var changed = index.retain(List.of(
+                listing("unchanged", ConsumerGroupState.STABLE),
+                listing("rebalancing", ConsumerGroupState.PREPARING_REBALANCE),
+                listing("expired", ConsumerGroupState.STABLE),
+                listing("new", ConsumerGroupState.COMPLETING_REBALANCE),
+                listing("empty", ConsumerGroupState.EMPTY)), now);
+
+        assertEquals(Map.of(
+                "rebalancing", ConsumerGroupState.PREPARING_REBALANCE,
+                "expired", ConsumerGroupState.STABLE,
+                "new", ConsumerGroupState.COMPLETING_REBALANCE), changed);
+        assertEquals(3, index.size());
+        assertEquals(Set.of("unchanged", "rebalancing", "expired"),
+                Set.copyOf(index.groupsByTopic(List.of("t1")).get("t1")));
+    }
+
+    static KafkaFuture<ConsumerGroupDescription> description(String groupId) {
+        if (groupId.equals("denied")) {
+            var denied = new KafkaFutureImpl<ConsumerGroupDescription>();
+            denied.completeExceptionally(new GroupAuthorizationException("denied"));
+            return denied;
+        }
+
+        var member = new MemberDescription("m1", "c1", "h1", new MemberAssignment(Set.of(new TopicPartition("t1", 0))));
+        return KafkaFuture.completedFuture(new ConsumerGroupDescription(groupId, false, List.of(member),
+                "range", ConsumerGroupState.STABLE, null));
+    }
+
+    @Test
+    void testDescribeSentInChunks() throws Exception {
+        var index = new ConsumerGroupIndex(Duration.ofMinutes(5));
+        var topicIndex = new TopicIndex();
+        Uuid t1 = Uuid.randomUuid();
+        Uuid t2 = Uuid.randomUuid();
+        topicIndex.update(List.of(new TopicListing("t1", t1, false), new TopicListing("t2", t2, false)));
+
+        Admin admin = mock(Admin.class);
+        when(admin.describeConsumerGroups(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> groupIds = invocation.getArgument(0);
+            return new DescribeConsumerGroupsResult(groupIds.stream()
+                    .collect(Collectors.toMap(Function.identity(), groupId -> description(groupId))));
+        });
+        when(admin.listConsumerGroupOffsets(anyMap())).thenAnswer(invocation -> {
+            ListConsumerGroupOffsetsResult result = mock(ListConsumerGroupOffsetsResult.class);
+            when(result.partitionsToOffsetAndMetadata(anyString())).thenAnswer(call -> KafkaFuture.completedFuture(
+                    "g2".equals(call.getArgument(0))
+                        ? Map.of(new TopicPartition("t2", 0), new OffsetAndMetadata(1))
+                        : Map.<TopicPartition, OffsetAndMetadata>of()));
+            return result;
+        });
+
+        index.describe(admin, new AdminRequestScheduler(1, 1), topicIndex, Map.of(
+                "g1", ConsumerGroupState.STABLE,
+                "g2", ConsumerGroupState.STABLE,
+                "denied", ConsumerGroupState.STABLE))
+            .toCompletableFuture()
+            .get(5, TimeUnit.SECONDS);
+
+        // One request of each kind per group
+        verify(admin, times(3)).describeConsumerGroups(anyCollection());
+        verify(admin, times(3)).listConsumerGroupOffsets(anyMap());
+
+        // The group that could not be described is not indexed
+        var result = index.groupsByTopic(List.of(t1.toString(), t2.toString()));
+        assertEquals(Set.of("g1", "g2"), Set.copyOf(result.get(t1.toString())));
+        assertEquals(List.of("g2"), result.get(t2.toString()));
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,202 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupsResult;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.CoordinatorNotAvailableException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConsumerLagMetricsTest {
+
+    static final TopicPartition T1P0 = new TopicPartition("t1", 0);
+    static final TopicPartition T1P1 = new TopicPartition("t1", 1);
+    static final TopicPartition T2P0 = new TopicPartition("t2", 0);
+
+    MeterRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    ConsumerLagMetrics metrics(List<String> groups, int maxGroups, boolean partitions) {
+        return new ConsumerLagMetrics(registry, "c1", new ConsumerLagMetrics.Settings(
+                groups.stream().map(Pattern::compile).toList(), maxGroups, 2, partitions, 10));
+    }
+
+    Gauge gauge(String name, String groupId, String topic, String partition) {
+        var search = registry.find(name).tags("cluster", "c1", "consumergroup", groupId, "topic", topic);
+
+        if (partition != null) {
+            search = search.tag("partition", partition);
+        }
+
+        return search.gauge();
+    }
+
+    static ConsumerGroupListing listing(String groupId) {
+        return new ConsumerGroupListing(groupId, false, Optional.empty());
+    }
+
+    @Test
+    void testTopicLagSummed() {
+        var metrics = metrics(List.of(), 10, false);
+
+        metrics.update(
+                Map.of("g1", Map.of(T1P0, new OffsetAndMetadata(10), T1P1, new OffsetAndMetadata(5), T2P0, new OffsetAndMetadata(7))),
+                Set.of(),
+                Map.of(T1P0, 15L, T1P1, 25L, T2P0, 6L));
+
+        assertEquals(25, gauge(ConsumerLagMetrics.LAG_SUM, "g1", "t1", null).value());
+        // Latest offset older than the committed offset
+        assertEquals(0, gauge(ConsumerLagMetrics.LAG_SUM, "g1", "t2", null).value());
+        assertNull(registry.find(ConsumerLagMetrics.LAG).gauge());
+        assertEquals(2, metrics.size());
+    }
+
+    @Test
+    void testPartitionGaugesUpdatedAndRemoved() {
+        var metrics = metrics(List.of(), 10, true);
+
+        metrics.update(
+                Map.of("g1", Map.of(T1P0, new OffsetAndMetadata(10), T1P1, new OffsetAndMetadata(5)),
+                       "g2", Map.of(T2P0, new OffsetAndMetadata(1))),
+                Set.of(),
+                Map.of(T1P0, 15L, T1P1, 25L, T2P0, 3L));
+
+        assertEquals(5, gauge(ConsumerLagMetrics.LAG, "g1", "t1", "0").value());
+        assertEquals(20, gauge(ConsumerLagMetrics.LAG, "g1", "t1", "1").value());
+        assertEquals(2, gauge(ConsumerLagMetrics.LAG, "g2", "t2", "0").value());
+        assertEquals(5, metrics.size());
+
+        Gauge g1p0 = gauge(ConsumerLagMetrics.LAG, "g1", "t1", "0");
+
+        metrics.update(
+                Map.of("g1", Map.of(T1P0, new OffsetAndMetadata(12))),
+                Set.of(),
+                Map.of(T1P0, 20L, T1P1, 25L, T2P0, 3L));
+
+        assertEquals(8, g1p0.value());
+        assertEquals(8, gauge(ConsumerLagMetrics.LAG_SUM, "g1", "t1", null).value());
+        assertNull(gauge(ConsumerLagMetrics.LAG, "g1", "t1", "1"));
+        assertNull(gauge(ConsumerLagMetrics.LAG_SUM, "g2", "t2", null));
+        assertEquals(2, metrics.size());
+
+        metrics.close();
+        assertEquals(0, registry.getMeters().size());
+    }
+
+    @Test
+    void testGroupsAllowedAndLimited() {
+        var metrics = metrics(List.of("app-.*", "other"), 2, false);
+
+        var groupIds = metrics.groupIds(List.of(
+                listing("app-c"),
+                listing("excluded"),
+                listing("app-a"),
+                listing("other")));
+
+        assertEquals(List.of("app-a", "app-c"), groupIds);
+    }
+
+    @Test
+    void testFailedGroupSkipped() throws Exception {
+        var metrics = metrics(List.of(), 10, false);
+
+        Admin admin = mock(Admin.class);
+        when(admin.listConsumerGroupOffsets(anyMap())).thenAnswer(invocation -> {
+            ListConsumerGroupOffsetsResult result = mock(ListConsumerGroupOffsetsResult.class);
+            when(result.partitionsToOffsetAndMetadata(anyString())).thenAnswer(call -> {
+                String groupId = call.getArgument(0);
+
+                if (groupId.equals("g2")) {
+                    var failed = new KafkaFutureImpl<Map<TopicPartition, OffsetAndMetadata>>();
+                    failed.completeExceptionally(new CoordinatorNotAvailableException("unavailable"));
+                    return failed;
+                }
+
+                return KafkaFuture.completedFuture(Map.of(T1P0, new OffsetAndMetadata(10)));
+            });
+            return result;
+        });
+
+        metrics.update(
+                Map.of("g1", Map.of(T1P0, new OffsetAndMetadata(5)),
+                       "g2", Map.of(T2P0, new OffsetAndMetadata(1))),
+                Set.of(),
+                Map.of(T1P0, 15L, T2P0, 3L));
+        assertEquals(2, metrics.size());
+
+        // g2 shares its batch with g1
+        var committed = metrics.committedOffsets(admin, List.of("g1", "g2", "g3"))
+                .toCompletableFuture()
+                .get(5, TimeUnit.SECONDS);
+
+        verify(admin, times(2)).listConsumerGroupOffsets(anyMap());
+        assertEquals(Set.of("g1", "g3"), committed.offsets().keySet());
+        assertEquals(Set.of("g2"), committed.failed());
+
+        metrics.update(committed.offsets(), committed.failed(), Map.of(T1P0, 15L, T2P0, 3L));
+
+        assertEquals(5, gauge(ConsumerLagMetrics.LAG_SUM, "g1", "t1", null).value());
+        assertEquals(5, gauge(ConsumerLagMetrics.LAG_SUM, "g3", "t1", null).value());
+        // No longer published with its previous lag, but its history is retained
+        assertNull(gauge(ConsumerLagMetrics.LAG_SUM, "g2", "t2", null));
+        assertEquals(Set.of("t2"), metrics.history().trends("g2").keySet());
+    }
+
+    @Test
+    void testFailedCollectRemovesGauges() {
+        var metrics = metrics(List.of(), 10, false);
+
+        metrics.update(
+                Map.of("g1", Map.of(T1P0, new OffsetAndMetadata(5))),
+                Set.of(),
+                Map.of(T1P0, 15L));
+        assertEquals(1, metrics.size());
+
+        var pending = new KafkaFutureImpl<Collection<ConsumerGroupListing>>();
+        pending.completeExceptionally(new TimeoutException("timed out"));
+        ListConsumerGroupsResult listing = mock(ListConsumerGroupsResult.class);
+        when(listing.valid()).thenReturn(pending);
+        Admin admin = mock(Admin.class);
+        when(admin.listConsumerGroups()).thenReturn(listing);
+
+        var collect = metrics.collect(admin, new EndOffsetCache(Duration.ofSeconds(5), 5000));
+
+        assertThrows(ExecutionException.class, () -> collect.toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertEquals(0, metrics.size());
+        assertNull(gauge(ConsumerLagMetrics.LAG_SUM, "g1", "t1", null));
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.SaslConfigs;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsumerPoolTest {
+
+    static final Map<String, Object> ANONYMOUS = Map.of();
+    static final Map<String, Object> USER1 = Map.of(SaslConfigs.SASL_JAAS_CONFIG, "user1");
+    static final Map<String, Object> USER2 = Map.of(SaslConfigs.SASL_JAAS_CONFIG, "user2");
+
+    List<MockConsumer<String, String>> created;
+
+    @BeforeEach
+    void setup() {
+        created = new ArrayList<>();
+    }
+
+    ConsumerPool<String, String> pool(int maxSize, Duration idleTimeout) {
+        return new ConsumerPool<>("test", configs -> {
+            var consumer = new MockConsumer<String, String>(OffsetResetStrategy.EARLIEST);
+            created.add(consumer);
+            return consumer;
+        }, maxSize, idleTimeout, Duration.ofMillis(50));
+    }
+
+    @Test
+    void testCheckinConsumerReused() {
+        var pool = pool(2, Duration.ofMinutes(1));
+        var consumer = pool.checkout(ANONYMOUS);
+        consumer.assign(List.of(new TopicPartition("t1", 0)));
+        assertTrue(pool.checkin(consumer));
+
+        assertEquals(1, pool.idleCount());
+        assertTrue(consumer.assignment().isEmpty());
+        assertSame(consumer, pool.checkout(ANONYMOUS));
+        assertEquals(1, created.size());
+    }
+
+    @Test
+    void testConsumersNotSharedBetweenPrincipals() {
+        var pool = pool(4, Duration.ofMinutes(1));
+        var consumer1 = pool.checkout(USER1);
+        pool.checkin(consumer1);
+
+        var consumer2 = pool.checkout(USER2);
+        assertNotSame(consumer1, consumer2);
+        assertSame(consumer1, pool.checkout(USER1));
+    }
+
+    @Test
+    void testLeastRecentlyUsedReplacedAtCapacity() {
+        var pool = pool(1, Duration.ofMinutes(1));
+        var consumer1 = pool.checkout(USER1);
+        pool.checkin(consumer1);
+
+        var consumer2 = pool.checkout(USER2);
+        assertNotSame(consumer1, consumer2);
+        assertTrue(created.get(0).closed());
+        assertEquals(1, pool.leasedCount());
+        assertEquals(0, pool.idleCount());
+    }
+
+    @Test
+    void testCheckoutTimesOutWhenExhausted() {
+        var pool = pool(1, Duration.ofMinutes(1));
+        pool.checkout(ANONYMOUS);
+        assertThrows(TimeoutException.class, () -> pool.checkout(ANONYMOUS));
+    }
+
+    @Test
+    void testIdleConsumersEvicted() {
+        var pool = pool(2, Duration.ZERO);
+        Consumer<String, String> consumer = pool.checkout(ANONYMOUS);
+        pool.checkin(consumer);
+
+        assertEquals(1, pool.evictIdle());
+        assertEquals(0, pool.idleCount());
+        assertTrue(created.get(0).closed());
+    }
+
+    @Test
+    void testCheckinAfterCloseClosesConsumer() {
+        var pool = pool(2, Duration.ofMinutes(1));
+        var consumer = pool.checkout(ANONYMOUS);
+        pool.close();
+
+        assertTrue(pool.checkin(consumer));
+        assertTrue(created.get(0).closed());
+        assertFalse(pool.checkin(new MockConsumer<>(OffsetResetStrategy.EARLIEST)));
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListOffsetsOptions;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EndOffsetCacheTest {
+
+    static final TopicPartition P0 = new TopicPartition("t1", 0);
+    static final TopicPartition P1 = new TopicPartition("t1", 1);
+
+    Admin admin;
+    Map<TopicPartition, KafkaFutureImpl<ListOffsetsResultInfo>> pending;
+
+    @BeforeEach
+    void setup() {
+        admin = mock(Admin.class);
+        when(admin.listOffsets(any(), any(ListOffsetsOptions.class))).thenAnswer(invocation -> {
+            Map<TopicPartition, OffsetSpec> request = invocation.getArgument(0);
+            pending = request.keySet()
+                    .stream()
+                    .collect(Collectors.toMap(Function.identity(), p -> new KafkaFutureImpl<>()));
+            return new ListOffsetsResult(Map.copyOf(pending));
+        });
+    }
+
+    static ListOffsetsResultInfo offset(long offset) {
+        return new ListOffsetsResultInfo(offset, -1, Optional.empty());
+    }
+
+    static long get(CompletionStage<ListOffsetsResultInfo> stage) throws Exception {
+        return stage.toCompletableFuture().get(5, TimeUnit.SECONDS).offset();
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<TopicPartition, OffsetSpec> lastRequest(int invocations) {
+        ArgumentCaptor<Map<TopicPartition, OffsetSpec>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(admin, times(invocations)).listOffsets(captor.capture(), any(ListOffsetsOptions.class));
+        return captor.getValue();
+    }
+
+    @Test
+    void testConcurrentRequestsShareFetch() throws Exception {
+        var cache = new EndOffsetCache(Duration.ofMinutes(1), 5000);
+
+        var first = cache.latestOffsets(admin, List.of(P0, P1));
+        var second = cache.latestOffsets(admin, List.of(P0, P1));
+
+        // Nothing left to fetch for the second request
+        assertEquals(Set.of(P0, P1), lastRequest(1).keySet());
+
+        pending.get(P0).complete(offset(10));
+        pending.get(P1).complete(offset(20));
+        assertEquals(10, get(first.get(P0)));
+        assertEquals(10, get(second.get(P0)));
+        assertEquals(20, get(first.get(P1)));
+        assertEquals(20, get(second.get(P1)));
+    }
+
+    @Test
+    void testOnlyPartitionsNotFetchingRequested() throws Exception {
+        var cache = new EndOffsetCache(Duration.ofMinutes(1), 5000);
+
+        var first = cache.latestOffsets(admin, List.of(P0));
+        var firstFetch = pending;
+        var second = cache.latestOffsets(admin, List.of(P0, P1));
+
+        // P0 is fetched once, the second request only fetches P1
+        assertEquals(Set.of(P1), lastRequest(2).keySet());
+
+        firstFetch.get(P0).complete(offset(10));
+        pending.get(P1).complete(offset(20));
+        assertEquals(10, get(first.get(P0)));
+        assertEquals(10, get(second.get(P0)));
+        assertEquals(20, get(second.get(P1)));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testCachedOffsetsReusedUntilExpired() throws Exception {
+        var cache = new EndOffsetCache(Duration.ofMinutes(1), 5000);
+
+        var first = cache.latestOffsets(admin, List.of(P0));
+        pending.get(P0).complete(offset(10));
+        assertEquals(10, get(first.get(P0)));
+
+        var second = cache.latestOffsets(admin, List.of(P0));
+        assertEquals(10, get(second.get(P0)));
+        lastRequest(1);
+
+        var expiring = new EndOffsetCache(Duration.ZERO, 5000);
+        expiring.latestOffsets(admin, List.of(P0));
+        pending.get(P0).complete(offset(10));
+        var refreshed = expiring.latestOffsets(admin, List.of(P0));
+        pending.get(P0).complete(offset(11));
+
+        assertEquals(11, get(refreshed.get(P0)));
+        lastRequest(3);
+    }
+
+    @Test
+    void testFailuresNotCached() throws Exception {
+        var cache = new EndOffsetCache(Duration.ofMinutes(1), 5000);
+
+        var failed = cache.latestOffsets(admin, List.of(P0)).get(P0).toCompletableFuture();
+        var concurrent = cache.latestOffsets(admin, List.of(P0)).get(P0).toCompletableFuture();
+        pending.get(P0).completeExceptionally(new TimeoutException("timed out"));
+
+        assertThrows(Exception.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertThrows(Exception.class, () -> concurrent.get(5, TimeUnit.SECONDS));
+        assertEquals(0, cache.size());
+
+        var retried = cache.latestOffsets(admin, List.of(P0));
+        assertFalse(retried.get(P0).toCompletableFuture().isDone());
+        pending.get(P0).complete(offset(5));
+        assertEquals(5, get(retried.get(P0)));
+        lastRequest(2);
+    }
+}
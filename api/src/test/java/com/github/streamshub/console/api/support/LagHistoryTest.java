@@ -0,0 +1,115 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LagHistoryTest {
+
+    static LagHistory.Sample sample(long committed, long latest) {
+        var sample = new LagHistory.Sample();
+        sample.committed = committed;
+        sample.latest = latest;
+        return sample;
+    }
+
+    static LagHistory.Sample sample(long committed, long latest, Integer... partitions) {
+        var sample = sample(committed, latest);
+        sample.partitions.addAll(Arrays.asList(partitions));
+        return sample;
+    }
+
+    static LagHistory.Sample incomplete() {
+        var sample = new LagHistory.Sample();
+        sample.complete = false;
+        return sample;
+    }
+
+    @Test
+    void testTrendCatchingUp() {
+        var history = new LagHistory(3);
+
+        history.record(Map.of("g1", Map.of("t1", sample(0, 1000))), 0);
+        history.record(Map.of("g1", Map.of("t1", sample(300, 1100))), 10_000);
+        history.record(Map.of("g1", Map.of("t1", sample(600, 1200))), 20_000);
+
+        var trend = history.trends("g1").get("t1");
+
+        assertEquals(600, trend.lag());
+        assertEquals(30, trend.consumptionRate(), 0.001);
+        assertEquals(10, trend.productionRate(), 0.001);
+        assertEquals(-20, trend.lagRate(), 0.001);
+        assertEquals(20, trend.windowSeconds(), 0.001);
+        assertEquals(30, trend.timeToCatchUp(), 0.001);
+    }
+
+    @Test
+    void testOldestSamplesReplaced() {
+        var history = new LagHistory(2);
+
+        history.record(Map.of("g1", Map.of("t1", sample(0, 0))), 0);
+        history.record(Map.of("g1", Map.of("t1", sample(100, 200))), 10_000);
+        history.record(Map.of("g1", Map.of("t1", sample(150, 400))), 20_000);
+        // Not recorded
+        history.record(Map.of("g1", Map.of("t1", incomplete())), 30_000);
+
+        var trend = history.trends("g1").get("t1");
+
+        assertEquals(250, trend.lag());
+        assertEquals(5, trend.consumptionRate(), 0.001);
+        assertEquals(20, trend.productionRate(), 0.001);
+        assertEquals(10, trend.windowSeconds(), 0.001);
+        assertNull(trend.timeToCatchUp());
+    }
+
+    @Test
+    void testSeriesRestartedWhenPartitionsChange() {
+        var history = new LagHistory(5);
+
+        history.record(Map.of("g1", Map.of("t1", sample(0, 100, 0))), 0);
+        history.record(Map.of("g1", Map.of("t1", sample(50, 150, 0))), 10_000);
+        // First commit to partition 1, whose offsets are added to the sums
+        history.record(Map.of("g1", Map.of("t1", sample(1100, 1250, 0, 1))), 20_000);
+
+        var trend = history.trends("g1").get("t1");
+
+        assertEquals(150, trend.lag());
+        assertEquals(0, trend.consumptionRate(), 0.001);
+        assertEquals(0, trend.productionRate(), 0.001);
+        assertEquals(0, trend.windowSeconds(), 0.001);
+        assertNull(trend.timeToCatchUp());
+
+        history.record(Map.of("g1", Map.of("t1", sample(1200, 1300, 0, 1))), 30_000);
+
+        trend = history.trends("g1").get("t1");
+
+        assertEquals(100, trend.lag());
+        assertEquals(10, trend.consumptionRate(), 0.001);
+        assertEquals(5, trend.productionRate(), 0.001);
+        assertEquals(10, trend.windowSeconds(), 0.001);
+        assertEquals(20, trend.timeToCatchUp(), 0.001);
+    }
+
+    @Test
+    void testUnsampledSeriesRemoved() {
+        var history = new LagHistory(2);
+
+        history.record(Map.of("g1", Map.of("t1", sample(0, 10), "t2", sample(5, 5)),
+                              "g2", Map.of("t1", sample(0, 0))), 0);
+
+        var single = history.trends("g1").get("t2");
+        assertEquals(0, single.lag());
+        assertEquals(0d, single.timeToCatchUp());
+
+        history.record(Map.of("g1", Map.of("t1", sample(10, 10))), 10_000);
+
+        assertEquals(1, history.trends("g1").size());
+        assertEquals(0, history.trends("g1").get("t1").lag());
+        assertTrue(history.trends("g2").isEmpty());
+    }
+}
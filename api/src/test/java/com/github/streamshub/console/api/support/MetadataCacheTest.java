@@ -0,0 +1,168 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.errors.UnknownTopicIdException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetadataCacheTest {
+
+    /**
+     * Keys requested by each load and their pending results, completed by the
+     * tests.
+     */
+    final List<Map<String, CompletableFuture<String>>> loads = new ArrayList<>();
+
+    Map<String, CompletableFuture<String>> load(Collection<String> keys) {
+        Map<String, CompletableFuture<String>> pending = keys.stream()
+                .collect(Collectors.toMap(Function.identity(), key -> new CompletableFuture<>()));
+        loads.add(pending);
+        return Map.copyOf(pending);
+    }
+
+    void complete(int load, String suffix) {
+        loads.get(load).forEach((key, pending) -> pending.complete(key + suffix));
+    }
+
+    static <V> V value(CompletableFuture<MetadataCache.Cached<V>> result) throws Exception {
+        return result.get(5, TimeUnit.SECONDS).value();
+    }
+
+    @Test
+    void testFreshEntriesNotFetched() throws Exception {
+        var cache = new MetadataCache<String, String>(Duration.ofMinutes(1), Duration.ofMinutes(5));
+
+        var first = cache.get(List.of("a", "b"), this::load);
+        assertEquals(1, loads.size());
+
+        complete(0, "1");
+        assertEquals("a1", value(first.get("a")));
+
+        var second = cache.get(List.of("b", "c"), this::load);
+        assertEquals(2, loads.size());
+        assertEquals(List.of("c"), List.copyOf(loads.get(1).keySet()));
+        assertEquals("b1", value(second.get("b")));
+        assertFalse(second.get("c").isDone());
+    }
+
+    @Test
+    void testConcurrentFetchesShared() throws Exception {
+        var cache = new MetadataCache<String, String>(Duration.ofMinutes(1), Duration.ofMinutes(5));
+
+        var first = cache.get(List.of("a", "b"), this::load);
+        var concurrent = cache.get(List.of("b"), this::load);
+        assertEquals(1, loads.size());
+
+        complete(0, "1");
+        assertEquals("b1", value(first.get("b")));
+        assertEquals("b1", value(concurrent.get("b")));
+    }
+
+    @Test
+    void testStaleEntriesRevalidated() throws Exception {
+        var cache = new MetadataCache<String, String>(Duration.ZERO, Duration.ofMinutes(5));
+
+        var first = cache.get(List.of("a"), this::load);
+        complete(0, "1");
+        var fetched = first.get("a").get(5, TimeUnit.SECONDS).fetched();
+
+        // Stale value used immediately while revalidated once
+        var second = cache.get(List.of("a"), this::load);
+        var third = cache.get(List.of("a"), this::load);
+        assertEquals("a1", value(second.get("a")));
+        assertEquals("a1", value(third.get("a")));
+        assertEquals(fetched, second.get("a").get().fetched());
+        assertEquals(2, loads.size());
+
+        complete(1, "2");
+        assertEquals("a2", value(cache.get(List.of("a"), this::load).get("a")));
+    }
+
+    @Test
+    void testInvalidatedDuringFetchNotCached() throws Exception {
+        var cache = new MetadataCache<String, String>(Duration.ofMinutes(1), Duration.ofMinutes(5));
+
+        var first = cache.get(List.of("a"), this::load);
+        cache.invalidate("a");
+        complete(0, "1");
+
+        // The request still receives the result, but it is not cached
+        assertEquals("a1", value(first.get("a")));
+        assertEquals(0, cache.size());
+
+        var second = cache.get(List.of("a"), this::load);
+        assertEquals(2, loads.size());
+        complete(1, "2");
+        assertEquals("a2", value(second.get("a")));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testFailuresNotCached() throws Exception {
+        var cache = new MetadataCache<String, String>(Duration.ofMinutes(1), Duration.ofMinutes(5));
+
+        var first = cache.get(List.of("a"), this::load);
+        loads.get(0).get("a").completeExceptionally(new TimeoutException("timed out"));
+
+        var error = assertThrows(ExecutionException.class, () -> first.get("a").get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertEquals(0, cache.size());
+
+        var second = cache.get(List.of("a"), this::load);
+        assertEquals(2, loads.size());
+        complete(1, "2");
+        assertEquals("a2", value(second.get("a")));
+    }
+
+    @Test
+    void testNotFoundRevalidationEvictsEntry() throws Exception {
+        var cache = new MetadataCache<String, String>(Duration.ZERO, Duration.ofMinutes(5));
+
+        var first = cache.get(List.of("a"), this::load);
+        complete(0, "1");
+        assertEquals("a1", value(first.get("a")));
+
+        // Stale value used while revalidated, the resource has been deleted meanwhile
+        var second = cache.get(List.of("a"), this::load);
+        assertEquals("a1", value(second.get("a")));
+        loads.get(1).get("a").completeExceptionally(new UnknownTopicIdException("deleted"));
+        assertEquals(0, cache.size());
+
+        var third = cache.get(List.of("a"), this::load);
+        assertEquals(3, loads.size());
+        loads.get(2).get("a").completeExceptionally(new UnknownTopicIdException("deleted"));
+
+        var error = assertThrows(ExecutionException.class, () -> third.get("a").get(5, TimeUnit.SECONDS));
+        assertInstanceOf(UnknownTopicIdException.class, error.getCause());
+    }
+
+    @Test
+    void testExpiredEntriesEvicted() throws Exception {
+        var cache = new MetadataCache<String, String>(Duration.ZERO, Duration.ZERO);
+
+        var first = cache.get(List.of("a"), this::load);
+        complete(0, "1");
+        first.get("a").get(5, TimeUnit.SECONDS);
+        assertEquals(1, cache.size());
+
+        cache.evictExpired();
+        assertEquals(0, cache.size());
+        assertTrue(loads.get(0).get("a").isDone());
+    }
+}
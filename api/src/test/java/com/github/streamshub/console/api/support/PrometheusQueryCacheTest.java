@@ -0,0 +1,108 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrometheusQueryCacheTest {
+
+    static final Instant TIME = Instant.parse("2024-01-01T00:00:00Z");
+    static final PrometheusQueryCache.Key KEY = new PrometheusQueryCache.Key("up", TIME.minusSeconds(1800), TIME, "25");
+
+    final AtomicInteger queries = new AtomicInteger();
+    CompletableFuture<PrometheusResponse> pending;
+
+    CompletableFuture<PrometheusResponse> query() {
+        queries.incrementAndGet();
+        pending = new CompletableFuture<>();
+        return pending;
+    }
+
+    static PrometheusResponse response(String status) {
+        return new PrometheusResponse(status, null, List.of());
+    }
+
+    @Test
+    void testConcurrentQueriesShareResponse() throws Exception {
+        var cache = new PrometheusQueryCache(Duration.ofMinutes(1));
+
+        var first = cache.get(KEY, this::query).toCompletableFuture();
+        var second = cache.get(KEY, this::query).toCompletableFuture();
+        assertEquals(1, queries.get());
+
+        pending.complete(response("success"));
+        assertEquals(response("success"), first.get(5, TimeUnit.SECONDS));
+        assertEquals(response("success"), second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testResponseCachedUntilExpired() throws Exception {
+        var cache = new PrometheusQueryCache(Duration.ofMinutes(1));
+
+        cache.get(KEY, this::query);
+        pending.complete(response("success"));
+
+        var cached = cache.get(KEY, this::query).toCompletableFuture();
+        assertEquals(response("success"), cached.get(5, TimeUnit.SECONDS));
+        assertEquals(1, queries.get());
+        assertEquals(1, cache.size());
+
+        // Different window is a different query
+        cache.get(new PrometheusQueryCache.Key("up", TIME.minusSeconds(1775), TIME.plusSeconds(25), "25"), this::query);
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void testExpiredResponseQueriedAgain() {
+        var cache = new PrometheusQueryCache(Duration.ZERO);
+
+        cache.get(KEY, this::query);
+        pending.complete(response("success"));
+        cache.get(KEY, this::query);
+
+        assertEquals(2, queries.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testFailureNotCached() {
+        var cache = new PrometheusQueryCache(Duration.ofMinutes(1));
+
+        var first = cache.get(KEY, this::query).toCompletableFuture();
+        pending.completeExceptionally(new IllegalStateException("EXPECTED"));
+
+        var error = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals(0, cache.size());
+
+        cache.get(KEY, this::query);
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void testQueryCancelledWhenNoCallerWaiting() {
+        var cache = new PrometheusQueryCache(Duration.ofMinutes(1));
+
+        var first = cache.get(KEY, this::query).toCompletableFuture();
+        var second = cache.get(KEY, this::query).toCompletableFuture();
+
+        first.cancel(true);
+        assertFalse(pending.isCancelled());
+
+        second.cancel(true);
+        assertTrue(pending.isCancelled());
+        assertEquals(0, cache.size());
+    }
+}
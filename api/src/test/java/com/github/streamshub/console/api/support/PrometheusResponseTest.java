@@ -0,0 +1,97 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.json.stream.JsonParsingException;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.streamshub.console.api.model.Metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrometheusResponseTest {
+
+    @Test
+    void testParseInstantQueryResponse() {
+        var response = PrometheusResponse.parse("""
+                {
+                  "status": "success",
+                  "data": {
+                    "resultType": "vector",
+                    "result": [
+                      { "metric": { "__name__": "up", "nodeId": "0" }, "value": [ 1700000000.123, "1" ] },
+                      { "metric": { "__name__": "up", "nodeId": "1" }, "value": [ 1700000000.123, "NaN" ] }
+                    ]
+                  },
+                  "warnings": [ "ignored" ]
+                }
+                """);
+
+        assertEquals("success", response.status());
+        assertEquals(2, response.result().size());
+
+        var first = response.result().get(0);
+        assertEquals(Map.of("__name__", "up", "nodeId", "0"), first.metric());
+        assertEquals(List.of(new Metrics.RangeEntry(Instant.ofEpochMilli(1700000000123L), "1")), first.samples());
+        assertEquals("NaN", response.result().get(1).samples().get(0).value());
+    }
+
+    @Test
+    void testParseRangeQueryResponse() {
+        var response = PrometheusResponse.parse("""
+                {
+                  "status": "success",
+                  "data": {
+                    "resultType": "matrix",
+                    "result": [
+                      {
+                        "metric": { "__name__": "bytes" },
+                        "values": [ [ 1700000000, "2.718" ], [ 1700000025, "1500000" ], [ 1.70000005E9, "+Inf" ] ]
+                      }
+                    ]
+                  }
+                }
+                """);
+
+        var samples = response.result().get(0).samples();
+
+        assertEquals(3, samples.size());
+        assertEquals(1700000025000L, samples.time(1));
+        assertEquals(1500000d, samples.value(1));
+        assertEquals(List.of("2.718", "1500000", "+Inf"), samples.stream().map(Metrics.RangeEntry::value).toList());
+        assertEquals(Instant.ofEpochSecond(1700000050), samples.get(2).when());
+    }
+
+    @Test
+    void testParseErrorResponse() {
+        var response = PrometheusResponse.parse("""
+                { "status": "error", "errorType": "bad_data", "error": "parse error" }
+                """);
+
+        assertEquals(PrometheusResponse.STATUS_ERROR, response.status());
+        assertEquals("parse error", response.error());
+        assertTrue(response.result().isEmpty());
+    }
+
+    @Test
+    void testParseMalformedResponse() {
+        assertThrows(JsonParsingException.class, () -> PrometheusResponse.parse("""
+                { "data": { "result": [ { "value": [ "not-a-time", "1" ] } ] } }
+                """));
+    }
+
+    @Test
+    void testFormatValues() {
+        assertEquals("42", RangeSamples.format(RangeSamples.parse("42")));
+        assertEquals("0.1", RangeSamples.format(RangeSamples.parse("0.1")));
+        assertEquals("0.000123", RangeSamples.format(RangeSamples.parse("1.23e-4")));
+        assertEquals("-Inf", RangeSamples.format(RangeSamples.parse("-Inf")));
+        assertNull(PrometheusResponse.parse("{}").status());
+    }
+}
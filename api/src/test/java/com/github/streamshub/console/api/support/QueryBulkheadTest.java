@@ -0,0 +1,110 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryBulkheadTest {
+
+    Timer queueTime;
+    List<CompletableFuture<String>> executions;
+
+    @BeforeEach
+    void setup() {
+        queueTime = Timer.builder("test.queue").register(new SimpleMeterRegistry());
+        executions = new CopyOnWriteArrayList<>();
+    }
+
+    CompletableFuture<String> execute() {
+        var execution = new CompletableFuture<String>();
+        executions.add(execution);
+        return execution;
+    }
+
+    @Test
+    void testQueriesQueuedBeyondLimit() throws Exception {
+        var bulkhead = new QueryBulkhead("test", 1, 4, Duration.ofMinutes(1), queueTime);
+
+        var first = bulkhead.submit(this::execute);
+        var second = bulkhead.submit(this::execute);
+
+        assertEquals(1, executions.size());
+        assertEquals(1, bulkhead.running());
+        assertEquals(1, bulkhead.queued());
+
+        executions.get(0).complete("first");
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+
+        // Permit handed over to the queued query
+        assertEquals(2, executions.size());
+        executions.get(1).complete("second");
+        assertEquals("second", second.get(5, TimeUnit.SECONDS));
+
+        assertEquals(0, bulkhead.running());
+        assertEquals(2, queueTime.count());
+    }
+
+    @Test
+    void testQueryRejectedWhenQueueFull() {
+        var bulkhead = new QueryBulkhead("test", 1, 1, Duration.ofMinutes(1), queueTime);
+
+        bulkhead.submit(this::execute);
+        bulkhead.submit(this::execute);
+        var rejected = bulkhead.submit(this::execute);
+
+        var error = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+    }
+
+    @Test
+    void testCancelledQueriesReleasePermits() {
+        var bulkhead = new QueryBulkhead("test", 1, 4, Duration.ofMinutes(1), queueTime);
+
+        var running = bulkhead.submit(this::execute);
+        var waiting = bulkhead.submit(this::execute);
+
+        waiting.cancel(true);
+        assertEquals(0, bulkhead.queued());
+
+        running.cancel(true);
+        assertTrue(executions.get(0).isCancelled());
+        assertEquals(0, bulkhead.running());
+
+        // Cancelled query is never executed
+        assertEquals(1, executions.size());
+    }
+
+    @Test
+    void testDeadlineIncludesQueueTime() {
+        var bulkhead = new QueryBulkhead("test", 1, 4, Duration.ofMillis(50), queueTime);
+
+        var running = bulkhead.submit(this::execute);
+        var waiting = bulkhead.submit(this::execute);
+
+        var error = assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertThrows(ExecutionException.class, () -> running.get(5, TimeUnit.SECONDS));
+
+        // Any query started once a permit was released is also cancelled at its deadline
+        await().atMost(5, TimeUnit.SECONDS).until(() -> bulkhead.running() == 0);
+        assertTrue(executions.stream().allMatch(CompletableFuture::isCancelled));
+        assertEquals(0, bulkhead.queued());
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.streamshub.console.api.model.Metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RangeSeriesCacheTest {
+
+    static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+    static final Map<String, String> BROKER0 = Map.of("nodeId", "0");
+    static final Map<String, String> BROKER1 = Map.of("nodeId", "1");
+
+    final List<Instant> fetches = new ArrayList<>();
+
+    static Instant at(int step) {
+        return T0.plusSeconds(25L * step);
+    }
+
+    static Metrics.RangeMetric series(Map<String, String> attributes, int from, int to, double value) {
+        var samples = RangeSamples.builder();
+        for (int s = from; s <= to; s++) {
+            samples.add(at(s).toEpochMilli(), value);
+        }
+        return new Metrics.RangeMetric(samples.build(), attributes);
+    }
+
+    CompletionStage<Map<String, List<Metrics.RangeMetric>>> fetch(Instant from, Map<String, List<Metrics.RangeMetric>> result) {
+        fetches.add(from);
+        return CompletableFuture.completedStage(result);
+    }
+
+    static Map<String, List<Metrics.RangeMetric>> get(CompletionStage<Map<String, List<Metrics.RangeMetric>>> stage) throws Exception {
+        return stage.toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testRefreshFetchesOnlyNewSamples() throws Exception {
+        var cache = new RangeSeriesCache();
+
+        var first = get(cache.get("up", "25", at(0), at(4), from ->
+            fetch(from, Map.of("up", List.of(series(BROKER0, 0, 4, 1.5))))));
+
+        assertEquals(List.of(at(0)), fetches);
+        assertEquals(5, first.get("up").get(0).range().size());
+
+        // Window advanced by two steps, last retained sample is re-fetched
+        var second = get(cache.get("up", "25", at(2), at(6), from ->
+            fetch(from, Map.of("up", List.of(series(BROKER0, 4, 6, 2))))));
+
+        assertEquals(List.of(at(0), at(4)), fetches);
+
+        var range = second.get("up").get(0).range();
+        assertEquals(List.of(at(2), at(3), at(4), at(5), at(6)), range.stream().map(Metrics.RangeEntry::when).toList());
+        assertEquals(List.of("1.5", "1.5", "2", "2", "2"), range.stream().map(Metrics.RangeEntry::value).toList());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testSameWindowNotFetchedAgain() throws Exception {
+        var cache = new RangeSeriesCache();
+        var result = Map.of("up", List.of(series(BROKER0, 0, 4, 1)));
+
+        get(cache.get("up", "25", at(0), at(4), from -> fetch(from, result)));
+        var second = get(cache.get("up", "25", at(0), at(4), from -> fetch(from, result)));
+
+        assertEquals(1, fetches.size());
+        assertEquals(result, second);
+    }
+
+    @Test
+    void testNewSeriesAddedAndExpiredSeriesRemoved() throws Exception {
+        var cache = new RangeSeriesCache();
+
+        get(cache.get("up", "25", at(0), at(4), from ->
+            fetch(from, Map.of("up", List.of(series(BROKER0, 0, 1, 1))))));
+
+        var second = get(cache.get("up", "25", at(2), at(6), from ->
+            fetch(from, Map.of("up", List.of(series(BROKER1, 5, 6, 1))))));
+
+        // Series of broker 0 has no samples remaining in the window
+        assertEquals(1, second.get("up").size());
+        assertEquals(BROKER1, second.get("up").get(0).attributes());
+    }
+
+    @Test
+    void testDisjointWindowFetchedInFull() throws Exception {
+        var cache = new RangeSeriesCache();
+
+        get(cache.get("up", "25", at(0), at(4), from ->
+            fetch(from, Map.of("up", List.of(series(BROKER0, 0, 4, 1))))));
+
+        var second = get(cache.get("up", "25", at(10), at(14), from ->
+            fetch(from, Map.of("up", List.of(series(BROKER0, 10, 14, 2))))));
+
+        assertEquals(List.of(at(0), at(10)), fetches);
+        assertTrue(second.get("up").get(0).range().stream().allMatch(e -> "2".equals(e.value())));
+    }
+}
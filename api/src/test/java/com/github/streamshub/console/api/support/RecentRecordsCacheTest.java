@@ -0,0 +1,149 @@
+package com.github.streamshub.console.api.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecentRecordsCacheTest {
+
+    static RecentRecordsCache.Key key(String topicId, int partition) {
+        return new RecentRecordsCache.Key("c1", "", topicId, partition);
+    }
+
+    static List<ConsumerRecord<byte[], byte[]>> records(int partition, long begin, long end, int valueSize) {
+        return LongStream.range(begin, end)
+                .mapToObj(offset -> {
+                    var headers = new RecordHeaders();
+                    headers.add("h1", ("hv-" + offset).getBytes(StandardCharsets.UTF_8));
+                    headers.add("h2", null);
+                    byte[] value = new byte[valueSize];
+                    value[0] = (byte) offset;
+
+                    return new ConsumerRecord<>("topic-a", partition, offset, 1000L + offset,
+                            TimestampType.LOG_APPEND_TIME, 5, valueSize,
+                            offset % 2 == 0 ? ("key-" + offset).getBytes(StandardCharsets.UTF_8) : null,
+                            value, headers, Optional.of(3));
+                })
+                .toList();
+    }
+
+    @Test
+    void testRecordsRoundTrip() {
+        var cache = new RecentRecordsCache(1 << 20, 256);
+        var original = records(2, 10, 20, 100);
+        cache.put(key("t1", 2), 10, 20, original);
+
+        var cached = cache.get(key("t1", 2), 10, 20).orElseThrow();
+
+        assertEquals(original.size(), cached.size());
+
+        for (int i = 0; i < original.size(); i++) {
+            var expected = original.get(i);
+            var actual = cached.get(i);
+
+            assertEquals("topic-a", actual.topic());
+            assertEquals(expected.partition(), actual.partition());
+            assertEquals(expected.offset(), actual.offset());
+            assertEquals(expected.timestamp(), actual.timestamp());
+            assertEquals(expected.timestampType(), actual.timestampType());
+            assertEquals(expected.serializedKeySize(), actual.serializedKeySize());
+            assertEquals(expected.serializedValueSize(), actual.serializedValueSize());
+            assertEquals(expected.leaderEpoch(), actual.leaderEpoch());
+            assertArrayEquals(expected.key(), actual.key());
+            assertArrayEquals(expected.value(), actual.value());
+            assertArrayEquals(expected.headers().lastHeader("h1").value(), actual.headers().lastHeader("h1").value());
+            assertNull(actual.headers().lastHeader("h2").value());
+        }
+    }
+
+    @Test
+    void testGetReturnsRecordsFromStartOffset() {
+        var cache = new RecentRecordsCache(1 << 20, 1024);
+        cache.put(key("t1", 0), 10, 20, records(0, 10, 20, 10));
+
+        var cached = cache.get(key("t1", 0), 15, 20).orElseThrow();
+        assertEquals(List.of(15L, 16L, 17L, 18L, 19L), cached.stream().map(ConsumerRecord::offset).toList());
+
+        // More records requested than cached
+        assertFalse(cache.get(key("t1", 0), 5, 20).isPresent());
+        // Different partition or topic
+        assertFalse(cache.get(key("t1", 1), 15, 20).isPresent());
+        assertFalse(cache.get(key("t2", 0), 15, 20).isPresent());
+    }
+
+    @Test
+    void testEntryInvalidatedWhenEndOffsetChanges() {
+        var cache = new RecentRecordsCache(1 << 20, 1024);
+        cache.put(key("t1", 0), 10, 20, records(0, 10, 20, 10));
+
+        assertFalse(cache.get(key("t1", 0), 11, 21).isPresent());
+        assertEquals(0, cache.size());
+        assertFalse(cache.get(key("t1", 0), 10, 20).isPresent());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEvictedAcrossTopics() {
+        // Budget of 8 slabs, each entry requires 3
+        var cache = new RecentRecordsCache(8 * 1024, 1024);
+
+        cache.put(key("t1", 0), 0, 10, records(0, 0, 10, 250));
+        cache.put(key("t2", 0), 0, 10, records(0, 0, 10, 250));
+        assertEquals(2, cache.size());
+
+        // Use t1, leaving t2 as the least recently used
+        assertTrue(cache.get(key("t1", 0), 0, 10).isPresent());
+
+        cache.put(key("t3", 0), 0, 10, records(0, 0, 10, 250));
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.get(key("t1", 0), 0, 10).isPresent());
+        assertFalse(cache.get(key("t2", 0), 0, 10).isPresent());
+        assertTrue(cache.get(key("t3", 0), 0, 10).isPresent());
+        assertTrue(cache.allocatedBytes() <= 8 * 1024);
+    }
+
+    @Test
+    void testSlabsReusedAfterReplacement() {
+        var cache = new RecentRecordsCache(8 * 1024, 1024);
+
+        cache.put(key("t1", 0), 0, 10, records(0, 0, 10, 250));
+        long allocated = cache.allocatedBytes();
+
+        for (int i = 1; i < 10; i++) {
+            cache.put(key("t1", 0), i, 10 + i, records(0, i, 10 + i, 250));
+        }
+
+        assertEquals(allocated, cache.allocatedBytes());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testOversizedRecordsNotCached() {
+        var cache = new RecentRecordsCache(2 * 1024, 1024);
+        cache.put(key("t1", 0), 0, 10, records(0, 0, 10, 1000));
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.allocatedBytes());
+    }
+
+    @Test
+    void testDisabledWithoutBudget() {
+        var cache = new RecentRecordsCache(0, 1024);
+        assertFalse(cache.enabled());
+
+        cache.put(key("t1", 0), 0, 10, records(0, 0, 10, 10));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.streamshub.console.api.support;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.streamshub.console.api.model.FetchFilter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RecordMatcherTest {
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "eq,order-1                    | order-1                                   | true",
+        "eq,order-1                    | order-10                                  | false",
+        "contains,der-1                | order-10                                  | true",
+        "contains,a,b                  | xa,by                                     | true",
+        "contains,a,b                  | xab                                       | false",
+        "regex,^ord.*-\\d{2}$           | order-10                                  | true",
+        "regex,^ord.*-\\d{2}$           | order-1                                   | false",
+        "jsonpath,$.status,FAILED      | {\"status\":\"FAILED\"}                   | true",
+        "jsonpath,$.status,FAILED      | {\"status\":\"OK\"}                       | false",
+        "jsonpath,$.items[1].qty,2     | {\"items\":[{\"qty\":1},{\"qty\":2}]}     | true",
+        "jsonpath,/items/0/qty,1       | {\"items\":[{\"qty\":1},{\"qty\":2}]}     | true",
+        "jsonpath,$.items,2            | {\"items\":[{\"qty\":1},{\"qty\":2}]}     | false",
+        "jsonpath,$.missing,x          | {\"status\":\"OK\"}                       | false",
+        "jsonpath,$.status,OK          | not json                                  | false",
+        "jsonpath,$.note,a,b           | {\"note\":\"a,b\"}                        | true",
+    })
+    void testMatch(String filter, String text, boolean expected) {
+        var matcher = new RecordMatcher(FetchFilter.valueOf(filter), MAPPER);
+        assertEquals(expected, matcher.test(text));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "eq,x",
+        "contains,x",
+        "regex,x",
+        "jsonpath,$.x,y",
+    })
+    void testNullNeverMatches(String filter) {
+        var matcher = new RecordMatcher(FetchFilter.valueOf(filter), MAPPER);
+        assertEquals(false, matcher.test(null));
+    }
+}
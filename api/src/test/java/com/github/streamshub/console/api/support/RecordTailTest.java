@@ -0,0 +1,319 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.SaslConfigs;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.errors.TopicAuthorizationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecordTailTest {
+
+    static final String TOPIC = "t1";
+
+    ExecutorService executor;
+
+    @BeforeEach
+    void setup() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void teardown() {
+        executor.shutdownNow();
+    }
+
+    static ConsumerRecords<String, String> records(int partition, int firstOffset, int count) {
+        var tp = new TopicPartition(TOPIC, partition);
+        List<ConsumerRecord<String, String>> records = IntStream.range(firstOffset, firstOffset + count)
+                .mapToObj(o -> new ConsumerRecord<>(TOPIC, partition, o, "k" + o, "v" + o))
+                .toList();
+        return new ConsumerRecords<>(Map.of(tp, records));
+    }
+
+    static List<Long> offsets(RecordTail.Batch<String, String> batch) {
+        return batch.records().stream().map(ConsumerRecord::offset).toList();
+    }
+
+    static RecordTail.Batch<String, String> read(RecordTail<String, String> tail, String cursor, Integer partition, int limit) {
+        return tail.read(cursor, partition, limit, Duration.ZERO).toCompletableFuture().join();
+    }
+
+    static MockConsumer<String, String> mockConsumer(int partitions, long endOffset) {
+        var consumer = new MockConsumer<String, String>(OffsetResetStrategy.LATEST);
+        List<PartitionInfo> infos = new ArrayList<>();
+        Node node = new Node(0, "localhost", 9092);
+
+        for (int p = 0; p < partitions; p++) {
+            infos.add(new PartitionInfo(TOPIC, p, node, new Node[] {node}, new Node[] {node}));
+            consumer.updateBeginningOffsets(Map.of(new TopicPartition(TOPIC, p), 0L));
+            consumer.updateEndOffsets(Map.of(new TopicPartition(TOPIC, p), endOffset));
+        }
+
+        consumer.updatePartitions(TOPIC, infos);
+        return consumer;
+    }
+
+    @Test
+    void testStartPositionsConsumerWithinWindow() throws Exception {
+        var consumer = mockConsumer(2, 0);
+        consumer.updateEndOffsets(Map.of(new TopicPartition(TOPIC, 0), 10L, new TopicPartition(TOPIC, 1), 2L));
+        var tail = new RecordTail<>("test", consumer, 5, executor);
+
+        tail.start(TOPIC);
+
+        assertEquals(5, consumer.position(new TopicPartition(TOPIC, 0)));
+        assertEquals(0, consumer.position(new TopicPartition(TOPIC, 1)));
+        assertTrue(tail.active());
+
+        tail.close();
+
+        assertFalse(tail.active());
+        CompletableFuture.runAsync(() -> {
+            while (!consumer.closed()) {
+                Thread.onSpinWait();
+            }
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testReadWithoutCursorReturnsLatest() {
+        var tail = new RecordTail<>("test", mockConsumer(1, 0), 100, executor);
+        tail.append(records(0, 0, 10));
+
+        var batch = read(tail, null, null, 3);
+
+        assertEquals(List.of(7L, 8L, 9L), offsets(batch));
+        assertEquals(tail.cursor(10), batch.cursor());
+        assertFalse(batch.gap());
+    }
+
+    @Test
+    void testReadAfterCursorPagesForward() {
+        var tail = new RecordTail<>("test", mockConsumer(1, 0), 100, executor);
+        tail.append(records(0, 0, 10));
+
+        var batch = read(tail, tail.cursor(2), null, 4);
+        assertEquals(List.of(2L, 3L, 4L, 5L), offsets(batch));
+        assertEquals(tail.cursor(6), batch.cursor());
+
+        batch = read(tail, batch.cursor(), null, 4);
+        assertEquals(List.of(6L, 7L, 8L, 9L), offsets(batch));
+        assertEquals(tail.cursor(10), batch.cursor());
+
+        batch = read(tail, batch.cursor(), null, 4);
+        assertEquals(List.of(), offsets(batch));
+        assertEquals(tail.cursor(10), batch.cursor());
+    }
+
+    @Test
+    void testReadFiltersPartition() {
+        var tail = new RecordTail<>("test", mockConsumer(2, 0), 100, executor);
+        tail.append(records(0, 0, 3));
+        tail.append(records(1, 100, 3));
+        tail.append(records(0, 3, 3));
+
+        assertEquals(List.of(100L, 101L, 102L), offsets(read(tail, null, 1, 10)));
+
+        var batch = read(tail, tail.cursor(0), 0, 10);
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L), offsets(batch));
+        assertEquals(tail.cursor(9), batch.cursor());
+    }
+
+    @Test
+    void testReadDetectsGap() {
+        var tail = new RecordTail<>("test", mockConsumer(1, 0), 3, executor);
+        tail.append(records(0, 0, 10));
+
+        var batch = read(tail, tail.cursor(2), null, 10);
+
+        assertEquals(List.of(7L, 8L, 9L), offsets(batch));
+        assertTrue(batch.gap());
+    }
+
+    @Test
+    void testReadWithForeignCursorRestarts() {
+        var tail = new RecordTail<>("test", mockConsumer(1, 0), 100, executor);
+        tail.append(records(0, 0, 10));
+
+        var batch = read(tail, "AAAAAAAAAAAAAAAAAAAAAA:5", null, 2);
+
+        assertEquals(List.of(8L, 9L), offsets(batch));
+        assertEquals(tail.cursor(10), batch.cursor());
+        assertTrue(batch.gap());
+    }
+
+    @Test
+    void testReadWaitsForNewRecords() throws Exception {
+        var tail = new RecordTail<>("test", mockConsumer(1, 0), 100, executor);
+        tail.append(records(0, 0, 2));
+        String cursor = read(tail, null, null, 10).cursor();
+
+        var pending = tail.read(cursor, null, 10, Duration.ofSeconds(10)).toCompletableFuture();
+
+        // Waiting without blocking the reading thread
+        assertFalse(pending.isDone());
+        assertEquals(1, tail.readers());
+
+        tail.append(records(0, 2, 1));
+
+        var batch = pending.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(2L), offsets(batch));
+        assertEquals(tail.cursor(3), batch.cursor());
+        assertEquals(0, tail.readers());
+    }
+
+    @Test
+    void testReadCompletedAfterMaxWait() throws Exception {
+        var tail = new RecordTail<>("test", mockConsumer(1, 0), 100, executor);
+        tail.append(records(0, 0, 2));
+        String cursor = read(tail, null, null, 10).cursor();
+
+        var batch = tail.read(cursor, null, 10, Duration.ofMillis(50))
+                .toCompletableFuture()
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(), offsets(batch));
+        assertEquals(cursor, batch.cursor());
+        assertEquals(0, tail.readers());
+    }
+
+    @Test
+    void testWaitingReadFailsWithTail() {
+        var tail = new RecordTail<>("test", mockConsumer(1, 0), 100, executor);
+        tail.append(records(0, 0, 2));
+        String cursor = read(tail, null, null, 10).cursor();
+
+        var pending = tail.read(cursor, null, 10, Duration.ofSeconds(10)).toCompletableFuture();
+        tail.fail(new TopicAuthorizationException(Set.of(TOPIC)));
+
+        var error = assertThrows(ExecutionException.class, () -> pending.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TopicAuthorizationException.class, error.getCause());
+        assertFalse(tail.active());
+    }
+
+    @Test
+    void testRegistrySharesTailPerTopicAndPrincipal() {
+        List<MockConsumer<String, String>> created = new ArrayList<>();
+        var registry = new RecordTailRegistry<String, String>("test", configs -> {
+            var consumer = mockConsumer(1, 0);
+            created.add(consumer);
+            return consumer;
+        }, 2, 10, Duration.ofMinutes(1), executor);
+
+        var tail1 = registry.acquire(TOPIC, Map.of(SaslConfigs.SASL_JAAS_CONFIG, "user1"));
+        var tail2 = registry.acquire(TOPIC, Map.of(SaslConfigs.SASL_JAAS_CONFIG, "user1"));
+        var tail3 = registry.acquire(TOPIC, Map.of(SaslConfigs.SASL_JAAS_CONFIG, "user2"));
+
+        assertSame(tail1, tail2);
+        assertNotSame(tail1, tail3);
+        assertEquals(2, created.size());
+        assertEquals(2, registry.size());
+
+        Map<String, Object> user3 = Map.of(SaslConfigs.SASL_JAAS_CONFIG, "user3");
+        assertThrows(TimeoutException.class, () -> registry.acquire(TOPIC, user3));
+
+        // Not yet idle for the timeout
+        assertEquals(0, registry.evictIdle());
+
+        registry.close();
+        assertFalse(tail1.active());
+        assertFalse(tail3.active());
+    }
+
+    @Test
+    void testRegistryClosesConsumerOfFailedTail() {
+        var consumer = new MockConsumer<String, String>(OffsetResetStrategy.LATEST) {
+            @Override
+            public synchronized List<PartitionInfo> partitionsFor(String topic) {
+                throw new TopicAuthorizationException(Set.of(topic));
+            }
+        };
+        var registry = new RecordTailRegistry<String, String>("test", configs -> consumer, 2, 10, Duration.ofMinutes(1), executor);
+        Map<String, Object> configs = Map.of();
+
+        assertThrows(TopicAuthorizationException.class, () -> registry.acquire(TOPIC, configs));
+        assertTrue(consumer.closed());
+        assertEquals(0, registry.size());
+
+        registry.close();
+    }
+
+    @Test
+    void testRegistryLimitsTailsStartedConcurrently() {
+        List<MockConsumer<String, String>> created = new ArrayList<>();
+        AtomicReference<RecordTailRegistry<String, String>> registry = new AtomicReference<>();
+        Map<String, Object> user2 = Map.of(SaslConfigs.SASL_JAAS_CONFIG, "user2");
+
+        registry.set(new RecordTailRegistry<String, String>("test", configs -> {
+            var consumer = mockConsumer(1, 0);
+            created.add(consumer);
+
+            if (created.size() == 1) {
+                // Another viewer's tail is registered while the first is starting
+                registry.get().acquire(TOPIC, user2);
+            }
+
+            return consumer;
+        }, 1, 10, Duration.ofMinutes(1), executor));
+
+        Map<String, Object> user1 = Map.of(SaslConfigs.SASL_JAAS_CONFIG, "user1");
+        assertThrows(TimeoutException.class, () -> registry.get().acquire(TOPIC, user1));
+        assertEquals(1, registry.get().size());
+
+        // The first consumer belongs to the rejected tail
+        CompletableFuture.runAsync(() -> {
+            while (!created.get(0).closed()) {
+                Thread.onSpinWait();
+            }
+        }).orTimeout(5, TimeUnit.SECONDS).join();
+
+        registry.get().close();
+    }
+
+    @Test
+    void testRegistryEvictsIdleTails() {
+        var registry = new RecordTailRegistry<String, String>("test", configs -> mockConsumer(1, 0), 2, 10, Duration.ZERO, executor);
+
+        var tail = registry.acquire(TOPIC, Map.of());
+        read(tail, null, null, 1);
+
+        assertEquals(1, registry.evictIdle());
+        assertEquals(0, registry.size());
+        assertFalse(tail.active());
+
+        var replacement = registry.acquire(TOPIC, Map.of());
+        assertNotSame(tail, replacement);
+        assertTrue(replacement.active());
+
+        registry.close();
+    }
+}
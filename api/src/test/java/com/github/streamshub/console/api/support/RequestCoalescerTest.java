@@ -0,0 +1,90 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCoalescerTest {
+
+    final RequestCoalescer coalescer = new RequestCoalescer();
+    final AtomicInteger executions = new AtomicInteger();
+    CompletableFuture<String> pending;
+
+    CompletableFuture<String> operation() {
+        executions.incrementAndGet();
+        pending = new CompletableFuture<>();
+        return pending;
+    }
+
+    static RequestCoalescer.Key key(String principal, Object... arguments) {
+        return new RequestCoalescer.Key(principal, "listTopics", List.of(arguments));
+    }
+
+    @Test
+    void testIdenticalOperationsShareResult() throws Exception {
+        var first = coalescer.execute(key(null, true), this::operation).toCompletableFuture();
+        var second = coalescer.execute(key(null, true), this::operation).toCompletableFuture();
+
+        assertEquals(1, executions.get());
+        assertEquals(1, coalescer.pending());
+
+        // A caller completing its own result does not affect the others
+        first.complete("overridden");
+
+        pending.complete("topics");
+        assertEquals("topics", second.get(5, TimeUnit.SECONDS));
+        assertEquals(0, coalescer.pending());
+
+        // Completed results are not retained
+        coalescer.execute(key(null, true), this::operation);
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testOperationsSharedByKey() {
+        coalescer.execute(key(null, true), this::operation);
+        coalescer.execute(key(null, true), this::operation);
+        assertEquals(1, executions.get());
+
+        coalescer.execute(key("user1", true), this::operation);
+        coalescer.execute(key("user2", true), this::operation);
+        coalescer.execute(key("user2", false), this::operation);
+
+        assertEquals(4, executions.get());
+        assertEquals(4, coalescer.pending());
+    }
+
+    @Test
+    void testFailureSharedAndNotRetained() throws Exception {
+        var first = coalescer.execute(key(null), this::operation).toCompletableFuture();
+        var second = coalescer.execute(key(null), this::operation).toCompletableFuture();
+
+        pending.completeExceptionally(new TimeoutException("timed out"));
+
+        var error = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertTrue(first.isCompletedExceptionally());
+        assertEquals(0, coalescer.pending());
+    }
+
+    @Test
+    void testOperationThrowing() {
+        var result = coalescer.execute(key(null), () -> {
+            throw new IllegalStateException("closed");
+        }).toCompletableFuture();
+
+        var error = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals(0, coalescer.pending());
+    }
+}
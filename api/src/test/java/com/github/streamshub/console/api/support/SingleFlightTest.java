@@ -0,0 +1,166 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    final AtomicInteger executions = new AtomicInteger();
+    CompletableFuture<String> pending;
+
+    CompletableFuture<String> operation() {
+        executions.incrementAndGet();
+        pending = new CompletableFuture<>();
+        return pending;
+    }
+
+    @Test
+    void testConcurrentCallersShareResult() throws Exception {
+        var flights = new SingleFlight<String, String>(false);
+
+        var first = flights.execute("a", this::operation);
+        var second = flights.execute("a", this::operation);
+        assertEquals(1, executions.get());
+
+        // A caller completing its own result does not affect the others
+        first.complete("overridden");
+
+        pending.complete("a1");
+        assertEquals("a1", second.get(5, TimeUnit.SECONDS));
+
+        flights.execute("a", this::operation);
+        flights.execute("b", this::operation);
+        assertEquals(3, executions.get());
+        assertEquals(2, flights.size());
+    }
+
+    @Test
+    void testResultNotRetained() throws Exception {
+        var flights = new SingleFlight<String, String>(false);
+        List<String> completed = new ArrayList<>();
+
+        var first = flights.execute("a", this::operation, value -> {
+            // Invoked before the flight ends
+            assertEquals(1, flights.size());
+            completed.add(value);
+        });
+        var second = flights.execute("a", this::operation);
+
+        pending.complete("a1");
+        assertEquals("a1", first.get(5, TimeUnit.SECONDS));
+        assertEquals("a1", second.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("a1"), completed);
+        assertEquals(0, flights.size());
+
+        flights.execute("a", this::operation);
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testFailureSharedAndNotRetained() {
+        var flights = new SingleFlight<String, String>(false);
+        List<String> completed = new ArrayList<>();
+
+        var first = flights.execute("a", this::operation, completed::add);
+        var second = flights.execute("a", this::operation);
+
+        pending.completeExceptionally(new TimeoutException("timed out"));
+
+        var error = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(completed.isEmpty());
+        assertEquals(0, flights.size());
+
+        flights.execute("a", this::operation);
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testOperationThrowing() {
+        var flights = new SingleFlight<String, String>(false);
+
+        var result = flights.execute("a", () -> {
+            throw new IllegalStateException("closed");
+        });
+
+        var error = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals(0, flights.size());
+    }
+
+    @Test
+    void testAbandonedOperationCancelled() {
+        var flights = new SingleFlight<String, String>(true);
+
+        var first = flights.execute("a", this::operation);
+        var second = flights.execute("a", this::operation);
+
+        first.cancel(true);
+        assertFalse(pending.isCancelled());
+
+        second.cancel(true);
+        assertTrue(pending.isCancelled());
+        assertEquals(0, flights.size());
+    }
+
+    @Test
+    void testAbandonedOperationNotCancelledByDefault() {
+        var flights = new SingleFlight<String, String>(false);
+
+        flights.execute("a", this::operation).cancel(true);
+
+        assertFalse(pending.isCancelled());
+        assertEquals(1, flights.size());
+    }
+
+    @Test
+    void testJoinedFlightReleasedByLeader() throws Exception {
+        var flights = new SingleFlight<String, String>(false);
+
+        var leader = flights.join("a");
+        var follower = flights.join("a");
+        assertTrue(leader.leader());
+        assertFalse(follower.leader());
+
+        assertTrue(flights.release("a", leader.result()));
+        assertFalse(flights.release("a", leader.result()));
+        leader.result().complete("a1");
+
+        assertEquals("a1", follower.result().get(5, TimeUnit.SECONDS));
+        assertTrue(flights.join("a").leader());
+    }
+
+    @Test
+    void testForgottenFlightNotReleased() throws Exception {
+        var flights = new SingleFlight<String, String>(false);
+
+        var forgotten = flights.join("a");
+        var follower = flights.join("a");
+        flights.forget("a");
+
+        // The next caller starts a new flight, which the first leader may not end
+        var next = flights.join("a");
+        assertTrue(next.leader());
+        assertFalse(flights.release("a", forgotten.result()));
+        assertEquals(1, flights.size());
+
+        // Callers of the forgotten flight still receive its result
+        forgotten.result().complete("a1");
+        assertEquals("a1", follower.result().get(5, TimeUnit.SECONDS));
+        assertFalse(next.result().isDone());
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link TopNSelector} with the {@link SizeLimitedSortedSet} previously
+ * used to select records in {@code RecordService}. The input models the
+ * records returned by successive consumer polls: each poll returns a run of
+ * records (in offset order) from every partition, and the "latest" query
+ * positions each partition {@code limit} records before its end.
+ *
+ * <p>Run with:
+ *
+ * <pre>
+ * mvn -pl api test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp api/target/test-classes:api/target/classes:$(cat api/target/cp.txt) \
+ *     org.openjdk.jmh.Main TopNSelectorBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TopNSelectorBenchmark {
+
+    static final int RECORDS_PER_POLL_PER_PARTITION = 50;
+
+    @Param({ "1", "10", "100", "1000" })
+    int partitions;
+
+    @Param({ "10", "100", "1000" })
+    int limit;
+
+    @Param({ "true", "false" })
+    boolean latest;
+
+    List<ConsumerRecord<byte[], byte[]>> polled;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(partitions * 31L + limit);
+        polled = new ArrayList<>(partitions * limit);
+        byte[] payload = new byte[0];
+
+        for (int begin = 0; begin < limit; begin += RECORDS_PER_POLL_PER_PARTITION) {
+            int end = Math.min(limit, begin + RECORDS_PER_POLL_PER_PARTITION);
+
+            for (int p = 0; p < partitions; p++) {
+                for (int o = begin; o < end; o++) {
+                    // Producer timestamps increase with offset, with some skew between partitions
+                    long timestamp = 1_700_000_000_000L + o * 100L + random.nextInt(1_000);
+                    polled.add(new ConsumerRecord<>("t", p, o, timestamp, TimestampType.CREATE_TIME,
+                            0, 0, payload, payload, new RecordHeaders(), Optional.empty()));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ConsumerRecord<byte[], byte[]>> sizeLimitedSortedSet() {
+        Comparator<ConsumerRecord<byte[], byte[]>> comparator = Comparator
+                .<ConsumerRecord<byte[], byte[]>>comparingLong(ConsumerRecord::timestamp)
+                .thenComparingInt(ConsumerRecord::partition)
+                .thenComparingLong(ConsumerRecord::offset);
+
+        if (latest) {
+            comparator = comparator.reversed();
+        }
+
+        var selected = new SizeLimitedSortedSet<>(comparator, limit);
+        selected.addAll(polled);
+        return new ArrayList<>(selected);
+    }
+
+    @Benchmark
+    public List<ConsumerRecord<byte[], byte[]>> topNSelector() {
+        var selector = new TopNSelector<ConsumerRecord<byte[], byte[]>>(limit, latest);
+
+        for (var rec : polled) {
+            selector.offer(rec.timestamp(), rec.partition(), rec.offset(), rec);
+        }
+
+        return selector.drain();
+    }
+}
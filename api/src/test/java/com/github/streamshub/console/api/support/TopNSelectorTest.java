@@ -0,0 +1,72 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopNSelectorTest {
+
+    record Key(long timestamp, int partition, long offset) {
+    }
+
+    static final Comparator<Key> ORDER = Comparator.comparingLong(Key::timestamp)
+            .thenComparingInt(Key::partition)
+            .thenComparingLong(Key::offset);
+
+    @ParameterizedTest
+    @CsvSource({
+        "0,    10,  100, false",
+        "1,    10,  100, false",
+        "1,    10,  100, true",
+        "50,    1,   20, false",
+        "50,    1,   20, true",
+        "50,  100,   50, false",
+        "50,  100,   50, true",
+        "1000, 10,  500, true",
+        "1000, 10,   10, false",
+    })
+    void testSelectionMatchesSortedSet(int limit, int partitionCount, int recordsPerPartition, boolean descending) {
+        Random random = new Random(limit * 31L + partitionCount);
+        var selector = new TopNSelector<Key>(limit, descending);
+        var expected = new SizeLimitedSortedSet<Key>(descending ? ORDER.reversed() : ORDER, limit);
+
+        for (int o = 0; o < recordsPerPartition; o++) {
+            for (int p = 0; p < partitionCount; p++) {
+                // Mostly increasing timestamps, with some skew and duplicates
+                var key = new Key(o * 10L + random.nextInt(25), p, o);
+                selector.offer(key.timestamp(), key.partition(), key.offset(), key);
+                expected.add(key);
+            }
+        }
+
+        assertEquals(expected.size(), selector.size());
+        assertEquals(new ArrayList<>(expected), selector.drain());
+        assertEquals(0, selector.size());
+    }
+
+    @Test
+    void testOfferRejectsWorseElementsWhenFull() {
+        var selector = new TopNSelector<String>(2, false);
+        assertTrue(selector.offer(5, 0, 0, "a"));
+        assertTrue(selector.offer(3, 0, 1, "b"));
+        assertFalse(selector.offer(9, 0, 2, "c"));
+        assertFalse(selector.offer(5, 0, 0, "a-duplicate"));
+        assertTrue(selector.offer(4, 1, 0, "d"));
+        assertEquals(List.of("b", "d"), selector.drain());
+    }
+
+    @Test
+    void testNegativeLimitRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TopNSelector<String>(-1, false));
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.kafka.clients.admin.TopicListing;
+import org.apache.kafka.common.Uuid;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopicIndexTest {
+
+    static TopicListing listing(String name, Uuid topicId) {
+        return new TopicListing(name, topicId, false);
+    }
+
+    @Test
+    void testUpdateIndexesNamesAndIds() {
+        var index = new TopicIndex();
+        Uuid id1 = Uuid.randomUuid();
+        Uuid id2 = Uuid.randomUuid();
+
+        assertFalse(index.populated());
+
+        index.update(List.of(listing("t1", id1), listing("t2", id2)));
+
+        assertTrue(index.populated());
+        assertEquals(2, index.size());
+        assertEquals(Optional.of("t1"), index.name(id1.toString()));
+        assertEquals(Optional.of(id2.toString()), index.id("t2"));
+        assertEquals(Map.of("t1", id1.toString(), "t2", id2.toString()), index.idsByName());
+    }
+
+    @Test
+    void testUpdateAppliesDifferences() {
+        var index = new TopicIndex();
+        Uuid id1 = Uuid.randomUuid();
+        Uuid id2 = Uuid.randomUuid();
+        Uuid id3 = Uuid.randomUuid();
+        Uuid id1Recreated = Uuid.randomUuid();
+
+        index.update(List.of(listing("t1", id1), listing("t2", id2)));
+        index.update(List.of(listing("t1", id1Recreated), listing("t3", id3)));
+
+        assertEquals(2, index.size());
+        assertEquals(Optional.empty(), index.name(id1.toString()));
+        assertEquals(Optional.empty(), index.name(id2.toString()));
+        assertEquals(Optional.empty(), index.id("t2"));
+        assertEquals(Optional.of("t1"), index.name(id1Recreated.toString()));
+        assertEquals(Optional.of(id1Recreated.toString()), index.id("t1"));
+        assertEquals(Optional.of("t3"), index.name(id3.toString()));
+    }
+
+    @Test
+    void testPutAndRemove() {
+        var index = new TopicIndex();
+        Uuid id1 = Uuid.randomUuid();
+        Uuid id2 = Uuid.randomUuid();
+
+        index.put("t1", id1.toString());
+        assertEquals(Optional.of("t1"), index.name(id1.toString()));
+
+        // Topic re-created with the same name
+        index.put("t1", id2.toString());
+        assertEquals(Optional.empty(), index.name(id1.toString()));
+        assertEquals(Optional.of(id2.toString()), index.id("t1"));
+
+        // Removal of an unknown or replaced ID has no effect
+        index.remove(id1.toString());
+        assertEquals(Optional.of(id2.toString()), index.id("t1"));
+
+        index.remove(id2.toString());
+        assertEquals(0, index.size());
+        assertEquals(Optional.empty(), index.id("t1"));
+        // Direct modifications do not populate the index
+        assertFalse(index.populated());
+    }
+}
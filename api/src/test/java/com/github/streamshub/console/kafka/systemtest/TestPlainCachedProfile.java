@@ -0,0 +1,35 @@
+package com.github.streamshub.console.kafka.systemtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+/**
+ * Same as profile {@linkplain TestPlainProfile}, but with the per-cluster
+ * caches, indexes, pools, and background jobs restored to their default
+ * settings. The {@code testplain} configuration profile disables them so that
+ * most tests observe the cluster directly; tests using this profile verify that
+ * changes made via the API are visible to the requests that follow.
+ */
+public class TestPlainCachedProfile extends TestPlainProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        Map<String, String> overrides = new HashMap<>(super.getConfigOverrides());
+
+        overrides.put("console.consumer-groups.index.refresh-interval", "30s");
+        overrides.put("console.kafka.end-offsets.max-age", "PT5S");
+        overrides.put("console.consumer-groups.lag.collect-interval", "30s");
+        overrides.put("console.consumer-groups.catalog.max-age", "PT1M");
+        overrides.put("console.consumer-groups.catalog.refresh-interval", "30s");
+        overrides.put("console.kafka.metadata-cache.topic-descriptions.ttl", "PT15S");
+        overrides.put("console.kafka.metadata-cache.configs.ttl", "PT1M");
+        overrides.put("console.kafka.metadata-cache.eviction-interval", "60s");
+        overrides.put("console.kafka.admin-pool.max-size", "64");
+        overrides.put("console.metrics.query-cache.ttl", "PT10S");
+        overrides.put("console.metrics.incremental-ranges", "true");
+
+        return overrides;
+    }
+}
@@ -99,6 +99,18 @@ public class ConsumerUtils {
         }
     }
 
+    public void deleteConsumerGroup(String groupId) {
+        try (Admin admin = Admin.create(adminConfig)) {
+            admin.deleteConsumerGroups(List.of(groupId))
+                    .all()
+                    .toCompletionStage()
+                    .toCompletableFuture()
+                    .join();
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
     public void deleteConsumerGroups() {
         try (Admin admin = Admin.create(adminConfig)) {
             admin.listConsumerGroups()
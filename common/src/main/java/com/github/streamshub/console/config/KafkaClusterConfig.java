@@ -2,6 +2,7 @@ package com.github.streamshub.console.config;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import jakarta.validation.constraints.NotBlank;
 
@@ -31,6 +32,34 @@ public class KafkaClusterConfig implements Named {
     private Map<String, String> consumerProperties = new LinkedHashMap<>();
     private Map<String, String> producerProperties = new LinkedHashMap<>();
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof KafkaClusterConfig)) {
+            return false;
+        }
+
+        KafkaClusterConfig other = (KafkaClusterConfig) obj;
+        return Objects.equals(id, other.id)
+                && Objects.equals(name, other.name)
+                && Objects.equals(namespace, other.namespace)
+                && Objects.equals(listener, other.listener)
+                && Objects.equals(metricsSource, other.metricsSource)
+                && Objects.equals(schemaRegistry, other.schemaRegistry)
+                && Objects.equals(properties, other.properties)
+                && Objects.equals(adminProperties, other.adminProperties)
+                && Objects.equals(consumerProperties, other.consumerProperties)
+                && Objects.equals(producerProperties, other.producerProperties);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, namespace, listener, metricsSource, schemaRegistry,
+                properties, adminProperties, consumerProperties, producerProperties);
+    }
+
     @JsonIgnore
     public String clusterKey() {
         return hasNamespace() ? "%s/%s".formatted(namespace, name) : name;